@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -26,6 +26,7 @@ import org.openjdk.jmh.annotations.State;
 
 import org.springframework.beans.propertyeditors.CustomNumberEditor;
 import org.springframework.beans.propertyeditors.StringTrimmerEditor;
+import org.springframework.core.SpringProperties;
 
 /**
  * Benchmark for {@link AbstractPropertyAccessor} use on beans.
@@ -85,6 +86,74 @@ public class AbstractPropertyAccessorBenchmark {
 		return state.target;
 	}
 
+	@State(Scope.Benchmark)
+	public static class PropertyAccessState {
+
+		public BeanWrapperImpl reflectiveBeanWrapper;
+
+		public BeanWrapperImpl bytecodeBeanWrapper;
+
+		@Setup
+		public void setup() {
+			this.reflectiveBeanWrapper = new BeanWrapperImpl(new SimpleBean());
+			// The flag applies to bean classes introspected while it is set
+			SpringProperties.setFlag(CachedIntrospectionResults.BYTECODE_ACCESSORS_PROPERTY_NAME);
+			try {
+				this.bytecodeBeanWrapper = new BeanWrapperImpl(new BytecodeSimpleBean());
+				this.bytecodeBeanWrapper.getPropertyDescriptors();
+			}
+			finally {
+				SpringProperties.setProperty(CachedIntrospectionResults.BYTECODE_ACCESSORS_PROPERTY_NAME, null);
+			}
+		}
+	}
+
+	@Benchmark
+	public Object reflectiveAccess(PropertyAccessState state) {
+		BeanWrapperImpl beanWrapper = state.reflectiveBeanWrapper;
+		beanWrapper.setPropertyValue("count", 42);
+		beanWrapper.setPropertyValue("name", "spring");
+		return beanWrapper.getPropertyValue("count");
+	}
+
+	@Benchmark
+	public Object bytecodeAccess(PropertyAccessState state) {
+		BeanWrapperImpl beanWrapper = state.bytecodeBeanWrapper;
+		beanWrapper.setPropertyValue("count", 42);
+		beanWrapper.setPropertyValue("name", "spring");
+		return beanWrapper.getPropertyValue("count");
+	}
+
+	public static class SimpleBean {
+
+		private int count;
+
+		private String name;
+
+		public int getCount() {
+			return this.count;
+		}
+
+		public void setCount(int count) {
+			this.count = count;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+
+	/**
+	 * Same properties as {@link SimpleBean}, as a distinct class whose
+	 * introspection results carry bytecode accessors.
+	 */
+	public static class BytecodeSimpleBean extends SimpleBean {
+	}
+
 	@SuppressWarnings("unused")
 	private static class PrimitiveArrayBean {
 
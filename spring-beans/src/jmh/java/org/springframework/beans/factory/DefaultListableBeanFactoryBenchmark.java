@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,7 @@ package org.springframework.beans.factory;
 
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
@@ -133,6 +134,35 @@ public class DefaultListableBeanFactoryBenchmark {
 		return state.beanFactory.getBean(B.class);
 	}
 
+	@State(Scope.Benchmark)
+	public static class PreInstantiationState extends Shared {
+
+		@Param({"100", "1000"})
+		public int beanCount;
+
+		@Param({"independent", "chained"})
+		public String mode;
+
+		@Setup(Level.Invocation)
+		public void setup() {
+			this.beanFactory = new DefaultListableBeanFactory();
+			for (int i = 0; i < this.beanCount; i++) {
+				RootBeanDefinition rbd = new RootBeanDefinition(TestBean.class);
+				if ("chained".equals(this.mode) && i > 0) {
+					rbd.getPropertyValues().add("spouse", new RuntimeBeanReference("bean" + (i - 1)));
+				}
+				this.beanFactory.registerBeanDefinition("bean" + i, rbd);
+			}
+			this.beanFactory.freezeConfiguration();
+		}
+	}
+
+	@Benchmark
+	public Object preInstantiateSingletons(PreInstantiationState state) {
+		state.beanFactory.preInstantiateSingletons();
+		return state.beanFactory;
+	}
+
 	static class A {
 	}
 
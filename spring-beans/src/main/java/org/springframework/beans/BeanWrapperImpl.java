@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@
 package org.springframework.beans;
 
 import java.beans.PropertyDescriptor;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.security.AccessControlContext;
 import java.security.AccessController;
@@ -28,6 +29,7 @@ import org.springframework.core.ResolvableType;
 import org.springframework.core.convert.Property;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.ReflectionUtils;
 
 /**
@@ -227,8 +229,9 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 	@Override
 	@Nullable
 	protected BeanPropertyHandler getLocalPropertyHandler(String propertyName) {
-		PropertyDescriptor pd = getCachedIntrospectionResults().getPropertyDescriptor(propertyName);
-		return (pd != null ? new BeanPropertyHandler(pd) : null);
+		CachedIntrospectionResults cachedIntrospectionResults = getCachedIntrospectionResults();
+		PropertyDescriptor pd = cachedIntrospectionResults.getPropertyDescriptor(propertyName);
+		return (pd != null ? new BeanPropertyHandler(pd, cachedIntrospectionResults.getBytecodeAccessor(pd)) : null);
 	}
 
 	@Override
@@ -265,9 +268,13 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 
 		private final PropertyDescriptor pd;
 
-		public BeanPropertyHandler(PropertyDescriptor pd) {
+		@Nullable
+		private final BytecodePropertyAccessor bytecodeAccessor;
+
+		public BeanPropertyHandler(PropertyDescriptor pd, @Nullable BytecodePropertyAccessor bytecodeAccessor) {
 			super(pd.getPropertyType(), pd.getReadMethod() != null, pd.getWriteMethod() != null);
 			this.pd = pd;
+			this.bytecodeAccessor = bytecodeAccessor;
 		}
 
 		@Override
@@ -290,6 +297,14 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 		@Nullable
 		public Object getValue() throws Exception {
 			Method readMethod = this.pd.getReadMethod();
+			if (this.bytecodeAccessor != null && this.bytecodeAccessor.isReadable()) {
+				try {
+					return this.bytecodeAccessor.getValue(getWrappedInstance());
+				}
+				catch (Throwable ex) {
+					throw new InvocationTargetException(ex);
+				}
+			}
 			if (System.getSecurityManager() != null) {
 				AccessController.doPrivileged((PrivilegedAction<Object>) () -> {
 					ReflectionUtils.makeAccessible(readMethod);
@@ -314,6 +329,17 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 			Method writeMethod = (this.pd instanceof GenericTypeAwarePropertyDescriptor ?
 					((GenericTypeAwarePropertyDescriptor) this.pd).getWriteMethodForActualAccess() :
 					this.pd.getWriteMethod());
+			if (this.bytecodeAccessor != null && this.bytecodeAccessor.isWritable() &&
+					ClassUtils.isAssignableValue(writeMethod.getParameterTypes()[0], value)) {
+				// Mismatched or null primitive values go through reflection below for consistent exceptions
+				try {
+					this.bytecodeAccessor.setValue(getWrappedInstance(), value);
+					return;
+				}
+				catch (Throwable ex) {
+					throw new InvocationTargetException(ex);
+				}
+			}
 			if (System.getSecurityManager() != null) {
 				AccessController.doPrivileged((PrivilegedAction<Object>) () -> {
 					ReflectionUtils.makeAccessible(writeMethod);
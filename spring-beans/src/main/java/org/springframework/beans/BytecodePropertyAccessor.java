@@ -0,0 +1,87 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Base class for generated bean property accessors, invoking the read and
+ * write method of a single bean property directly instead of going through
+ * {@link java.lang.reflect.Method#invoke}.
+ *
+ * <p>Subclasses are generated at runtime by {@link BytecodePropertyAccessorGenerator}
+ * and cached per property within {@link CachedIntrospectionResults}. Callers are
+ * responsible for passing a target instance of the declaring class and a value
+ * which is assignable to the write method's parameter type.
+ *
+ * <p>Only intended for internal use; just public for access from generated classes.
+ *
+ * @since 5.3.39
+ * @see CachedIntrospectionResults#BYTECODE_ACCESSORS_PROPERTY_NAME
+ */
+public abstract class BytecodePropertyAccessor {
+
+	private final boolean readable;
+
+	private final boolean writable;
+
+
+	/**
+	 * Create a new accessor.
+	 * @param readable whether the subclass implements {@link #getValue}
+	 * @param writable whether the subclass implements {@link #setValue}
+	 */
+	protected BytecodePropertyAccessor(boolean readable, boolean writable) {
+		this.readable = readable;
+		this.writable = writable;
+	}
+
+
+	/**
+	 * Return whether this accessor is able to invoke the property's read method.
+	 */
+	public final boolean isReadable() {
+		return this.readable;
+	}
+
+	/**
+	 * Return whether this accessor is able to invoke the property's write method.
+	 */
+	public final boolean isWritable() {
+		return this.writable;
+	}
+
+	/**
+	 * Invoke the read method of the property on the given target.
+	 * @param target the target instance
+	 * @return the property value (boxed in case of a primitive property type)
+	 */
+	@Nullable
+	public Object getValue(Object target) {
+		throw new IllegalStateException("Property is not readable: " + getClass().getName());
+	}
+
+	/**
+	 * Invoke the write method of the property on the given target.
+	 * @param target the target instance
+	 * @param value the value to apply (unboxed in case of a primitive parameter type)
+	 */
+	public void setValue(Object target, @Nullable Object value) {
+		throw new IllegalStateException("Property is not writable: " + getClass().getName());
+	}
+
+}
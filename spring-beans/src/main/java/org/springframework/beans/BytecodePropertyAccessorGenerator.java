@@ -0,0 +1,249 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Generates {@link BytecodePropertyAccessor} subclasses which invoke the
+ * read and write method of a bean property through plain {@code invokevirtual}
+ * or {@code invokeinterface} instructions, using the ASM library repackaged
+ * in Spring Core.
+ *
+ * <p>Generated classes are defined in a child ClassLoader of the bean class's
+ * ClassLoader (cache-safe bean classes only). Accessors are only generated
+ * for public methods on public types that are visible from that ClassLoader;
+ * {@code null} is returned for any other property, letting the caller fall
+ * back to reflection.
+ *
+ * @since 5.3.39
+ * @see CachedIntrospectionResults#getBytecodeAccessor(PropertyDescriptor)
+ */
+final class BytecodePropertyAccessorGenerator implements Opcodes {
+
+	private static final Log logger = LogFactory.getLog(BytecodePropertyAccessorGenerator.class);
+
+	private static final String ACCESSOR_SUPERCLASS = Type.getInternalName(BytecodePropertyAccessor.class);
+
+	private static final String OBJECT_DESCRIPTOR = "Ljava/lang/Object;";
+
+	private static final AtomicInteger suffixId = new AtomicInteger(1);
+
+	/** Child ClassLoaders for generated accessors, keyed by bean ClassLoader. */
+	private static final Map<ClassLoader, ChildClassLoader> classLoaders = new ConcurrentReferenceHashMap<>();
+
+
+	private BytecodePropertyAccessorGenerator() {
+	}
+
+
+	/**
+	 * Generate an accessor for the given property, if possible.
+	 * @param beanClass the introspected bean class
+	 * @param pd the property descriptor to generate an accessor for
+	 * @return the accessor, or {@code null} if the property does not qualify
+	 * for bytecode access (in which case reflection is to be used)
+	 */
+	@Nullable
+	static BytecodePropertyAccessor generate(Class<?> beanClass, PropertyDescriptor pd) {
+		Method readMethod = pd.getReadMethod();
+		Method writeMethod = pd.getWriteMethod();
+		if (writeMethod != null && pd instanceof GenericTypeAwarePropertyDescriptor) {
+			writeMethod = ((GenericTypeAwarePropertyDescriptor) pd).getWriteMethodForActualAccess();
+		}
+		if (readMethod != null && !isAccessible(readMethod)) {
+			readMethod = null;
+		}
+		if (writeMethod != null && !isAccessible(writeMethod)) {
+			writeMethod = null;
+		}
+		if (readMethod == null && writeMethod == null) {
+			return null;
+		}
+
+		ClassLoader beanClassLoader = beanClass.getClassLoader();
+		if (beanClassLoader == null || !ClassUtils.isVisible(BytecodePropertyAccessor.class, beanClassLoader)) {
+			return null;
+		}
+
+		String className = "org/springframework/beans/generated/PropertyAccessor" + suffixId.getAndIncrement();
+		byte[] bytes = generateClass(className, readMethod, writeMethod);
+		try {
+			ChildClassLoader ccl = classLoaders.computeIfAbsent(beanClassLoader, ChildClassLoader::new);
+			Class<?> accessorClass = ccl.defineClass(className.replace('/', '.'), bytes);
+			return (BytecodePropertyAccessor) ReflectionUtils.accessibleConstructor(accessorClass).newInstance();
+		}
+		catch (Throwable ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Failed to generate accessor for property '" + pd.getName() +
+						"' of class [" + beanClass.getName() + "] - falling back to reflection", ex);
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * Release the child ClassLoaders for the given ClassLoader and its children.
+	 * @param classLoader the ClassLoader to release generated accessor classes for
+	 * @see CachedIntrospectionResults#clearClassLoader
+	 */
+	static void clearClassLoader(@Nullable ClassLoader classLoader) {
+		classLoaders.keySet().removeIf(beanClassLoader ->
+				CachedIntrospectionResults.isUnderneathClassLoader(beanClassLoader, classLoader));
+	}
+
+	private static boolean isAccessible(Method method) {
+		if (!Modifier.isPublic(method.getModifiers()) || Modifier.isStatic(method.getModifiers()) ||
+				!Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+			return false;
+		}
+		for (Class<?> paramType : method.getParameterTypes()) {
+			if (!isPublicType(paramType)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isPublicType(Class<?> type) {
+		Class<?> typeToCheck = type;
+		while (typeToCheck.isArray()) {
+			typeToCheck = typeToCheck.getComponentType();
+		}
+		return (typeToCheck.isPrimitive() || Modifier.isPublic(typeToCheck.getModifiers()));
+	}
+
+	private static byte[] generateClass(String className, @Nullable Method readMethod, @Nullable Method writeMethod) {
+		ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+		cw.visit(V1_8, ACC_PUBLIC | ACC_FINAL | ACC_SUPER, className, null, ACCESSOR_SUPERCLASS, null);
+
+		MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+		mv.visitCode();
+		mv.visitVarInsn(ALOAD, 0);
+		mv.visitInsn(readMethod != null ? ICONST_1 : ICONST_0);
+		mv.visitInsn(writeMethod != null ? ICONST_1 : ICONST_0);
+		mv.visitMethodInsn(INVOKESPECIAL, ACCESSOR_SUPERCLASS, "<init>", "(ZZ)V", false);
+		mv.visitInsn(RETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		if (readMethod != null) {
+			mv = cw.visitMethod(ACC_PUBLIC, "getValue", "(" + OBJECT_DESCRIPTOR + ")" + OBJECT_DESCRIPTOR, null, null);
+			mv.visitCode();
+			mv.visitVarInsn(ALOAD, 1);
+			insertTargetInvocation(mv, readMethod);
+			Class<?> returnType = readMethod.getReturnType();
+			if (returnType.isPrimitive()) {
+				insertBoxing(mv, returnType);
+			}
+			mv.visitInsn(ARETURN);
+			mv.visitMaxs(0, 0);
+			mv.visitEnd();
+		}
+
+		if (writeMethod != null) {
+			mv = cw.visitMethod(ACC_PUBLIC, "setValue", "(" + OBJECT_DESCRIPTOR + OBJECT_DESCRIPTOR + ")V", null, null);
+			mv.visitCode();
+			mv.visitVarInsn(ALOAD, 1);
+			mv.visitTypeInsn(CHECKCAST, Type.getInternalName(writeMethod.getDeclaringClass()));
+			mv.visitVarInsn(ALOAD, 2);
+			Class<?> paramType = writeMethod.getParameterTypes()[0];
+			if (paramType.isPrimitive()) {
+				insertUnboxing(mv, paramType);
+			}
+			else if (paramType != Object.class) {
+				mv.visitTypeInsn(CHECKCAST, Type.getInternalName(paramType));
+			}
+			insertMethodInsn(mv, writeMethod);
+			Class<?> returnType = writeMethod.getReturnType();
+			if (returnType == long.class || returnType == double.class) {
+				mv.visitInsn(POP2);
+			}
+			else if (returnType != void.class) {
+				mv.visitInsn(POP);
+			}
+			mv.visitInsn(RETURN);
+			mv.visitMaxs(0, 0);
+			mv.visitEnd();
+		}
+
+		cw.visitEnd();
+		return cw.toByteArray();
+	}
+
+	private static void insertTargetInvocation(MethodVisitor mv, Method method) {
+		mv.visitTypeInsn(CHECKCAST, Type.getInternalName(method.getDeclaringClass()));
+		insertMethodInsn(mv, method);
+	}
+
+	private static void insertMethodInsn(MethodVisitor mv, Method method) {
+		Class<?> declaringClass = method.getDeclaringClass();
+		boolean isInterface = declaringClass.isInterface();
+		mv.visitMethodInsn(isInterface ? INVOKEINTERFACE : INVOKEVIRTUAL, Type.getInternalName(declaringClass),
+				method.getName(), Type.getMethodDescriptor(method), isInterface);
+	}
+
+	private static void insertBoxing(MethodVisitor mv, Class<?> primitiveType) {
+		Class<?> wrapperType = ClassUtils.resolvePrimitiveIfNecessary(primitiveType);
+		mv.visitMethodInsn(INVOKESTATIC, Type.getInternalName(wrapperType), "valueOf",
+				"(" + Type.getDescriptor(primitiveType) + ")" + Type.getDescriptor(wrapperType), false);
+	}
+
+	private static void insertUnboxing(MethodVisitor mv, Class<?> primitiveType) {
+		Class<?> wrapperType = ClassUtils.resolvePrimitiveIfNecessary(primitiveType);
+		String wrapperName = Type.getInternalName(wrapperType);
+		mv.visitTypeInsn(CHECKCAST, wrapperName);
+		mv.visitMethodInsn(INVOKEVIRTUAL, wrapperName, primitiveType.getName() + "Value",
+				"()" + Type.getDescriptor(primitiveType), false);
+	}
+
+
+	/**
+	 * A ChildClassLoader that defines the generated accessor classes.
+	 */
+	private static class ChildClassLoader extends URLClassLoader {
+
+		private static final URL[] NO_URLS = new URL[0];
+
+		public ChildClassLoader(ClassLoader classLoader) {
+			super(NO_URLS, classLoader);
+		}
+
+		public Class<?> defineClass(String name, byte[] bytes) {
+			return super.defineClass(name, bytes, 0, bytes.length);
+		}
+	}
+
+}
@@ -97,10 +97,31 @@ public final class CachedIntrospectionResults {
 	 */
 	public static final String IGNORE_BEANINFO_PROPERTY_NAME = "spring.beaninfo.ignore";
 
+	/**
+	 * System property that instructs Spring to invoke bean property read and write
+	 * methods through generated bytecode instead of reflection:
+	 * "spring.beans.bytecode-accessors", with a value of "true" generating one accessor
+	 * class per property on first access and caching it along with the introspection
+	 * results for the bean class.
+	 * <p>The default is "false", using {@link Method#invoke} for every property access.
+	 * Consider switching this flag to "true" for data binding or row mapping hot paths
+	 * that access the same bean classes over and over again. Properties with non-public
+	 * accessor methods or declaring classes keep using reflection in any case, as do
+	 * bean classes which are not cache-safe: generated classes would otherwise keep
+	 * their ClassLoader alive beyond the lifecycle of the introspection results.
+	 * <p>The flag is evaluated whenever introspection results are created for a class.
+	 * @since 5.3.39
+	 * @see BytecodePropertyAccessor
+	 */
+	public static final String BYTECODE_ACCESSORS_PROPERTY_NAME = "spring.beans.bytecode-accessors";
+
 
 	private static final boolean shouldIntrospectorIgnoreBeaninfoClasses =
 			SpringProperties.getFlag(IGNORE_BEANINFO_PROPERTY_NAME);
 
+	/** Marker for properties that do not qualify for bytecode access. */
+	private static final Object NO_BYTECODE_ACCESSOR = new Object();
+
 	/** Stores the BeanInfoFactory instances. */
 	private static final List<BeanInfoFactory> beanInfoFactories = SpringFactoriesLoader.loadFactories(
 			BeanInfoFactory.class, CachedIntrospectionResults.class.getClassLoader());
@@ -160,6 +181,7 @@ public final class CachedIntrospectionResults {
 				isUnderneathClassLoader(beanClass.getClassLoader(), classLoader));
 		softClassCache.keySet().removeIf(beanClass ->
 				isUnderneathClassLoader(beanClass.getClassLoader(), classLoader));
+		BytecodePropertyAccessorGenerator.clearClassLoader(classLoader);
 	}
 
 	/**
@@ -181,8 +203,7 @@ public final class CachedIntrospectionResults {
 		results = new CachedIntrospectionResults(beanClass);
 		ConcurrentMap<Class<?>, CachedIntrospectionResults> classCacheToUse;
 
-		if (ClassUtils.isCacheSafe(beanClass, CachedIntrospectionResults.class.getClassLoader()) ||
-				isClassLoaderAccepted(beanClass.getClassLoader())) {
+		if (isCacheSafe(beanClass)) {
 			classCacheToUse = strongClassCache;
 		}
 		else {
@@ -196,6 +217,16 @@ public final class CachedIntrospectionResults {
 		return (existing != null ? existing : results);
 	}
 
+	/**
+	 * Check whether the given bean class is cache-safe, i.e. whether it may be
+	 * strongly cached without creating a ClassLoader leak.
+	 * @param beanClass the bean class to check
+	 */
+	private static boolean isCacheSafe(Class<?> beanClass) {
+		return (ClassUtils.isCacheSafe(beanClass, CachedIntrospectionResults.class.getClassLoader()) ||
+				isClassLoaderAccepted(beanClass.getClassLoader()));
+	}
+
 	/**
 	 * Check whether this CachedIntrospectionResults class is configured
 	 * to accept the given ClassLoader.
@@ -218,7 +249,7 @@ public final class CachedIntrospectionResults {
 	 * @param candidate the candidate ClassLoader to check
 	 * @param parent the parent ClassLoader to check for
 	 */
-	private static boolean isUnderneathClassLoader(@Nullable ClassLoader candidate, @Nullable ClassLoader parent) {
+	static boolean isUnderneathClassLoader(@Nullable ClassLoader candidate, @Nullable ClassLoader parent) {
 		if (candidate == parent) {
 			return true;
 		}
@@ -276,6 +307,10 @@ public final class CachedIntrospectionResults {
 	/** TypeDescriptor objects keyed by PropertyDescriptor. */
 	private final ConcurrentMap<PropertyDescriptor, TypeDescriptor> typeDescriptorCache;
 
+	/** BytecodePropertyAccessor objects (or marker) keyed by PropertyDescriptor. */
+	@Nullable
+	private final ConcurrentMap<PropertyDescriptor, Object> bytecodeAccessorCache;
+
 
 	/**
 	 * Create a new CachedIntrospectionResults instance for the given class.
@@ -340,6 +375,8 @@ public final class CachedIntrospectionResults {
 			introspectPlainAccessors(beanClass, readMethodNames);
 
 			this.typeDescriptorCache = new ConcurrentReferenceHashMap<>();
+			this.bytecodeAccessorCache = (SpringProperties.getFlag(BYTECODE_ACCESSORS_PROPERTY_NAME) &&
+					System.getSecurityManager() == null && isCacheSafe(beanClass) ? new ConcurrentHashMap<>() : null);
 		}
 		catch (IntrospectionException ex) {
 			throw new FatalBeanException("Failed to obtain BeanInfo for class [" + beanClass.getName() + "]", ex);
@@ -458,4 +495,24 @@ public final class CachedIntrospectionResults {
 		return this.typeDescriptorCache.get(pd);
 	}
 
+	/**
+	 * Return the generated accessor for the given property, generating it on first access.
+	 * @param pd a property descriptor obtained from this introspection result
+	 * @return the accessor, or {@code null} if bytecode accessors are not enabled,
+	 * the bean class is not cache-safe or the property does not qualify for them
+	 * @since 5.3.39
+	 * @see #BYTECODE_ACCESSORS_PROPERTY_NAME
+	 */
+	@Nullable
+	BytecodePropertyAccessor getBytecodeAccessor(PropertyDescriptor pd) {
+		if (this.bytecodeAccessorCache == null) {
+			return null;
+		}
+		Object accessor = this.bytecodeAccessorCache.computeIfAbsent(pd, key -> {
+			BytecodePropertyAccessor generated = BytecodePropertyAccessorGenerator.generate(getBeanClass(), key);
+			return (generated != null ? generated : NO_BYTECODE_ACCESSOR);
+		});
+		return (accessor != NO_BYTECODE_ACCESSOR ? (BytecodePropertyAccessor) accessor : null);
+	}
+
 }
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.PropertyDescriptor;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.testfixture.beans.ITestBean;
+import org.springframework.beans.testfixture.beans.TestBean;
+import org.springframework.core.OverridingClassLoader;
+import org.springframework.core.SpringProperties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link BytecodePropertyAccessorGenerator}.
+ */
+class BytecodePropertyAccessorGeneratorTests {
+
+	@Test
+	void primitiveProperty() {
+		BytecodePropertyAccessor accessor = generate(TestBean.class, "age");
+		assertThat(accessor).isNotNull();
+		assertThat(accessor.isReadable()).isTrue();
+		assertThat(accessor.isWritable()).isTrue();
+
+		TestBean target = new TestBean();
+		accessor.setValue(target, 42);
+		assertThat(target.getAge()).isEqualTo(42);
+		assertThat(accessor.getValue(target)).isEqualTo(42);
+	}
+
+	@Test
+	void objectProperty() {
+		BytecodePropertyAccessor accessor = generate(TestBean.class, "spouse");
+		assertThat(accessor).isNotNull();
+
+		TestBean target = new TestBean();
+		ITestBean spouse = new TestBean("kerry");
+		accessor.setValue(target, spouse);
+		assertThat(target.getSpouse()).isSameAs(spouse);
+		assertThat(accessor.getValue(target)).isSameAs(spouse);
+		accessor.setValue(target, null);
+		assertThat(target.getSpouse()).isNull();
+	}
+
+	@Test
+	void readOnlyProperty() {
+		BytecodePropertyAccessor accessor = generate(ReadOnlyBean.class, "value");
+		assertThat(accessor).isNotNull();
+		assertThat(accessor.isReadable()).isTrue();
+		assertThat(accessor.isWritable()).isFalse();
+		assertThat(accessor.getValue(new ReadOnlyBean())).isEqualTo(5L);
+		assertThatIllegalStateException().isThrownBy(() -> accessor.setValue(new ReadOnlyBean(), 1L));
+	}
+
+	@Test
+	void nonPublicClassIsNotSupported() {
+		assertThat(generate(NonPublicBean.class, "name")).isNull();
+	}
+
+	@Test
+	void fluentSetter() {
+		BytecodePropertyAccessor accessor = generate(FluentBean.class, "name");
+		assertThat(accessor).isNotNull();
+		assertThat(accessor.isWritable()).isTrue();
+
+		FluentBean target = new FluentBean();
+		accessor.setValue(target, "spring");
+		assertThat(target.getName()).isEqualTo("spring");
+	}
+
+	@Test
+	void beanWrapperUsesBytecodeAccessors() {
+		SpringProperties.setFlag(CachedIntrospectionResults.BYTECODE_ACCESSORS_PROPERTY_NAME);
+		CachedIntrospectionResults.strongClassCache.remove(IntegrationBean.class);
+		try {
+			IntegrationBean target = new IntegrationBean();
+			BeanWrapper bw = new BeanWrapperImpl(target);
+			CachedIntrospectionResults results = CachedIntrospectionResults.forClass(IntegrationBean.class);
+			assertThat(results.getBytecodeAccessor(results.getPropertyDescriptor("count"))).isNotNull();
+
+			bw.setPropertyValue("count", "42");
+			bw.setPropertyValue("name", "spring");
+			assertThat(target.getCount()).isEqualTo(42);
+			assertThat(bw.getPropertyValue("count")).isEqualTo(42);
+			assertThat(bw.getPropertyValue("name")).isEqualTo("spring");
+			assertThatExceptionOfType(TypeMismatchException.class).isThrownBy(() ->
+					bw.setPropertyValue("count", "forty-two"));
+			assertThatExceptionOfType(MethodInvocationException.class).isThrownBy(() ->
+					bw.setPropertyValue("failing", "value"))
+					.withCauseInstanceOf(IllegalArgumentException.class);
+		}
+		finally {
+			SpringProperties.setProperty(CachedIntrospectionResults.BYTECODE_ACCESSORS_PROPERTY_NAME, null);
+			CachedIntrospectionResults.strongClassCache.remove(IntegrationBean.class);
+		}
+	}
+
+	@Test
+	void noBytecodeAccessorsForNonCacheSafeClass() throws Exception {
+		SpringProperties.setFlag(CachedIntrospectionResults.BYTECODE_ACCESSORS_PROPERTY_NAME);
+		ClassLoader child = new OverridingClassLoader(getClass().getClassLoader());
+		try {
+			Class<?> beanClass = child.loadClass(IntegrationBean.class.getName());
+			CachedIntrospectionResults results = CachedIntrospectionResults.forClass(beanClass);
+			assertThat(results.getBytecodeAccessor(results.getPropertyDescriptor("count"))).isNull();
+
+			BeanWrapper bw = new BeanWrapperImpl(beanClass);
+			bw.setPropertyValue("count", 42);
+			assertThat(bw.getPropertyValue("count")).isEqualTo(42);
+		}
+		finally {
+			SpringProperties.setProperty(CachedIntrospectionResults.BYTECODE_ACCESSORS_PROPERTY_NAME, null);
+			CachedIntrospectionResults.clearClassLoader(child);
+		}
+	}
+
+
+	private static BytecodePropertyAccessor generate(Class<?> beanClass, String propertyName) {
+		PropertyDescriptor pd = CachedIntrospectionResults.forClass(beanClass).getPropertyDescriptor(propertyName);
+		assertThat(pd).isNotNull();
+		return BytecodePropertyAccessorGenerator.generate(beanClass, pd);
+	}
+
+
+	public static class ReadOnlyBean {
+
+		public long getValue() {
+			return 5L;
+		}
+	}
+
+
+	public static class FluentBean {
+
+		private String name;
+
+		public String getName() {
+			return this.name;
+		}
+
+		public FluentBean setName(String name) {
+			this.name = name;
+			return this;
+		}
+	}
+
+
+	public static class IntegrationBean {
+
+		private int count;
+
+		private String name;
+
+		public int getCount() {
+			return this.count;
+		}
+
+		public void setCount(int count) {
+			this.count = count;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public void setFailing(String failing) {
+			throw new IllegalArgumentException(failing);
+		}
+	}
+
+
+	@SuppressWarnings("unused")
+	static class NonPublicBean {
+
+		public String getName() {
+			return "";
+		}
+
+		public void setName(String name) {
+		}
+	}
+
+}
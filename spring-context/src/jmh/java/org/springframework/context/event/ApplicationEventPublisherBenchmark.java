@@ -0,0 +1,121 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.event;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.context.support.GenericApplicationContext;
+
+/**
+ * Benchmark for publishing events through an
+ * {@link org.springframework.context.ApplicationEventPublisher},
+ * with listeners for the published event types as well as non-matching ones.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Threads(4)
+public class ApplicationEventPublisherBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"1", "20"})
+		public int listenerCount;
+
+		public GenericApplicationContext context;
+
+		@Setup
+		public void setup() {
+			this.context = new GenericApplicationContext();
+			for (int i = 0; i < this.listenerCount; i++) {
+				this.context.addApplicationListener(new TestEventListener());
+				this.context.addApplicationListener(new PayloadListener());
+				this.context.addApplicationListener(new OtherPayloadListener());
+			}
+			this.context.refresh();
+		}
+
+		@TearDown
+		public void teardown() {
+			this.context.close();
+		}
+	}
+
+	@Benchmark
+	public void publishApplicationEvent(BenchmarkState state, Blackhole bh) {
+		TestEvent event = new TestEvent(state);
+		state.context.publishEvent(event);
+		bh.consume(event);
+	}
+
+	@Benchmark
+	public void publishPayloadEvent(BenchmarkState state) {
+		state.context.publishEvent("payload");
+	}
+
+
+	@SuppressWarnings("serial")
+	static class TestEvent extends ApplicationEvent {
+
+		TestEvent(Object source) {
+			super(source);
+		}
+	}
+
+
+	static class TestEventListener implements ApplicationListener<TestEvent> {
+
+		volatile TestEvent lastEvent;
+
+		@Override
+		public void onApplicationEvent(TestEvent event) {
+			this.lastEvent = event;
+		}
+	}
+
+
+	static class PayloadListener implements ApplicationListener<PayloadApplicationEvent<String>> {
+
+		volatile String lastPayload;
+
+		@Override
+		public void onApplicationEvent(PayloadApplicationEvent<String> event) {
+			this.lastPayload = event.getPayload();
+		}
+	}
+
+
+	static class OtherPayloadListener implements ApplicationListener<PayloadApplicationEvent<Integer>> {
+
+		@Override
+		public void onApplicationEvent(PayloadApplicationEvent<Integer> event) {
+			throw new IllegalStateException("Unexpected event: " + event);
+		}
+	}
+
+}
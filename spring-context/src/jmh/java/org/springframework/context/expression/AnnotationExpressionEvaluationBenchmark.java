@@ -0,0 +1,159 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.expression;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.expression.spel.SpelParserConfiguration;
+
+/**
+ * Benchmark for the evaluation of SpEL expressions declared on
+ * {@code @Cacheable} and {@code @EventListener} methods, with and without
+ * expression compilation.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class AnnotationExpressionEvaluationBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"off", "mixed"})
+		public String compilerMode;
+
+		public AnnotationConfigApplicationContext context;
+
+		public CachedService service;
+
+		public Order order = new Order("order1", 42);
+
+		@Setup
+		public void setup() {
+			System.setProperty(SpelParserConfiguration.SPRING_EXPRESSION_COMPILER_MODE_PROPERTY_NAME, this.compilerMode);
+			this.context = new AnnotationConfigApplicationContext(BenchmarkConfig.class);
+			this.service = this.context.getBean(CachedService.class);
+		}
+
+		@TearDown
+		public void teardown() {
+			this.context.close();
+			System.clearProperty(SpelParserConfiguration.SPRING_EXPRESSION_COMPILER_MODE_PROPERTY_NAME);
+		}
+	}
+
+	@Benchmark
+	public void cacheableKeyAndCondition(BenchmarkState state, Blackhole bh) {
+		bh.consume(state.service.findOrder(state.order));
+	}
+
+	@Benchmark
+	public void eventListenerCondition(BenchmarkState state) {
+		state.context.publishEvent(new OrderEvent(state.order));
+	}
+
+
+	@Configuration
+	@EnableCaching
+	static class BenchmarkConfig {
+
+		@Bean
+		public CacheManager cacheManager() {
+			return new ConcurrentMapCacheManager();
+		}
+
+		@Bean
+		public CachedService cachedService() {
+			return new CachedService();
+		}
+
+		@Bean
+		public OrderListener orderListener() {
+			return new OrderListener();
+		}
+	}
+
+
+	public static class CachedService {
+
+		@Cacheable(cacheNames = "orders", key = "#root.methodName + #order.id", condition = "#order.quantity > 0")
+		public Order findOrder(Order order) {
+			return order;
+		}
+	}
+
+
+	public static class OrderListener {
+
+		public volatile Order lastOrder;
+
+		@EventListener(condition = "#event.order.quantity > 10 and #root.args.length == 1")
+		public void onOrder(OrderEvent event) {
+			this.lastOrder = event.getOrder();
+		}
+	}
+
+
+	public static class Order {
+
+		private final String id;
+
+		private final int quantity;
+
+		public Order(String id, int quantity) {
+			this.id = id;
+			this.quantity = quantity;
+		}
+
+		public String getId() {
+			return this.id;
+		}
+
+		public int getQuantity() {
+			return this.quantity;
+		}
+	}
+
+
+	@SuppressWarnings("serial")
+	public static class OrderEvent extends ApplicationEvent {
+
+		public OrderEvent(Order order) {
+			super(order);
+		}
+
+		public Order getOrder() {
+			return (Order) getSource();
+		}
+	}
+
+}
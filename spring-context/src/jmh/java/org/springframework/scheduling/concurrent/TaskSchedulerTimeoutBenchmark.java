@@ -0,0 +1,87 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.concurrent;
+
+import java.util.Date;
+import java.util.concurrent.ScheduledFuture;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.TaskScheduler;
+
+/**
+ * Benchmark for scheduling and cancelling timeouts on a {@link TaskScheduler}
+ * that already holds a large number of pending timeouts, as is typical for
+ * heartbeat and request timeout handling.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Threads(4)
+public class TaskSchedulerTimeoutBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"threadPool", "hashedWheel"})
+		public String scheduler;
+
+		@Param({"100000"})
+		public int pendingTimeouts;
+
+		public TaskScheduler taskScheduler;
+
+		public Runnable task = () -> {};
+
+		@Setup(Level.Trial)
+		public void setup() {
+			if ("hashedWheel".equals(this.scheduler)) {
+				this.taskScheduler = new HashedWheelTaskScheduler();
+			}
+			else {
+				ThreadPoolTaskScheduler threadPoolTaskScheduler = new ThreadPoolTaskScheduler();
+				threadPoolTaskScheduler.setRemoveOnCancelPolicy(true);
+				threadPoolTaskScheduler.afterPropertiesSet();
+				this.taskScheduler = threadPoolTaskScheduler;
+			}
+			Date startTime = new Date(System.currentTimeMillis() + 3_600_000);
+			for (int i = 0; i < this.pendingTimeouts; i++) {
+				this.taskScheduler.schedule(this.task, startTime);
+			}
+		}
+
+		@TearDown(Level.Trial)
+		public void teardown() throws Exception {
+			((DisposableBean) this.taskScheduler).destroy();
+		}
+	}
+
+	@Benchmark
+	public boolean scheduleAndCancel(BenchmarkState state) {
+		ScheduledFuture<?> future = state.taskScheduler.schedule(state.task, new Date(System.currentTimeMillis() + 30_000));
+		return future.cancel(false);
+	}
+
+}
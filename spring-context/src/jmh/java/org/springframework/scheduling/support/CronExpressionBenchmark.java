@@ -0,0 +1,96 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.support;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Date;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmark for computing next execution times of cron expressions,
+ * through {@link ZonedDateTime} instances as well as on epoch milliseconds.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class CronExpressionBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"0 */5 * * * *", "0 0 9-17 * * MON-FRI", "0 0 0 1 * *", "0 0 0 L * *"})
+		public String expression;
+
+		@Param({"UTC", "Europe/Berlin"})
+		public String zone;
+
+		public CronExpression cronExpression;
+
+		public CronTrigger cronTrigger;
+
+		public ZoneId zoneId;
+
+		public ZonedDateTime timestamp;
+
+		public long epochMilli;
+
+		public SimpleTriggerContext triggerContext;
+
+		public long[] matches = new long[100];
+
+		@Setup
+		public void setup() {
+			this.cronExpression = CronExpression.parse(this.expression);
+			this.zoneId = ZoneId.of(this.zone);
+			this.cronTrigger = new CronTrigger(this.expression, this.zoneId);
+			this.epochMilli = 1_700_000_000_123L;
+			this.timestamp = ZonedDateTime.ofInstant(Instant.ofEpochMilli(this.epochMilli), this.zoneId);
+			Date lastExecution = new Date(this.epochMilli);
+			this.triggerContext = new SimpleTriggerContext(lastExecution, lastExecution, lastExecution);
+		}
+	}
+
+	@Benchmark
+	public ZonedDateTime nextZonedDateTime(BenchmarkState state) {
+		return state.cronExpression.next(state.timestamp);
+	}
+
+	@Benchmark
+	public long nextEpochMilli(BenchmarkState state) {
+		return state.cronExpression.nextEpochMilli(state.epochMilli, state.zoneId);
+	}
+
+	@Benchmark
+	public void nextEpochMillis(BenchmarkState state, Blackhole bh) {
+		bh.consume(state.cronExpression.nextEpochMillis(state.epochMilli, state.zoneId, state.matches));
+		bh.consume(state.matches);
+	}
+
+	@Benchmark
+	public Date cronTriggerNextExecutionTime(BenchmarkState state) {
+		return state.cronTrigger.nextExecutionTime(state.triggerContext);
+	}
+
+}
@@ -17,6 +17,7 @@
 package org.springframework.cache;
 
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.lang.Nullable;
 
@@ -106,6 +107,26 @@ public interface Cache {
 	@Nullable
 	<T> T get(Object key, Callable<T> valueLoader);
 
+	/**
+	 * Return the value to which this cache maps the specified key,
+	 * wrapped in a {@link CompletableFuture}.
+	 * <p>The returned future completes with {@code null} if the cache contains
+	 * no mapping for this key; otherwise, with the cached value (which may be
+	 * {@code null} itself) in a {@link ValueWrapper}.
+	 * <p>The default implementation delegates to {@link #get(Object)} and
+	 * returns an already completed future. Caches backed by a non-blocking
+	 * store are encouraged to override this, so that the lookups performed
+	 * for {@code CompletableFuture} and reactive {@code @Cacheable} methods
+	 * do not block the calling thread.
+	 * @param key the key whose associated value is to be returned
+	 * @return a future for the value to which this cache maps the specified key
+	 * @since 5.3.39
+	 * @see #get(Object)
+	 */
+	default CompletableFuture<ValueWrapper> retrieve(Object key) {
+		return CompletableFuture.completedFuture(get(key));
+	}
+
 	/**
 	 * Associate the specified value with the specified key in this cache.
 	 * <p>If the cache previously contained a mapping for this key, the old
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache;
+
+/**
+ * Extension of the {@link Cache} interface for caches which are able to tell
+ * whether an entry should be reloaded ahead of its expiration.
+ *
+ * <p>Used by the caching aspect for refresh-ahead: when a cache hit is served
+ * from an entry that is due for refresh, the cached method is invoked again
+ * asynchronously and its result is put into the cache, while the caller
+ * receives the currently cached value.
+ *
+ * @since 5.3.39
+ * @see org.springframework.cache.interceptor.CacheAspectSupport#setRefreshAheadExecutor
+ */
+public interface RefreshableCache extends Cache {
+
+	/**
+	 * Determine whether the entry for the given key is due for refresh.
+	 * <p>Implementations are expected to return {@code true} only once per
+	 * written entry, so that concurrent hits trigger a single refresh.
+	 * @param key the key whose entry to check
+	 * @return {@code true} if the caller should reload the entry
+	 */
+	boolean isRefreshDue(Object key);
+
+}
@@ -0,0 +1,745 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.concurrent;
+
+import java.time.Duration;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * {@link ConcurrentMap} implementation with a maximum number of entries and
+ * optional expiration, intended as a bounded store for {@link ConcurrentMapCache}.
+ *
+ * <p>Entries are distributed over a power-of-two number of segments by key hash.
+ * Each segment is guarded by its own lock and keeps its entries in access order,
+ * evicting its least recently used entries once its share of the maximum size
+ * has been exceeded. Expired entries are removed lazily: on access, and from the
+ * least recently used end of a segment whenever an entry is written to it.
+ *
+ * <p>All operations, including reads, briefly acquire the lock of the segment
+ * for the given key since a read updates the access order of the segment.
+ * {@link #computeIfAbsent} invokes the mapping function outside of any lock,
+ * publishing a per-key placeholder first so that concurrent loads for the same
+ * key wait for the first one, while a slow value loader does not block access
+ * to any other entry.
+ *
+ * <p>Hits, misses, loads and evictions are recorded and exposed through
+ * {@link #getStatistics()}. Note that {@link #entrySet()} and the derived
+ * key and value views are unmodifiable snapshots.
+ *
+ * @since 5.3.39
+ * @param <K> the key type
+ * @param <V> the value type
+ * @see ConcurrentMapCacheManager#setMaximumSize
+ */
+public class BoundedConcurrentMap<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V> {
+
+	private static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+	private static final int MAXIMUM_CONCURRENCY_LEVEL = 1 << 16;
+
+
+	private final int maximumSize;
+
+	private final long expireAfterWriteNanos;
+
+	private final long expireAfterAccessNanos;
+
+	private volatile long refreshAfterWriteNanos;
+
+	private final Segment<K, V>[] segments;
+
+	private final int segmentMask;
+
+	/** Transient per-key placeholders for loads in progress. */
+	private final ConcurrentHashMap<Object, LoadingFuture<V>> loading = new ConcurrentHashMap<>();
+
+	private LongSupplier ticker = System::nanoTime;
+
+	private final LongAdder hitCount = new LongAdder();
+
+	private final LongAdder missCount = new LongAdder();
+
+	private final LongAdder loadCount = new LongAdder();
+
+	private final LongAdder loadFailureCount = new LongAdder();
+
+	private final LongAdder totalLoadTime = new LongAdder();
+
+	private final LongAdder evictionCount = new LongAdder();
+
+	private final LongAdder expirationCount = new LongAdder();
+
+
+	/**
+	 * Create a new {@code BoundedConcurrentMap} without expiration.
+	 * @param maximumSize the maximum number of entries
+	 */
+	public BoundedConcurrentMap(int maximumSize) {
+		this(maximumSize, null, null);
+	}
+
+	/**
+	 * Create a new {@code BoundedConcurrentMap}.
+	 * @param maximumSize the maximum number of entries
+	 * @param expireAfterWrite the time after which an entry expires once it
+	 * has been written, or {@code null} for no write-based expiration
+	 * @param expireAfterAccess the time after which an entry expires once it
+	 * has last been read or written, or {@code null} for no access-based expiration
+	 */
+	public BoundedConcurrentMap(int maximumSize,
+			@Nullable Duration expireAfterWrite, @Nullable Duration expireAfterAccess) {
+
+		this(maximumSize, expireAfterWrite, expireAfterAccess, DEFAULT_CONCURRENCY_LEVEL);
+	}
+
+	/**
+	 * Create a new {@code BoundedConcurrentMap}.
+	 * @param maximumSize the maximum number of entries
+	 * @param expireAfterWrite the time after which an entry expires once it
+	 * has been written, or {@code null} for no write-based expiration
+	 * @param expireAfterAccess the time after which an entry expires once it
+	 * has last been read or written, or {@code null} for no access-based expiration
+	 * @param concurrencyLevel the expected number of concurrently updating threads,
+	 * used as a hint for the number of segments
+	 */
+	@SuppressWarnings("unchecked")
+	public BoundedConcurrentMap(int maximumSize, @Nullable Duration expireAfterWrite,
+			@Nullable Duration expireAfterAccess, int concurrencyLevel) {
+
+		Assert.isTrue(maximumSize > 0, "Maximum size must be greater than 0");
+		Assert.isTrue(concurrencyLevel > 0, "Concurrency level must be greater than 0");
+		Assert.isTrue(expireAfterWrite == null || !expireAfterWrite.isNegative(),
+				"Expire-after-write duration must not be negative");
+		Assert.isTrue(expireAfterAccess == null || !expireAfterAccess.isNegative(),
+				"Expire-after-access duration must not be negative");
+		this.maximumSize = maximumSize;
+		this.expireAfterWriteNanos = (expireAfterWrite != null ? expireAfterWrite.toNanos() : 0);
+		this.expireAfterAccessNanos = (expireAfterAccess != null ? expireAfterAccess.toNanos() : 0);
+
+		int segmentCount = 1;
+		int targetCount = Math.min(Math.min(concurrencyLevel, maximumSize), MAXIMUM_CONCURRENCY_LEVEL);
+		while (segmentCount < targetCount) {
+			segmentCount <<= 1;
+		}
+		if (segmentCount > maximumSize) {
+			segmentCount >>= 1;
+		}
+		this.segments = new Segment[segmentCount];
+		this.segmentMask = segmentCount - 1;
+		int capacity = maximumSize / segmentCount;
+		int remainder = maximumSize % segmentCount;
+		for (int i = 0; i < segmentCount; i++) {
+			this.segments[i] = new Segment<>(i < remainder ? capacity + 1 : capacity);
+		}
+	}
+
+
+	/**
+	 * Return the maximum number of entries in this map.
+	 */
+	public int getMaximumSize() {
+		return this.maximumSize;
+	}
+
+	/**
+	 * Specify the time after which an entry becomes {@linkplain #isRefreshDue due
+	 * for refresh} once it has been written, typically shorter than the
+	 * expire-after-write time.
+	 * <p>Default is none, i.e. no refresh-ahead.
+	 * @see org.springframework.cache.RefreshableCache
+	 */
+	public void setRefreshAfterWrite(@Nullable Duration refreshAfterWrite) {
+		Assert.isTrue(refreshAfterWrite == null || !refreshAfterWrite.isNegative(),
+				"Refresh-after-write duration must not be negative");
+		this.refreshAfterWriteNanos = (refreshAfterWrite != null ? refreshAfterWrite.toNanos() : 0);
+	}
+
+	/**
+	 * Specify the time source in nanoseconds, for testing purposes.
+	 */
+	void setTicker(LongSupplier ticker) {
+		this.ticker = ticker;
+	}
+
+	/**
+	 * Return a snapshot of the statistics recorded for this map.
+	 */
+	public Statistics getStatistics() {
+		return new Statistics(this.hitCount.sum(), this.missCount.sum(), this.loadCount.sum(),
+				this.loadFailureCount.sum(), this.totalLoadTime.sum(), this.evictionCount.sum(),
+				this.expirationCount.sum());
+	}
+
+
+	@Override
+	@Nullable
+	public V get(Object key) {
+		V value = getIfPresent(key);
+		if (value != null) {
+			this.hitCount.increment();
+		}
+		else {
+			this.missCount.increment();
+		}
+		return value;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return (getIfPresent(key) != null);
+	}
+
+	@Override
+	@Nullable
+	public V put(K key, V value) {
+		Assert.notNull(key, "Key must not be null");
+		Assert.notNull(value, "Value must not be null");
+		Segment<K, V> segment = segmentFor(key);
+		segment.lock();
+		try {
+			long now = now();
+			Entry<V> previous = segment.entries.put(key, new Entry<>(value, now));
+			evictEntries(segment, now);
+			return liveValue(previous, now);
+		}
+		finally {
+			segment.unlock();
+		}
+	}
+
+	@Override
+	@Nullable
+	public V putIfAbsent(K key, V value) {
+		Assert.notNull(key, "Key must not be null");
+		Assert.notNull(value, "Value must not be null");
+		Segment<K, V> segment = segmentFor(key);
+		segment.lock();
+		try {
+			long now = now();
+			V existing = liveValue(segment.entries.get(key), now);
+			if (existing != null) {
+				return existing;
+			}
+			segment.entries.put(key, new Entry<>(value, now));
+			evictEntries(segment, now);
+			return null;
+		}
+		finally {
+			segment.unlock();
+		}
+	}
+
+	@Override
+	@Nullable
+	public V remove(Object key) {
+		invalidateLoad(key);
+		Segment<K, V> segment = segmentFor(key);
+		segment.lock();
+		try {
+			return liveValue(segment.entries.remove(key), now());
+		}
+		finally {
+			segment.unlock();
+		}
+	}
+
+	@Override
+	public boolean remove(Object key, Object value) {
+		Segment<K, V> segment = segmentFor(key);
+		segment.lock();
+		try {
+			V existing = liveValue(segment.entries.get(key), now());
+			if (existing != null && ObjectUtils.nullSafeEquals(existing, value)) {
+				invalidateLoad(key);
+				segment.entries.remove(key);
+				return true;
+			}
+			return false;
+		}
+		finally {
+			segment.unlock();
+		}
+	}
+
+	@Override
+	public boolean replace(K key, V oldValue, V newValue) {
+		Assert.notNull(newValue, "Value must not be null");
+		Segment<K, V> segment = segmentFor(key);
+		segment.lock();
+		try {
+			long now = now();
+			V existing = liveValue(segment.entries.get(key), now);
+			if (existing != null && ObjectUtils.nullSafeEquals(existing, oldValue)) {
+				segment.entries.put(key, new Entry<>(newValue, now));
+				return true;
+			}
+			return false;
+		}
+		finally {
+			segment.unlock();
+		}
+	}
+
+	@Override
+	@Nullable
+	public V replace(K key, V value) {
+		Assert.notNull(value, "Value must not be null");
+		Segment<K, V> segment = segmentFor(key);
+		segment.lock();
+		try {
+			long now = now();
+			V existing = liveValue(segment.entries.get(key), now);
+			if (existing != null) {
+				segment.entries.put(key, new Entry<>(value, now));
+			}
+			return existing;
+		}
+		finally {
+			segment.unlock();
+		}
+	}
+
+	/**
+	 * Return the value for the given key, invoking the given function outside
+	 * of any lock if there is no such value yet. Concurrent calls for the same
+	 * key wait for the first invocation instead of loading again, receiving its
+	 * result or its exception.
+	 * <p>A value put for the same key while the function is being invoked takes
+	 * precedence over the computed value, and the computed value is not stored
+	 * if the key is removed or the map is cleared in the meantime.
+	 * @throws IllegalStateException if the given function recursively tries
+	 * to compute a value for the same key
+	 */
+	@Override
+	@Nullable
+	public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+		V value = get(key);
+		if (value != null) {
+			return value;
+		}
+		LoadingFuture<V> future = new LoadingFuture<>();
+		LoadingFuture<V> existing = this.loading.putIfAbsent(key, future);
+		if (existing != null) {
+			return awaitLoad(existing);
+		}
+		try {
+			V current = getIfPresent(key);
+			if (current == null) {
+				long startTime = System.nanoTime();
+				try {
+					current = mappingFunction.apply(key);
+				}
+				catch (RuntimeException | Error ex) {
+					this.loadFailureCount.increment();
+					future.completeExceptionally(ex);
+					throw ex;
+				}
+				finally {
+					this.totalLoadTime.add(System.nanoTime() - startTime);
+				}
+				this.loadCount.increment();
+				if (current != null) {
+					current = storeLoadedValue(key, current, future);
+				}
+			}
+			future.complete(current);
+			return current;
+		}
+		finally {
+			this.loading.remove(key, future);
+		}
+	}
+
+	/**
+	 * Store the given loaded value unless a value has been put in the meantime,
+	 * or the load has been invalidated.
+	 * @return the value to return for the load
+	 */
+	private V storeLoadedValue(K key, V value, LoadingFuture<V> future) {
+		Segment<K, V> segment = segmentFor(key);
+		segment.lock();
+		try {
+			if (future.invalidated) {
+				return value;
+			}
+			long now = now();
+			V existing = liveValue(segment.entries.get(key), now);
+			if (existing != null) {
+				return existing;
+			}
+			segment.entries.put(key, new Entry<>(value, now));
+			evictEntries(segment, now);
+			return value;
+		}
+		finally {
+			segment.unlock();
+		}
+	}
+
+	/**
+	 * Prevent the value of a load in progress for the given key from being
+	 * stored once loaded. To be called before removing the entry, so that a
+	 * value stored before this call is removed with it.
+	 */
+	private void invalidateLoad(Object key) {
+		LoadingFuture<V> future = this.loading.get(key);
+		if (future != null) {
+			future.invalidated = true;
+		}
+	}
+
+	@Nullable
+	private V awaitLoad(LoadingFuture<V> future) {
+		if (future.loadingThread == Thread.currentThread()) {
+			throw new IllegalStateException("Recursive load for the same key");
+		}
+		try {
+			return future.join();
+		}
+		catch (CompletionException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw ex;
+		}
+	}
+
+	@Override
+	public void clear() {
+		for (LoadingFuture<V> future : this.loading.values()) {
+			future.invalidated = true;
+		}
+		for (Segment<K, V> segment : this.segments) {
+			segment.lock();
+			try {
+				segment.entries.clear();
+			}
+			finally {
+				segment.unlock();
+			}
+		}
+	}
+
+	/**
+	 * Return the number of entries in this map, potentially including
+	 * expired entries which have not been removed yet.
+	 */
+	@Override
+	public int size() {
+		long size = 0;
+		for (Segment<K, V> segment : this.segments) {
+			segment.lock();
+			try {
+				size += segment.entries.size();
+			}
+			finally {
+				segment.unlock();
+			}
+		}
+		return (int) Math.min(size, Integer.MAX_VALUE);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return (size() == 0);
+	}
+
+	/**
+	 * Return an unmodifiable snapshot of the non-expired entries in this map.
+	 * Does not affect the access order of the entries.
+	 */
+	@Override
+	public Set<Map.Entry<K, V>> entrySet() {
+		Map<K, V> snapshot = new LinkedHashMap<>();
+		for (Segment<K, V> segment : this.segments) {
+			segment.lock();
+			try {
+				long now = now();
+				for (Map.Entry<K, Entry<V>> entry : segment.entries.entrySet()) {
+					V value = liveValue(entry.getValue(), now);
+					if (value != null) {
+						snapshot.put(entry.getKey(), value);
+					}
+				}
+			}
+			finally {
+				segment.unlock();
+			}
+		}
+		return Collections.unmodifiableMap(snapshot).entrySet();
+	}
+
+
+	/**
+	 * Determine whether the entry for the given key has been written longer
+	 * ago than the refresh-after-write time. Returns {@code true} only once
+	 * per written entry.
+	 * @param key the key whose entry to check
+	 * @see #setRefreshAfterWrite
+	 */
+	public boolean isRefreshDue(Object key) {
+		long refreshNanos = this.refreshAfterWriteNanos;
+		if (refreshNanos == 0) {
+			return false;
+		}
+		Segment<K, V> segment = segmentFor(key);
+		segment.lock();
+		try {
+			Entry<V> entry = segment.entries.get(key);
+			long now = now();
+			if (entry == null || entry.refreshTriggered || isExpired(entry, now) ||
+					now - entry.writeTime < refreshNanos) {
+				return false;
+			}
+			entry.refreshTriggered = true;
+			return true;
+		}
+		finally {
+			segment.unlock();
+		}
+	}
+
+
+	@Nullable
+	private V getIfPresent(Object key) {
+		Segment<K, V> segment = segmentFor(key);
+		segment.lock();
+		try {
+			Entry<V> entry = segment.entries.get(key);
+			if (entry == null) {
+				return null;
+			}
+			long now = now();
+			if (isExpired(entry, now)) {
+				segment.entries.remove(key);
+				this.expirationCount.increment();
+				return null;
+			}
+			entry.accessTime = now;
+			return entry.value;
+		}
+		finally {
+			segment.unlock();
+		}
+	}
+
+	private void evictEntries(Segment<K, V> segment, long now) {
+		Iterator<Entry<V>> it = segment.entries.values().iterator();
+		while (it.hasNext()) {
+			Entry<V> eldest = it.next();
+			if (segment.entries.size() > segment.capacity) {
+				it.remove();
+				if (isExpired(eldest, now)) {
+					this.expirationCount.increment();
+				}
+				else {
+					this.evictionCount.increment();
+				}
+			}
+			else if (isExpired(eldest, now)) {
+				it.remove();
+				this.expirationCount.increment();
+			}
+			else {
+				return;
+			}
+		}
+	}
+
+	@Nullable
+	private V liveValue(@Nullable Entry<V> entry, long now) {
+		return (entry != null && !isExpired(entry, now) ? entry.value : null);
+	}
+
+	private boolean isExpired(Entry<V> entry, long now) {
+		return ((this.expireAfterWriteNanos > 0 && now - entry.writeTime >= this.expireAfterWriteNanos) ||
+				(this.expireAfterAccessNanos > 0 && now - entry.accessTime >= this.expireAfterAccessNanos));
+	}
+
+	private long now() {
+		return (this.expireAfterWriteNanos > 0 || this.expireAfterAccessNanos > 0 || this.refreshAfterWriteNanos > 0 ?
+				this.ticker.getAsLong() : 0);
+	}
+
+	private Segment<K, V> segmentFor(Object key) {
+		int hash = key.hashCode();
+		hash ^= (hash >>> 16);
+		return this.segments[hash & this.segmentMask];
+	}
+
+
+	/**
+	 * Immutable snapshot of the statistics recorded by a {@link BoundedConcurrentMap}.
+	 */
+	public static final class Statistics {
+
+		private final long hitCount;
+
+		private final long missCount;
+
+		private final long loadCount;
+
+		private final long loadFailureCount;
+
+		private final long totalLoadTime;
+
+		private final long evictionCount;
+
+		private final long expirationCount;
+
+		Statistics(long hitCount, long missCount, long loadCount, long loadFailureCount,
+				long totalLoadTime, long evictionCount, long expirationCount) {
+
+			this.hitCount = hitCount;
+			this.missCount = missCount;
+			this.loadCount = loadCount;
+			this.loadFailureCount = loadFailureCount;
+			this.totalLoadTime = totalLoadTime;
+			this.evictionCount = evictionCount;
+			this.expirationCount = expirationCount;
+		}
+
+		/**
+		 * Return the number of lookups that found a non-expired entry.
+		 */
+		public long getHitCount() {
+			return this.hitCount;
+		}
+
+		/**
+		 * Return the number of lookups that did not find a non-expired entry.
+		 */
+		public long getMissCount() {
+			return this.missCount;
+		}
+
+		/**
+		 * Return the number of successful invocations of a mapping function
+		 * passed to {@link BoundedConcurrentMap#computeIfAbsent}.
+		 */
+		public long getLoadCount() {
+			return this.loadCount;
+		}
+
+		/**
+		 * Return the number of mapping function invocations that threw an exception.
+		 */
+		public long getLoadFailureCount() {
+			return this.loadFailureCount;
+		}
+
+		/**
+		 * Return the total time spent in mapping functions, in nanoseconds.
+		 */
+		public long getTotalLoadTime() {
+			return this.totalLoadTime;
+		}
+
+		/**
+		 * Return the number of entries removed because the maximum size was exceeded.
+		 */
+		public long getEvictionCount() {
+			return this.evictionCount;
+		}
+
+		/**
+		 * Return the number of entries removed because they had expired.
+		 */
+		public long getExpirationCount() {
+			return this.expirationCount;
+		}
+
+		@Override
+		public String toString() {
+			return "hits=" + this.hitCount + ", misses=" + this.missCount + ", loads=" + this.loadCount +
+					", loadFailures=" + this.loadFailureCount + ", totalLoadTime=" + this.totalLoadTime +
+					"ns, evictions=" + this.evictionCount + ", expirations=" + this.expirationCount;
+		}
+	}
+
+
+	/**
+	 * A lock-guarded partition of the map, keeping its entries in access order.
+	 */
+	@SuppressWarnings("serial")
+	private static final class Segment<K, V> extends ReentrantLock {
+
+		final int capacity;
+
+		final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+		Segment(int capacity) {
+			this.capacity = capacity;
+		}
+	}
+
+
+	/**
+	 * Placeholder for a load in progress, remembering the loading thread
+	 * in order to detect recursive loads for the same key, and whether the
+	 * key has been removed while loading.
+	 */
+	private static final class LoadingFuture<V> extends CompletableFuture<V> {
+
+		final Thread loadingThread = Thread.currentThread();
+
+		volatile boolean invalidated;
+	}
+
+
+	/**
+	 * A stored value along with its timestamps, guarded by the segment lock.
+	 */
+	private static final class Entry<V> {
+
+		final V value;
+
+		final long writeTime;
+
+		long accessTime;
+
+		boolean refreshTriggered;
+
+		Entry(V value, long writeTime) {
+			this.value = value;
+			this.writeTime = writeTime;
+			this.accessTime = writeTime;
+		}
+	}
+
+}
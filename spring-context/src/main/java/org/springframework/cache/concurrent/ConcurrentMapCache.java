@@ -20,6 +20,7 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
+import org.springframework.cache.RefreshableCache;
 import org.springframework.cache.support.AbstractValueAdaptingCache;
 import org.springframework.core.serializer.support.SerializationDelegate;
 import org.springframework.lang.Nullable;
@@ -38,13 +39,16 @@ import org.springframework.util.Assert;
  * them with a predefined internal object. This behavior can be changed through the
  * {@link #ConcurrentMapCache(String, ConcurrentMap, boolean)} constructor.
  *
+ * <p>Entries are only ever due for refresh-ahead if the internal store is a
+ * {@link BoundedConcurrentMap} with a refresh-after-write time.
+ *
  * @author Costin Leau
  * @author Juergen Hoeller
  * @author Stephane Nicoll
  * @since 3.1
  * @see ConcurrentMapCacheManager
  */
-public class ConcurrentMapCache extends AbstractValueAdaptingCache {
+public class ConcurrentMapCache extends AbstractValueAdaptingCache implements RefreshableCache {
 
 	private final String name;
 
@@ -183,6 +187,12 @@ public class ConcurrentMapCache extends AbstractValueAdaptingCache {
 		return notEmpty;
 	}
 
+	@Override
+	public boolean isRefreshDue(Object key) {
+		return (this.store instanceof BoundedConcurrentMap &&
+				((BoundedConcurrentMap<?, ?>) this.store).isRefreshDue(key));
+	}
+
 	@Override
 	protected Object toStoreValue(@Nullable Object userValue) {
 		Object storeValue = super.toStoreValue(userValue);
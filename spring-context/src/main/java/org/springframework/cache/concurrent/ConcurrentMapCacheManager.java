@@ -16,6 +16,7 @@
 
 package org.springframework.cache.concurrent;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -28,6 +29,8 @@ import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.core.serializer.support.SerializationDelegate;
 import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
 
 /**
  * {@link CacheManager} implementation that lazily builds {@link ConcurrentMapCache}
@@ -35,7 +38,11 @@ import org.springframework.lang.Nullable;
  * the set of cache names is pre-defined through {@link #setCacheNames}, with no
  * dynamic creation of further cache regions at runtime.
  *
- * <p>Note: This is by no means a sophisticated CacheManager; it comes with no
+ * <p>Caches are unbounded by default. A {@link #setMaximumSize maximum size} and
+ * {@link #setExpireAfterWrite expiration} or {@link #setRefreshAfterWrite refresh}
+ * may be specified, in which case each cache is backed by a {@link BoundedConcurrentMap}.
+ *
+ * <p>Note: This is by no means a sophisticated CacheManager; it comes with few
  * cache configuration options. However, it may be useful for testing or simple
  * caching scenarios. For advanced local caching needs, consider
  * {@link org.springframework.cache.jcache.JCacheCacheManager},
@@ -56,6 +63,17 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 
 	private boolean storeByValue = false;
 
+	private int maximumSize = 0;
+
+	@Nullable
+	private Duration expireAfterWrite;
+
+	@Nullable
+	private Duration expireAfterAccess;
+
+	@Nullable
+	private Duration refreshAfterWrite;
+
 	@Nullable
 	private SerializationDelegate serialization;
 
@@ -146,6 +164,74 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 		return this.storeByValue;
 	}
 
+	/**
+	 * Specify the maximum number of entries for each cache in this cache manager,
+	 * evicting the least recently used entries beyond that limit.
+	 * <p>Default is 0, indicating unbounded caches.
+	 * <p>Note: A change of the maximum size will reset all existing caches,
+	 * if any, to reconfigure them with the new limit.
+	 * @since 5.3.39
+	 * @see BoundedConcurrentMap
+	 */
+	public void setMaximumSize(int maximumSize) {
+		Assert.isTrue(maximumSize >= 0, "Maximum size must not be negative");
+		if (maximumSize != this.maximumSize) {
+			this.maximumSize = maximumSize;
+			recreateCaches();
+		}
+	}
+
+	/**
+	 * Return the maximum number of entries for each cache in this cache manager
+	 * (0 indicates unbounded caches).
+	 * @since 5.3.39
+	 */
+	public int getMaximumSize() {
+		return this.maximumSize;
+	}
+
+	/**
+	 * Specify the time after which cache entries expire once they have been written.
+	 * <p>Note: A change of the expiration setting will reset all existing caches,
+	 * if any, to reconfigure them with the new expiration.
+	 * @since 5.3.39
+	 */
+	public void setExpireAfterWrite(@Nullable Duration expireAfterWrite) {
+		if (!ObjectUtils.nullSafeEquals(expireAfterWrite, this.expireAfterWrite)) {
+			this.expireAfterWrite = expireAfterWrite;
+			recreateCaches();
+		}
+	}
+
+	/**
+	 * Specify the time after which cache entries expire once they have last
+	 * been read or written.
+	 * <p>Note: A change of the expiration setting will reset all existing caches,
+	 * if any, to reconfigure them with the new expiration.
+	 * @since 5.3.39
+	 */
+	public void setExpireAfterAccess(@Nullable Duration expireAfterAccess) {
+		if (!ObjectUtils.nullSafeEquals(expireAfterAccess, this.expireAfterAccess)) {
+			this.expireAfterAccess = expireAfterAccess;
+			recreateCaches();
+		}
+	}
+
+	/**
+	 * Specify the time after which cache entries become due for refresh-ahead
+	 * once they have been written.
+	 * <p>Note: A change of the refresh setting will reset all existing caches,
+	 * if any, to reconfigure them with the new refresh time.
+	 * @since 5.3.39
+	 * @see org.springframework.cache.interceptor.CacheAspectSupport#setRefreshAheadExecutor
+	 */
+	public void setRefreshAfterWrite(@Nullable Duration refreshAfterWrite) {
+		if (!ObjectUtils.nullSafeEquals(refreshAfterWrite, this.refreshAfterWrite)) {
+			this.refreshAfterWrite = refreshAfterWrite;
+			recreateCaches();
+		}
+	}
+
 	@Override
 	public void setBeanClassLoader(ClassLoader classLoader) {
 		this.serialization = new SerializationDelegate(classLoader);
@@ -184,7 +270,19 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 	 */
 	protected Cache createConcurrentMapCache(String name) {
 		SerializationDelegate actualSerialization = (isStoreByValue() ? this.serialization : null);
-		return new ConcurrentMapCache(name, new ConcurrentHashMap<>(256), isAllowNullValues(), actualSerialization);
+		return new ConcurrentMapCache(name, createStore(), isAllowNullValues(), actualSerialization);
+	}
+
+	private ConcurrentMap<Object, Object> createStore() {
+		if (this.maximumSize == 0 && this.expireAfterWrite == null && this.expireAfterAccess == null &&
+				this.refreshAfterWrite == null) {
+			return new ConcurrentHashMap<>(256);
+		}
+		int actualMaximumSize = (this.maximumSize > 0 ? this.maximumSize : Integer.MAX_VALUE);
+		BoundedConcurrentMap<Object, Object> store =
+				new BoundedConcurrentMap<>(actualMaximumSize, this.expireAfterWrite, this.expireAfterAccess);
+		store.setRefreshAfterWrite(this.refreshAfterWrite);
+		return store;
 	}
 
 }
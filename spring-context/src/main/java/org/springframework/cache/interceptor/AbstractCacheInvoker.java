@@ -16,6 +16,9 @@
 
 package org.springframework.cache.interceptor;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 import org.springframework.cache.Cache;
 import org.springframework.lang.Nullable;
 import org.springframework.util.function.SingletonSupplier;
@@ -78,6 +81,40 @@ public abstract class AbstractCacheInvoker {
 		}
 	}
 
+	/**
+	 * Execute {@link Cache#retrieve(Object)} on the specified {@link Cache} and
+	 * invoke the error handler if an exception occurs, either on invocation or
+	 * on completion of the returned future. The resulting future completes with
+	 * {@code null} if the handler does not throw any exception, which simulates
+	 * a cache miss in case of error.
+	 * @since 5.3.39
+	 * @see Cache#retrieve(Object)
+	 */
+	protected CompletableFuture<Cache.ValueWrapper> doRetrieve(Cache cache, Object key) {
+		CompletableFuture<Cache.ValueWrapper> result;
+		try {
+			result = cache.retrieve(key);
+		}
+		catch (RuntimeException ex) {
+			getErrorHandler().handleCacheGetError(ex, cache, key);
+			return CompletableFuture.completedFuture(null);  // If the exception is handled, return a cache miss
+		}
+		if (result == null) {
+			return CompletableFuture.completedFuture(null);
+		}
+		return result.handle((valueWrapper, ex) -> {
+			if (ex == null) {
+				return valueWrapper;
+			}
+			Throwable cause = (ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+			if (!(cause instanceof RuntimeException)) {
+				throw new CompletionException(cause);
+			}
+			getErrorHandler().handleCacheGetError((RuntimeException) cause, cache, key);
+			return null;  // If the exception is handled, return a cache miss
+		});
+	}
+
 	/**
 	 * Execute {@link Cache#put(Object, Object)} on the specified {@link Cache}
 	 * and invoke the error handler if an exception occurs.
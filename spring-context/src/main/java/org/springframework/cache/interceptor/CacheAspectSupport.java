@@ -24,11 +24,21 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import org.springframework.aop.framework.AopProxyUtils;
 import org.springframework.aop.support.AopUtils;
@@ -41,8 +51,11 @@ import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.beans.factory.annotation.BeanFactoryAnnotationUtils;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.RefreshableCache;
 import org.springframework.context.expression.AnnotatedElementKey;
 import org.springframework.core.BridgeMethodResolver;
+import org.springframework.core.ReactiveAdapter;
+import org.springframework.core.ReactiveAdapterRegistry;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -69,6 +82,11 @@ import org.springframework.util.function.SupplierUtils;
  * used for determining caching operations, a {@link KeyGenerator} will build the
  * cache keys, and a {@link CacheResolver} will resolve the actual cache(s) to use.
  *
+ * <p>Methods returning a {@link CompletableFuture} or a reactive type supported by
+ * the {@link ReactiveAdapterRegistry} (if Reactor is present) cache the value
+ * produced asynchronously rather than the returned object itself, with a
+ * {@code Flux} and other multi-value types being cached as a {@code List}.
+ *
  * <p>Note: A cache aspect is serializable but does not perform any actual caching
  * after deserialization.
  *
@@ -83,6 +101,10 @@ import org.springframework.util.function.SupplierUtils;
 public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		implements BeanFactoryAware, InitializingBean, SmartInitializingSingleton {
 
+	private static final boolean reactorPresent = ClassUtils.isPresent(
+			"reactor.core.publisher.Mono", CacheAspectSupport.class.getClassLoader());
+
+
 	protected final Log logger = LogFactory.getLog(getClass());
 
 	private final Map<CacheOperationCacheKey, CacheOperationMetadata> metadataCache = new ConcurrentHashMap<>(1024);
@@ -100,6 +122,18 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 	@Nullable
 	private BeanFactory beanFactory;
 
+	private boolean coalesceInvocations = false;
+
+	@Nullable
+	private Executor refreshAheadExecutor;
+
+	private final ConcurrentMap<List<Object>, InFlightInvocation> inFlightInvocations = new ConcurrentHashMap<>(16);
+
+	private final ConcurrentMap<List<Object>, CompletableFuture<Object>> inFlightFutures = new ConcurrentHashMap<>(16);
+
+	@Nullable
+	private final ReactiveCachingHandler reactiveCachingHandler = (reactorPresent ? new ReactiveCachingHandler() : null);
+
 	private boolean initialized = false;
 
 
@@ -194,6 +228,57 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		this.cacheResolver = SingletonSupplier.of(new SimpleCacheResolver(cacheManager));
 	}
 
+	/**
+	 * Specify whether concurrent cache misses for the same cache entries should
+	 * share a single invocation of the cached method.
+	 * <p>Default is "false". If switched to "true", a caller missing the cache
+	 * while another thread is already invoking the method for the same cache
+	 * names and keys waits for that invocation and returns its result (or
+	 * rethrows its exception) instead of invoking the method again. This works
+	 * with any cache provider, in contrast to {@code sync=true} which relies on
+	 * {@link Cache#get(Object, java.util.concurrent.Callable)}, and applies to
+	 * methods with {@code @Cacheable} operations only: methods which also declare
+	 * put or evict operations are always invoked.
+	 * @since 5.3.39
+	 */
+	public void setCoalesceInvocations(boolean coalesceInvocations) {
+		this.coalesceInvocations = coalesceInvocations;
+	}
+
+	/**
+	 * Return whether concurrent cache misses for the same cache entries share
+	 * a single invocation of the cached method.
+	 * @since 5.3.39
+	 */
+	public boolean isCoalesceInvocations() {
+		return this.coalesceInvocations;
+	}
+
+	/**
+	 * Set the executor to use for refreshing cache entries ahead of their expiration.
+	 * <p>If set, a cache hit on a {@link RefreshableCache} whose entry is
+	 * {@linkplain RefreshableCache#isRefreshDue due for refresh} returns the cached
+	 * value and invokes the cached method again through this executor, putting its
+	 * result into the caches of the corresponding {@code @Cacheable} operation.
+	 * Note that the refresh happens outside of the caller's thread, so thread-bound
+	 * state such as transactions is not available to the refreshing invocation.
+	 * <p>Default is none, i.e. no refresh-ahead.
+	 * @since 5.3.39
+	 */
+	public void setRefreshAheadExecutor(@Nullable Executor refreshAheadExecutor) {
+		this.refreshAheadExecutor = refreshAheadExecutor;
+	}
+
+	/**
+	 * Return the executor to use for refreshing cache entries ahead of their
+	 * expiration, if any.
+	 * @since 5.3.39
+	 */
+	@Nullable
+	public Executor getRefreshAheadExecutor() {
+		return this.refreshAheadExecutor;
+	}
+
 	/**
 	 * Set the containing {@link BeanFactory} for {@link CacheManager} and other
 	 * service lookups.
@@ -372,6 +457,20 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 
 	@Nullable
 	private Object execute(final CacheOperationInvoker invoker, Method method, CacheOperationContexts contexts) {
+		// Non-blocking handling of @Cacheable methods with an asynchronous return type
+		if (contexts.hasOnlyCacheableOperations()) {
+			Class<?> returnType = method.getReturnType();
+			if (isCompletableFutureType(returnType)) {
+				return executeWithFuture(invoker, contexts);
+			}
+			if (this.reactiveCachingHandler != null) {
+				ReactiveAdapter adapter = this.reactiveCachingHandler.getAdapter(returnType);
+				if (adapter != null) {
+					return this.reactiveCachingHandler.execute(invoker, adapter, contexts);
+				}
+			}
+		}
+
 		// Special handling of synchronized invocation
 		if (contexts.isSynchronized()) {
 			CacheOperationContext context = contexts.get(CacheableOperation.class).iterator().next();
@@ -414,13 +513,42 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			// If there are no put requests, just use the cache hit
 			cacheValue = cacheHit.get();
 			returnValue = wrapCacheValue(method, cacheValue);
+			if (this.refreshAheadExecutor != null) {
+				refreshAheadIfNecessary(invoker, contexts.get(CacheableOperation.class), this.refreshAheadExecutor);
+			}
+		}
+		else if (cacheHit == null && this.coalesceInvocations && !cachePutRequests.isEmpty() &&
+				contexts.get(CachePutOperation.class).isEmpty() && contexts.get(CacheEvictOperation.class).isEmpty()) {
+			// Share a single invocation among concurrent misses
+			return invokeCoalesced(invoker, cachePutRequests);
 		}
 		else {
 			// Invoke the method if we don't have a cache hit
 			returnValue = invokeOperation(invoker);
+			if (returnValue instanceof CompletionStage && isCompletableFutureType(method.getReturnType())) {
+				// Process puts and late evictions once the value is available
+				return ((CompletionStage<?>) returnValue).toCompletableFuture().thenApply(value -> {
+					completeExecution(contexts, cachePutRequests, value);
+					return value;
+				});
+			}
+			if (returnValue != null && this.reactiveCachingHandler != null) {
+				ReactiveAdapter adapter = this.reactiveCachingHandler.getAdapter(method.getReturnType());
+				if (adapter != null) {
+					return this.reactiveCachingHandler.processResult(adapter, returnValue,
+							value -> completeExecution(contexts, cachePutRequests, value));
+				}
+			}
 			cacheValue = unwrapReturnValue(returnValue);
 		}
 
+		completeExecution(contexts, cachePutRequests, cacheValue);
+		return returnValue;
+	}
+
+	private void completeExecution(CacheOperationContexts contexts,
+			List<CachePutRequest> cachePutRequests, @Nullable Object cacheValue) {
+
 		// Collect any explicit @CachePuts
 		collectPutRequests(contexts.get(CachePutOperation.class), cacheValue, cachePutRequests);
 
@@ -431,8 +559,95 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 
 		// Process any late evictions
 		processCacheEvicts(contexts.get(CacheEvictOperation.class), false, cacheValue);
+	}
 
-		return returnValue;
+	private static boolean isCompletableFutureType(Class<?> returnType) {
+		return (CompletionStage.class.isAssignableFrom(returnType) &&
+				returnType.isAssignableFrom(CompletableFuture.class));
+	}
+
+	/**
+	 * Look up the given entries through {@link Cache#retrieve(Object)}, one after
+	 * the other, completing with the first hit or with {@code null} if none found.
+	 */
+	private CompletableFuture<Cache.ValueWrapper> findCachedItemAsync(List<CachePutRequest> lookups) {
+		CompletableFuture<Cache.ValueWrapper> result = CompletableFuture.completedFuture(null);
+		for (CachePutRequest lookup : lookups) {
+			for (Cache cache : lookup.context.getCaches()) {
+				result = result.thenCompose(hit -> (hit != null ? CompletableFuture.completedFuture(hit) :
+						doRetrieve(cache, lookup.key)));
+			}
+		}
+		return result;
+	}
+
+	@Nullable
+	private CompletableFuture<?> executeWithFuture(CacheOperationInvoker invoker, CacheOperationContexts contexts) {
+		List<CachePutRequest> lookups = new ArrayList<>(1);
+		collectPutRequests(contexts.get(CacheableOperation.class), CacheOperationExpressionEvaluator.NO_RESULT, lookups);
+		if (lookups.isEmpty()) {
+			// No caching required, just call the underlying method
+			CompletionStage<?> returnValue = (CompletionStage<?>) invokeOperation(invoker);
+			return (returnValue != null ? returnValue.toCompletableFuture() : null);
+		}
+		return findCachedItemAsync(lookups).thenCompose(cacheHit -> {
+			if (cacheHit != null) {
+				return CompletableFuture.completedFuture(cacheHit.get());
+			}
+			return invokeSharedFuture(invoker, lookups);
+		});
+	}
+
+	/**
+	 * Invoke the method unless an invocation for the same cache entries is in
+	 * progress already, in which case the result of that invocation is shared.
+	 */
+	private CompletableFuture<Object> invokeSharedFuture(CacheOperationInvoker invoker, List<CachePutRequest> cachePutRequests) {
+		List<Object> invocationKey = createInvocationKey(cachePutRequests);
+		CompletableFuture<Object> shared = new CompletableFuture<>();
+		CompletableFuture<Object> inFlight = this.inFlightFutures.putIfAbsent(invocationKey, shared);
+		if (inFlight != null) {
+			if (logger.isTraceEnabled()) {
+				logger.trace("Joining in-flight invocation for cache entries " + invocationKey);
+			}
+			return inFlight.thenApply(Function.identity());
+		}
+
+		CompletableFuture<?> returnValue;
+		try {
+			CompletionStage<?> stage = (CompletionStage<?>) invokeOperation(invoker);
+			returnValue = (stage != null ? stage.toCompletableFuture() : null);
+		}
+		catch (Throwable ex) {
+			this.inFlightFutures.remove(invocationKey, shared);
+			shared.completeExceptionally(ex instanceof CacheOperationInvoker.ThrowableWrapper ?
+					((CacheOperationInvoker.ThrowableWrapper) ex).getOriginal() : ex);
+			return shared.thenApply(Function.identity());
+		}
+		if (returnValue == null) {
+			returnValue = CompletableFuture.completedFuture(null);
+		}
+		returnValue.whenComplete((value, ex) -> {
+			Throwable failure = ex;
+			if (failure == null) {
+				try {
+					for (CachePutRequest cachePutRequest : cachePutRequests) {
+						cachePutRequest.apply(value);
+					}
+				}
+				catch (Throwable putFailure) {
+					failure = putFailure;
+				}
+			}
+			this.inFlightFutures.remove(invocationKey, shared);
+			if (failure != null) {
+				shared.completeExceptionally(failure);
+			}
+			else {
+				shared.complete(value);
+			}
+		});
+		return shared.thenApply(Function.identity());
 	}
 
 	@Nullable
@@ -451,12 +666,111 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		return result;
 	}
 
+	/**
+	 * Create a key for the in-flight invocation of the given put requests,
+	 * distinguishing the invoked method and target class as well as the
+	 * cache entries since different methods may share cache names and keys.
+	 */
+	private List<Object> createInvocationKey(List<CachePutRequest> cachePutRequests) {
+		List<Object> invocationKey = new ArrayList<>(cachePutRequests.size() * 2 + 1);
+		if (!cachePutRequests.isEmpty()) {
+			invocationKey.add(cachePutRequests.get(0).context.metadata.methodKey);
+		}
+		for (CachePutRequest cachePutRequest : cachePutRequests) {
+			invocationKey.add(cachePutRequest.context.getCacheNames());
+			invocationKey.add(cachePutRequest.key);
+		}
+		return invocationKey;
+	}
+
+	@Nullable
+	private Object invokeCoalesced(CacheOperationInvoker invoker, List<CachePutRequest> cachePutRequests) {
+		List<Object> invocationKey = createInvocationKey(cachePutRequests);
+		InFlightInvocation invocation = new InFlightInvocation();
+		InFlightInvocation inFlight = this.inFlightInvocations.putIfAbsent(invocationKey, invocation);
+		if (inFlight != null && inFlight.thread != invocation.thread) {
+			if (logger.isTraceEnabled()) {
+				logger.trace("Joining in-flight invocation for cache entries " + invocationKey);
+			}
+			try {
+				return inFlight.join();
+			}
+			catch (CompletionException ex) {
+				// Propagate ThrowableWrapper from the invoker, as for a regular invocation
+				ReflectionUtils.rethrowRuntimeException(ex.getCause());
+				return null;
+			}
+		}
+
+		boolean owner = (inFlight == null);
+		try {
+			Object returnValue = invokeOperation(invoker);
+			Object cacheValue = unwrapReturnValue(returnValue);
+			for (CachePutRequest cachePutRequest : cachePutRequests) {
+				cachePutRequest.apply(cacheValue);
+			}
+			invocation.complete(returnValue);
+			return returnValue;
+		}
+		catch (Throwable ex) {
+			invocation.completeExceptionally(ex);
+			throw ex;
+		}
+		finally {
+			if (owner) {
+				this.inFlightInvocations.remove(invocationKey, invocation);
+			}
+		}
+	}
+
+	private void refreshAheadIfNecessary(CacheOperationInvoker invoker,
+			Collection<CacheOperationContext> contexts, Executor executor) {
+
+		for (CacheOperationContext context : contexts) {
+			if (!isConditionPassing(context, CacheOperationExpressionEvaluator.NO_RESULT)) {
+				continue;
+			}
+			Object key = generateKey(context, CacheOperationExpressionEvaluator.NO_RESULT);
+			for (Cache cache : context.getCaches()) {
+				if (cache instanceof RefreshableCache && ((RefreshableCache) cache).isRefreshDue(key)) {
+					if (logger.isTraceEnabled()) {
+						logger.trace("Refreshing cache entry for key '" + key + "' in cache(s) " +
+								context.getCacheNames());
+					}
+					CachePutRequest cachePutRequest = new CachePutRequest(context, key);
+					executor.execute(() -> {
+						try {
+							cachePutRequest.apply(unwrapReturnValue(invokeOperation(invoker)));
+						}
+						catch (Throwable ex) {
+							if (logger.isDebugEnabled()) {
+								logger.debug("Failed to refresh cache entry for key '" + key + "' in cache(s) " +
+										context.getCacheNames(), ex);
+							}
+						}
+					});
+					return;
+				}
+			}
+		}
+	}
+
 	@Nullable
 	private Object wrapCacheValue(Method method, @Nullable Object cacheValue) {
-		if (method.getReturnType() == Optional.class &&
+		Class<?> returnType = method.getReturnType();
+		if (returnType == Optional.class &&
 				(cacheValue == null || cacheValue.getClass() != Optional.class)) {
 			return Optional.ofNullable(cacheValue);
 		}
+		if (isCompletableFutureType(returnType) && !(cacheValue instanceof CompletionStage)) {
+			return CompletableFuture.completedFuture(cacheValue);
+		}
+		if (this.reactiveCachingHandler != null) {
+			ReactiveAdapter adapter = this.reactiveCachingHandler.getAdapter(returnType);
+			if (adapter != null && (cacheValue == null || adapter.getReactiveType() != cacheValue.getClass())) {
+				return this.reactiveCachingHandler.wrapCacheValue(adapter, cacheValue);
+			}
+		}
 		return cacheValue;
 	}
 
@@ -625,6 +939,10 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			return this.sync;
 		}
 
+		public boolean hasOnlyCacheableOperations() {
+			return (this.contexts.size() == 1 && this.contexts.containsKey(CacheableOperation.class));
+		}
+
 		private boolean determineSyncFlag(Method method) {
 			List<CacheOperationContext> cacheOperationContexts = this.contexts.get(CacheableOperation.class);
 			if (cacheOperationContexts == null) {  // no @Cacheable operation at all
@@ -886,6 +1204,108 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 	}
 
 
+	/**
+	 * Inner class to avoid a hard dependency on Reactor at runtime.
+	 */
+	private class ReactiveCachingHandler {
+
+		private final ReactiveAdapterRegistry registry = ReactiveAdapterRegistry.getSharedInstance();
+
+		private final ConcurrentMap<List<Object>, Mono<Object>> inFlightPublishers = new ConcurrentHashMap<>(16);
+
+		@Nullable
+		public ReactiveAdapter getAdapter(Class<?> returnType) {
+			if (returnType == Object.class || isCompletableFutureType(returnType)) {
+				return null;
+			}
+			ReactiveAdapter adapter = this.registry.getAdapter(returnType);
+			return (adapter != null && !adapter.isNoValue() ? adapter : null);
+		}
+
+		public Object wrapCacheValue(ReactiveAdapter adapter, @Nullable Object cacheValue) {
+			return adapter.fromPublisher(toPublisher(adapter, Mono.justOrEmpty(cacheValue)));
+		}
+
+		public Object processResult(ReactiveAdapter adapter, Object returnValue, Consumer<Object> action) {
+			return adapter.fromPublisher(toPublisher(adapter, resolve(adapter, returnValue).doOnSuccess(action)));
+		}
+
+		public Object execute(CacheOperationInvoker invoker, ReactiveAdapter adapter, CacheOperationContexts contexts) {
+			List<CachePutRequest> lookups = new ArrayList<>(1);
+			collectPutRequests(contexts.get(CacheableOperation.class),
+					CacheOperationExpressionEvaluator.NO_RESULT, lookups);
+			if (lookups.isEmpty()) {
+				// No caching required, just call the underlying method
+				return invokeOperation(invoker);
+			}
+			Mono<Object> result = Mono.fromFuture(() -> findCachedItemAsync(lookups).thenApply(Optional::ofNullable))
+					.flatMap(cacheHit -> cacheHit.isPresent() ? Mono.justOrEmpty(cacheHit.get().get()) :
+							invokeShared(invoker, adapter, lookups));
+			return adapter.fromPublisher(toPublisher(adapter, result));
+		}
+
+		/**
+		 * Subscribe to the method's result unless a subscription for the same
+		 * cache entries is in progress already, in which case its result is shared.
+		 * The method is invoked on subscription, outside of any map operation, and
+		 * the in-flight entry is removed once the result terminates in any way.
+		 */
+		@SuppressWarnings("unchecked")
+		private Mono<Object> invokeShared(CacheOperationInvoker invoker, ReactiveAdapter adapter,
+				List<CachePutRequest> cachePutRequests) {
+
+			List<Object> invocationKey = createInvocationKey(cachePutRequests);
+			return Mono.defer(() -> {
+				Mono<Object> inFlight = this.inFlightPublishers.get(invocationKey);
+				if (inFlight != null) {
+					return inFlight;
+				}
+				Mono<Object>[] shared = new Mono[1];
+				shared[0] = Mono.defer(() -> {
+							Object returnValue = invokeOperation(invoker);
+							return (returnValue != null ? resolve(adapter, returnValue) : Mono.<Object>empty());
+						})
+						.onErrorMap(CacheOperationInvoker.ThrowableWrapper.class,
+								CacheOperationInvoker.ThrowableWrapper::getOriginal)
+						.doOnSuccess(value -> {
+							for (CachePutRequest cachePutRequest : cachePutRequests) {
+								cachePutRequest.apply(value);
+							}
+						})
+						.doFinally(signal -> this.inFlightPublishers.remove(invocationKey, shared[0]))
+						.cache();
+				inFlight = this.inFlightPublishers.putIfAbsent(invocationKey, shared[0]);
+				return (inFlight != null ? inFlight : shared[0]);
+			});
+		}
+
+		/**
+		 * Resolve the given reactive value into a {@code Mono} of its value,
+		 * collecting multiple values into a {@code List}.
+		 */
+		private Mono<Object> resolve(ReactiveAdapter adapter, Object returnValue) {
+			if (adapter.isMultiValue()) {
+				return Flux.from(adapter.toPublisher(returnValue)).collectList().map(list -> (Object) list);
+			}
+			return Mono.from(adapter.toPublisher(returnValue));
+		}
+
+		@SuppressWarnings("unchecked")
+		private Publisher<?> toPublisher(ReactiveAdapter adapter, Mono<Object> value) {
+			return (adapter.isMultiValue() ? value.flatMapIterable(list -> (Iterable<Object>) list) : value);
+		}
+	}
+
+
+	/**
+	 * Result of a cached method invocation shared by concurrent cache misses.
+	 */
+	private static class InFlightInvocation extends CompletableFuture<Object> {
+
+		final Thread thread = Thread.currentThread();
+	}
+
+
 	/**
 	 * Internal holder class for recording that a cache method was invoked.
 	 */
@@ -24,11 +24,14 @@ import org.springframework.cache.Cache;
 /**
  * Class describing the root object used during the expression evaluation.
  *
+ * <p>Public in order to allow for compiling expressions which access its
+ * properties, but not meant to be instantiated outside of this package.
+ *
  * @author Costin Leau
  * @author Sam Brannen
  * @since 3.1
  */
-class CacheExpressionRootObject {
+public class CacheExpressionRootObject {
 
 	private final Collection<? extends Cache> caches;
 
@@ -41,7 +44,7 @@ class CacheExpressionRootObject {
 	private final Class<?> targetClass;
 
 
-	public CacheExpressionRootObject(
+	CacheExpressionRootObject(
 			Collection<? extends Cache> caches, Method method, Object[] args, Object target, Class<?> targetClass) {
 
 		this.method = method;
@@ -24,7 +24,6 @@ import java.util.concurrent.ConcurrentHashMap;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.cache.Cache;
 import org.springframework.context.expression.AnnotatedElementKey;
-import org.springframework.context.expression.BeanFactoryResolver;
 import org.springframework.context.expression.CachedExpressionEvaluator;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
@@ -68,6 +67,16 @@ class CacheOperationExpressionEvaluator extends CachedExpressionEvaluator {
 	private final Map<ExpressionKey, Expression> unlessCache = new ConcurrentHashMap<>(64);
 
 
+	/**
+	 * Create a new instance with a parser compiling frequently evaluated
+	 * keys and conditions.
+	 * @see #createCompilingParser()
+	 */
+	CacheOperationExpressionEvaluator() {
+		super(createCompilingParser());
+	}
+
+
 	/**
 	 * Create an {@link EvaluationContext}.
 	 * @param caches the current caches
@@ -93,9 +102,7 @@ class CacheOperationExpressionEvaluator extends CachedExpressionEvaluator {
 		else if (result != NO_RESULT) {
 			evaluationContext.setVariable(RESULT_VARIABLE, result);
 		}
-		if (beanFactory != null) {
-			evaluationContext.setBeanResolver(new BeanFactoryResolver(beanFactory));
-		}
+		initEvaluationContext(evaluationContext, beanFactory);
 		return evaluationContext;
 	}
 
@@ -17,7 +17,9 @@
 package org.springframework.context.event;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -39,6 +41,8 @@ import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ConcurrentReferenceHashMap.ReferenceType;
 import org.springframework.util.ObjectUtils;
 
 /**
@@ -55,6 +59,11 @@ import org.springframework.util.ObjectUtils;
  * all events to all registered listeners, invoking them in the calling thread.
  * Alternative implementations could be more sophisticated in those respects.
  *
+ * <p>Matching listeners are looked up in immutable dispatch tables per event
+ * type and source type, derived from a snapshot of the registered listeners.
+ * Registration changes replace the snapshot along with its dispatch tables,
+ * so that listener retrieval for an event does not require any locking.
+ *
  * @author Juergen Hoeller
  * @author Stephane Nicoll
  * @since 1.2.3
@@ -66,7 +75,8 @@ public abstract class AbstractApplicationEventMulticaster
 
 	private final DefaultListenerRetriever defaultRetriever = new DefaultListenerRetriever();
 
-	final Map<ListenerCacheKey, CachedListenerRetriever> retrieverCache = new ConcurrentHashMap<>(64);
+	private volatile ListenerSnapshot listenerSnapshot = new ListenerSnapshot(
+			Collections.emptySet(), Collections.emptySet());
 
 	@Nullable
 	private ClassLoader beanClassLoader;
@@ -110,7 +120,7 @@ public abstract class AbstractApplicationEventMulticaster
 				this.defaultRetriever.applicationListeners.remove(singletonTarget);
 			}
 			this.defaultRetriever.applicationListeners.add(listener);
-			this.retrieverCache.clear();
+			this.listenerSnapshot = this.defaultRetriever.createSnapshot();
 		}
 	}
 
@@ -118,7 +128,7 @@ public abstract class AbstractApplicationEventMulticaster
 	public void addApplicationListenerBean(String listenerBeanName) {
 		synchronized (this.defaultRetriever) {
 			this.defaultRetriever.applicationListenerBeans.add(listenerBeanName);
-			this.retrieverCache.clear();
+			this.listenerSnapshot = this.defaultRetriever.createSnapshot();
 		}
 	}
 
@@ -126,7 +136,7 @@ public abstract class AbstractApplicationEventMulticaster
 	public void removeApplicationListener(ApplicationListener<?> listener) {
 		synchronized (this.defaultRetriever) {
 			this.defaultRetriever.applicationListeners.remove(listener);
-			this.retrieverCache.clear();
+			this.listenerSnapshot = this.defaultRetriever.createSnapshot();
 		}
 	}
 
@@ -134,7 +144,7 @@ public abstract class AbstractApplicationEventMulticaster
 	public void removeApplicationListenerBean(String listenerBeanName) {
 		synchronized (this.defaultRetriever) {
 			this.defaultRetriever.applicationListenerBeans.remove(listenerBeanName);
-			this.retrieverCache.clear();
+			this.listenerSnapshot = this.defaultRetriever.createSnapshot();
 		}
 	}
 
@@ -142,7 +152,7 @@ public abstract class AbstractApplicationEventMulticaster
 	public void removeApplicationListeners(Predicate<ApplicationListener<?>> predicate) {
 		synchronized (this.defaultRetriever) {
 			this.defaultRetriever.applicationListeners.removeIf(predicate);
-			this.retrieverCache.clear();
+			this.listenerSnapshot = this.defaultRetriever.createSnapshot();
 		}
 	}
 
@@ -150,7 +160,7 @@ public abstract class AbstractApplicationEventMulticaster
 	public void removeApplicationListenerBeans(Predicate<String> predicate) {
 		synchronized (this.defaultRetriever) {
 			this.defaultRetriever.applicationListenerBeans.removeIf(predicate);
-			this.retrieverCache.clear();
+			this.listenerSnapshot = this.defaultRetriever.createSnapshot();
 		}
 	}
 
@@ -159,25 +169,27 @@ public abstract class AbstractApplicationEventMulticaster
 		synchronized (this.defaultRetriever) {
 			this.defaultRetriever.applicationListeners.clear();
 			this.defaultRetriever.applicationListenerBeans.clear();
-			this.retrieverCache.clear();
+			this.listenerSnapshot = this.defaultRetriever.createSnapshot();
 		}
 	}
 
 
 	/**
 	 * Return a Collection containing all ApplicationListeners.
+	 * <p>The returned Collection is a fresh copy which callers may modify.
 	 * @return a Collection of ApplicationListeners
 	 * @see org.springframework.context.ApplicationListener
 	 */
 	protected Collection<ApplicationListener<?>> getApplicationListeners() {
-		synchronized (this.defaultRetriever) {
-			return this.defaultRetriever.getApplicationListeners();
-		}
+		return this.listenerSnapshot.getApplicationListeners();
 	}
 
 	/**
 	 * Return a Collection of ApplicationListeners matching the given
 	 * event type. Non-matching listeners get excluded early.
+	 * <p>As of 5.3.39, the returned Collection may be a shared cached instance
+	 * which is unmodifiable: subclasses that need to sort or filter the listeners
+	 * have to copy the Collection first rather than modifying it in place.
 	 * @param event the event to be propagated. Allows for excluding
 	 * non-matching listeners early, based on cached matching information.
 	 * @param eventType the event type
@@ -187,89 +199,68 @@ public abstract class AbstractApplicationEventMulticaster
 	protected Collection<ApplicationListener<?>> getApplicationListeners(
 			ApplicationEvent event, ResolvableType eventType) {
 
+		ListenerSnapshot snapshot = this.listenerSnapshot;
 		Object source = event.getSource();
 		Class<?> sourceType = (source != null ? source.getClass() : null);
 		ListenerCacheKey cacheKey = new ListenerCacheKey(eventType, sourceType);
 
-		// Potential new retriever to populate
-		CachedListenerRetriever newRetriever = null;
-
-		// Quick check for existing entry on ConcurrentHashMap
-		CachedListenerRetriever existingRetriever = this.retrieverCache.get(cacheKey);
-		if (existingRetriever == null) {
-			// Caching a new ListenerRetriever if possible
-			if (this.beanClassLoader == null ||
-					(ClassUtils.isCacheSafe(event.getClass(), this.beanClassLoader) &&
-							(sourceType == null || ClassUtils.isCacheSafe(sourceType, this.beanClassLoader)))) {
-				newRetriever = new CachedListenerRetriever();
-				existingRetriever = this.retrieverCache.putIfAbsent(cacheKey, newRetriever);
-				if (existingRetriever != null) {
-					newRetriever = null;  // no need to populate it in retrieveApplicationListeners
-				}
-			}
-		}
+		// Classes which are not cache-safe only go into a weakly referenced
+		// dispatch table, in order to not prevent their class loader from
+		// being garbage collected.
+		boolean cacheSafe = (this.beanClassLoader == null ||
+				(ClassUtils.isCacheSafe(event.getClass(), this.beanClassLoader) &&
+						(sourceType == null || ClassUtils.isCacheSafe(sourceType, this.beanClassLoader))));
+		Map<ListenerCacheKey, CachedListenerRetriever> retrieverCache =
+				(cacheSafe ? snapshot.retrieverCache : snapshot.nonCacheSafeRetrieverCache);
 
+		CachedListenerRetriever existingRetriever = retrieverCache.get(cacheKey);
 		if (existingRetriever != null) {
-			Collection<ApplicationListener<?>> result = existingRetriever.getApplicationListeners();
-			if (result != null) {
-				return result;
-			}
-			// If result is null, the existing retriever is not fully populated yet by another thread.
-			// Proceed like caching wasn't possible for this current local attempt.
+			return existingRetriever.getApplicationListeners();
 		}
-
-		return retrieveApplicationListeners(eventType, sourceType, newRetriever);
+		return retrieveApplicationListeners(snapshot, eventType, sourceType, cacheKey, retrieverCache);
 	}
 
 	/**
 	 * Actually retrieve the application listeners for the given event and source type.
+	 * @param snapshot the snapshot of registered listeners to retrieve from
 	 * @param eventType the event type
 	 * @param sourceType the event source type
-	 * @param retriever the ListenerRetriever, if supposed to populate one (for caching purposes)
+	 * @param cacheKey the key to register the dispatch table entry under
+	 * @param retrieverCache the dispatch table to populate
 	 * @return the pre-filtered list of application listeners for the given event and source type
 	 */
-	private Collection<ApplicationListener<?>> retrieveApplicationListeners(
-			ResolvableType eventType, @Nullable Class<?> sourceType, @Nullable CachedListenerRetriever retriever) {
+	private Collection<ApplicationListener<?>> retrieveApplicationListeners(ListenerSnapshot snapshot,
+			ResolvableType eventType, @Nullable Class<?> sourceType, ListenerCacheKey cacheKey,
+			Map<ListenerCacheKey, CachedListenerRetriever> retrieverCache) {
 
 		List<ApplicationListener<?>> allListeners = new ArrayList<>();
-		Set<ApplicationListener<?>> filteredListeners = (retriever != null ? new LinkedHashSet<>() : null);
-		Set<String> filteredListenerBeans = (retriever != null ? new LinkedHashSet<>() : null);
-
-		Set<ApplicationListener<?>> listeners;
-		Set<String> listenerBeans;
-		synchronized (this.defaultRetriever) {
-			listeners = new LinkedHashSet<>(this.defaultRetriever.applicationListeners);
-			listenerBeans = new LinkedHashSet<>(this.defaultRetriever.applicationListenerBeans);
-		}
+		Set<ApplicationListener<?>> filteredListeners = new LinkedHashSet<>();
+		Set<String> filteredListenerBeans = new LinkedHashSet<>();
 
 		// Add programmatically registered listeners, including ones coming
 		// from ApplicationListenerDetector (singleton beans and inner beans).
-		for (ApplicationListener<?> listener : listeners) {
+		for (ApplicationListener<?> listener : snapshot.applicationListeners) {
 			if (supportsEvent(listener, eventType, sourceType)) {
-				if (retriever != null) {
-					filteredListeners.add(listener);
-				}
+				filteredListeners.add(listener);
 				allListeners.add(listener);
 			}
 		}
 
 		// Add listeners by bean name, potentially overlapping with programmatically
 		// registered listeners above - but here potentially with additional metadata.
-		if (!listenerBeans.isEmpty()) {
+		if (snapshot.applicationListenerBeans.length > 0) {
 			ConfigurableBeanFactory beanFactory = getBeanFactory();
-			for (String listenerBeanName : listenerBeans) {
+			for (String listenerBeanName : snapshot.applicationListenerBeans) {
 				try {
 					if (supportsEvent(beanFactory, listenerBeanName, eventType)) {
 						ApplicationListener<?> listener =
 								beanFactory.getBean(listenerBeanName, ApplicationListener.class);
 						if (!allListeners.contains(listener) && supportsEvent(listener, eventType, sourceType)) {
-							if (retriever != null) {
-								if (beanFactory.isSingleton(listenerBeanName)) {
-									filteredListeners.add(listener);
-								}
-								else {
-									filteredListenerBeans.add(listenerBeanName);
-								}
+							if (beanFactory.isSingleton(listenerBeanName)) {
+								filteredListeners.add(listener);
+							}
+							else {
+								filteredListenerBeans.add(listenerBeanName);
 							}
 							allListeners.add(listener);
 						}
@@ -279,9 +270,7 @@ public abstract class AbstractApplicationEventMulticaster
 						// ApplicationListenerDetector, possibly ruled out by additional
 						// BeanDefinition metadata (e.g. factory method generics) above.
 						Object listener = beanFactory.getSingleton(listenerBeanName);
-						if (retriever != null) {
-							filteredListeners.remove(listener);
-						}
+						filteredListeners.remove(listener);
 						allListeners.remove(listener);
 					}
 				}
@@ -293,19 +282,22 @@ public abstract class AbstractApplicationEventMulticaster
 		}
 
 		AnnotationAwareOrderComparator.sort(allListeners);
-		if (retriever != null) {
-			if (filteredListenerBeans.isEmpty()) {
-				retriever.applicationListeners = new LinkedHashSet<>(allListeners);
-				retriever.applicationListenerBeans = filteredListenerBeans;
-			}
-			else {
-				retriever.applicationListeners = filteredListeners;
-				retriever.applicationListenerBeans = filteredListenerBeans;
-			}
-		}
+		// A concurrent registration change replaces the snapshot and its dispatch
+		// tables: populating the previous table is harmless since it gets discarded.
+		retrieverCache.putIfAbsent(cacheKey, (filteredListenerBeans.isEmpty() ?
+				new CachedListenerRetriever(allListeners, filteredListenerBeans) :
+				new CachedListenerRetriever(filteredListeners, filteredListenerBeans)));
 		return allListeners;
 	}
 
+	/**
+	 * Return the dispatch table for cache-safe event and source types
+	 * of the current listener snapshot.
+	 */
+	Map<?, ?> retrieverCache() {
+		return this.listenerSnapshot.retrieverCache;
+	}
+
 	/**
 	 * Filter a bean-defined listener early through checking its generically declared
 	 * event type before trying to instantiate it.
@@ -439,42 +431,42 @@ public abstract class AbstractApplicationEventMulticaster
 	 * Helper class that encapsulates a specific set of target listeners,
 	 * allowing for efficient retrieval of pre-filtered listeners.
 	 * <p>An instance of this helper gets cached per event type and source type.
+	 * It is immutable: listeners are pre-sorted unless non-singleton listener
+	 * beans need to be retrieved for each event.
 	 */
 	private class CachedListenerRetriever {
 
-		@Nullable
-		public volatile Set<ApplicationListener<?>> applicationListeners;
+		private final List<ApplicationListener<?>> applicationListeners;
 
-		@Nullable
-		public volatile Set<String> applicationListenerBeans;
+		private final String[] applicationListenerBeans;
+
+		public CachedListenerRetriever(Collection<ApplicationListener<?>> applicationListeners,
+				Collection<String> applicationListenerBeans) {
+
+			this.applicationListeners = Collections.unmodifiableList(Arrays.asList(
+					applicationListeners.toArray(new ApplicationListener<?>[0])));
+			this.applicationListenerBeans = applicationListenerBeans.toArray(new String[0]);
+		}
 
-		@Nullable
 		public Collection<ApplicationListener<?>> getApplicationListeners() {
-			Set<ApplicationListener<?>> applicationListeners = this.applicationListeners;
-			Set<String> applicationListenerBeans = this.applicationListenerBeans;
-			if (applicationListeners == null || applicationListenerBeans == null) {
-				// Not fully populated yet
-				return null;
+			if (this.applicationListenerBeans.length == 0) {
+				return this.applicationListeners;
 			}
 
 			List<ApplicationListener<?>> allListeners = new ArrayList<>(
-					applicationListeners.size() + applicationListenerBeans.size());
-			allListeners.addAll(applicationListeners);
-			if (!applicationListenerBeans.isEmpty()) {
-				BeanFactory beanFactory = getBeanFactory();
-				for (String listenerBeanName : applicationListenerBeans) {
-					try {
-						allListeners.add(beanFactory.getBean(listenerBeanName, ApplicationListener.class));
-					}
-					catch (NoSuchBeanDefinitionException ex) {
-						// Singleton listener instance (without backing bean definition) disappeared -
-						// probably in the middle of the destruction phase
-					}
+					this.applicationListeners.size() + this.applicationListenerBeans.length);
+			allListeners.addAll(this.applicationListeners);
+			BeanFactory beanFactory = getBeanFactory();
+			for (String listenerBeanName : this.applicationListenerBeans) {
+				try {
+					allListeners.add(beanFactory.getBean(listenerBeanName, ApplicationListener.class));
+				}
+				catch (NoSuchBeanDefinitionException ex) {
+					// Singleton listener instance (without backing bean definition) disappeared -
+					// probably in the middle of the destruction phase
 				}
 			}
-			if (!applicationListenerBeans.isEmpty()) {
-				AnnotationAwareOrderComparator.sort(allListeners);
-			}
+			AnnotationAwareOrderComparator.sort(allListeners);
 			return allListeners;
 		}
 	}
@@ -482,6 +474,7 @@ public abstract class AbstractApplicationEventMulticaster
 
 	/**
 	 * Helper class that encapsulates a general set of target listeners.
+	 * <p>Mutable registry, to be modified while synchronized on this instance.
 	 */
 	private class DefaultListenerRetriever {
 
@@ -489,11 +482,37 @@ public abstract class AbstractApplicationEventMulticaster
 
 		public final Set<String> applicationListenerBeans = new LinkedHashSet<>();
 
+		public ListenerSnapshot createSnapshot() {
+			return new ListenerSnapshot(this.applicationListeners, this.applicationListenerBeans);
+		}
+	}
+
+
+	/**
+	 * Immutable snapshot of the registered listeners, along with the dispatch
+	 * tables derived from it. Replaced as a whole on each registration change.
+	 */
+	private class ListenerSnapshot {
+
+		final ApplicationListener<?>[] applicationListeners;
+
+		final String[] applicationListenerBeans;
+
+		final Map<ListenerCacheKey, CachedListenerRetriever> retrieverCache = new ConcurrentHashMap<>(64);
+
+		final Map<ListenerCacheKey, CachedListenerRetriever> nonCacheSafeRetrieverCache =
+				new ConcurrentReferenceHashMap<>(16, ReferenceType.WEAK);
+
+		public ListenerSnapshot(Set<ApplicationListener<?>> applicationListeners, Set<String> applicationListenerBeans) {
+			this.applicationListeners = applicationListeners.toArray(new ApplicationListener<?>[0]);
+			this.applicationListenerBeans = applicationListenerBeans.toArray(new String[0]);
+		}
+
 		public Collection<ApplicationListener<?>> getApplicationListeners() {
 			List<ApplicationListener<?>> allListeners = new ArrayList<>(
-					this.applicationListeners.size() + this.applicationListenerBeans.size());
-			allListeners.addAll(this.applicationListeners);
-			if (!this.applicationListenerBeans.isEmpty()) {
+					this.applicationListeners.length + this.applicationListenerBeans.length);
+			Collections.addAll(allListeners, this.applicationListeners);
+			if (this.applicationListenerBeans.length > 0) {
 				BeanFactory beanFactory = getBeanFactory();
 				for (String listenerBeanName : this.applicationListenerBeans) {
 					try {
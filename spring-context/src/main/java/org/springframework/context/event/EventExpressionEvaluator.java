@@ -23,7 +23,6 @@ import java.util.concurrent.ConcurrentHashMap;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.expression.AnnotatedElementKey;
-import org.springframework.context.expression.BeanFactoryResolver;
 import org.springframework.context.expression.CachedExpressionEvaluator;
 import org.springframework.context.expression.MethodBasedEvaluationContext;
 import org.springframework.expression.Expression;
@@ -42,6 +41,16 @@ class EventExpressionEvaluator extends CachedExpressionEvaluator {
 	private final Map<ExpressionKey, Expression> conditionCache = new ConcurrentHashMap<>(64);
 
 
+	/**
+	 * Create a new instance with a parser compiling frequently evaluated
+	 * conditions.
+	 * @see #createCompilingParser()
+	 */
+	EventExpressionEvaluator() {
+		super(createCompilingParser());
+	}
+
+
 	/**
 	 * Determine if the condition defined by the specified expression evaluates
 	 * to {@code true}.
@@ -52,9 +61,7 @@ class EventExpressionEvaluator extends CachedExpressionEvaluator {
 		EventExpressionRootObject root = new EventExpressionRootObject(event, args);
 		MethodBasedEvaluationContext evaluationContext = new MethodBasedEvaluationContext(
 				root, targetMethod, args, getParameterNameDiscoverer());
-		if (beanFactory != null) {
-			evaluationContext.setBeanResolver(new BeanFactoryResolver(beanFactory));
-		}
+		initEvaluationContext(evaluationContext, beanFactory);
 
 		return (Boolean.TRUE.equals(getExpression(this.conditionCache, methodKey, conditionExpression).getValue(
 				evaluationContext, Boolean.class)));
@@ -21,16 +21,19 @@ import org.springframework.context.ApplicationEvent;
 /**
  * Root object used during event listener expression evaluation.
  *
+ * <p>Public in order to allow for compiling expressions which access its
+ * properties, but not meant to be instantiated outside of this package.
+ *
  * @author Stephane Nicoll
  * @since 4.2
  */
-class EventExpressionRootObject {
+public class EventExpressionRootObject {
 
 	private final ApplicationEvent event;
 
 	private final Object[] args;
 
-	public EventExpressionRootObject(ApplicationEvent event, Object[] args) {
+	EventExpressionRootObject(ApplicationEvent event, Object[] args) {
 		this.event = event;
 		this.args = args;
 	}
@@ -0,0 +1,347 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.event;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Dispatches listener invocations for a {@link SimpleApplicationEventMulticaster}
+ * onto a worker {@link Executor}, preserving the order of events per partition.
+ *
+ * <p>Each event is assigned to one of a fixed number of partitions based on
+ * the key returned by the {@linkplain #setPartitionKeyResolver partition key
+ * resolver}. Every listener gets its own bounded queue per partition, drained
+ * by at most one worker at a time: events with the same key are therefore
+ * delivered to each listener in publication order, while a slow listener only
+ * backs up its own queues rather than the publishing thread or other listeners.
+ *
+ * <p>The worker executor determines the number of queues that may be drained
+ * concurrently, so it is typically a thread pool with a bounded pool size such
+ * as a {@link org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor}.
+ * A queue hands its worker back to the executor after a number of invocations,
+ * giving other queues a chance to run.
+ *
+ * <p>Once a queue is full, the configured {@link OverflowPolicy} applies.
+ * Note that with {@link OverflowPolicy#BLOCK}, publishing an event from a
+ * listener that is invoked through this dispatcher may deadlock if the
+ * listener's own queue is full.
+ *
+ * @since 5.3.39
+ * @see SimpleApplicationEventMulticaster#setPartitionedDispatcher
+ */
+public class PartitionedEventDispatcher {
+
+	/**
+	 * Default number of partitions per listener: {@value}.
+	 */
+	public static final int DEFAULT_PARTITION_COUNT = 16;
+
+	/**
+	 * Default capacity of each partition queue: {@value}.
+	 */
+	public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+	private static final int MAX_INVOCATIONS_PER_RUN = 64;
+
+
+	/**
+	 * Policy to apply when an event is dispatched to a full queue.
+	 */
+	public enum OverflowPolicy {
+
+		/**
+		 * Block the publishing thread until the queue has space again.
+		 */
+		BLOCK,
+
+		/**
+		 * Discard the listener invocation, recording it as dropped.
+		 */
+		DROP,
+
+		/**
+		 * Invoke the listener in the publishing thread, bypassing the queue
+		 * and therefore the ordering guarantee for the affected event.
+		 */
+		CALLER_RUNS
+	}
+
+
+	private static final Log logger = LogFactory.getLog(PartitionedEventDispatcher.class);
+
+	private final Executor workerExecutor;
+
+	private final int partitionCount;
+
+	private final int queueCapacity;
+
+	@Nullable
+	private Function<ApplicationEvent, ?> partitionKeyResolver;
+
+	private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+	final ConcurrentMap<ApplicationListener<?>, Lane[]> lanes = new ConcurrentHashMap<>(64);
+
+	private final LongAdder droppedCount = new LongAdder();
+
+	private final LongAdder callerRunsCount = new LongAdder();
+
+
+	/**
+	 * Create a new PartitionedEventDispatcher with the default number of
+	 * partitions and queue capacity.
+	 * @param workerExecutor the executor to drain listener queues with
+	 */
+	public PartitionedEventDispatcher(Executor workerExecutor) {
+		this(workerExecutor, DEFAULT_PARTITION_COUNT, DEFAULT_QUEUE_CAPACITY);
+	}
+
+	/**
+	 * Create a new PartitionedEventDispatcher.
+	 * @param workerExecutor the executor to drain listener queues with
+	 * @param partitionCount the number of partitions per listener
+	 * @param queueCapacity the maximum number of pending invocations per
+	 * listener and partition
+	 */
+	public PartitionedEventDispatcher(Executor workerExecutor, int partitionCount, int queueCapacity) {
+		Assert.notNull(workerExecutor, "Worker executor must not be null");
+		Assert.isTrue(partitionCount > 0, "Partition count must be positive");
+		Assert.isTrue(queueCapacity > 0, "Queue capacity must be positive");
+		this.workerExecutor = workerExecutor;
+		this.partitionCount = partitionCount;
+		this.queueCapacity = queueCapacity;
+	}
+
+
+	/**
+	 * Set the function to determine the partition key of an event.
+	 * <p>Events with equal keys are delivered to each listener in the order
+	 * they were published. Default is none, delivering all events to a
+	 * listener in publication order.
+	 */
+	public void setPartitionKeyResolver(@Nullable Function<ApplicationEvent, ?> partitionKeyResolver) {
+		this.partitionKeyResolver = partitionKeyResolver;
+	}
+
+	/**
+	 * Set the policy to apply when a listener queue is full.
+	 * <p>Default is {@link OverflowPolicy#BLOCK}.
+	 */
+	public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+		Assert.notNull(overflowPolicy, "OverflowPolicy must not be null");
+		this.overflowPolicy = overflowPolicy;
+	}
+
+	/**
+	 * Return the policy to apply when a listener queue is full.
+	 */
+	public OverflowPolicy getOverflowPolicy() {
+		return this.overflowPolicy;
+	}
+
+
+	/**
+	 * Queue the invocation of the given listener for the given event.
+	 * @param listener the listener to invoke
+	 * @param event the event to deliver
+	 * @param invocation the callback performing the actual invocation
+	 */
+	public void dispatch(ApplicationListener<?> listener, ApplicationEvent event, Runnable invocation) {
+		Lane[] listenerLanes = this.lanes.computeIfAbsent(listener, key -> createLanes());
+		listenerLanes[partitionFor(event)].submit(invocation);
+	}
+
+	/**
+	 * Remove the queues of the given listener, typically once it has been
+	 * removed from the multicaster. Invocations queued already are still
+	 * performed.
+	 * @param listener the listener to remove the queues for
+	 */
+	public void removeListener(ApplicationListener<?> listener) {
+		this.lanes.remove(listener);
+	}
+
+	/**
+	 * Remove the queues of all listeners matching the given predicate.
+	 * Invocations queued already are still performed.
+	 * @param predicate the predicate to identify listeners to remove the queues for
+	 */
+	public void removeListeners(Predicate<ApplicationListener<?>> predicate) {
+		this.lanes.keySet().removeIf(predicate);
+	}
+
+	/**
+	 * Remove the queues of all listeners.
+	 * Invocations queued already are still performed.
+	 */
+	public void removeAllListeners() {
+		this.lanes.clear();
+	}
+
+	private Lane[] createLanes() {
+		Lane[] result = new Lane[this.partitionCount];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = new Lane();
+		}
+		return result;
+	}
+
+	private int partitionFor(ApplicationEvent event) {
+		if (this.partitionKeyResolver == null || this.partitionCount == 1) {
+			return 0;
+		}
+		Object key = this.partitionKeyResolver.apply(event);
+		if (key == null) {
+			return 0;
+		}
+		int hash = key.hashCode();
+		return Math.floorMod(hash ^ (hash >>> 16), this.partitionCount);
+	}
+
+
+	/**
+	 * Return the total number of pending listener invocations.
+	 */
+	public int getQueueDepth() {
+		int depth = 0;
+		for (Lane[] listenerLanes : this.lanes.values()) {
+			depth += queueDepth(listenerLanes);
+		}
+		return depth;
+	}
+
+	/**
+	 * Return the number of pending invocations of the given listener.
+	 */
+	public int getQueueDepth(ApplicationListener<?> listener) {
+		Lane[] listenerLanes = this.lanes.get(listener);
+		return (listenerLanes != null ? queueDepth(listenerLanes) : 0);
+	}
+
+	private static int queueDepth(Lane[] listenerLanes) {
+		int depth = 0;
+		for (Lane lane : listenerLanes) {
+			depth += lane.queue.size();
+		}
+		return depth;
+	}
+
+	/**
+	 * Return the number of listener invocations dropped due to
+	 * {@link OverflowPolicy#DROP}.
+	 */
+	public long getDroppedCount() {
+		return this.droppedCount.sum();
+	}
+
+	/**
+	 * Return the number of listener invocations performed in the publishing
+	 * thread due to {@link OverflowPolicy#CALLER_RUNS}.
+	 */
+	public long getCallerRunsCount() {
+		return this.callerRunsCount.sum();
+	}
+
+
+	/**
+	 * Queue of invocations for one listener and partition, drained by at most
+	 * one worker at a time.
+	 */
+	private class Lane implements Runnable {
+
+		final BlockingQueue<Runnable> queue = new LinkedBlockingQueue<>(queueCapacity);
+
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+
+		void submit(Runnable invocation) {
+			if (!this.queue.offer(invocation)) {
+				switch (overflowPolicy) {
+					case DROP:
+						droppedCount.increment();
+						return;
+					case CALLER_RUNS:
+						callerRunsCount.increment();
+						invocation.run();
+						return;
+					default:
+						try {
+							this.queue.put(invocation);
+						}
+						catch (InterruptedException ex) {
+							Thread.currentThread().interrupt();
+							throw new IllegalStateException("Interrupted while waiting for listener queue", ex);
+						}
+				}
+			}
+			schedule();
+		}
+
+		private void schedule() {
+			if (this.scheduled.compareAndSet(false, true)) {
+				try {
+					workerExecutor.execute(this);
+				}
+				catch (RejectedExecutionException ex) {
+					this.scheduled.set(false);
+					throw ex;
+				}
+			}
+		}
+
+		@Override
+		public void run() {
+			try {
+				for (int i = 0; i < MAX_INVOCATIONS_PER_RUN; i++) {
+					Runnable invocation = this.queue.poll();
+					if (invocation == null) {
+						break;
+					}
+					try {
+						invocation.run();
+					}
+					catch (Throwable ex) {
+						logger.error("Unexpected error occurred in event listener", ex);
+					}
+				}
+			}
+			finally {
+				this.scheduled.set(false);
+			}
+			if (!this.queue.isEmpty()) {
+				schedule();
+			}
+		}
+	}
+
+}
@@ -17,6 +17,7 @@
 package org.springframework.context.event;
 
 import java.util.concurrent.Executor;
+import java.util.function.Predicate;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -41,18 +42,25 @@ import org.springframework.util.ErrorHandler;
  * This allows the danger of a rogue listener blocking the entire application,
  * but adds minimal overhead. Specify an alternative task executor to have
  * listeners executed in different threads, for example from a thread pool.
+ * Alternatively, specify a {@link PartitionedEventDispatcher} to have listeners
+ * executed on a worker pool with per-listener queues that preserve the order of
+ * events sharing a partition key.
  *
  * @author Rod Johnson
  * @author Juergen Hoeller
  * @author Stephane Nicoll
  * @author Brian Clozel
  * @see #setTaskExecutor
+ * @see #setPartitionedDispatcher
  */
 public class SimpleApplicationEventMulticaster extends AbstractApplicationEventMulticaster {
 
 	@Nullable
 	private Executor taskExecutor;
 
+	@Nullable
+	private PartitionedEventDispatcher partitionedDispatcher;
+
 	@Nullable
 	private ErrorHandler errorHandler;
 
@@ -100,6 +108,26 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 		return this.taskExecutor;
 	}
 
+	/**
+	 * Set a {@link PartitionedEventDispatcher} to invoke each listener with,
+	 * queueing invocations per listener and partition key on a worker pool.
+	 * <p>Takes precedence over a {@linkplain #setTaskExecutor task executor}.
+	 * Default is none.
+	 * @since 5.3.39
+	 */
+	public void setPartitionedDispatcher(@Nullable PartitionedEventDispatcher partitionedDispatcher) {
+		this.partitionedDispatcher = partitionedDispatcher;
+	}
+
+	/**
+	 * Return the current partitioned dispatcher for this multicaster.
+	 * @since 5.3.39
+	 */
+	@Nullable
+	protected PartitionedEventDispatcher getPartitionedDispatcher() {
+		return this.partitionedDispatcher;
+	}
+
 	/**
 	 * Set the {@link ErrorHandler} to invoke in case an exception is thrown
 	 * from a listener.
@@ -128,6 +156,38 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 		return this.errorHandler;
 	}
 
+	/**
+	 * Also removes the listener's queues from the partitioned dispatcher, if any.
+	 * This covers listener beans as well since they get removed as instances
+	 * on destruction.
+	 */
+	@Override
+	public void removeApplicationListener(ApplicationListener<?> listener) {
+		super.removeApplicationListener(listener);
+		PartitionedEventDispatcher dispatcher = getPartitionedDispatcher();
+		if (dispatcher != null) {
+			dispatcher.removeListener(listener);
+		}
+	}
+
+	@Override
+	public void removeApplicationListeners(Predicate<ApplicationListener<?>> predicate) {
+		super.removeApplicationListeners(predicate);
+		PartitionedEventDispatcher dispatcher = getPartitionedDispatcher();
+		if (dispatcher != null) {
+			dispatcher.removeListeners(predicate);
+		}
+	}
+
+	@Override
+	public void removeAllListeners() {
+		super.removeAllListeners();
+		PartitionedEventDispatcher dispatcher = getPartitionedDispatcher();
+		if (dispatcher != null) {
+			dispatcher.removeAllListeners();
+		}
+	}
+
 	@Override
 	public void multicastEvent(ApplicationEvent event) {
 		multicastEvent(event, resolveDefaultEventType(event));
@@ -139,11 +199,15 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 		ResolvableType type = (eventType != null ? eventType : resolveDefaultEventType(event));
 		// 获取此多播器的当前任务线程池
 		Executor executor = getTaskExecutor();
+		PartitionedEventDispatcher dispatcher = getPartitionedDispatcher();
 		// getApplicationListeners方法是返回与给定事件类型匹配的应用监听器集合
 		// 遍历获取所有支持event的监听器
 		for (ApplicationListener<?> listener : getApplicationListeners(event, type)) {
+			if (dispatcher != null) {
+				dispatcher.dispatch(listener, event, () -> invokeListener(listener, event));
+			}
 			//如果executor不为null
-			if (executor != null) {
+			else if (executor != null) {
 				//使用executor回调listener的onApplicationEvent方法，传入event
 				executor.execute(() -> invokeListener(listener, event));
 			}
@@ -16,14 +16,31 @@
 
 package org.springframework.context.expression;
 
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
+import org.springframework.beans.factory.BeanFactory;
 import org.springframework.core.DefaultParameterNameDiscoverer;
 import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.SpringProperties;
+import org.springframework.expression.ConstructorResolver;
 import org.springframework.expression.Expression;
+import org.springframework.expression.MethodResolver;
+import org.springframework.expression.PropertyAccessor;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.ReflectiveConstructorResolver;
+import org.springframework.expression.spel.support.ReflectiveMethodResolver;
+import org.springframework.expression.spel.support.ReflectivePropertyAccessor;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.ObjectUtils;
 
 /**
@@ -38,7 +55,19 @@ public abstract class CachedExpressionEvaluator {
 
 	private final SpelExpressionParser parser;
 
-	private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+	private final ParameterNameDiscoverer parameterNameDiscoverer = new CachingParameterNameDiscoverer();
+
+	private final List<PropertyAccessor> propertyAccessors =
+			Collections.singletonList(new ReflectivePropertyAccessor());
+
+	private final List<MethodResolver> methodResolvers =
+			Collections.singletonList(new ReflectiveMethodResolver());
+
+	private final List<ConstructorResolver> constructorResolvers =
+			Collections.singletonList(new ReflectiveConstructorResolver());
+
+	@Nullable
+	private volatile SharedBeanResolver sharedBeanResolver;
 
 
 	/**
@@ -72,6 +101,32 @@ public abstract class CachedExpressionEvaluator {
 		return this.parameterNameDiscoverer;
 	}
 
+	/**
+	 * Prepare the given per-invocation evaluation context, using property
+	 * accessors and method and constructor resolvers shared across invocations
+	 * rather than creating them, along with their reflection caches, for each
+	 * context. These are installed in mutable lists of the context's own, so
+	 * that further accessors and resolvers may still be added to the context.
+	 * @param evaluationContext the context to prepare
+	 * @param beanFactory the bean factory to resolve bean references against, if any
+	 * @since 5.3.39
+	 */
+	protected void initEvaluationContext(StandardEvaluationContext evaluationContext,
+			@Nullable BeanFactory beanFactory) {
+
+		evaluationContext.setPropertyAccessors(new ArrayList<>(this.propertyAccessors));
+		evaluationContext.setMethodResolvers(new ArrayList<>(this.methodResolvers));
+		evaluationContext.setConstructorResolvers(new ArrayList<>(this.constructorResolvers));
+		if (beanFactory != null) {
+			SharedBeanResolver sharedBeanResolver = this.sharedBeanResolver;
+			if (sharedBeanResolver == null || sharedBeanResolver.beanFactory != beanFactory) {
+				sharedBeanResolver = new SharedBeanResolver(beanFactory);
+				this.sharedBeanResolver = sharedBeanResolver;
+			}
+			evaluationContext.setBeanResolver(sharedBeanResolver.beanResolver);
+		}
+	}
+
 
 	/**
 	 * Return the {@link Expression} for the specified SpEL value
@@ -105,6 +160,23 @@ public abstract class CachedExpressionEvaluator {
 		return new ExpressionKey(elementKey, expression);
 	}
 
+	/**
+	 * Create a {@link SpelExpressionParser} which compiles expressions once they
+	 * have been interpreted a number of times, falling back to interpretation
+	 * if a compiled expression fails ({@link SpelCompilerMode#MIXED}).
+	 * <p>A different mode may be configured through the
+	 * {@value SpelParserConfiguration#SPRING_EXPRESSION_COMPILER_MODE_PROPERTY_NAME}
+	 * property, for example {@code off} to interpret expressions only, which
+	 * applies as for any default {@link SpelParserConfiguration}.
+	 * @since 5.3.39
+	 */
+	protected static SpelExpressionParser createCompilingParser() {
+		if (SpringProperties.getProperty(SpelParserConfiguration.SPRING_EXPRESSION_COMPILER_MODE_PROPERTY_NAME) != null) {
+			return new SpelExpressionParser(new SpelParserConfiguration());
+		}
+		return new SpelExpressionParser(new SpelParserConfiguration(SpelCompilerMode.MIXED, null));
+	}
+
 
 	/**
 	 * An expression key.
@@ -155,4 +227,54 @@ public abstract class CachedExpressionEvaluator {
 		}
 	}
 
+
+	/**
+	 * {@link BeanFactoryResolver} for the bean factory most recently used.
+	 */
+	private static final class SharedBeanResolver {
+
+		final BeanFactory beanFactory;
+
+		final BeanFactoryResolver beanResolver;
+
+		SharedBeanResolver(BeanFactory beanFactory) {
+			this.beanFactory = beanFactory;
+			this.beanResolver = new BeanFactoryResolver(beanFactory);
+		}
+	}
+
+
+	/**
+	 * {@link ParameterNameDiscoverer} caching the parameter names per method,
+	 * avoiding their introspection for each evaluation context.
+	 */
+	private static class CachingParameterNameDiscoverer implements ParameterNameDiscoverer {
+
+		private static final String[] NO_PARAMETER_NAMES = new String[0];
+
+		private final ParameterNameDiscoverer delegate = new DefaultParameterNameDiscoverer();
+
+		private final Map<Method, String[]> parameterNamesCache = new ConcurrentReferenceHashMap<>(256);
+
+		@Override
+		@Nullable
+		public String[] getParameterNames(Method method) {
+			String[] parameterNames = this.parameterNamesCache.get(method);
+			if (parameterNames == null) {
+				parameterNames = this.delegate.getParameterNames(method);
+				if (parameterNames == null) {
+					parameterNames = NO_PARAMETER_NAMES;
+				}
+				this.parameterNamesCache.put(method, parameterNames);
+			}
+			return (parameterNames != NO_PARAMETER_NAMES ? parameterNames : null);
+		}
+
+		@Override
+		@Nullable
+		public String[] getParameterNames(Constructor<?> ctor) {
+			return this.delegate.getParameterNames(ctor);
+		}
+	}
+
 }
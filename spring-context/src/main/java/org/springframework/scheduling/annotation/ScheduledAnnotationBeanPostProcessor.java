@@ -18,6 +18,7 @@ package org.springframework.scheduling.annotation;
 
 import java.lang.reflect.Method;
 import java.time.Duration;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -70,9 +71,12 @@ import org.springframework.scheduling.config.FixedRateTask;
 import org.springframework.scheduling.config.ScheduledTask;
 import org.springframework.scheduling.config.ScheduledTaskHolder;
 import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.scheduling.lock.LockedTaskRunnable;
+import org.springframework.scheduling.lock.TaskLockProvider;
 import org.springframework.scheduling.support.CronTrigger;
 import org.springframework.scheduling.support.ScheduledMethodRunnable;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.util.StringValueResolver;
 
@@ -92,6 +96,10 @@ import org.springframework.util.StringValueResolver;
  * See the {@link EnableScheduling @EnableScheduling} javadocs for complete usage
  * details.
  *
+ * <p>Methods that are also annotated with {@link ScheduledLock @ScheduledLock}
+ * are guarded by the {@link TaskLockProvider} of the registrar, autodetected
+ * as a unique bean in the container unless set by a {@code SchedulingConfigurer}.
+ *
  * @author Mark Fisher
  * @author Juergen Hoeller
  * @author Chris Beams
@@ -143,6 +151,10 @@ public class ScheduledAnnotationBeanPostProcessor
 
 	private final Map<Object, Set<ScheduledTask>> scheduledTasks = new IdentityHashMap<>(16);
 
+	private volatile boolean lockedTasksRegistered;
+
+	private volatile boolean taskLockProviderResolved;
+
 
 	/**
 	 * Create a default {@code ScheduledAnnotationBeanPostProcessor}.
@@ -254,6 +266,9 @@ public class ScheduledAnnotationBeanPostProcessor
 			}
 		}
 
+		resolveTaskLockProvider();
+		this.taskLockProviderResolved = true;
+
 		if (this.registrar.hasTasks() && this.registrar.getScheduler() == null) {
 			Assert.state(this.beanFactory != null, "BeanFactory must be set to find scheduler by type");
 			try {
@@ -396,6 +411,10 @@ public class ScheduledAnnotationBeanPostProcessor
 	protected void processScheduled(Scheduled scheduled, Method method, Object bean) {
 		try {
 			Runnable runnable = createRunnable(bean, method);
+			ScheduledLock scheduledLock = AnnotatedElementUtils.findMergedAnnotation(method, ScheduledLock.class);
+			if (scheduledLock != null) {
+				runnable = createLockedRunnable(runnable, scheduledLock, method);
+			}
 			boolean processedSchedule = false;
 			String errorMessage =
 					"Exactly one of the 'cron', 'fixedDelay(String)', or 'fixedRate(String)' attributes is required";
@@ -533,6 +552,71 @@ public class ScheduledAnnotationBeanPostProcessor
 		return new ScheduledMethodRunnable(target, invocableMethod);
 	}
 
+	private Runnable createLockedRunnable(Runnable runnable, ScheduledLock scheduledLock, Method method) {
+		String name = resolveLockAttribute(scheduledLock.name());
+		if (!StringUtils.hasText(name)) {
+			name = ClassUtils.getQualifiedMethodName(method);
+		}
+		String leaseTime = resolveLockAttribute(scheduledLock.leaseTime());
+		String minLeaseTime = resolveLockAttribute(scheduledLock.minLeaseTime());
+		Duration minLeaseDuration = Duration.ZERO;
+		try {
+			if (StringUtils.hasLength(minLeaseTime)) {
+				minLeaseDuration = Duration.ofMillis(convertToMillis(minLeaseTime, TimeUnit.MILLISECONDS));
+			}
+			Duration leaseDuration = Duration.ofMillis(convertToMillis(leaseTime, TimeUnit.MILLISECONDS));
+			this.lockedTasksRegistered = true;
+			TaskLockProvider lockProvider;
+			if (this.taskLockProviderResolved) {
+				// Registered late, e.g. for a lazy or prototype bean: fail right away if there is no lock provider
+				lockProvider = resolveTaskLockProvider();
+			}
+			else {
+				// The lock provider is only resolved once all beans have been registered
+				lockProvider = (lockName, lease, minLease) -> {
+					TaskLockProvider provider = this.registrar.getTaskLockProvider();
+					Assert.state(provider != null, "No TaskLockProvider set");
+					return provider.tryLock(lockName, lease, minLease);
+				};
+			}
+			return new LockedTaskRunnable(runnable, lockProvider, name, leaseDuration, minLeaseDuration,
+					scheduledLock.partitions());
+		}
+		catch (DateTimeParseException | NumberFormatException ex) {
+			throw new IllegalArgumentException("Invalid @ScheduledLock lease time \"" + leaseTime + "\" or \"" +
+					minLeaseTime + "\" - cannot parse into duration");
+		}
+	}
+
+	/**
+	 * Resolve the {@link TaskLockProvider} of the registrar, falling back to a
+	 * unique {@code TaskLockProvider} bean.
+	 * @return the lock provider, or {@code null} if none is available and no
+	 * {@code @ScheduledLock} methods have been registered
+	 * @throws IllegalStateException if {@code @ScheduledLock} methods have been
+	 * registered but no lock provider is available
+	 */
+	@Nullable
+	private TaskLockProvider resolveTaskLockProvider() {
+		if (this.registrar.getTaskLockProvider() == null && this.beanFactory != null) {
+			this.beanFactory.getBeanProvider(TaskLockProvider.class).ifUnique(this.registrar::setTaskLockProvider);
+		}
+		TaskLockProvider lockProvider = this.registrar.getTaskLockProvider();
+		if (lockProvider == null && this.lockedTasksRegistered) {
+			throw new IllegalStateException("@ScheduledLock methods require a TaskLockProvider: declare a " +
+					"unique TaskLockProvider bean or set one on the ScheduledTaskRegistrar through a SchedulingConfigurer");
+		}
+		return lockProvider;
+	}
+
+	private String resolveLockAttribute(String value) {
+		if (this.embeddedValueResolver != null && StringUtils.hasLength(value)) {
+			String resolved = this.embeddedValueResolver.resolveStringValue(value);
+			return (resolved != null ? resolved : "");
+		}
+		return value;
+	}
+
 	private static long convertToMillis(long value, TimeUnit timeUnit) {
 		return TimeUnit.MILLISECONDS.convert(value, timeUnit);
 	}
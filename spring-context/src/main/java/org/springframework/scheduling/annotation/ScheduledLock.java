@@ -0,0 +1,79 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation that marks a {@link Scheduled @Scheduled} method to be executed
+ * by one application instance at a time, guarded by a lock obtained from the
+ * {@link org.springframework.scheduling.lock.TaskLockProvider TaskLockProvider}
+ * bean in the context. Instances that fail to acquire the lock skip the
+ * execution.
+ *
+ * <p>With {@link #partitions()} greater than 1, the work of the method is
+ * shared among instances instead: each partition is locked separately and
+ * the method is invoked once per acquired partition, which it can determine
+ * through {@link org.springframework.scheduling.lock.TaskPartition#current()}.
+ *
+ * <p>Durations may be specified as milliseconds or in the ISO-8601 format
+ * understood by {@link java.time.Duration#parse}, and may contain
+ * <code>${...}</code> placeholders.
+ *
+ * @since 5.3.39
+ * @see org.springframework.scheduling.lock.LockedTaskRunnable
+ * @see org.springframework.scheduling.config.ScheduledTaskRegistrar#setTaskLockProvider
+ */
+@Target({ElementType.METHOD, ElementType.ANNOTATION_TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ScheduledLock {
+
+	/**
+	 * The name of the lock, unique among all scheduled tasks sharing the
+	 * same lock store.
+	 * <p>Defaults to the fully qualified name of the annotated method.
+	 */
+	String name() default "";
+
+	/**
+	 * The maximum time to hold the lock for, after which it is released
+	 * even if the instance holding it fails to do so.
+	 * <p>Should be comfortably longer than the method ever takes.
+	 * The default is 10 minutes.
+	 */
+	String leaseTime() default "PT10M";
+
+	/**
+	 * The minimum time to hold the lock for, even if the method completes
+	 * earlier. Should be shorter than the interval between executions, but
+	 * longer than the clock difference between instances.
+	 * <p>The default is to release the lock right away.
+	 */
+	String minLeaseTime() default "";
+
+	/**
+	 * The number of partitions to split the work of the method into.
+	 * <p>The default is 1, i.e. no partitioning.
+	 */
+	int partitions() default 1;
+
+}
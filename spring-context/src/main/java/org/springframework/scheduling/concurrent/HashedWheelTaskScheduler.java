@@ -0,0 +1,847 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.concurrent;
+
+import java.time.Clock;
+import java.util.Date;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.support.SimpleTriggerContext;
+import org.springframework.scheduling.support.TaskUtils;
+import org.springframework.util.Assert;
+import org.springframework.util.ErrorHandler;
+
+/**
+ * {@link TaskScheduler} implementation backed by a hashed timing wheel,
+ * designed for very large numbers of short-lived, mostly cancelled timeouts
+ * such as heartbeats and request timeouts.
+ *
+ * <p>In contrast to {@link ThreadPoolTaskScheduler}, which keeps scheduled
+ * tasks in the priority queue of a {@link java.util.concurrent.ScheduledThreadPoolExecutor},
+ * scheduling and cancelling a task are O(1) operations that do not contend on
+ * a shared lock: tasks are handed to a single worker thread through a lock-free
+ * queue and the worker places them into one of a fixed number of buckets based
+ * on their deadline. On every tick, the worker expires all due tasks of the
+ * current bucket in one batch. Each pending task is represented by a single
+ * small object which also serves as its {@link ScheduledFuture}.
+ *
+ * <p>The price for this is precision: tasks are executed on the first tick
+ * after their deadline, so the {@link #HashedWheelTaskScheduler(long, TimeUnit, int)
+ * tick duration} defines the resolution of this scheduler.
+ *
+ * <p>By default, expired tasks are executed on the worker thread itself, which
+ * is appropriate for short non-blocking tasks only. Tasks that may block should
+ * be handed off to a {@link #setTaskExecutor task executor} instead.
+ *
+ * <p>The worker thread is started lazily when the first task is scheduled
+ * and stopped on {@link #shutdown()}, which cancels all pending tasks.
+ *
+ * @since 5.3.39
+ * @see ThreadPoolTaskScheduler
+ */
+public class HashedWheelTaskScheduler implements TaskScheduler, DisposableBean {
+
+	/**
+	 * The default tick duration in milliseconds: 10.
+	 */
+	public static final long DEFAULT_TICK_DURATION = 10;
+
+	/**
+	 * The default number of buckets in the wheel: 512.
+	 */
+	public static final int DEFAULT_TICKS_PER_WHEEL = 512;
+
+	private static final int WORKER_STATE_INIT = 0;
+
+	private static final int WORKER_STATE_STARTED = 1;
+
+	private static final int WORKER_STATE_SHUTDOWN = 2;
+
+	private static final int STATE_PENDING = 0;
+
+	private static final int STATE_RUNNING = 1;
+
+	private static final int STATE_CANCELLED = 2;
+
+	private static final int STATE_DONE = 3;
+
+	/** Upper bound for the number of newly scheduled tasks placed into buckets per tick. */
+	private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+	private static final AtomicIntegerFieldUpdater<HashedWheelTaskScheduler> WORKER_STATE_UPDATER =
+			AtomicIntegerFieldUpdater.newUpdater(HashedWheelTaskScheduler.class, "workerState");
+
+	private static final AtomicIntegerFieldUpdater<WheelTimeout> STATE_UPDATER =
+			AtomicIntegerFieldUpdater.newUpdater(WheelTimeout.class, "state");
+
+	private static final Log logger = LogFactory.getLog(HashedWheelTaskScheduler.class);
+
+
+	private final long tickDuration;
+
+	private final Bucket[] wheel;
+
+	private final int mask;
+
+	private final Queue<WheelTimeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+
+	private final Queue<WheelTimeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+
+	private final AtomicLong pendingTaskCount = new AtomicLong();
+
+	private final CountDownLatch startTimeInitialized = new CountDownLatch(1);
+
+	private ThreadFactory threadFactory = new CustomizableThreadFactory("hashed-wheel-scheduler-");
+
+	@Nullable
+	private Executor taskExecutor;
+
+	@Nullable
+	private ErrorHandler errorHandler;
+
+	private Clock clock = Clock.systemDefaultZone();
+
+	private volatile int workerState;
+
+	@Nullable
+	private volatile Thread workerThread;
+
+	private volatile long startTime;
+
+
+	/**
+	 * Create a new {@code HashedWheelTaskScheduler} with the
+	 * {@linkplain #DEFAULT_TICK_DURATION default tick duration} and the
+	 * {@linkplain #DEFAULT_TICKS_PER_WHEEL default number of buckets}.
+	 */
+	public HashedWheelTaskScheduler() {
+		this(DEFAULT_TICK_DURATION, TimeUnit.MILLISECONDS, DEFAULT_TICKS_PER_WHEEL);
+	}
+
+	/**
+	 * Create a new {@code HashedWheelTaskScheduler}.
+	 * @param tickDuration the duration between ticks, i.e. the resolution
+	 * of the scheduler (at least one millisecond)
+	 * @param unit the time unit of the {@code tickDuration}
+	 * @param ticksPerWheel the number of buckets in the wheel, rounded up to
+	 * the next power of two; a wheel should ideally span the typical delay of
+	 * the scheduled tasks
+	 */
+	public HashedWheelTaskScheduler(long tickDuration, TimeUnit unit, int ticksPerWheel) {
+		Assert.notNull(unit, "TimeUnit must not be null");
+		Assert.isTrue(ticksPerWheel > 0 && ticksPerWheel <= (1 << 30),
+				"Ticks per wheel must be between 1 and 2^30");
+		long tickNanos = unit.toNanos(tickDuration);
+		Assert.isTrue(tickNanos >= TimeUnit.MILLISECONDS.toNanos(1), "Tick duration must be at least 1 ms");
+		int buckets = (ticksPerWheel == 1 ? 1 : Integer.highestOneBit(ticksPerWheel - 1) << 1);
+		Assert.isTrue(tickNanos < Long.MAX_VALUE / buckets, "Tick duration too long for the number of buckets");
+		this.tickDuration = tickNanos;
+		this.wheel = new Bucket[buckets];
+		for (int i = 0; i < buckets; i++) {
+			this.wheel[i] = new Bucket();
+		}
+		this.mask = buckets - 1;
+	}
+
+
+	/**
+	 * Set the {@link ThreadFactory} to create the worker thread with.
+	 * <p>The default creates non-daemon threads with a "hashed-wheel-scheduler-"
+	 * name prefix.
+	 */
+	public void setThreadFactory(ThreadFactory threadFactory) {
+		Assert.notNull(threadFactory, "ThreadFactory must not be null");
+		this.threadFactory = threadFactory;
+	}
+
+	/**
+	 * Set the {@link Executor} to run expired tasks on.
+	 * <p>By default, expired tasks run on the worker thread of the wheel,
+	 * delaying the expiry of subsequent tasks for as long as they take.
+	 * If the executor rejects a task, it runs on the worker thread as well.
+	 */
+	public void setTaskExecutor(@Nullable Executor taskExecutor) {
+		this.taskExecutor = taskExecutor;
+	}
+
+	/**
+	 * Set a custom {@link ErrorHandler} strategy.
+	 * @see ThreadPoolTaskScheduler#setErrorHandler
+	 */
+	public void setErrorHandler(@Nullable ErrorHandler errorHandler) {
+		this.errorHandler = errorHandler;
+	}
+
+	/**
+	 * Set the clock to use for scheduling purposes.
+	 * <p>The default clock is the system clock for the default time zone.
+	 * The clock is used to translate absolute execution times into delays;
+	 * the wheel itself is driven by {@link System#nanoTime()}.
+	 * @see Clock#systemDefaultZone()
+	 */
+	public void setClock(Clock clock) {
+		Assert.notNull(clock, "Clock must not be null");
+		this.clock = clock;
+	}
+
+	@Override
+	public Clock getClock() {
+		return this.clock;
+	}
+
+	/**
+	 * Return the number of tasks that are currently scheduled, including
+	 * repeating tasks and tasks that are running, but excluding cancelled
+	 * and completed ones.
+	 */
+	public long getPendingTaskCount() {
+		return this.pendingTaskCount.get();
+	}
+
+
+	@Override
+	@Nullable
+	public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+		Assert.notNull(task, "Runnable must not be null");
+		Assert.notNull(trigger, "Trigger must not be null");
+		SimpleTriggerContext triggerContext = new SimpleTriggerContext(this.clock);
+		Date executionTime = trigger.nextExecutionTime(triggerContext);
+		if (executionTime == null) {
+			return null;
+		}
+		return schedule(new TriggerTimeout(task, trigger, triggerContext, executionTime), executionTime.getTime());
+	}
+
+	@Override
+	public ScheduledFuture<?> schedule(Runnable task, Date startTime) {
+		Assert.notNull(task, "Runnable must not be null");
+		return schedule(new WheelTimeout(task), startTime.getTime());
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Date startTime, long period) {
+		return schedulePeriodic(task, startTime.getTime(), period, true);
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long period) {
+		return schedulePeriodic(task, this.clock.millis(), period, true);
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Date startTime, long delay) {
+		return schedulePeriodic(task, startTime.getTime(), delay, false);
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, long delay) {
+		return schedulePeriodic(task, this.clock.millis(), delay, false);
+	}
+
+	private ScheduledFuture<?> schedulePeriodic(Runnable task, long startTime, long period, boolean fixedRate) {
+		Assert.notNull(task, "Runnable must not be null");
+		Assert.isTrue(period > 0, "Period must be positive");
+		return schedule(new PeriodicTimeout(task, TimeUnit.MILLISECONDS.toNanos(period), fixedRate), startTime);
+	}
+
+	private ScheduledFuture<?> schedule(WheelTimeout timeout, long startTime) {
+		start();
+		timeout.deadline = deadlineAfter(TimeUnit.MILLISECONDS.toNanos(startTime - this.clock.millis()));
+		this.pendingTaskCount.incrementAndGet();
+		enqueue(timeout);
+		return timeout;
+	}
+
+	private void enqueue(WheelTimeout timeout) {
+		this.pendingTimeouts.add(timeout);
+		if (this.workerState == WORKER_STATE_SHUTDOWN && timeout.cancel(false)) {
+			throw new TaskRejectedException("Scheduler [" + this + "] has been shut down");
+		}
+	}
+
+	/**
+	 * Return the deadline for the given delay, relative to the start time of the wheel.
+	 */
+	private long deadlineAfter(long delayNanos) {
+		long deadline = System.nanoTime() + delayNanos - this.startTime;
+		// Guard against overflow for very long delays
+		return (delayNanos > 0 && deadline < 0 ? Long.MAX_VALUE : deadline);
+	}
+
+	private long currentTime() {
+		return System.nanoTime() - this.startTime;
+	}
+
+	private void start() {
+		switch (WORKER_STATE_UPDATER.get(this)) {
+			case WORKER_STATE_INIT:
+				if (WORKER_STATE_UPDATER.compareAndSet(this, WORKER_STATE_INIT, WORKER_STATE_STARTED)) {
+					Thread thread = this.threadFactory.newThread(new Worker());
+					this.workerThread = thread;
+					thread.start();
+				}
+				break;
+			case WORKER_STATE_STARTED:
+				break;
+			default:
+				throw new TaskRejectedException("Scheduler [" + this + "] has been shut down");
+		}
+		boolean interrupted = false;
+		while (this.startTime == 0) {
+			try {
+				this.startTimeInitialized.await();
+			}
+			catch (InterruptedException ex) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Stop the worker thread and cancel all pending tasks.
+	 * Tasks that are running on a {@link #setTaskExecutor task executor}
+	 * already are not interrupted, but repeating tasks will not be rescheduled.
+	 */
+	public void shutdown() {
+		if (WORKER_STATE_UPDATER.getAndSet(this, WORKER_STATE_SHUTDOWN) != WORKER_STATE_STARTED) {
+			return;
+		}
+		Thread thread = this.workerThread;
+		if (thread == null || thread == Thread.currentThread()) {
+			return;
+		}
+		boolean interrupted = false;
+		while (thread.isAlive()) {
+			thread.interrupt();
+			try {
+				thread.join(100);
+			}
+			catch (InterruptedException ex) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Calls {@link #shutdown()} when the containing BeanFactory destroys
+	 * the scheduler instance.
+	 */
+	@Override
+	public void destroy() {
+		shutdown();
+	}
+
+
+	/**
+	 * The worker thread: advances the wheel tick by tick, moving newly
+	 * scheduled tasks into their buckets and expiring the due ones.
+	 */
+	private final class Worker implements Runnable {
+
+		private long tick;
+
+		@Override
+		public void run() {
+			long now = System.nanoTime();
+			// 0 marks the start time as uninitialized
+			startTime = (now != 0 ? now : 1);
+			startTimeInitialized.countDown();
+
+			while (workerState == WORKER_STATE_STARTED) {
+				long deadline = waitForNextTick();
+				if (deadline > 0) {
+					Bucket bucket = wheel[(int) (this.tick & mask)];
+					try {
+						processCancelledTimeouts();
+						transferTimeoutsToBuckets();
+						bucket.expireTimeouts(deadline);
+					}
+					catch (Throwable ex) {
+						// Keep the worker thread alive for all other tasks
+						logger.error("Unexpected error while expiring scheduled tasks", ex);
+					}
+					this.tick++;
+				}
+			}
+
+			for (Bucket bucket : wheel) {
+				bucket.cancelTimeouts();
+			}
+			WheelTimeout timeout;
+			while ((timeout = pendingTimeouts.poll()) != null) {
+				timeout.cancel(false);
+			}
+			cancelledTimeouts.clear();
+		}
+
+		/**
+		 * Sleep until the next tick is due.
+		 * @return the current time relative to the start time, or
+		 * {@link Long#MIN_VALUE} if interrupted because of a shutdown
+		 */
+		private long waitForNextTick() {
+			long deadline = tickDuration * (this.tick + 1);
+			while (true) {
+				long currentTime = currentTime();
+				long sleepMillis = (deadline - currentTime + 999_999) / 1_000_000;
+				if (sleepMillis <= 0) {
+					return currentTime;
+				}
+				try {
+					Thread.sleep(sleepMillis);
+				}
+				catch (InterruptedException ex) {
+					if (workerState == WORKER_STATE_SHUTDOWN) {
+						return Long.MIN_VALUE;
+					}
+				}
+			}
+		}
+
+		private void processCancelledTimeouts() {
+			WheelTimeout timeout;
+			while ((timeout = cancelledTimeouts.poll()) != null) {
+				Bucket bucket = timeout.bucket;
+				if (bucket != null) {
+					bucket.remove(timeout);
+				}
+			}
+		}
+
+		private void transferTimeoutsToBuckets() {
+			for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+				WheelTimeout timeout = pendingTimeouts.poll();
+				if (timeout == null) {
+					break;
+				}
+				if (timeout.state != STATE_PENDING) {
+					continue;
+				}
+				long calculatedTick = timeout.deadline / tickDuration;
+				timeout.remainingRounds = (calculatedTick - this.tick) / wheel.length;
+				// Deadlines in the past go into the current bucket
+				long targetTick = Math.max(calculatedTick, this.tick);
+				wheel[(int) (targetTick & mask)].add(timeout);
+			}
+		}
+	}
+
+
+	/**
+	 * Doubly-linked list of the tasks that fall into one slot of the wheel.
+	 * Only ever accessed by the worker thread.
+	 */
+	private final class Bucket {
+
+		@Nullable
+		private WheelTimeout head;
+
+		@Nullable
+		private WheelTimeout tail;
+
+		void add(WheelTimeout timeout) {
+			timeout.bucket = this;
+			if (this.head == null) {
+				this.head = timeout;
+				this.tail = timeout;
+			}
+			else {
+				Assert.state(this.tail != null, "No tail");
+				this.tail.next = timeout;
+				timeout.prev = this.tail;
+				this.tail = timeout;
+			}
+		}
+
+		@Nullable
+		WheelTimeout remove(WheelTimeout timeout) {
+			WheelTimeout next = timeout.next;
+			if (timeout.prev != null) {
+				timeout.prev.next = next;
+			}
+			if (next != null) {
+				next.prev = timeout.prev;
+			}
+			if (timeout == this.head) {
+				this.head = next;
+			}
+			if (timeout == this.tail) {
+				this.tail = timeout.prev;
+			}
+			timeout.prev = null;
+			timeout.next = null;
+			timeout.bucket = null;
+			return next;
+		}
+
+		/**
+		 * Expire all tasks of this bucket that are due in the current round,
+		 * and count down the remaining rounds of all others.
+		 */
+		void expireTimeouts(long deadline) {
+			WheelTimeout timeout = this.head;
+			while (timeout != null) {
+				WheelTimeout next = timeout.next;
+				if (timeout.remainingRounds <= 0) {
+					next = remove(timeout);
+					if (timeout.deadline <= deadline) {
+						timeout.expire();
+					}
+					else {
+						// Not due yet after all: let the next transfer place it again
+						pendingTimeouts.add(timeout);
+					}
+				}
+				else if (timeout.state == STATE_CANCELLED) {
+					next = remove(timeout);
+				}
+				else {
+					timeout.remainingRounds--;
+				}
+				timeout = next;
+			}
+		}
+
+		void cancelTimeouts() {
+			WheelTimeout timeout = this.head;
+			while (timeout != null) {
+				WheelTimeout next = remove(timeout);
+				timeout.cancel(false);
+				timeout = next;
+			}
+		}
+	}
+
+
+	/**
+	 * A scheduled task, serving as node in its bucket and as the
+	 * {@link ScheduledFuture} handed out to the caller.
+	 * <p>This base class represents a one-time task.
+	 */
+	private class WheelTimeout implements ScheduledFuture<Object>, Runnable {
+
+		private final Runnable task;
+
+		// Deadline in nanoseconds relative to the start time of the wheel
+		long deadline;
+
+		// The following fields are only accessed by the worker thread
+
+		long remainingRounds;
+
+		@Nullable
+		WheelTimeout prev;
+
+		@Nullable
+		WheelTimeout next;
+
+		@Nullable
+		Bucket bucket;
+
+		volatile int state;
+
+		@Nullable
+		private volatile Throwable failure;
+
+		WheelTimeout(Runnable task) {
+			this.task = task;
+		}
+
+		/**
+		 * Called by the worker thread when the deadline has been reached.
+		 */
+		void expire() {
+			if (!STATE_UPDATER.compareAndSet(this, STATE_PENDING, STATE_RUNNING)) {
+				return;
+			}
+			Executor executor = taskExecutor;
+			if (executor != null) {
+				try {
+					executor.execute(this);
+					return;
+				}
+				catch (RejectedExecutionException ex) {
+					if (logger.isDebugEnabled()) {
+						logger.debug("Task executor rejected scheduled task, running it on the worker thread: " + ex);
+					}
+				}
+				catch (RuntimeException ex) {
+					logger.warn("Task executor failed to accept scheduled task, running it on the worker thread", ex);
+				}
+			}
+			run();
+		}
+
+		@Override
+		public void run() {
+			beforeExecution();
+			try {
+				this.task.run();
+			}
+			catch (Throwable ex) {
+				ErrorHandler handler = errorHandler;
+				if (handler == null) {
+					handler = TaskUtils.getDefaultErrorHandler(isRepeating());
+				}
+				try {
+					handler.handleError(ex);
+				}
+				catch (Throwable ex2) {
+					this.failure = ex2;
+				}
+			}
+			boolean repeat = false;
+			if (this.failure == null) {
+				try {
+					repeat = prepareNextExecution();
+				}
+				catch (Throwable ex) {
+					// E.g. a failing Trigger: complete this task with the exception
+					this.failure = ex;
+				}
+			}
+			if (repeat) {
+				if (STATE_UPDATER.compareAndSet(this, STATE_RUNNING, STATE_PENDING)) {
+					try {
+						enqueue(this);
+					}
+					catch (TaskRejectedException ex) {
+						// Shut down in the meantime: cancelled already
+					}
+				}
+			}
+			else if (STATE_UPDATER.compareAndSet(this, STATE_RUNNING, STATE_DONE)) {
+				pendingTaskCount.decrementAndGet();
+				signalDone();
+			}
+		}
+
+		boolean isRepeating() {
+			return false;
+		}
+
+		void beforeExecution() {
+		}
+
+		/**
+		 * Determine the next deadline of a repeating task.
+		 * @return {@code true} if the task should be executed again,
+		 * {@code false} if it is done
+		 */
+		boolean prepareNextExecution() {
+			return false;
+		}
+
+		/**
+		 * Cancel this task. The running execution of a task is never interrupted.
+		 */
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			while (true) {
+				int state = this.state;
+				if (state == STATE_CANCELLED || state == STATE_DONE) {
+					return false;
+				}
+				if (STATE_UPDATER.compareAndSet(this, state, STATE_CANCELLED)) {
+					pendingTaskCount.decrementAndGet();
+					if (state == STATE_PENDING) {
+						// Removal from the bucket is left to the worker thread
+						cancelledTimeouts.add(this);
+					}
+					signalDone();
+					return true;
+				}
+			}
+		}
+
+		private void signalDone() {
+			synchronized (this) {
+				notifyAll();
+			}
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return (this.state == STATE_CANCELLED);
+		}
+
+		@Override
+		public boolean isDone() {
+			int state = this.state;
+			return (state == STATE_CANCELLED || state == STATE_DONE);
+		}
+
+		@Override
+		@Nullable
+		public Object get() throws InterruptedException, ExecutionException {
+			synchronized (this) {
+				while (!isDone()) {
+					wait();
+				}
+			}
+			return getResult();
+		}
+
+		@Override
+		@Nullable
+		public Object get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+			long deadline = System.nanoTime() + unit.toNanos(timeout);
+			synchronized (this) {
+				while (!isDone()) {
+					long remaining = deadline - System.nanoTime();
+					if (remaining <= 0) {
+						throw new TimeoutException();
+					}
+					TimeUnit.NANOSECONDS.timedWait(this, remaining);
+				}
+			}
+			return getResult();
+		}
+
+		@Nullable
+		private Object getResult() throws ExecutionException {
+			if (isCancelled()) {
+				throw new CancellationException();
+			}
+			Throwable failure = this.failure;
+			if (failure != null) {
+				throw new ExecutionException(failure);
+			}
+			return null;
+		}
+
+		@Override
+		public long getDelay(TimeUnit unit) {
+			return unit.convert(this.deadline - currentTime(), TimeUnit.NANOSECONDS);
+		}
+
+		@Override
+		public int compareTo(Delayed other) {
+			if (this == other) {
+				return 0;
+			}
+			return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+		}
+
+		@Override
+		public String toString() {
+			return "Scheduled task [" + this.task + "]";
+		}
+	}
+
+
+	/**
+	 * A task executed at a fixed rate or with a fixed delay.
+	 */
+	private final class PeriodicTimeout extends WheelTimeout {
+
+		private final long period;
+
+		private final boolean fixedRate;
+
+		PeriodicTimeout(Runnable task, long period, boolean fixedRate) {
+			super(task);
+			this.period = period;
+			this.fixedRate = fixedRate;
+		}
+
+		@Override
+		boolean isRepeating() {
+			return true;
+		}
+
+		@Override
+		boolean prepareNextExecution() {
+			this.deadline = (this.fixedRate ? this.deadline : currentTime()) + this.period;
+			return true;
+		}
+	}
+
+
+	/**
+	 * A task executed according to a {@link Trigger}.
+	 */
+	private final class TriggerTimeout extends WheelTimeout {
+
+		private final Trigger trigger;
+
+		private final SimpleTriggerContext triggerContext;
+
+		private Date scheduledExecutionTime;
+
+		@Nullable
+		private Date actualExecutionTime;
+
+		TriggerTimeout(Runnable task, Trigger trigger, SimpleTriggerContext triggerContext, Date executionTime) {
+			super(task);
+			this.trigger = trigger;
+			this.triggerContext = triggerContext;
+			this.scheduledExecutionTime = executionTime;
+		}
+
+		@Override
+		boolean isRepeating() {
+			return true;
+		}
+
+		@Override
+		void beforeExecution() {
+			this.actualExecutionTime = new Date(clock.millis());
+		}
+
+		@Override
+		boolean prepareNextExecution() {
+			Date completionTime = new Date(clock.millis());
+			this.triggerContext.update(this.scheduledExecutionTime, this.actualExecutionTime, completionTime);
+			Date executionTime = this.trigger.nextExecutionTime(this.triggerContext);
+			if (executionTime == null) {
+				return false;
+			}
+			this.scheduledExecutionTime = executionTime;
+			this.deadline = deadlineAfter(TimeUnit.MILLISECONDS.toNanos(executionTime.getTime() - clock.millis()));
+			return true;
+		}
+	}
+
+}
@@ -0,0 +1,308 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.concurrent;
+
+import java.time.Clock;
+import java.util.Date;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.support.PeriodicTrigger;
+import org.springframework.scheduling.support.TaskUtils;
+import org.springframework.util.Assert;
+import org.springframework.util.ErrorHandler;
+
+/**
+ * {@link TaskScheduler} implementation that triggers tasks on a single
+ * scheduler thread and runs each execution on a new virtual thread, on JDK 21
+ * and higher (falling back to a new platform thread per execution on earlier
+ * JDKs, see {@link VirtualThreadTaskExecutor}).
+ *
+ * <p>In contrast to {@link ThreadPoolTaskScheduler}, there is no pool to size:
+ * blocking tasks do not hold up the scheduler thread or each other. The
+ * {@link #setConcurrencyLimit concurrency limit} may be used to bound the
+ * number of concurrently running executions instead; due executions wait for
+ * a permit on their own thread, never on the scheduler thread. Once the
+ * scheduler has been shut down, no further executions are started.
+ *
+ * <p>Trigger-based, fixed-rate and fixed-delay tasks keep the semantics of
+ * {@link ThreadPoolTaskScheduler}: an execution of a repeating task completes
+ * before its next execution is scheduled, and fixed delays are measured from
+ * the actual completion of the previous execution. For one-time tasks, the
+ * returned {@link ScheduledFuture} completes once the task has run.
+ *
+ * <p>This scheduler can be used for {@code @Scheduled} methods by declaring
+ * it as the {@code taskScheduler} bean or through a {@code SchedulingConfigurer},
+ * and it can also serve {@code @Async} methods as an {@link
+ * org.springframework.core.task.AsyncTaskExecutor}.
+ *
+ * @since 5.3.39
+ * @see VirtualThreadTaskExecutor
+ * @see ThreadPoolTaskScheduler
+ */
+public class VirtualThreadTaskScheduler extends VirtualThreadTaskExecutor implements TaskScheduler, DisposableBean {
+
+	private static final Log logger = LogFactory.getLog(VirtualThreadTaskScheduler.class);
+
+	private final ScheduledThreadPoolExecutor triggerExecutor;
+
+	private Clock clock = Clock.systemDefaultZone();
+
+	@Nullable
+	private ErrorHandler errorHandler;
+
+
+	/**
+	 * Create a new {@code VirtualThreadTaskScheduler} with thread name prefix
+	 * "virtual-".
+	 */
+	public VirtualThreadTaskScheduler() {
+		this("virtual-");
+	}
+
+	/**
+	 * Create a new {@code VirtualThreadTaskScheduler} with the given thread name
+	 * prefix, which is also used for the scheduler thread (with a "scheduler-"
+	 * suffix appended).
+	 * @param threadNamePrefix the prefix to use for the names of newly created threads
+	 */
+	public VirtualThreadTaskScheduler(String threadNamePrefix) {
+		super(threadNamePrefix);
+		this.triggerExecutor = new HandOffScheduledExecutor(threadNamePrefix + "scheduler-");
+	}
+
+
+	/**
+	 * Set the clock to use for scheduling purposes.
+	 * <p>The default clock is the system clock for the default time zone.
+	 * @see Clock#systemDefaultZone()
+	 */
+	public void setClock(Clock clock) {
+		Assert.notNull(clock, "Clock must not be null");
+		this.clock = clock;
+	}
+
+	@Override
+	public Clock getClock() {
+		return this.clock;
+	}
+
+	/**
+	 * Set a custom {@link ErrorHandler} strategy.
+	 * @see ThreadPoolTaskScheduler#setErrorHandler
+	 */
+	public void setErrorHandler(ErrorHandler errorHandler) {
+		this.errorHandler = errorHandler;
+	}
+
+
+	@Override
+	@Nullable
+	public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+		try {
+			ErrorHandler errorHandler = this.errorHandler;
+			if (errorHandler == null) {
+				errorHandler = TaskUtils.getDefaultErrorHandler(true);
+			}
+			return new ReschedulingRunnable(task, trigger, this.clock, this.triggerExecutor, errorHandler).schedule();
+		}
+		catch (RejectedExecutionException ex) {
+			throw new TaskRejectedException("Scheduler [" + this + "] did not accept task: " + task, ex);
+		}
+	}
+
+	@Override
+	public ScheduledFuture<?> schedule(Runnable task, Date startTime) {
+		long delay = startTime.getTime() - this.clock.millis();
+		try {
+			return this.triggerExecutor.schedule(
+					TaskUtils.decorateTaskWithErrorHandler(task, this.errorHandler, false), delay, TimeUnit.MILLISECONDS);
+		}
+		catch (RejectedExecutionException ex) {
+			throw new TaskRejectedException("Scheduler [" + this + "] did not accept task: " + task, ex);
+		}
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Date startTime, long period) {
+		return schedulePeriodic(task, startTime.getTime() - this.clock.millis(), period, true);
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long period) {
+		return schedulePeriodic(task, 0, period, true);
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Date startTime, long delay) {
+		return schedulePeriodic(task, startTime.getTime() - this.clock.millis(), delay, false);
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, long delay) {
+		return schedulePeriodic(task, 0, delay, false);
+	}
+
+	private ScheduledFuture<?> schedulePeriodic(Runnable task, long initialDelay, long period, boolean fixedRate) {
+		PeriodicTrigger trigger = new PeriodicTrigger(period);
+		trigger.setInitialDelay(Math.max(initialDelay, 0));
+		trigger.setFixedRate(fixedRate);
+		ScheduledFuture<?> future = schedule(task, trigger);
+		Assert.state(future != null, "PeriodicTrigger did not provide a first execution time");
+		return future;
+	}
+
+	/**
+	 * Stop triggering tasks, cancelling all pending executions.
+	 * Executions that are running already are not interrupted.
+	 */
+	public void shutdown() {
+		this.triggerExecutor.shutdownNow();
+	}
+
+	/**
+	 * Calls {@link #shutdown()} when the containing BeanFactory destroys
+	 * the scheduler instance.
+	 */
+	@Override
+	public void destroy() {
+		shutdown();
+	}
+
+
+	/**
+	 * {@link ScheduledThreadPoolExecutor} with a single scheduler thread
+	 * which hands each due task off to a new thread of the enclosing executor.
+	 * The scheduled future of a task only completes once the task has run
+	 * on that thread, so that cancellation and rescheduling (as performed by
+	 * {@link ReschedulingRunnable}) work as with a pooled scheduler.
+	 * <p>Note that only one-time tasks are scheduled on this executor:
+	 * periodic tasks would be re-queued internally without being handed off.
+	 */
+	@SuppressWarnings("serial")
+	private class HandOffScheduledExecutor extends ScheduledThreadPoolExecutor {
+
+		HandOffScheduledExecutor(String threadNamePrefix) {
+			super(1, new CustomizableThreadFactory(threadNamePrefix));
+		}
+
+		@Override
+		protected <V> RunnableScheduledFuture<V> decorateTask(Runnable runnable, RunnableScheduledFuture<V> task) {
+			return new HandOffTask<>(task);
+		}
+
+		@Override
+		protected <V> RunnableScheduledFuture<V> decorateTask(Callable<V> callable, RunnableScheduledFuture<V> task) {
+			return new HandOffTask<>(task);
+		}
+	}
+
+
+	/**
+	 * Scheduled task that runs its delegate on a new thread once it is due.
+	 */
+	private class HandOffTask<V> implements RunnableScheduledFuture<V> {
+
+		private final RunnableScheduledFuture<V> delegate;
+
+		HandOffTask(RunnableScheduledFuture<V> delegate) {
+			this.delegate = delegate;
+		}
+
+		/**
+		 * Hand the delegate off without ever blocking the scheduler thread:
+		 * any concurrency permit is awaited on the new thread instead.
+		 */
+		@Override
+		public void run() {
+			try {
+				executeWithoutBlocking(this::runUnlessShutdown);
+			}
+			catch (RuntimeException | Error ex) {
+				// No thread to run on: never fall back to the scheduler thread
+				logger.warn("Failed to hand off scheduled task, cancelling it: " + this.delegate, ex);
+				this.delegate.cancel(false);
+			}
+		}
+
+		private void runUnlessShutdown() {
+			if (triggerExecutor.isShutdown()) {
+				this.delegate.cancel(false);
+			}
+			else {
+				this.delegate.run();
+			}
+		}
+
+		@Override
+		public boolean isPeriodic() {
+			return this.delegate.isPeriodic();
+		}
+
+		@Override
+		public long getDelay(TimeUnit unit) {
+			return this.delegate.getDelay(unit);
+		}
+
+		@Override
+		public int compareTo(Delayed other) {
+			return this.delegate.compareTo(other instanceof HandOffTask ? ((HandOffTask<?>) other).delegate : other);
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			return this.delegate.cancel(mayInterruptIfRunning);
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return this.delegate.isCancelled();
+		}
+
+		@Override
+		public boolean isDone() {
+			return this.delegate.isDone();
+		}
+
+		@Override
+		public V get() throws InterruptedException, ExecutionException {
+			return this.delegate.get();
+		}
+
+		@Override
+		public V get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+			return this.delegate.get(timeout, unit);
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -33,6 +33,7 @@ import org.springframework.lang.Nullable;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.Trigger;
 import org.springframework.scheduling.concurrent.ConcurrentTaskScheduler;
+import org.springframework.scheduling.lock.TaskLockProvider;
 import org.springframework.scheduling.support.CronTrigger;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
@@ -72,6 +73,9 @@ public class ScheduledTaskRegistrar implements ScheduledTaskHolder, Initializing
 	@Nullable
 	private TaskScheduler taskScheduler;
 
+	@Nullable
+	private TaskLockProvider taskLockProvider;
+
 	@Nullable
 	private ScheduledExecutorService localExecutor;
 
@@ -128,6 +132,25 @@ public class ScheduledTaskRegistrar implements ScheduledTaskHolder, Initializing
 		return this.taskScheduler;
 	}
 
+	/**
+	 * Set the {@link TaskLockProvider} to acquire locks from for
+	 * {@link org.springframework.scheduling.annotation.ScheduledLock @ScheduledLock}
+	 * methods.
+	 * @since 5.3.39
+	 */
+	public void setTaskLockProvider(@Nullable TaskLockProvider taskLockProvider) {
+		this.taskLockProvider = taskLockProvider;
+	}
+
+	/**
+	 * Return the {@link TaskLockProvider} for this registrar (may be {@code null}).
+	 * @since 5.3.39
+	 */
+	@Nullable
+	public TaskLockProvider getTaskLockProvider() {
+		return this.taskLockProvider;
+	}
+
 
 	/**
 	 * Specify triggered tasks as a Map of Runnables (the tasks) and Trigger objects
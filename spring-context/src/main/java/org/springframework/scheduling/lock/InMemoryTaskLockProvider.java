@@ -0,0 +1,93 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.lock;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link TaskLockProvider} that keeps locks in memory, for tests and for
+ * single-instance deployments which merely need to prevent overlapping
+ * executions of the same task.
+ *
+ * @since 5.3.39
+ */
+public class InMemoryTaskLockProvider implements TaskLockProvider {
+
+	private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+
+	private Clock clock = Clock.systemUTC();
+
+
+	/**
+	 * Set the clock to determine lease expiration with.
+	 * <p>The default clock is the system clock in UTC.
+	 */
+	public void setClock(Clock clock) {
+		Assert.notNull(clock, "Clock must not be null");
+		this.clock = clock;
+	}
+
+
+	@Override
+	@Nullable
+	public TaskLock tryLock(String name, Duration leaseTime, Duration minLeaseTime) {
+		Assert.notNull(name, "Lock name must not be null");
+		long now = this.clock.millis();
+		Lease lease = new Lease(now + leaseTime.toMillis(), now + minLeaseTime.toMillis());
+		Lease current = this.leases.compute(name, (key, existing) ->
+				(existing == null || existing.lockedUntil <= now ? lease : existing));
+		return (current == lease ? () -> release(name, lease) : null);
+	}
+
+	private void release(String name, Lease lease) {
+		this.leases.computeIfPresent(name, (key, existing) -> {
+			if (existing != lease) {
+				return existing;
+			}
+			return (lease.minLockedUntil > this.clock.millis() ?
+					new Lease(lease.minLockedUntil, lease.minLockedUntil) : null);
+		});
+	}
+
+	/**
+	 * Determine whether the lock with the given name is currently held.
+	 */
+	public boolean isLocked(String name) {
+		Lease lease = this.leases.get(name);
+		return (lease != null && lease.lockedUntil > this.clock.millis());
+	}
+
+
+	private static final class Lease {
+
+		final long lockedUntil;
+
+		final long minLockedUntil;
+
+		Lease(long lockedUntil, long minLockedUntil) {
+			this.lockedUntil = lockedUntil;
+			this.minLockedUntil = minLockedUntil;
+		}
+	}
+
+}
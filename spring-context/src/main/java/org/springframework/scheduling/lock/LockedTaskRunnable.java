@@ -0,0 +1,162 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.lock;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link Runnable} decorator that only runs the target task while holding
+ * a lock obtained from a {@link TaskLockProvider}, skipping the execution
+ * if the lock is held elsewhere.
+ *
+ * <p>With more than one partition, every execution tries to acquire a lock
+ * for each partition in turn, starting at a random one, and runs the target
+ * task once per acquired partition, exposing it through
+ * {@link TaskPartition#current()}. Since the lock for a partition is held
+ * while the task runs for it, instances that are triggered at the same time
+ * share the partitions between them. A {@code minLeaseTime} shorter than the
+ * interval between executions prevents instances triggered slightly later
+ * from processing a partition again that has been completed already.
+ *
+ * @since 5.3.39
+ * @see org.springframework.scheduling.annotation.ScheduledLock
+ */
+public class LockedTaskRunnable implements Runnable {
+
+	private static final Log logger = LogFactory.getLog(LockedTaskRunnable.class);
+
+	private final Runnable delegate;
+
+	private final TaskLockProvider lockProvider;
+
+	private final String lockName;
+
+	private final Duration leaseTime;
+
+	private final Duration minLeaseTime;
+
+	private final int partitions;
+
+
+	/**
+	 * Create a new {@code LockedTaskRunnable} for an unpartitioned task.
+	 * @param delegate the target task
+	 * @param lockProvider the provider to acquire the lock from
+	 * @param lockName the name of the lock
+	 * @param leaseTime the maximum time to hold the lock for
+	 */
+	public LockedTaskRunnable(Runnable delegate, TaskLockProvider lockProvider, String lockName, Duration leaseTime) {
+		this(delegate, lockProvider, lockName, leaseTime, Duration.ZERO, 1);
+	}
+
+	/**
+	 * Create a new {@code LockedTaskRunnable}.
+	 * @param delegate the target task
+	 * @param lockProvider the provider to acquire the lock from
+	 * @param lockName the name of the lock, used as a prefix for
+	 * the locks of the individual partitions
+	 * @param leaseTime the maximum time to hold a lock for
+	 * @param minLeaseTime the minimum time to hold a lock for
+	 * @param partitions the number of partitions
+	 */
+	public LockedTaskRunnable(Runnable delegate, TaskLockProvider lockProvider, String lockName,
+			Duration leaseTime, Duration minLeaseTime, int partitions) {
+
+		Assert.notNull(delegate, "Delegate must not be null");
+		Assert.notNull(lockProvider, "TaskLockProvider must not be null");
+		Assert.hasText(lockName, "Lock name must not be empty");
+		Assert.isTrue(!leaseTime.isNegative() && !leaseTime.isZero(), "Lease time must be positive");
+		Assert.isTrue(!minLeaseTime.isNegative() && minLeaseTime.compareTo(leaseTime) <= 0,
+				"Minimum lease time must be between zero and the lease time");
+		Assert.isTrue(partitions > 0, "Partitions must be positive");
+		this.delegate = delegate;
+		this.lockProvider = lockProvider;
+		this.lockName = lockName;
+		this.leaseTime = leaseTime;
+		this.minLeaseTime = minLeaseTime;
+		this.partitions = partitions;
+	}
+
+
+	/**
+	 * Return the target task.
+	 */
+	public Runnable getDelegate() {
+		return this.delegate;
+	}
+
+	/**
+	 * Return the name of the lock.
+	 */
+	public String getLockName() {
+		return this.lockName;
+	}
+
+	/**
+	 * Return the number of partitions.
+	 */
+	public int getPartitions() {
+		return this.partitions;
+	}
+
+
+	@Override
+	public void run() {
+		if (this.partitions == 1) {
+			runLocked(this.lockName, null);
+		}
+		else {
+			int offset = ThreadLocalRandom.current().nextInt(this.partitions);
+			for (int i = 0; i < this.partitions; i++) {
+				int index = (offset + i) % this.partitions;
+				runLocked(this.lockName + "#" + index, new TaskPartition(index, this.partitions));
+			}
+		}
+	}
+
+	private void runLocked(String name, @Nullable TaskPartition partition) {
+		TaskLock lock = this.lockProvider.tryLock(name, this.leaseTime, this.minLeaseTime);
+		if (lock == null) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Skipping execution of " + this.delegate + ": lock '" + name + "' is held elsewhere");
+			}
+			return;
+		}
+		TaskPartition previousPartition = TaskPartition.current();
+		TaskPartition.setCurrent(partition);
+		try {
+			this.delegate.run();
+		}
+		finally {
+			TaskPartition.setCurrent(previousPartition);
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return this.delegate.toString();
+	}
+
+}
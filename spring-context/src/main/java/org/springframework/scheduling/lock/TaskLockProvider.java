@@ -0,0 +1,54 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.lock;
+
+import java.time.Duration;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Strategy for acquiring named, lease-based locks around the execution of
+ * scheduled tasks, typically shared by all instances of an application
+ * through a common store.
+ *
+ * <p>A lock is held until it is {@linkplain TaskLock#unlock() released}, but
+ * never longer than its lease time: if the instance holding it dies, the lock
+ * becomes available again once the lease has expired. On release, the lock is
+ * held for the minimum lease time at least, so that instances whose clocks
+ * or schedules are slightly off do not repeat an execution that has just
+ * completed elsewhere.
+ *
+ * @since 5.3.39
+ * @see LockedTaskRunnable
+ * @see InMemoryTaskLockProvider
+ * @see org.springframework.scheduling.annotation.ScheduledLock
+ */
+@FunctionalInterface
+public interface TaskLockProvider {
+
+	/**
+	 * Try to acquire the lock with the given name, without waiting.
+	 * @param name the name of the lock
+	 * @param leaseTime the maximum time to hold the lock for
+	 * @param minLeaseTime the minimum time to hold the lock for, even if
+	 * released earlier; may be {@link Duration#ZERO}
+	 * @return the acquired lock, or {@code null} if the lock is held elsewhere
+	 */
+	@Nullable
+	TaskLock tryLock(String name, Duration leaseTime, Duration minLeaseTime);
+
+}
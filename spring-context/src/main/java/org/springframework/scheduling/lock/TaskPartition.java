@@ -0,0 +1,137 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.lock;
+
+import org.springframework.core.NamedThreadLocal;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * One of a fixed number of partitions of a scheduled task, as assigned to
+ * the current execution by a partitioned {@link LockedTaskRunnable}.
+ *
+ * <p>A partitioned task is expected to process only its share of the overall
+ * work, for example the records whose key is {@linkplain #contains(Object)
+ * contained} in the current partition:
+ *
+ * <pre class="code">
+ * &#064;Scheduled(fixedDelay = 60_000)
+ * &#064;ScheduledLock(partitions = 8, minLeaseTime = "PT30S")
+ * public void processOrders() {
+ *     TaskPartition partition = TaskPartition.current();
+ *     for (Order order : findPendingOrders()) {
+ *         if (partition.contains(order.getId())) {
+ *             process(order);
+ *         }
+ *     }
+ * }</pre>
+ *
+ * @since 5.3.39
+ * @see LockedTaskRunnable
+ */
+public final class TaskPartition {
+
+	private static final ThreadLocal<TaskPartition> currentPartition =
+			new NamedThreadLocal<>("Current task partition");
+
+
+	private final int index;
+
+	private final int count;
+
+
+	/**
+	 * Create a new {@code TaskPartition}.
+	 * @param index the index of the partition, starting at 0
+	 * @param count the total number of partitions
+	 */
+	public TaskPartition(int index, int count) {
+		Assert.isTrue(count > 0, "Partition count must be positive");
+		Assert.isTrue(index >= 0 && index < count, "Partition index must be between 0 and count - 1");
+		this.index = index;
+		this.count = count;
+	}
+
+
+	/**
+	 * Return the partition assigned to the task executing on the current
+	 * thread, or {@code null} if the task is not partitioned.
+	 */
+	@Nullable
+	public static TaskPartition current() {
+		return currentPartition.get();
+	}
+
+	static void setCurrent(@Nullable TaskPartition partition) {
+		if (partition != null) {
+			currentPartition.set(partition);
+		}
+		else {
+			currentPartition.remove();
+		}
+	}
+
+
+	/**
+	 * Return the index of this partition, starting at 0.
+	 */
+	public int getIndex() {
+		return this.index;
+	}
+
+	/**
+	 * Return the total number of partitions.
+	 */
+	public int getCount() {
+		return this.count;
+	}
+
+	/**
+	 * Determine whether the given numeric key belongs to this partition.
+	 * <p>Consistent with {@link #contains(Object)} for {@link Long} keys.
+	 */
+	public boolean contains(long key) {
+		return (Math.floorMod(Long.hashCode(key), this.count) == this.index);
+	}
+
+	/**
+	 * Determine whether the given key belongs to this partition,
+	 * based on its hash code.
+	 */
+	public boolean contains(@Nullable Object key) {
+		return (Math.floorMod(ObjectUtils.nullSafeHashCode(key), this.count) == this.index);
+	}
+
+
+	@Override
+	public boolean equals(@Nullable Object other) {
+		return (this == other || (other instanceof TaskPartition &&
+				this.index == ((TaskPartition) other).index && this.count == ((TaskPartition) other).count));
+	}
+
+	@Override
+	public int hashCode() {
+		return this.index * 31 + this.count;
+	}
+
+	@Override
+	public String toString() {
+		return "TaskPartition " + this.index + " of " + this.count;
+	}
+
+}
@@ -0,0 +1,11 @@
+/**
+ * Lease-based locking SPI for scheduled tasks, preventing concurrent
+ * executions of the same task across multiple instances of an application
+ * and distributing partitions of a task among them.
+ */
+@NonNullApi
+@NonNullFields
+package org.springframework.scheduling.lock;
+
+import org.springframework.lang.NonNullApi;
+import org.springframework.lang.NonNullFields;
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.support;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Compiled form of a {@link CronExpression} that only consists of
+ * {@link BitsCronField BitsCronFields}, evaluated on primitive local
+ * epoch seconds instead of {@link java.time.temporal.Temporal} instances.
+ *
+ * <p>Hours and minutes are combined into a single minute-of-day bitset,
+ * so that the next matching time within a day is found with a couple of
+ * bit scans. Dates are derived from epoch days arithmetically.
+ *
+ * @since 5.3.39
+ * @see CronExpression#nextEpochMilli
+ */
+final class CompiledCronExpression {
+
+	/**
+	 * Returned by {@link #nextOrSame(long)} if no match was found within
+	 * the search horizon.
+	 */
+	static final long NOT_FOUND = Long.MIN_VALUE;
+
+	private static final int SECONDS_PER_DAY = 86_400;
+
+	private static final int MINUTES_PER_DAY = 1_440;
+
+	// Beyond this many days (four years, covering every leap day), the caller
+	// is expected to fall back to field-by-field evaluation
+	private static final int MAX_DAYS = 4 * 366;
+
+	private static final long MASK = 0xFFFFFFFFFFFFFFFFL;
+
+
+	private final long seconds;
+
+	private final int firstSecond;
+
+	private final long[] minutesOfDay;
+
+	private final long daysOfMonth;
+
+	private final long months;
+
+	private final long daysOfWeek;
+
+
+	private CompiledCronExpression(long seconds, long minutes, long hours,
+			long daysOfMonth, long months, long daysOfWeek) {
+
+		this.seconds = seconds;
+		this.firstSecond = Long.numberOfTrailingZeros(seconds);
+		this.minutesOfDay = new long[(MINUTES_PER_DAY + 63) / 64];
+		for (int hour = 0; hour < 24; hour++) {
+			if ((hours & (1L << hour)) != 0) {
+				for (int minute = 0; minute < 60; minute++) {
+					if ((minutes & (1L << minute)) != 0) {
+						int minuteOfDay = hour * 60 + minute;
+						this.minutesOfDay[minuteOfDay >> 6] |= (1L << minuteOfDay);
+					}
+				}
+			}
+		}
+		this.daysOfMonth = daysOfMonth;
+		this.months = months;
+		this.daysOfWeek = daysOfWeek;
+	}
+
+
+	/**
+	 * Compile the given fields, if possible.
+	 * @return the compiled expression, or {@code null} if any of the fields
+	 * is not a {@link BitsCronField} (i.e. uses Quartz-specific features)
+	 */
+	@Nullable
+	static CompiledCronExpression compile(CronField seconds, CronField minutes, CronField hours,
+			CronField daysOfMonth, CronField months, CronField daysOfWeek) {
+
+		if (!(seconds instanceof BitsCronField && minutes instanceof BitsCronField &&
+				hours instanceof BitsCronField && daysOfMonth instanceof BitsCronField &&
+				months instanceof BitsCronField && daysOfWeek instanceof BitsCronField)) {
+			return null;
+		}
+		long secondBits = ((BitsCronField) seconds).getBits();
+		long minuteBits = ((BitsCronField) minutes).getBits();
+		long hourBits = ((BitsCronField) hours).getBits();
+		long dayOfMonthBits = ((BitsCronField) daysOfMonth).getBits();
+		long monthBits = ((BitsCronField) months).getBits();
+		long dayOfWeekBits = ((BitsCronField) daysOfWeek).getBits();
+		if (secondBits == 0 || minuteBits == 0 || hourBits == 0 ||
+				dayOfMonthBits == 0 || monthBits == 0 || dayOfWeekBits == 0) {
+			return null;
+		}
+		return new CompiledCronExpression(secondBits, minuteBits, hourBits, dayOfMonthBits, monthBits, dayOfWeekBits);
+	}
+
+
+	/**
+	 * Return the first local epoch second that matches, starting with the given one.
+	 * @param localSecond the seconds since 1970-01-01T00:00 local time
+	 * @return the matching local epoch second, or {@link #NOT_FOUND}
+	 */
+	long nextOrSame(long localSecond) {
+		long epochDay = Math.floorDiv(localSecond, SECONDS_PER_DAY);
+		int secondOfDay = (int) Math.floorMod(localSecond, SECONDS_PER_DAY);
+		long maxEpochDay = epochDay + MAX_DAYS;
+
+		while (epochDay <= maxEpochDay) {
+			// Civil date from epoch day, see https://howardhinnant.github.io/date_algorithms.html
+			long zeroDay = epochDay + 719_468;
+			long era = Math.floorDiv(zeroDay, 146_097);
+			long dayOfEra = zeroDay - era * 146_097;
+			long yearOfEra = (dayOfEra - dayOfEra / 1_460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+			long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+			long shiftedMonth = (5 * dayOfYear + 2) / 153;
+			int dayOfMonth = (int) (dayOfYear - (153 * shiftedMonth + 2) / 5 + 1);
+			int month = (int) (shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9);
+			long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+			if ((this.months & (1L << month)) == 0) {
+				epochDay = firstDayOfNextMonth(year, month);
+				secondOfDay = 0;
+				continue;
+			}
+			if ((this.daysOfMonth & (1L << dayOfMonth)) == 0) {
+				int nextDayOfMonth = Long.numberOfTrailingZeros(this.daysOfMonth & (MASK << dayOfMonth));
+				epochDay = (nextDayOfMonth <= lengthOfMonth(year, month) ?
+						epochDay + nextDayOfMonth - dayOfMonth : firstDayOfNextMonth(year, month));
+				secondOfDay = 0;
+				continue;
+			}
+			if ((this.daysOfWeek & (1L << dayOfWeek(epochDay))) == 0) {
+				epochDay++;
+				secondOfDay = 0;
+				continue;
+			}
+			int timeOfDay = nextOrSameTimeOfDay(secondOfDay);
+			if (timeOfDay != -1) {
+				return epochDay * SECONDS_PER_DAY + timeOfDay;
+			}
+			epochDay++;
+			secondOfDay = 0;
+		}
+		return NOT_FOUND;
+	}
+
+	private int nextOrSameTimeOfDay(int secondOfDay) {
+		int minuteOfDay = secondOfDay / 60;
+		if ((this.minutesOfDay[minuteOfDay >> 6] & (1L << minuteOfDay)) != 0) {
+			long second = this.seconds & (MASK << (secondOfDay % 60));
+			if (second != 0) {
+				return minuteOfDay * 60 + Long.numberOfTrailingZeros(second);
+			}
+		}
+		int nextMinuteOfDay = nextMinuteOfDay(minuteOfDay + 1);
+		return (nextMinuteOfDay != -1 ? nextMinuteOfDay * 60 + this.firstSecond : -1);
+	}
+
+	private int nextMinuteOfDay(int fromMinuteOfDay) {
+		int index = fromMinuteOfDay >> 6;
+		if (index >= this.minutesOfDay.length) {
+			return -1;
+		}
+		long word = this.minutesOfDay[index] & (MASK << fromMinuteOfDay);
+		while (word == 0) {
+			if (++index == this.minutesOfDay.length) {
+				return -1;
+			}
+			word = this.minutesOfDay[index];
+		}
+		return index * 64 + Long.numberOfTrailingZeros(word);
+	}
+
+	private long firstDayOfNextMonth(long year, int month) {
+		long nextMonths = this.months & (MASK << (month + 1));
+		if (nextMonths != 0) {
+			return epochDay(year, Long.numberOfTrailingZeros(nextMonths), 1);
+		}
+		return epochDay(year + 1, Long.numberOfTrailingZeros(this.months), 1);
+	}
+
+	private static int lengthOfMonth(long year, int month) {
+		if (month == 2) {
+			boolean leapYear = (Math.floorMod(year, 4) == 0 && (Math.floorMod(year, 100) != 0 || Math.floorMod(year, 400) == 0));
+			return (leapYear ? 29 : 28);
+		}
+		return 30 + ((month + (month >> 3)) & 1);
+	}
+
+	/**
+	 * Return the ISO day of week (1 for Monday through 7 for Sunday).
+	 */
+	private static int dayOfWeek(long epochDay) {
+		// 1970-01-01 was a Thursday
+		return (int) Math.floorMod(epochDay + 3, 7) + 1;
+	}
+
+	private static long epochDay(long year, int month, int dayOfMonth) {
+		long shiftedYear = (month <= 2 ? year - 1 : year);
+		long era = Math.floorDiv(shiftedYear, 400);
+		long yearOfEra = shiftedYear - era * 400;
+		long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + dayOfMonth - 1;
+		long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+		return era * 146_097 + dayOfEra - 719_468;
+	}
+
+}
@@ -16,8 +16,16 @@
 
 package org.springframework.scheduling.support;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.Temporal;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
 import java.util.Arrays;
 
 import org.springframework.lang.Nullable;
@@ -30,7 +38,8 @@ import org.springframework.util.StringUtils;
  * that can calculate the next time it matches.
  *
  * <p>{@code CronExpression} instances are created through {@link #parse(String)};
- * the next match is determined with {@link #next(Temporal)}.
+ * the next match is determined with {@link #next(Temporal)}, or with
+ * {@link #nextEpochMilli(long, ZoneId)} for primitive epoch values.
  *
  * <p>Supports a Quartz day-of-month/week field with an L/# expression. Follows
  * common cron conventions in every other respect, including 0-6 for SUN-SAT
@@ -46,6 +55,8 @@ public final class CronExpression {
 
 	static final int MAX_ATTEMPTS = 366;
 
+	private static final long MAX_LOCAL_SECOND = LocalDateTime.MAX.toEpochSecond(ZoneOffset.UTC);
+
 	private static final String[] MACROS = new String[] {
 			"@yearly", "0 0 0 1 1 *",
 			"@annually", "0 0 0 1 1 *",
@@ -61,6 +72,12 @@ public final class CronExpression {
 
 	private final String expression;
 
+	@Nullable
+	private final CompiledCronExpression compiled;
+
+	@Nullable
+	private volatile OffsetWindow offsetWindow;
+
 
 	private CronExpression(CronField seconds, CronField minutes, CronField hours,
 			CronField daysOfMonth, CronField months, CronField daysOfWeek, String expression) {
@@ -69,6 +86,7 @@ public final class CronExpression {
 		// To make sure we end up at 0 nanos, we add an extra field.
 		this.fields = new CronField[] {daysOfWeek, months, daysOfMonth, hours, minutes, seconds, CronField.zeroNanos()};
 		this.expression = expression;
+		this.compiled = CompiledCronExpression.compile(seconds, minutes, hours, daysOfMonth, months, daysOfWeek);
 	}
 
 
@@ -238,9 +256,127 @@ public final class CronExpression {
 	 */
 	@Nullable
 	public <T extends Temporal & Comparable<? super T>> T next(T temporal) {
+		CompiledCronExpression compiled = this.compiled;
+		if (compiled != null) {
+			T result = nextCompiled(compiled, temporal);
+			if (result != null) {
+				return result;
+			}
+		}
 		return nextOrSame(ChronoUnit.NANOS.addTo(temporal, 1));
 	}
 
+	/**
+	 * Calculate the next time that matches this expression, in the given time zone.
+	 * <p>Equivalent to {@link #next(Temporal)} with a {@link ZonedDateTime},
+	 * but operating on epoch milliseconds. Unless the expression uses
+	 * Quartz-specific day-of-month/week features, the next match is computed
+	 * on primitive values without creating intermediate date-time objects,
+	 * as long as no time zone offset transition lies ahead of the result.
+	 * @param epochMilli the seed value, in milliseconds since the epoch
+	 * @param zone the time zone to evaluate the expression in
+	 * @return the next match in milliseconds since the epoch, or {@code -1}
+	 * if no match can be found (matches always fall on full seconds, so
+	 * {@code -1} is never a valid match)
+	 * @since 5.3.39
+	 */
+	public long nextEpochMilli(long epochMilli, ZoneId zone) {
+		Assert.notNull(zone, "ZoneId must not be null");
+		long epochSecond = nextOrSameEpochSecond(Math.floorDiv(epochMilli, 1000) + 1, zone);
+		return (epochSecond != CompiledCronExpression.NOT_FOUND ? epochSecond * 1000 : -1);
+	}
+
+	/**
+	 * Calculate the next times that match this expression, in the given time zone.
+	 * <p>This is a bulk variant of {@link #nextEpochMilli(long, ZoneId)},
+	 * filling the given array with consecutive matches.
+	 * @param epochMilli the seed value, in milliseconds since the epoch
+	 * @param zone the time zone to evaluate the expression in
+	 * @param matches the array to fill with matches, in milliseconds since the epoch
+	 * @return the number of matches found, which is less than the length of
+	 * the given array if the expression does not match often enough
+	 * @since 5.3.39
+	 */
+	public int nextEpochMillis(long epochMilli, ZoneId zone, long[] matches) {
+		Assert.notNull(zone, "ZoneId must not be null");
+		Assert.notNull(matches, "Matches array must not be null");
+		long epochSecond = Math.floorDiv(epochMilli, 1000);
+		for (int i = 0; i < matches.length; i++) {
+			epochSecond = nextOrSameEpochSecond(epochSecond + 1, zone);
+			if (epochSecond == CompiledCronExpression.NOT_FOUND) {
+				return i;
+			}
+			matches[i] = epochSecond * 1000;
+		}
+		return matches.length;
+	}
+
+	private long nextOrSameEpochSecond(long epochSecond, ZoneId zone) {
+		CompiledCronExpression compiled = this.compiled;
+		if (compiled != null) {
+			OffsetWindow window = getOffsetWindow(epochSecond, zone);
+			long localSecond = compiled.nextOrSame(epochSecond + window.offsetSeconds);
+			if (localSecond != CompiledCronExpression.NOT_FOUND) {
+				long result = localSecond - window.offsetSeconds;
+				if (result < window.end) {
+					return result;
+				}
+			}
+		}
+		ZonedDateTime result = nextOrSame(ZonedDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), zone));
+		return (result != null ? result.toEpochSecond() : CompiledCronExpression.NOT_FOUND);
+	}
+
+	/**
+	 * Compute the next match for the common date-time types through the
+	 * compiled expression.
+	 * @return the next match, or {@code null} if the compiled expression
+	 * is not applicable, in which case the fields are to be evaluated instead
+	 */
+	@Nullable
+	@SuppressWarnings("unchecked")
+	private <T extends Temporal & Comparable<? super T>> T nextCompiled(CompiledCronExpression compiled, T temporal) {
+		if (temporal instanceof ZonedDateTime) {
+			ZonedDateTime dateTime = (ZonedDateTime) temporal;
+			long epochSecond = dateTime.toEpochSecond() + 1;
+			OffsetWindow window = getOffsetWindow(epochSecond, dateTime.getZone());
+			long localSecond = nextOrSameLocalSecond(compiled, epochSecond + window.offsetSeconds);
+			if (localSecond != CompiledCronExpression.NOT_FOUND && localSecond - window.offsetSeconds < window.end) {
+				LocalDateTime result = LocalDateTime.ofEpochSecond(localSecond, 0, ZoneOffset.UTC);
+				return (T) ZonedDateTime.ofLocal(result, dateTime.getZone(), window.offset);
+			}
+		}
+		else if (temporal instanceof OffsetDateTime) {
+			OffsetDateTime dateTime = (OffsetDateTime) temporal;
+			long localSecond = nextOrSameLocalSecond(compiled, dateTime.toLocalDateTime().toEpochSecond(ZoneOffset.UTC) + 1);
+			if (localSecond != CompiledCronExpression.NOT_FOUND) {
+				return (T) OffsetDateTime.of(LocalDateTime.ofEpochSecond(localSecond, 0, ZoneOffset.UTC), dateTime.getOffset());
+			}
+		}
+		else if (temporal instanceof LocalDateTime) {
+			long localSecond = nextOrSameLocalSecond(compiled, ((LocalDateTime) temporal).toEpochSecond(ZoneOffset.UTC) + 1);
+			if (localSecond != CompiledCronExpression.NOT_FOUND) {
+				return (T) LocalDateTime.ofEpochSecond(localSecond, 0, ZoneOffset.UTC);
+			}
+		}
+		return null;
+	}
+
+	private long nextOrSameLocalSecond(CompiledCronExpression compiled, long localSecond) {
+		long result = compiled.nextOrSame(localSecond);
+		// Leave results beyond the supported date-time range to field evaluation
+		return (result <= MAX_LOCAL_SECOND ? result : CompiledCronExpression.NOT_FOUND);
+	}
+
+	private OffsetWindow getOffsetWindow(long epochSecond, ZoneId zone) {
+		OffsetWindow window = this.offsetWindow;
+		if (window == null || !window.contains(zone, epochSecond)) {
+			window = OffsetWindow.of(zone, epochSecond);
+			this.offsetWindow = window;
+		}
+		return window;
+	}
+
 
 	@Nullable
 	private <T extends Temporal & Comparable<? super T>> T nextOrSame(T temporal) {
@@ -285,4 +421,45 @@ public final class CronExpression {
 		return this.expression;
 	}
 
+
+	/**
+	 * Time span during which the offset of a time zone is constant, starting
+	 * at a time for which it has been determined up until the next transition.
+	 */
+	private static final class OffsetWindow {
+
+		final ZoneId zone;
+
+		final long start;
+
+		final long end;
+
+		final ZoneOffset offset;
+
+		final int offsetSeconds;
+
+		private OffsetWindow(ZoneId zone, long start, long end, ZoneOffset offset) {
+			this.zone = zone;
+			this.start = start;
+			this.end = end;
+			this.offset = offset;
+			this.offsetSeconds = offset.getTotalSeconds();
+		}
+
+		boolean contains(ZoneId zone, long epochSecond) {
+			return ((this.zone == zone || this.zone.equals(zone)) && epochSecond >= this.start && epochSecond < this.end);
+		}
+
+		static OffsetWindow of(ZoneId zone, long epochSecond) {
+			ZoneRules rules = zone.getRules();
+			if (rules.isFixedOffset()) {
+				return new OffsetWindow(zone, Long.MIN_VALUE, Long.MAX_VALUE, rules.getOffset(Instant.EPOCH));
+			}
+			Instant instant = Instant.ofEpochSecond(epochSecond);
+			ZoneOffsetTransition transition = rules.nextTransition(instant);
+			long end = (transition != null ? transition.toEpochSecond() : Long.MAX_VALUE);
+			return new OffsetWindow(zone, epochSecond, end, rules.getOffset(instant));
+		}
+	}
+
 }
@@ -17,7 +17,6 @@
 package org.springframework.scheduling.support;
 
 import java.time.ZoneId;
-import java.time.ZonedDateTime;
 import java.util.Date;
 import java.util.TimeZone;
 
@@ -116,9 +115,8 @@ public class CronTrigger implements Trigger {
 			timestamp = new Date(triggerContext.getClock().millis());
 		}
 		ZoneId zone = (this.zoneId != null ? this.zoneId : triggerContext.getClock().getZone());
-		ZonedDateTime zonedTimestamp = ZonedDateTime.ofInstant(timestamp.toInstant(), zone);
-		ZonedDateTime nextTimestamp = this.expression.next(zonedTimestamp);
-		return (nextTimestamp != null ? Date.from(nextTimestamp.toInstant()) : null);
+		long nextTimestamp = this.expression.nextEpochMilli(timestamp.getTime(), zone);
+		return (nextTimestamp != -1 ? new Date(nextTimestamp) : null);
 	}
 
 
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.concurrent;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cache.Cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link BoundedConcurrentMap}.
+ */
+class BoundedConcurrentMapTests {
+
+	@Test
+	void evictsLeastRecentlyUsedEntry() {
+		BoundedConcurrentMap<String, String> map = new BoundedConcurrentMap<>(2, null, null, 1);
+		map.put("k1", "v1");
+		map.put("k2", "v2");
+		assertThat(map.get("k1")).isEqualTo("v1");
+		map.put("k3", "v3");
+
+		assertThat(map).hasSize(2);
+		assertThat(map.containsKey("k1")).isTrue();
+		assertThat(map.containsKey("k2")).isFalse();
+		assertThat(map.containsKey("k3")).isTrue();
+		assertThat(map.getStatistics().getEvictionCount()).isEqualTo(1);
+	}
+
+	@Test
+	void neverExceedsMaximumSize() {
+		BoundedConcurrentMap<Integer, Integer> map = new BoundedConcurrentMap<>(100);
+		for (int i = 0; i < 1000; i++) {
+			map.put(i, i);
+		}
+		assertThat(map.size()).isLessThanOrEqualTo(100);
+		assertThat(map.getStatistics().getEvictionCount()).isEqualTo(1000 - map.size());
+	}
+
+	@Test
+	void expireAfterWrite() {
+		AtomicLong time = new AtomicLong();
+		BoundedConcurrentMap<String, String> map = new BoundedConcurrentMap<>(10, Duration.ofNanos(100), null);
+		map.setTicker(time::get);
+		map.put("k1", "v1");
+		time.set(50);
+		assertThat(map.get("k1")).isEqualTo("v1");
+		time.set(100);
+		assertThat(map.get("k1")).isNull();
+		assertThat(map).isEmpty();
+		assertThat(map.getStatistics().getExpirationCount()).isEqualTo(1);
+	}
+
+	@Test
+	void expireAfterAccess() {
+		AtomicLong time = new AtomicLong();
+		BoundedConcurrentMap<String, String> map = new BoundedConcurrentMap<>(10, null, Duration.ofNanos(100));
+		map.setTicker(time::get);
+		map.put("k1", "v1");
+		map.put("k2", "v2");
+		time.set(80);
+		assertThat(map.get("k1")).isEqualTo("v1");
+		time.set(150);
+		assertThat(map.get("k1")).isEqualTo("v1");
+		assertThat(map.containsKey("k2")).isFalse();
+	}
+
+	@Test
+	void computeIfAbsentRecordsLoads() {
+		BoundedConcurrentMap<String, String> map = new BoundedConcurrentMap<>(10);
+		assertThat(map.computeIfAbsent("k1", key -> key + "value")).isEqualTo("k1value");
+		assertThat(map.computeIfAbsent("k1", key -> "other")).isEqualTo("k1value");
+		assertThatIllegalStateException().isThrownBy(() -> map.computeIfAbsent("k2", key -> {
+			throw new IllegalStateException("boom");
+		}));
+		assertThat(map.containsKey("k2")).isFalse();
+
+		BoundedConcurrentMap.Statistics statistics = map.getStatistics();
+		assertThat(statistics.getHitCount()).isEqualTo(1);
+		assertThat(statistics.getMissCount()).isEqualTo(2);
+		assertThat(statistics.getLoadCount()).isEqualTo(1);
+		assertThat(statistics.getLoadFailureCount()).isEqualTo(1);
+	}
+
+	@Test
+	void computeIfAbsentCoalescesConcurrentLoads() throws Exception {
+		BoundedConcurrentMap<String, String> map = new BoundedConcurrentMap<>(10);
+		CountDownLatch loadStarted = new CountDownLatch(1);
+		CountDownLatch releaseLoad = new CountDownLatch(1);
+		AtomicInteger invocations = new AtomicInteger();
+		CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> map.computeIfAbsent("k1", key -> {
+			invocations.incrementAndGet();
+			loadStarted.countDown();
+			try {
+				releaseLoad.await();
+			}
+			catch (InterruptedException ex) {
+				throw new IllegalStateException(ex);
+			}
+			return "v1";
+		}));
+		assertThat(loadStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+		// Other keys are neither blocked nor subject to the ongoing load
+		assertThat(map.computeIfAbsent("k2", key -> "v2")).isEqualTo("v2");
+
+		CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> map.computeIfAbsent("k1", key -> {
+			invocations.incrementAndGet();
+			return "other";
+		}));
+		releaseLoad.countDown();
+		assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("v1");
+		assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("v1");
+		assertThat(invocations.get()).isEqualTo(1);
+	}
+
+	@Test
+	void computeIfAbsentWithConcurrentPutOrRemove() throws Exception {
+		BoundedConcurrentMap<String, String> map = new BoundedConcurrentMap<>(10);
+		CountDownLatch loadStarted = new CountDownLatch(1);
+		CountDownLatch releaseLoad = new CountDownLatch(1);
+		CompletableFuture<String> load = CompletableFuture.supplyAsync(() -> map.computeIfAbsent("k1", key -> {
+			loadStarted.countDown();
+			try {
+				releaseLoad.await();
+			}
+			catch (InterruptedException ex) {
+				throw new IllegalStateException(ex);
+			}
+			return "loaded";
+		}));
+		assertThat(loadStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+		// A value put during the load takes precedence
+		map.put("k1", "put");
+		releaseLoad.countDown();
+		assertThat(load.get(5, TimeUnit.SECONDS)).isEqualTo("put");
+		assertThat(map.get("k1")).isEqualTo("put");
+
+		CountDownLatch loadStarted2 = new CountDownLatch(1);
+		CountDownLatch releaseLoad2 = new CountDownLatch(1);
+		CompletableFuture<String> load2 = CompletableFuture.supplyAsync(() -> map.computeIfAbsent("k2", key -> {
+			loadStarted2.countDown();
+			try {
+				releaseLoad2.await();
+			}
+			catch (InterruptedException ex) {
+				throw new IllegalStateException(ex);
+			}
+			return "stale";
+		}));
+		assertThat(loadStarted2.await(5, TimeUnit.SECONDS)).isTrue();
+
+		// A value loaded before its key is removed is not stored
+		map.remove("k2");
+		releaseLoad2.countDown();
+		assertThat(load2.get(5, TimeUnit.SECONDS)).isEqualTo("stale");
+		assertThat(map.containsKey("k2")).isFalse();
+	}
+
+	@Test
+	void computeIfAbsentWithNestedLoads() {
+		BoundedConcurrentMap<Integer, String> map = new BoundedConcurrentMap<>(100);
+		for (int i = 0; i < 50; i++) {
+			int other = i + 50;
+			assertThat(map.computeIfAbsent(i, key -> map.computeIfAbsent(other, String::valueOf) + "-" + key))
+					.isEqualTo(other + "-" + i);
+		}
+		assertThatIllegalStateException().isThrownBy(() ->
+				map.computeIfAbsent(100, key -> map.computeIfAbsent(100, String::valueOf)));
+		assertThat(map.computeIfAbsent(100, String::valueOf)).isEqualTo("100");
+	}
+
+	@Test
+	void boundedCacheManager() {
+		ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+		cacheManager.setMaximumSize(2);
+		Cache cache = cacheManager.getCache("c1");
+		assertThat(cache.getNativeCache()).isInstanceOf(BoundedConcurrentMap.class);
+
+		cache.put("k1", null);
+		assertThat(cache.get("k1").get()).isNull();
+		assertThat(cache.get("k2", () -> "v2")).isEqualTo("v2");
+		cache.put("k3", "v3");
+		cache.put("k4", "v4");
+		assertThat((BoundedConcurrentMap<?, ?>) cache.getNativeCache()).hasSizeLessThanOrEqualTo(2);
+
+		cacheManager.setMaximumSize(0);
+		assertThat(cacheManager.getCache("c1").getNativeCache()).isNotInstanceOf(BoundedConcurrentMap.class);
+	}
+
+}
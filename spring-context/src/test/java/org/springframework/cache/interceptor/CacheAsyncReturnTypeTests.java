@@ -0,0 +1,254 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.cache.annotation.AnnotationCacheOperationSource;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@code @Cacheable} methods returning a {@link CompletionStage}
+ * or a reactive type in {@link CacheAspectSupport}.
+ */
+class CacheAsyncReturnTypeTests {
+
+	private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+
+	private final AsyncService target = new AsyncService();
+
+	private final AsyncService service = createProxy(this.target);
+
+
+	@Test
+	void completableFutureValueIsCached() throws Exception {
+		assertThat(this.service.getFuture("key").get()).isEqualTo("key1");
+		assertThat(this.service.getFuture("key").get()).isEqualTo("key1");
+		assertThat(this.cacheManager.getCache("test").get("key").get()).isEqualTo("key1");
+		assertThat(this.target.invocations).hasValue(1);
+	}
+
+	@Test
+	void completableFutureMissesShareInvocation() throws Exception {
+		CompletableFuture<String> future1 = this.service.getPending("key");
+		CompletableFuture<String> future2 = this.service.getPending("key");
+		assertThat(future1).isNotDone();
+		assertThat(this.target.invocations).hasValue(1);
+
+		this.target.pending.complete("value");
+		assertThat(future1.get()).isEqualTo("value");
+		assertThat(future2.get()).isEqualTo("value");
+		assertThat(this.cacheManager.getCache("test").get("key").get()).isEqualTo("value");
+	}
+
+	@Test
+	void completableFutureFailureIsNotCached() {
+		assertThatExceptionOfType(ExecutionException.class)
+				.isThrownBy(() -> this.service.getFailure("key").get())
+				.withCauseInstanceOf(IllegalStateException.class);
+		assertThat(this.cacheManager.getCache("test").get("key")).isNull();
+	}
+
+	@Test
+	void completionStageValueIsCached() throws Exception {
+		assertThat(this.service.getStage("key").toCompletableFuture().get()).isEqualTo("key1");
+		assertThat(this.service.getStage("key").toCompletableFuture().get()).isEqualTo("key1");
+		assertThat(this.cacheManager.getCache("test").get("key").get()).isEqualTo("key1");
+		assertThat(this.target.invocations).hasValue(1);
+	}
+
+	@Test
+	void completionStageValueIsCachedWithCachePut() throws Exception {
+		assertThat(this.service.getStageAndPut("key").toCompletableFuture().get()).isEqualTo("key1");
+		assertThat(this.cacheManager.getCache("test").get("key").get()).isEqualTo("key1");
+		assertThat(this.cacheManager.getCache("other").get("key").get()).isEqualTo("key1");
+	}
+
+	@Test
+	void monoValueIsCached() {
+		assertThat(this.service.getMono("key").block()).isEqualTo("key1");
+		assertThat(this.service.getMono("key").block()).isEqualTo("key1");
+		assertThat(this.cacheManager.getCache("test").get("key").get()).isEqualTo("key1");
+		assertThat(this.target.invocations).hasValue(1);
+	}
+
+	@Test
+	void monoIsLazy() {
+		Mono<String> mono = this.service.getMono("key");
+		assertThat(this.target.invocations).hasValue(0);
+		assertThat(mono.block()).isEqualTo("key1");
+	}
+
+	@Test
+	void monoMissesShareInvocation() throws Exception {
+		CompletableFuture<String> future1 = this.service.getPendingMono("key").toFuture();
+		CompletableFuture<String> future2 = this.service.getPendingMono("key").toFuture();
+		assertThat(future1).isNotDone();
+		assertThat(this.target.invocations).hasValue(1);
+
+		this.target.pendingSink.tryEmitValue("value");
+		assertThat(future1.get()).isEqualTo("value");
+		assertThat(future2.get()).isEqualTo("value");
+		assertThat(this.cacheManager.getCache("test").get("key").get()).isEqualTo("value");
+	}
+
+	@Test
+	void monoSynchronousFailureIsNotShared() {
+		assertThatIllegalStateException().isThrownBy(() -> this.service.getMonoThrowing("key").block());
+		assertThat(this.cacheManager.getCache("test").get("key")).isNull();
+		assertThat(this.service.getMonoThrowing("key").block()).isEqualTo("key2");
+		assertThat(this.target.invocations).hasValue(2);
+	}
+
+	@Test
+	void monoRetryAfterError() {
+		assertThatIllegalStateException().isThrownBy(() -> this.service.getMonoFailingOnce("key").block());
+		assertThat(this.cacheManager.getCache("test").get("key")).isNull();
+		assertThat(this.service.getMonoFailingOnce("key").block()).isEqualTo("key2");
+		assertThat(this.service.getMonoFailingOnce("key").block()).isEqualTo("key2");
+		assertThat(this.target.invocations).hasValue(2);
+	}
+
+	@Test
+	void fluxValuesAreCachedAsList() {
+		assertThat(this.service.getFlux("key").collectList().block()).containsExactly("key1", "key2");
+		assertThat(this.service.getFlux("key").collectList().block()).containsExactly("key1", "key2");
+		assertThat(this.cacheManager.getCache("test").get("key").get()).isEqualTo(Arrays.asList("key1", "key2"));
+		assertThat(this.target.invocations).hasValue(1);
+	}
+
+
+	/**
+	 * Return a {@link CompletionStage} for the given value that is not a
+	 * {@link CompletableFuture} itself.
+	 */
+	@SuppressWarnings("unchecked")
+	static CompletionStage<String> completionStage(String value) {
+		CompletableFuture<String> future = CompletableFuture.completedFuture(value);
+		return (CompletionStage<String>) Proxy.newProxyInstance(CompletionStage.class.getClassLoader(),
+				new Class<?>[] {CompletionStage.class}, (proxy, method, args) -> method.invoke(future, args));
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T createProxy(T target) {
+		CacheInterceptor cacheInterceptor = new CacheInterceptor();
+		cacheInterceptor.setCacheOperationSources(new AnnotationCacheOperationSource());
+		cacheInterceptor.setCacheManager(this.cacheManager);
+		cacheInterceptor.afterPropertiesSet();
+		cacheInterceptor.afterSingletonsInstantiated();
+		ProxyFactory proxyFactory = new ProxyFactory(target);
+		proxyFactory.setProxyTargetClass(true);
+		proxyFactory.addAdvice(cacheInterceptor);
+		return (T) proxyFactory.getProxy();
+	}
+
+
+	public static class AsyncService {
+
+		final AtomicInteger invocations = new AtomicInteger();
+
+		CompletableFuture<String> pending;
+
+		Sinks.One<String> pendingSink;
+
+		@Cacheable("test")
+		public CompletableFuture<String> getFuture(String key) {
+			return CompletableFuture.completedFuture(key + this.invocations.incrementAndGet());
+		}
+
+		@Cacheable("test")
+		public CompletableFuture<String> getPending(String key) {
+			this.invocations.incrementAndGet();
+			this.pending = new CompletableFuture<>();
+			return this.pending;
+		}
+
+		@Cacheable("test")
+		public CompletableFuture<String> getFailure(String key) {
+			CompletableFuture<String> future = new CompletableFuture<>();
+			future.completeExceptionally(new IllegalStateException("boom"));
+			return future;
+		}
+
+		@Cacheable("test")
+		public CompletionStage<String> getStage(String key) {
+			return completionStage(key + this.invocations.incrementAndGet());
+		}
+
+		@Cacheable("test")
+		@CachePut("other")
+		public CompletionStage<String> getStageAndPut(String key) {
+			return completionStage(key + this.invocations.incrementAndGet());
+		}
+
+		@Cacheable("test")
+		public Mono<String> getMono(String key) {
+			return Mono.fromSupplier(() -> key + this.invocations.incrementAndGet());
+		}
+
+		@Cacheable("test")
+		public Mono<String> getPendingMono(String key) {
+			this.invocations.incrementAndGet();
+			this.pendingSink = Sinks.one();
+			return this.pendingSink.asMono();
+		}
+
+		@Cacheable("test")
+		public Mono<String> getMonoThrowing(String key) {
+			int invocation = this.invocations.incrementAndGet();
+			if (invocation == 1) {
+				throw new IllegalStateException("boom");
+			}
+			return Mono.just(key + invocation);
+		}
+
+		@Cacheable("test")
+		public Mono<String> getMonoFailingOnce(String key) {
+			return Mono.defer(() -> {
+				int invocation = this.invocations.incrementAndGet();
+				return (invocation == 1 ? Mono.error(new IllegalStateException("boom")) :
+						Mono.just(key + invocation));
+			});
+		}
+
+		@Cacheable("test")
+		public Flux<String> getFlux(String key) {
+			return Flux.defer(() -> {
+				this.invocations.incrementAndGet();
+				return Flux.just(key + "1", key + "2");
+			});
+		}
+	}
+
+}
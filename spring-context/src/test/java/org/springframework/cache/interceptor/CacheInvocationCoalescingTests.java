@@ -0,0 +1,161 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.cache.annotation.AnnotationCacheOperationSource;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for invocation coalescing and refresh-ahead in {@link CacheAspectSupport}.
+ */
+class CacheInvocationCoalescingTests {
+
+	private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+
+	private final CacheInterceptor cacheInterceptor = new CacheInterceptor();
+
+
+	@Test
+	void concurrentMissesShareInvocation() throws Exception {
+		this.cacheInterceptor.setCoalesceInvocations(true);
+		BlockingService target = new BlockingService();
+		BlockingService service = createProxy(target);
+
+		AtomicReference<Object> result1 = new AtomicReference<>();
+		AtomicReference<Object> result2 = new AtomicReference<>();
+		Thread thread1 = new Thread(() -> result1.set(service.get("key")));
+		thread1.start();
+		target.started.await();
+		Thread thread2 = new Thread(() -> result2.set(service.get("key")));
+		thread2.start();
+		while (thread2.getState() != Thread.State.WAITING) {
+			Thread.yield();
+		}
+		target.release.countDown();
+		thread1.join();
+		thread2.join();
+
+		assertThat(target.invocations).hasValue(1);
+		assertThat(result1.get()).isEqualTo("key1");
+		assertThat(result2.get()).isSameAs(result1.get());
+		assertThat(service.get("key")).isEqualTo("key1");
+		assertThat(target.invocations).hasValue(1);
+	}
+
+	@Test
+	void concurrentMissesForDifferentMethodsDoNotShareInvocation() throws Exception {
+		this.cacheInterceptor.setCoalesceInvocations(true);
+		BlockingService target = new BlockingService();
+		BlockingService service = createProxy(target);
+
+		AtomicReference<Object> result = new AtomicReference<>();
+		Thread thread = new Thread(() -> result.set(service.get("key")));
+		thread.start();
+		target.started.await();
+		// Same cache name and key but a different method: must not wait for get
+		assertThat(service.getOther("key")).isEqualTo("key-other");
+		target.release.countDown();
+		thread.join();
+
+		assertThat(target.invocations).hasValue(1);
+		assertThat(result.get()).isEqualTo("key1");
+	}
+
+	@Test
+	void refreshAheadWithRefreshableCache() {
+		this.cacheManager.setRefreshAfterWrite(Duration.ofNanos(1));
+		this.cacheInterceptor.setRefreshAheadExecutor(Runnable::run);
+		CountingService service = createProxy(new CountingService());
+
+		assertThat(service.get("key")).isEqualTo("key1");
+		// Cached value returned, refreshed in the background
+		assertThat(service.get("key")).isEqualTo("key1");
+		assertThat(this.cacheManager.getCache("test").get("key").get()).isEqualTo("key2");
+	}
+
+	@Test
+	void noRefreshAheadWithoutExecutor() {
+		this.cacheManager.setRefreshAfterWrite(Duration.ofNanos(1));
+		CountingService service = createProxy(new CountingService());
+
+		assertThat(service.get("key")).isEqualTo("key1");
+		assertThat(service.get("key")).isEqualTo("key1");
+		assertThat(this.cacheManager.getCache("test").get("key").get()).isEqualTo("key1");
+	}
+
+
+	@SuppressWarnings("unchecked")
+	private <T> T createProxy(T target) {
+		this.cacheInterceptor.setCacheOperationSources(new AnnotationCacheOperationSource());
+		this.cacheInterceptor.setCacheManager(this.cacheManager);
+		this.cacheInterceptor.afterPropertiesSet();
+		this.cacheInterceptor.afterSingletonsInstantiated();
+		ProxyFactory proxyFactory = new ProxyFactory(target);
+		proxyFactory.addAdvice(this.cacheInterceptor);
+		return (T) proxyFactory.getProxy();
+	}
+
+
+	public static class CountingService {
+
+		private final AtomicInteger invocations = new AtomicInteger();
+
+		@Cacheable("test")
+		public String get(String key) {
+			return key + this.invocations.incrementAndGet();
+		}
+	}
+
+
+	public static class BlockingService {
+
+		final AtomicInteger invocations = new AtomicInteger();
+
+		final CountDownLatch started = new CountDownLatch(1);
+
+		final CountDownLatch release = new CountDownLatch(1);
+
+		@Cacheable("test")
+		public String get(String key) {
+			this.started.countDown();
+			try {
+				this.release.await();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			return key + this.invocations.incrementAndGet();
+		}
+
+		@Cacheable("test")
+		public String getOther(String key) {
+			return key + "-other";
+		}
+	}
+
+}
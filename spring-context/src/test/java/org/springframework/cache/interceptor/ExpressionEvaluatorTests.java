@@ -31,9 +31,13 @@ import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
 import org.springframework.cache.concurrent.ConcurrentMapCache;
 import org.springframework.context.expression.AnnotatedElementKey;
+import org.springframework.context.expression.MapAccessor;
 import org.springframework.context.support.StaticApplicationContext;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.ReflectiveConstructorResolver;
+import org.springframework.expression.spel.support.ReflectiveMethodResolver;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.util.ReflectionUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -136,6 +140,47 @@ public class ExpressionEvaluatorTests {
 		assertThat(value).isEqualTo(String.class.getName());
 	}
 
+	@Test
+	public void repeatedEvaluationOfCompilableExpressions() {
+		AnnotatedClass target = new AnnotatedClass();
+		Method method = ReflectionUtils.findMethod(
+				AnnotatedClass.class, "multipleCaching", Object.class, Object.class);
+		AnnotatedElementKey key = new AnnotatedElementKey(method, AnnotatedClass.class);
+		Collection<ConcurrentMapCache> caches = Collections.singleton(new ConcurrentMapCache("test"));
+
+		// Beyond the threshold after which expressions get compiled
+		for (int i = 0; i < 500; i++) {
+			Object[] args = new Object[] {"a" + i, i};
+			EvaluationContext evalCtx = this.eval.createEvaluationContext(caches, method, args,
+					target, target.getClass(), method, "result" + i, null);
+			assertThat(this.eval.key("#root.methodName + #p0", key, evalCtx)).isEqualTo("multipleCaching" + args[0]);
+			assertThat(this.eval.condition("#b < 250", key, evalCtx)).isEqualTo(i < 250);
+			assertThat(this.eval.unless("#result == 'result1'", key, evalCtx)).isEqualTo(i == 1);
+		}
+
+		EvaluationContext evalCtx = createEvaluationContext(CacheOperationExpressionEvaluator.RESULT_UNAVAILABLE);
+		assertThatExceptionOfType(VariableNotAvailableException.class).isThrownBy(() ->
+				this.eval.unless("#result == 'result1'", key, evalCtx));
+	}
+
+	@Test
+	public void evaluationContextsHaveOwnAccessorsAndResolvers() {
+		StandardEvaluationContext context =
+				(StandardEvaluationContext) createEvaluationContext(CacheOperationExpressionEvaluator.NO_RESULT);
+		context.addPropertyAccessor(new MapAccessor());
+		context.addMethodResolver(new ReflectiveMethodResolver());
+		context.addConstructorResolver(new ReflectiveConstructorResolver());
+		assertThat(context.getPropertyAccessors()).hasSize(2);
+		assertThat(context.getMethodResolvers()).hasSize(2);
+		assertThat(context.getConstructorResolvers()).hasSize(2);
+
+		StandardEvaluationContext other =
+				(StandardEvaluationContext) createEvaluationContext(CacheOperationExpressionEvaluator.NO_RESULT);
+		assertThat(other.getPropertyAccessors()).hasSize(1);
+		assertThat(other.getMethodResolvers()).hasSize(1);
+		assertThat(other.getConstructorResolvers()).hasSize(1);
+	}
+
 	private EvaluationContext createEvaluationContext(Object result) {
 		return createEvaluationContext(result, null);
 	}
@@ -17,6 +17,7 @@
 package org.springframework.context.event;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -52,6 +53,7 @@ import org.springframework.scheduling.support.TaskUtils;
 import org.springframework.util.ReflectionUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatRuntimeException;
 import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.BDDMockito.given;
@@ -208,6 +210,48 @@ public class ApplicationContextEventTests extends AbstractApplicationEventListen
 		assertThat(listener1.seenEvents.size()).isEqualTo(2);
 	}
 
+	@Test
+	public void listenerChangesReplaceDispatchTables() {
+		MyOrderedListener1 listener1 = new MyOrderedListener1();
+		MyOrderedListener1 listener2 = new MyOrderedListener1();
+
+		SimpleApplicationEventMulticaster smc = new SimpleApplicationEventMulticaster();
+		smc.addApplicationListener(listener1);
+		smc.multicastEvent(new MyEvent(this));
+		smc.multicastEvent(new MyOtherEvent(this));
+		assertThat(smc.retrieverCache().size()).isEqualTo(2);
+
+		smc.addApplicationListener(listener2);
+		assertThat(smc.retrieverCache().size()).isEqualTo(0);
+		smc.multicastEvent(new MyEvent(this));
+		assertThat(listener1.seenEvents.size()).isEqualTo(3);
+		assertThat(listener2.seenEvents.size()).isEqualTo(1);
+
+		smc.removeApplicationListener(listener1);
+		smc.multicastEvent(new MyEvent(this));
+		assertThat(listener1.seenEvents.size()).isEqualTo(3);
+		assertThat(listener2.seenEvents.size()).isEqualTo(2);
+		assertThat(smc.retrieverCache().size()).isEqualTo(1);
+	}
+
+	@Test
+	public void cachedListenersAreSharedAndUnmodifiable() {
+		MyOrderedListener1 listener = new MyOrderedListener1();
+		SimpleApplicationEventMulticaster smc = new SimpleApplicationEventMulticaster();
+		smc.addApplicationListener(listener);
+
+		MyEvent event = new MyEvent(this);
+		ResolvableType eventType = ResolvableType.forInstance(event);
+		smc.multicastEvent(event, eventType);
+		Collection<ApplicationListener<?>> listeners = smc.getApplicationListeners(event, eventType);
+		assertThat(smc.getApplicationListeners(event, eventType)).isSameAs(listeners);
+		assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(listeners::clear);
+
+		Collection<ApplicationListener<?>> allListeners = smc.getApplicationListeners();
+		allListeners.clear();
+		assertThat(smc.getApplicationListeners()).containsExactly(listener);
+	}
+
 	@Test
 	@SuppressWarnings("unchecked")
 	public void proxiedListeners() {
@@ -298,7 +342,7 @@ public class ApplicationContextEventTests extends AbstractApplicationEventListen
 		assertThat(listener1.seenEvents.contains(event4)).isTrue();
 
 		AbstractApplicationEventMulticaster multicaster = context.getBean(AbstractApplicationEventMulticaster.class);
-		assertThat(multicaster.retrieverCache.size()).isEqualTo(2);
+		assertThat(multicaster.retrieverCache().size()).isEqualTo(2);
 
 		context.close();
 	}
@@ -320,7 +364,7 @@ public class ApplicationContextEventTests extends AbstractApplicationEventListen
 		assertThat(listener.seenPayloads.contains("event4")).isTrue();
 
 		AbstractApplicationEventMulticaster multicaster = context.getBean(AbstractApplicationEventMulticaster.class);
-		assertThat(multicaster.retrieverCache.size()).isEqualTo(2);
+		assertThat(multicaster.retrieverCache().size()).isEqualTo(2);
 
 		context.close();
 	}
@@ -384,7 +428,7 @@ public class ApplicationContextEventTests extends AbstractApplicationEventListen
 		MyNonSingletonListener.seenEvents.clear();
 
 		AbstractApplicationEventMulticaster multicaster = context.getBean(AbstractApplicationEventMulticaster.class);
-		assertThat(multicaster.retrieverCache.size()).isEqualTo(3);
+		assertThat(multicaster.retrieverCache().size()).isEqualTo(3);
 
 		context.close();
 	}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PartitionedEventDispatcher} with a {@link SimpleApplicationEventMulticaster}.
+ */
+class PartitionedEventDispatcherTests {
+
+	private final List<Runnable> tasks = new ArrayList<>();
+
+	private final SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster();
+
+
+	@Test
+	void eventsAreDeliveredInOrderPerPartitionKey() throws Exception {
+		ExecutorService workers = Executors.newFixedThreadPool(4);
+		try {
+			PartitionedEventDispatcher dispatcher = new PartitionedEventDispatcher(workers);
+			dispatcher.setPartitionKeyResolver(event -> ((Integer) ((PayloadApplicationEvent<?>) event).getPayload()) % 10);
+			this.multicaster.setPartitionedDispatcher(dispatcher);
+
+			Map<Integer, List<Integer>> received = new ConcurrentHashMap<>();
+			CountDownLatch latch = new CountDownLatch(1000);
+			this.multicaster.addApplicationListener(ApplicationListener.forPayload((Integer value) -> {
+				received.computeIfAbsent(value % 10, key -> new ArrayList<>()).add(value);
+				latch.countDown();
+			}));
+			for (int i = 0; i < 1000; i++) {
+				this.multicaster.multicastEvent(new PayloadApplicationEvent<>(this, i));
+			}
+
+			assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+			assertThat(received).hasSize(10);
+			received.values().forEach(values -> assertThat(values).hasSize(100).isSorted());
+		}
+		finally {
+			workers.shutdownNow();
+		}
+	}
+
+	@Test
+	void slowListenerDoesNotBlockPublisherOrOtherListeners() {
+		PartitionedEventDispatcher dispatcher = new PartitionedEventDispatcher(this.tasks::add);
+		this.multicaster.setPartitionedDispatcher(dispatcher);
+		List<String> fast = new ArrayList<>();
+		List<String> slow = new ArrayList<>();
+		ApplicationListener<PayloadApplicationEvent<String>> slowListener = ApplicationListener.forPayload(slow::add);
+		this.multicaster.addApplicationListener(ApplicationListener.<String>forPayload(fast::add));
+		this.multicaster.addApplicationListener(slowListener);
+
+		this.multicaster.multicastEvent(new PayloadApplicationEvent<>(this, "e1"));
+		this.multicaster.multicastEvent(new PayloadApplicationEvent<>(this, "e2"));
+		assertThat(fast).isEmpty();
+		assertThat(dispatcher.getQueueDepth()).isEqualTo(4);
+		assertThat(dispatcher.getQueueDepth(slowListener)).isEqualTo(2);
+
+		this.tasks.remove(0).run();
+		assertThat(fast).containsExactly("e1", "e2");
+		assertThat(slow).isEmpty();
+		assertThat(dispatcher.getQueueDepth()).isEqualTo(2);
+
+		this.tasks.remove(0).run();
+		assertThat(slow).containsExactly("e1", "e2");
+		assertThat(dispatcher.getQueueDepth()).isZero();
+		assertThat(this.tasks).isEmpty();
+	}
+
+	@Test
+	void dropWhenQueueIsFull() {
+		PartitionedEventDispatcher dispatcher = new PartitionedEventDispatcher(this.tasks::add, 1, 2);
+		dispatcher.setOverflowPolicy(PartitionedEventDispatcher.OverflowPolicy.DROP);
+		this.multicaster.setPartitionedDispatcher(dispatcher);
+		List<String> received = new ArrayList<>();
+		this.multicaster.addApplicationListener(ApplicationListener.<String>forPayload(received::add));
+
+		for (int i = 1; i <= 3; i++) {
+			this.multicaster.multicastEvent(new PayloadApplicationEvent<>(this, "e" + i));
+		}
+		assertThat(dispatcher.getDroppedCount()).isEqualTo(1);
+
+		this.tasks.remove(0).run();
+		assertThat(received).containsExactly("e1", "e2");
+	}
+
+	@Test
+	void callerRunsWhenQueueIsFull() {
+		PartitionedEventDispatcher dispatcher = new PartitionedEventDispatcher(this.tasks::add, 1, 1);
+		dispatcher.setOverflowPolicy(PartitionedEventDispatcher.OverflowPolicy.CALLER_RUNS);
+		this.multicaster.setPartitionedDispatcher(dispatcher);
+		List<String> received = new ArrayList<>();
+		this.multicaster.addApplicationListener(ApplicationListener.<String>forPayload(received::add));
+
+		this.multicaster.multicastEvent(new PayloadApplicationEvent<>(this, "e1"));
+		this.multicaster.multicastEvent(new PayloadApplicationEvent<>(this, "e2"));
+		assertThat(received).containsExactly("e2");
+		assertThat(dispatcher.getCallerRunsCount()).isEqualTo(1);
+
+		this.tasks.remove(0).run();
+		assertThat(received).containsExactly("e2", "e1");
+	}
+
+	@Test
+	void queuesAreRemovedWithListener() {
+		PartitionedEventDispatcher dispatcher = new PartitionedEventDispatcher(this.tasks::add);
+		this.multicaster.setPartitionedDispatcher(dispatcher);
+		List<String> received = new ArrayList<>();
+		ApplicationListener<PayloadApplicationEvent<String>> listener1 = ApplicationListener.forPayload(received::add);
+		ApplicationListener<PayloadApplicationEvent<String>> listener2 = ApplicationListener.forPayload(received::add);
+		ApplicationListener<PayloadApplicationEvent<String>> listener3 = ApplicationListener.forPayload(received::add);
+		this.multicaster.addApplicationListener(listener1);
+		this.multicaster.addApplicationListener(listener2);
+		this.multicaster.addApplicationListener(listener3);
+		this.multicaster.multicastEvent(new PayloadApplicationEvent<>(this, "e1"));
+		assertThat(dispatcher.lanes).hasSize(3);
+
+		this.multicaster.removeApplicationListener(listener1);
+		assertThat(dispatcher.lanes).containsOnlyKeys(listener2, listener3);
+		this.multicaster.removeApplicationListeners(listener -> listener == listener2);
+		assertThat(dispatcher.lanes).containsOnlyKeys(listener3);
+		this.multicaster.removeAllListeners();
+		assertThat(dispatcher.lanes).isEmpty();
+
+		// Invocations queued before the removal are still performed
+		this.tasks.forEach(Runnable::run);
+		assertThat(received).containsExactly("e1", "e1", "e1");
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,6 +22,7 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
@@ -58,6 +59,9 @@ import org.springframework.scheduling.config.CronTask;
 import org.springframework.scheduling.config.IntervalTask;
 import org.springframework.scheduling.config.ScheduledTaskHolder;
 import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.scheduling.lock.InMemoryTaskLockProvider;
+import org.springframework.scheduling.lock.LockedTaskRunnable;
+import org.springframework.scheduling.lock.TaskPartition;
 import org.springframework.scheduling.support.CronTrigger;
 import org.springframework.scheduling.support.ScheduledMethodRunnable;
 import org.springframework.scheduling.support.SimpleTriggerContext;
@@ -67,6 +71,7 @@ import org.springframework.validation.beanvalidation.MethodValidationPostProcess
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import static org.assertj.core.api.SoftAssertions.assertSoftly;
 
 /**
@@ -695,6 +700,60 @@ class ScheduledAnnotationBeanPostProcessorTests {
 		assertThat(task.getExpression()).isEqualTo("0 0 9-17 * * MON-FRI");
 	}
 
+	@Test
+	void scheduledLockWithLockProviderBean() {
+		BeanDefinition processorDefinition = new RootBeanDefinition(ScheduledAnnotationBeanPostProcessor.class);
+		BeanDefinition targetDefinition = new RootBeanDefinition(ScheduledLockTestBean.class);
+		BeanDefinition lockProviderDefinition = new RootBeanDefinition(InMemoryTaskLockProvider.class);
+		context.registerBeanDefinition("postProcessor", processorDefinition);
+		context.registerBeanDefinition("target", targetDefinition);
+		context.registerBeanDefinition("lockProvider", lockProviderDefinition);
+		context.refresh();
+
+		ScheduledTaskHolder postProcessor = context.getBean("postProcessor", ScheduledTaskHolder.class);
+		ScheduledTaskRegistrar registrar = (ScheduledTaskRegistrar)
+				new DirectFieldAccessor(postProcessor).getPropertyValue("registrar");
+		assertThat(registrar.getTaskLockProvider()).isSameAs(context.getBean("lockProvider"));
+		@SuppressWarnings("unchecked")
+		List<IntervalTask> fixedRateTasks = (List<IntervalTask>)
+				new DirectFieldAccessor(registrar).getPropertyValue("fixedRateTasks");
+		assertThat(fixedRateTasks).hasSize(1);
+		LockedTaskRunnable runnable = (LockedTaskRunnable) fixedRateTasks.get(0).getRunnable();
+		assertThat(runnable.getLockName()).isEqualTo("lockedTask");
+		assertThat(runnable.getPartitions()).isEqualTo(2);
+		assertThat(((ScheduledMethodRunnable) runnable.getDelegate()).getMethod().getName()).isEqualTo("fixedRate");
+
+		ScheduledLockTestBean target = context.getBean("target", ScheduledLockTestBean.class);
+		runnable.run();
+		assertThat(target.partitions).containsExactlyInAnyOrder(0, 1);
+	}
+
+	@Test
+	void scheduledLockWithoutLockProvider() {
+		BeanDefinition processorDefinition = new RootBeanDefinition(ScheduledAnnotationBeanPostProcessor.class);
+		BeanDefinition targetDefinition = new RootBeanDefinition(ScheduledLockTestBean.class);
+		context.registerBeanDefinition("postProcessor", processorDefinition);
+		context.registerBeanDefinition("target", targetDefinition);
+		assertThatIllegalStateException().isThrownBy(context::refresh)
+				.withMessageContaining("TaskLockProvider");
+	}
+
+	@Test
+	void scheduledLockOnLazyBeanWithoutLockProvider() {
+		BeanDefinition processorDefinition = new RootBeanDefinition(ScheduledAnnotationBeanPostProcessor.class);
+		BeanDefinition targetDefinition = new RootBeanDefinition(ScheduledLockTestBean.class);
+		targetDefinition.setLazyInit(true);
+		context.registerBeanDefinition("postProcessor", processorDefinition);
+		context.registerBeanDefinition("target", targetDefinition);
+		context.refresh();
+
+		assertThatExceptionOfType(BeanCreationException.class)
+				.isThrownBy(() -> context.getBean("target"))
+				.havingRootCause()
+				.isInstanceOf(IllegalStateException.class)
+				.withMessageContaining("TaskLockProvider");
+	}
+
 	@Test
 	void emptyAnnotation() {
 		BeanDefinition processorDefinition = new RootBeanDefinition(ScheduledAnnotationBeanPostProcessor.class);
@@ -853,6 +912,18 @@ class ScheduledAnnotationBeanPostProcessorTests {
 	}
 
 
+	static class ScheduledLockTestBean {
+
+		final List<Integer> partitions = new ArrayList<>();
+
+		@Scheduled(fixedRate = 3000, initialDelay = 60000)
+		@ScheduledLock(name = "lockedTask", partitions = 2)
+		void fixedRate() {
+			this.partitions.add(TaskPartition.current().getIndex());
+		}
+	}
+
+
 	static class CronWithTimezoneTestBean {
 
 		@Scheduled(cron = "0 0 0-4,6-23 * * ?", zone = "GMT+10")
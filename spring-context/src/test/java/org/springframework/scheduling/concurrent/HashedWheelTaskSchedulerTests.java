@@ -0,0 +1,233 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.concurrent;
+
+import java.util.Date;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.support.PeriodicTrigger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link HashedWheelTaskScheduler}.
+ */
+class HashedWheelTaskSchedulerTests {
+
+	private final HashedWheelTaskScheduler scheduler = new HashedWheelTaskScheduler(5, TimeUnit.MILLISECONDS, 64);
+
+
+	@AfterEach
+	void shutdownScheduler() {
+		this.scheduler.destroy();
+	}
+
+
+	@Test
+	void scheduleOneTimeTask() throws Exception {
+		AtomicInteger count = new AtomicInteger();
+		ScheduledFuture<?> future = this.scheduler.schedule(count::incrementAndGet, inMillis(20));
+		assertThat(future.get(1, TimeUnit.SECONDS)).isNull();
+		assertThat(future.isDone()).isTrue();
+		assertThat(count.get()).isEqualTo(1);
+		assertThat(this.scheduler.getPendingTaskCount()).isZero();
+	}
+
+	@Test
+	void scheduleOneTimeTaskInThePast() throws Exception {
+		CountDownLatch latch = new CountDownLatch(1);
+		this.scheduler.schedule(latch::countDown, new Date(0));
+		assertThat(latch.await(1, TimeUnit.SECONDS)).isTrue();
+	}
+
+	@Test
+	void scheduleOneTimeTaskBeyondOneRotation() throws Exception {
+		// 64 buckets of 5 ms each: a rotation takes 320 ms
+		long start = System.nanoTime();
+		this.scheduler.schedule(() -> {}, inMillis(400)).get(2, TimeUnit.SECONDS);
+		assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(390);
+	}
+
+	@Test
+	void scheduleOneTimeFailingTask() {
+		ScheduledFuture<?> future = this.scheduler.schedule(() -> {
+			throw new IllegalStateException("boom");
+		}, new Date());
+		assertThatExceptionOfType(ExecutionException.class).isThrownBy(() -> future.get(1, TimeUnit.SECONDS))
+				.withCauseInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void scheduleOneTimeFailingTaskWithErrorHandler() throws Exception {
+		AtomicReference<Throwable> error = new AtomicReference<>();
+		this.scheduler.setErrorHandler(error::set);
+		ScheduledFuture<?> future = this.scheduler.schedule(() -> {
+			throw new IllegalStateException("boom");
+		}, new Date());
+		assertThat(future.get(1, TimeUnit.SECONDS)).isNull();
+		assertThat(error.get()).isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void cancelledTaskDoesNotRun() throws Exception {
+		AtomicInteger count = new AtomicInteger();
+		ScheduledFuture<?> future = this.scheduler.schedule(count::incrementAndGet, inMillis(30));
+		assertThat(future.cancel(false)).isTrue();
+		assertThat(future.cancel(false)).isFalse();
+		assertThat(future.isCancelled()).isTrue();
+		assertThat(this.scheduler.getPendingTaskCount()).isZero();
+		assertThatExceptionOfType(CancellationException.class).isThrownBy(future::get);
+		Thread.sleep(60);
+		assertThat(count.get()).isZero();
+	}
+
+	@Test
+	void manyTasksExpire() throws Exception {
+		int taskCount = 100_000;
+		CountDownLatch latch = new CountDownLatch(taskCount / 2);
+		ScheduledFuture<?>[] futures = new ScheduledFuture<?>[taskCount];
+		long now = System.currentTimeMillis();
+		for (int i = 0; i < taskCount; i++) {
+			futures[i] = this.scheduler.schedule(latch::countDown, new Date(now + 50 + (i % 500)));
+		}
+		for (int i = 0; i < taskCount; i += 2) {
+			futures[i].cancel(false);
+		}
+		assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+		for (int i = 1; i < taskCount; i += 2) {
+			futures[i].get(1, TimeUnit.SECONDS);
+		}
+		assertThat(this.scheduler.getPendingTaskCount()).isZero();
+	}
+
+	@Test
+	void scheduleAtFixedRate() throws Exception {
+		CountDownLatch latch = new CountDownLatch(3);
+		ScheduledFuture<?> future = this.scheduler.scheduleAtFixedRate(latch::countDown, 10);
+		assertThat(latch.await(1, TimeUnit.SECONDS)).isTrue();
+		assertThat(future.isDone()).isFalse();
+		assertThat(this.scheduler.getPendingTaskCount()).isEqualTo(1);
+		future.cancel(false);
+		assertThat(this.scheduler.getPendingTaskCount()).isZero();
+	}
+
+	@Test
+	void scheduleWithFixedDelayStopsAfterCancel() throws Exception {
+		AtomicInteger count = new AtomicInteger();
+		CountDownLatch latch = new CountDownLatch(2);
+		ScheduledFuture<?> future = this.scheduler.scheduleWithFixedDelay(() -> {
+			count.incrementAndGet();
+			latch.countDown();
+		}, 10);
+		assertThat(latch.await(1, TimeUnit.SECONDS)).isTrue();
+		future.cancel(false);
+		int countAfterCancel = count.get();
+		Thread.sleep(50);
+		assertThat(count.get()).isLessThanOrEqualTo(countAfterCancel + 1);
+	}
+
+	@Test
+	void scheduleTriggerTask() throws Exception {
+		CountDownLatch latch = new CountDownLatch(3);
+		ScheduledFuture<?> future = this.scheduler.schedule(latch::countDown, new PeriodicTrigger(10));
+		assertThat(future).isNotNull();
+		assertThat(latch.await(1, TimeUnit.SECONDS)).isTrue();
+		future.cancel(false);
+	}
+
+	@Test
+	void scheduleTriggerTaskWithoutExecutionTime() {
+		assertThat(this.scheduler.schedule(() -> {}, triggerContext -> null)).isNull();
+	}
+
+	@Test
+	void scheduleTriggerTaskWithFailingTrigger() throws Exception {
+		AtomicInteger count = new AtomicInteger();
+		ScheduledFuture<?> future = this.scheduler.schedule(count::incrementAndGet, triggerContext -> {
+			if (triggerContext.lastCompletionTime() != null) {
+				throw new IllegalStateException("boom");
+			}
+			return new Date();
+		});
+		assertThat(future).isNotNull();
+		assertThatExceptionOfType(ExecutionException.class).isThrownBy(() -> future.get(1, TimeUnit.SECONDS))
+				.withCauseInstanceOf(IllegalStateException.class);
+		assertThat(count.get()).isEqualTo(1);
+		assertThat(this.scheduler.getPendingTaskCount()).isZero();
+
+		// The worker thread keeps running other tasks
+		this.scheduler.schedule(count::incrementAndGet, new Date()).get(1, TimeUnit.SECONDS);
+		assertThat(count.get()).isEqualTo(2);
+	}
+
+	@Test
+	void runTasksOnTaskExecutor() throws Exception {
+		ExecutorService executor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("wheel-task-"));
+		try {
+			this.scheduler.setTaskExecutor(executor);
+			AtomicReference<String> threadName = new AtomicReference<>();
+			this.scheduler.schedule(() -> threadName.set(Thread.currentThread().getName()), new Date())
+					.get(1, TimeUnit.SECONDS);
+			assertThat(threadName.get()).startsWith("wheel-task-");
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void runTasksOnWorkerThreadIfTaskExecutorFails() throws Exception {
+		this.scheduler.setTaskExecutor(task -> {
+			throw new IllegalStateException("boom");
+		});
+		AtomicInteger count = new AtomicInteger();
+		ScheduledFuture<?> future1 = this.scheduler.schedule(count::incrementAndGet, new Date());
+		ScheduledFuture<?> future2 = this.scheduler.schedule(count::incrementAndGet, new Date());
+		future1.get(1, TimeUnit.SECONDS);
+		future2.get(1, TimeUnit.SECONDS);
+		assertThat(count.get()).isEqualTo(2);
+	}
+
+	@Test
+	void shutdownCancelsPendingTasks() {
+		ScheduledFuture<?> future = this.scheduler.schedule(() -> {}, inMillis(10_000));
+		this.scheduler.shutdown();
+		assertThat(future.isCancelled()).isTrue();
+		assertThat(this.scheduler.getPendingTaskCount()).isZero();
+		assertThatExceptionOfType(TaskRejectedException.class).isThrownBy(() ->
+				this.scheduler.schedule(() -> {}, new Date()));
+	}
+
+
+	private static Date inMillis(long millis) {
+		return new Date(System.currentTimeMillis() + millis);
+	}
+
+}
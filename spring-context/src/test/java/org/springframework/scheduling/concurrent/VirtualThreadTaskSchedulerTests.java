@@ -0,0 +1,152 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.concurrent;
+
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.scheduling.support.PeriodicTrigger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link VirtualThreadTaskScheduler}.
+ */
+class VirtualThreadTaskSchedulerTests {
+
+	private final VirtualThreadTaskScheduler scheduler = new VirtualThreadTaskScheduler("vts-");
+
+
+	@AfterEach
+	void shutdownScheduler() {
+		this.scheduler.destroy();
+	}
+
+
+	@Test
+	void scheduleOneTimeTask() throws Exception {
+		AtomicReference<String> threadName = new AtomicReference<>();
+		ScheduledFuture<?> future = this.scheduler.schedule(
+				() -> threadName.set(Thread.currentThread().getName()), new Date(System.currentTimeMillis() + 10));
+		future.get(1, TimeUnit.SECONDS);
+		assertThat(future.isDone()).isTrue();
+		assertThat(threadName.get()).startsWith("vts-").doesNotContain("scheduler");
+	}
+
+	@Test
+	void scheduleTriggerTask() throws Exception {
+		CountDownLatch latch = new CountDownLatch(3);
+		ScheduledFuture<?> future = this.scheduler.schedule(latch::countDown, new PeriodicTrigger(10));
+		assertThat(latch.await(1, TimeUnit.SECONDS)).isTrue();
+		future.cancel(true);
+		assertThat(future.isCancelled()).isTrue();
+	}
+
+	@Test
+	void scheduleWithFixedDelayCanBeCancelled() throws Exception {
+		AtomicInteger count = new AtomicInteger();
+		CountDownLatch latch = new CountDownLatch(2);
+		ScheduledFuture<?> future = this.scheduler.scheduleWithFixedDelay(() -> {
+			count.incrementAndGet();
+			latch.countDown();
+		}, 10);
+		assertThat(latch.await(1, TimeUnit.SECONDS)).isTrue();
+		future.cancel(false);
+		int countAfterCancel = count.get();
+		Thread.sleep(50);
+		assertThat(count.get()).isLessThanOrEqualTo(countAfterCancel + 1);
+	}
+
+	@Test
+	void repeatingTaskSurvivesFailureWithErrorHandler() throws Exception {
+		AtomicInteger errors = new AtomicInteger();
+		this.scheduler.setErrorHandler(ex -> errors.incrementAndGet());
+		CountDownLatch latch = new CountDownLatch(3);
+		ScheduledFuture<?> future = this.scheduler.scheduleAtFixedRate(() -> {
+			latch.countDown();
+			throw new IllegalStateException("boom");
+		}, 10);
+		assertThat(latch.await(1, TimeUnit.SECONDS)).isTrue();
+		future.cancel(true);
+		assertThat(errors.get()).isGreaterThanOrEqualTo(2);
+	}
+
+	@Test
+	void concurrencyLimitAppliesToScheduledTasks() throws Exception {
+		this.scheduler.setConcurrencyLimit(1);
+		AtomicInteger active = new AtomicInteger();
+		AtomicInteger maxActive = new AtomicInteger();
+		CountDownLatch latch = new CountDownLatch(4);
+		for (int i = 0; i < 4; i++) {
+			this.scheduler.schedule(() -> {
+				maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+				try {
+					Thread.sleep(10);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+				finally {
+					active.decrementAndGet();
+					latch.countDown();
+				}
+			}, new Date());
+		}
+		assertThat(latch.await(1, TimeUnit.SECONDS)).isTrue();
+		assertThat(maxActive.get()).isEqualTo(1);
+	}
+
+	@Test
+	void tasksWaitingForPermitDoNotRunAfterShutdown() throws Exception {
+		this.scheduler.setConcurrencyLimit(1);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		this.scheduler.schedule(() -> {
+			started.countDown();
+			try {
+				release.await();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}, new Date());
+		assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+
+		// Handed off without blocking the scheduler thread, waiting for a permit
+		AtomicInteger count = new AtomicInteger();
+		ScheduledFuture<?> future1 = this.scheduler.schedule(count::incrementAndGet, new Date());
+		ScheduledFuture<?> future2 = this.scheduler.schedule(count::incrementAndGet, new Date());
+		Thread.sleep(50);
+		assertThat(future1.isDone()).isFalse();
+		assertThat(future2.isDone()).isFalse();
+
+		this.scheduler.shutdown();
+		release.countDown();
+		Thread.sleep(50);
+		assertThat(future1.isCancelled()).isTrue();
+		assertThat(future2.isCancelled()).isTrue();
+		assertThat(count.get()).isZero();
+	}
+
+}
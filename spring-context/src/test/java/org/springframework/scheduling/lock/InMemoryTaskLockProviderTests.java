@@ -0,0 +1,89 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.lock;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link InMemoryTaskLockProvider}.
+ */
+class InMemoryTaskLockProviderTests {
+
+	private final InMemoryTaskLockProvider provider = new InMemoryTaskLockProvider();
+
+	private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+
+	@BeforeEach
+	void setup() {
+		advance(0);
+	}
+
+	@Test
+	void lockIsExclusiveUntilReleased() {
+		TaskLock lock = this.provider.tryLock("task", Duration.ofMinutes(1), Duration.ZERO);
+		assertThat(lock).isNotNull();
+		assertThat(this.provider.isLocked("task")).isTrue();
+		assertThat(this.provider.tryLock("task", Duration.ofMinutes(1), Duration.ZERO)).isNull();
+		assertThat(this.provider.tryLock("other", Duration.ofMinutes(1), Duration.ZERO)).isNotNull();
+
+		lock.unlock();
+		assertThat(this.provider.isLocked("task")).isFalse();
+		assertThat(this.provider.tryLock("task", Duration.ofMinutes(1), Duration.ZERO)).isNotNull();
+	}
+
+	@Test
+	void lockExpiresAfterLeaseTime() {
+		TaskLock lock = this.provider.tryLock("task", Duration.ofMinutes(1), Duration.ZERO);
+		assertThat(lock).isNotNull();
+		advance(61);
+		assertThat(this.provider.isLocked("task")).isFalse();
+		TaskLock other = this.provider.tryLock("task", Duration.ofMinutes(1), Duration.ZERO);
+		assertThat(other).isNotNull();
+
+		// Releasing the expired lock must not release the new one
+		lock.unlock();
+		assertThat(this.provider.isLocked("task")).isTrue();
+	}
+
+	@Test
+	void lockIsHeldForMinLeaseTimeAfterRelease() {
+		TaskLock lock = this.provider.tryLock("task", Duration.ofMinutes(10), Duration.ofMinutes(1));
+		assertThat(lock).isNotNull();
+		advance(10);
+		lock.unlock();
+		assertThat(this.provider.isLocked("task")).isTrue();
+		assertThat(this.provider.tryLock("task", Duration.ofMinutes(10), Duration.ZERO)).isNull();
+
+		advance(50);
+		assertThat(this.provider.tryLock("task", Duration.ofMinutes(10), Duration.ZERO)).isNotNull();
+	}
+
+	private void advance(long seconds) {
+		this.now = this.now.plusSeconds(seconds);
+		this.provider.setClock(Clock.fixed(this.now, ZoneOffset.UTC));
+	}
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.lock;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link LockedTaskRunnable}.
+ */
+class LockedTaskRunnableTests {
+
+	private final InMemoryTaskLockProvider provider = new InMemoryTaskLockProvider();
+
+
+	@Test
+	void runsDelegateWhileHoldingLock() {
+		List<Boolean> locked = new ArrayList<>();
+		Runnable task = new LockedTaskRunnable(() -> locked.add(this.provider.isLocked("task")),
+				this.provider, "task", Duration.ofMinutes(1));
+
+		task.run();
+		assertThat(locked).containsExactly(true);
+		assertThat(this.provider.isLocked("task")).isFalse();
+	}
+
+	@Test
+	void skipsDelegateIfLockIsHeld() {
+		List<String> runs = new ArrayList<>();
+		Runnable task = new LockedTaskRunnable(() -> runs.add("run"), this.provider, "task", Duration.ofMinutes(1));
+		TaskLock lock = this.provider.tryLock("task", Duration.ofMinutes(1), Duration.ZERO);
+
+		task.run();
+		assertThat(runs).isEmpty();
+
+		lock.unlock();
+		task.run();
+		assertThat(runs).containsExactly("run");
+	}
+
+	@Test
+	void releasesLockIfDelegateFails() {
+		Runnable task = new LockedTaskRunnable(() -> {
+			throw new IllegalStateException("failed");
+		}, this.provider, "task", Duration.ofMinutes(1));
+
+		assertThatIllegalStateException().isThrownBy(task::run);
+		assertThat(this.provider.isLocked("task")).isFalse();
+	}
+
+	@Test
+	void runsEachUnlockedPartition() {
+		List<TaskPartition> partitions = new ArrayList<>();
+		Runnable task = new LockedTaskRunnable(() -> partitions.add(TaskPartition.current()),
+				this.provider, "task", Duration.ofMinutes(1), Duration.ZERO, 4);
+		this.provider.tryLock("task#2", Duration.ofMinutes(1), Duration.ZERO);
+
+		task.run();
+		assertThat(partitions.stream().map(TaskPartition::getIndex).collect(Collectors.toList()))
+				.containsExactlyInAnyOrder(0, 1, 3);
+		assertThat(partitions).allSatisfy(partition -> assertThat(partition.getCount()).isEqualTo(4));
+		assertThat(TaskPartition.current()).isNull();
+	}
+
+	@Test
+	void partitionsCoverAllKeys() {
+		TaskPartition[] partitions = new TaskPartition[3];
+		for (int i = 0; i < partitions.length; i++) {
+			partitions[i] = new TaskPartition(i, partitions.length);
+		}
+		for (long key = -100; key < 100; key++) {
+			int matches = 0;
+			for (TaskPartition partition : partitions) {
+				if (partition.contains(key)) {
+					assertThat(partition.contains((Object) key)).isTrue();
+					matches++;
+				}
+			}
+			assertThat(matches).isEqualTo(1);
+		}
+	}
+
+	@Test
+	void invalidLeaseTimes() {
+		Runnable task = () -> {};
+		assertThatIllegalArgumentException().isThrownBy(() ->
+				new LockedTaskRunnable(task, this.provider, "task", Duration.ZERO));
+		assertThatIllegalArgumentException().isThrownBy(() ->
+				new LockedTaskRunnable(task, this.provider, "task", Duration.ofSeconds(1), Duration.ofSeconds(2), 1));
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,11 +17,13 @@
 package org.springframework.scheduling.support;
 
 import java.time.DayOfWeek;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.Year;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.temporal.Temporal;
 
@@ -1371,4 +1373,69 @@ class CronExpressionTests {
 		assertThat(actual).isEqualTo(expected);
 	}
 
+	@Test
+	void nextEpochMilli() {
+		CronExpression expression = CronExpression.parse("0 */15 9-17 * * MON-FRI");
+		ZoneId zone = ZoneId.of("Europe/Berlin");
+		ZonedDateTime last = ZonedDateTime.parse("2024-05-03T17:45:00.500+02:00[Europe/Berlin]");
+		long next = expression.nextEpochMilli(last.toInstant().toEpochMilli(), zone);
+		assertThat(Instant.ofEpochMilli(next).atZone(zone))
+				.isEqualTo(ZonedDateTime.parse("2024-05-06T09:00+02:00[Europe/Berlin]"))
+				.isEqualTo(expression.next(last));
+	}
+
+	@Test
+	void nextEpochMilliAcrossDaylightSavingTime() {
+		CronExpression expression = CronExpression.parse("0 30 2 * * *");
+		ZoneId zone = ZoneId.of("Europe/Amsterdam");
+		ZonedDateTime last = ZonedDateTime.parse("2021-03-27T03:00:00+01:00[Europe/Amsterdam]");
+		long next = expression.nextEpochMilli(last.toInstant().toEpochMilli(), zone);
+		assertThat(Instant.ofEpochMilli(next).atZone(zone))
+				.isEqualTo(ZonedDateTime.parse("2021-03-29T02:30+02:00[Europe/Amsterdam]"))
+				.isEqualTo(expression.next(last));
+	}
+
+	@Test
+	void nextEpochMilliWithQuartzField() {
+		CronExpression expression = CronExpression.parse("0 0 0 L * *");
+		long next = expression.nextEpochMilli(
+				LocalDateTime.of(2024, 2, 10, 0, 0).toInstant(ZoneOffset.UTC).toEpochMilli(), ZoneOffset.UTC);
+		assertThat(next).isEqualTo(LocalDateTime.of(2024, 2, 29, 0, 0).toInstant(ZoneOffset.UTC).toEpochMilli());
+	}
+
+	@Test
+	void nextEpochMilliWithoutMatch() {
+		CronExpression expression = CronExpression.parse("0 0 0 30 2 *");
+		assertThat(expression.nextEpochMilli(System.currentTimeMillis(), ZoneOffset.UTC)).isEqualTo(-1);
+	}
+
+	@Test
+	void nextEpochMillis() {
+		CronExpression expression = CronExpression.parse("0 0 0 29 2 *");
+		long start = LocalDateTime.of(2023, 1, 1, 0, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+		long[] matches = new long[3];
+		assertThat(expression.nextEpochMillis(start, ZoneOffset.UTC, matches)).isEqualTo(3);
+		assertThat(matches).containsExactly(
+				LocalDateTime.of(2024, 2, 29, 0, 0).toInstant(ZoneOffset.UTC).toEpochMilli(),
+				LocalDateTime.of(2028, 2, 29, 0, 0).toInstant(ZoneOffset.UTC).toEpochMilli(),
+				LocalDateTime.of(2032, 2, 29, 0, 0).toInstant(ZoneOffset.UTC).toEpochMilli());
+
+		expression = CronExpression.parse("0 0 0 30 2 *");
+		assertThat(expression.nextEpochMillis(start, ZoneOffset.UTC, matches)).isZero();
+	}
+
+	@Test
+	void nextEpochMillisMatchesNext() {
+		CronExpression expression = CronExpression.parse("*/20 1-10/3 */7 1-5,20-25 * SUN-THU");
+		ZoneId zone = ZoneId.of("America/New_York");
+		ZonedDateTime last = ZonedDateTime.parse("2023-10-29T05:07:13-04:00[America/New_York]");
+		long[] matches = new long[300];
+		assertThat(expression.nextEpochMillis(last.toInstant().toEpochMilli(), zone, matches)).isEqualTo(300);
+		for (long match : matches) {
+			last = expression.next(last);
+			assertThat(last).isNotNull();
+			assertThat(match).isEqualTo(last.toInstant().toEpochMilli());
+		}
+	}
+
 }
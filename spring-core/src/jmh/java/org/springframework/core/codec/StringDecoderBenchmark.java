@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -41,7 +41,8 @@ import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.util.MimeType;
 
 /**
- * Benchmarks for {@link DataBufferUtils}.
+ * Benchmarks for {@link StringDecoder} and the delimiter matching of
+ * {@link DataBufferUtils#matcher(byte[]...)}.
  *
  * @author Rossen Stoyanchev
  */
@@ -53,6 +54,16 @@ public class StringDecoderBenchmark {
 		blackhole.consume(state.parseLines().blockLast());
 	}
 
+	@Benchmark
+	public int matchLines(LinesState state) {
+		return state.countLines(DataBufferUtils.matcher(state.delimiters));
+	}
+
+	@Benchmark
+	public int matchLinesByteByByte(LinesState state) {
+		return state.countLines(new ByteByByteMatcher(state.delimiters));
+	}
+
 
 	@State(Scope.Benchmark)
 	@SuppressWarnings({"NotNullFieldNotInitialized", "ConstantConditions"})
@@ -108,4 +119,101 @@ public class StringDecoderBenchmark {
 		}
 	}
 
+
+	@State(Scope.Benchmark)
+	@SuppressWarnings("NotNullFieldNotInitialized")
+	public static class LinesState {
+
+		@Param({"16", "256"})
+		int lineLength;
+
+		@Param({"LF", "CRLF"})
+		String lineSeparator;
+
+		@Param({"heap", "direct"})
+		String bufferType;
+
+		byte[][] delimiters;
+
+		DataBuffer buffer;
+
+
+		@Setup(Level.Trial)
+		public void setup() {
+			byte[] separator = (this.lineSeparator.equals("LF") ? "\n" : "\r\n").getBytes(StandardCharsets.UTF_8);
+			this.delimiters = new byte[][] {"\r\n".getBytes(StandardCharsets.UTF_8), "\n".getBytes(StandardCharsets.UTF_8)};
+			DataBufferFactory bufferFactory = new DefaultDataBufferFactory(this.bufferType.equals("direct"));
+			this.buffer = bufferFactory.allocateBuffer(1024 * 1024);
+			byte[] line = new byte[this.lineLength - separator.length];
+			Arrays.fill(line, (byte) 'a');
+			while (this.buffer.writableByteCount() >= this.lineLength) {
+				this.buffer.write(line);
+				this.buffer.write(separator);
+			}
+		}
+
+		public int countLines(DataBufferUtils.Matcher matcher) {
+			int count = 0;
+			this.buffer.readPosition(0);
+			int endIndex;
+			while ((endIndex = matcher.match(this.buffer)) != -1) {
+				this.buffer.readPosition(endIndex + 1);
+				count++;
+			}
+			return count;
+		}
+	}
+
+
+	/**
+	 * Baseline matcher that checks one byte at a time through
+	 * {@link DataBuffer#getByte(int)}.
+	 */
+	static class ByteByByteMatcher implements DataBufferUtils.Matcher {
+
+		private final byte[][] delimiters;
+
+		private byte[] delimiter = new byte[0];
+
+		ByteByByteMatcher(byte[][] delimiters) {
+			this.delimiters = delimiters;
+		}
+
+		@Override
+		public int match(DataBuffer dataBuffer) {
+			for (int pos = dataBuffer.readPosition(); pos < dataBuffer.writePosition(); pos++) {
+				byte b = dataBuffer.getByte(pos);
+				for (byte[] candidate : this.delimiters) {
+					if (b == candidate[candidate.length - 1] && endsWith(dataBuffer, pos, candidate)) {
+						this.delimiter = candidate;
+						return pos;
+					}
+				}
+			}
+			return -1;
+		}
+
+		private static boolean endsWith(DataBuffer dataBuffer, int pos, byte[] candidate) {
+			int start = pos - candidate.length + 1;
+			if (start < dataBuffer.readPosition()) {
+				return false;
+			}
+			for (int i = 0; i < candidate.length; i++) {
+				if (dataBuffer.getByte(start + i) != candidate[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public byte[] delimiter() {
+			return this.delimiter;
+		}
+
+		@Override
+		public void reset() {
+		}
+	}
+
 }
@@ -20,6 +20,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.nio.channels.AsynchronousFileChannel;
 import java.nio.channels.Channel;
@@ -30,6 +31,7 @@ import java.nio.channels.WritableByteChannel;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.Callable;
@@ -233,6 +235,91 @@ public abstract class DataBufferUtils {
 		return position == 0 ? result : skipUntilByteCount(result, position);
 	}
 
+	/**
+	 * Read the given {@code Resource} into a {@code Flux} of read-only
+	 * {@code DataBuffer}s backed by a memory mapping of the resource file.
+	 * @param resource the resource to read from
+	 * @param bufferFactory the factory to wrap the mapped buffers with
+	 * @param bufferSize the maximum size of the data buffers
+	 * @param mappedFileCache the cache of mappings to use
+	 * @return a Flux of data buffers read from the given resource
+	 * @since 5.3.39
+	 * @see #readMapped(Resource, long, DataBufferFactory, int, MappedFileCache)
+	 */
+	public static Flux<DataBuffer> readMapped(Resource resource, DataBufferFactory bufferFactory,
+			int bufferSize, MappedFileCache mappedFileCache) {
+
+		return readMapped(resource, 0, bufferFactory, bufferSize, mappedFileCache);
+	}
+
+	/**
+	 * Read the given {@code Resource} into a {@code Flux} of read-only
+	 * {@code DataBuffer}s backed by a memory mapping of the resource file,
+	 * starting at the given position.
+	 * <p>If the resource is a file that can be mapped, the file is mapped once
+	 * through the given {@link MappedFileCache}, and each data buffer wraps a
+	 * slice of the shared mapping, without copying. Otherwise, this method falls
+	 * back on {@link #read(Resource, long, DataBufferFactory, int)}.
+	 * @param resource the resource to read from
+	 * @param position the position to start reading from
+	 * @param bufferFactory the factory to wrap the mapped buffers with
+	 * @param bufferSize the maximum size of the data buffers
+	 * @param mappedFileCache the cache of mappings to use
+	 * @return a Flux of data buffers read from the given resource
+	 * @since 5.3.39
+	 */
+	public static Flux<DataBuffer> readMapped(Resource resource, long position,
+			DataBufferFactory bufferFactory, int bufferSize, MappedFileCache mappedFileCache) {
+
+		Assert.notNull(resource, "Resource must not be null");
+		Assert.isTrue(position >= 0, "'position' must be >= 0");
+		Assert.notNull(bufferFactory, "'bufferFactory' must not be null");
+		Assert.isTrue(bufferSize > 0, "'bufferSize' must be > 0");
+		Assert.notNull(mappedFileCache, "MappedFileCache must not be null");
+
+		return Flux.defer(() -> {
+			Path file;
+			try {
+				file = (resource.isFile() ? resource.getFile().toPath() : null);
+			}
+			catch (IOException ignore) {
+				// fallback to read(), below
+				file = null;
+			}
+			if (file != null) {
+				ByteBuffer mapping;
+				try {
+					mapping = mappedFileCache.getMapping(file);
+				}
+				catch (IOException ex) {
+					return Flux.error(ex);
+				}
+				if (mapping != null) {
+					return readMappedBuffer(mapping, position, bufferFactory, bufferSize);
+				}
+			}
+			return read(resource, position, bufferFactory, bufferSize);
+		});
+	}
+
+	private static Flux<DataBuffer> readMappedBuffer(
+			ByteBuffer mapping, long position, DataBufferFactory bufferFactory, int bufferSize) {
+
+		int limit = mapping.capacity();
+		return Flux.<DataBuffer, Integer>generate(() -> (int) Math.min(position, limit), (index, sink) -> {
+			if (index >= limit) {
+				sink.complete();
+				return index;
+			}
+			int length = Math.min(bufferSize, limit - index);
+			ByteBuffer slice = mapping.duplicate();
+			((Buffer) slice).limit(index + length);
+			((Buffer) slice).position(index);
+			sink.next(bufferFactory.wrap(slice.slice()));
+			return index + length;
+		});
+	}
+
 
 	//---------------------------------------------------------------------
 	// Writing
@@ -605,7 +692,11 @@ public abstract class DataBufferUtils {
 	 */
 	public static Matcher matcher(byte[]... delimiters) {
 		Assert.isTrue(delimiters.length > 0, "Delimiters must not be empty");
-		return (delimiters.length == 1 ? createMatcher(delimiters[0]) : new CompositeMatcher(delimiters));
+		if (delimiters.length == 1) {
+			return createMatcher(delimiters[0]);
+		}
+		return (LastByteMatcher.supports(delimiters) ?
+				new LastByteMatcher(delimiters) : new CompositeMatcher(delimiters));
 	}
 
 	private static NestedMatcher createMatcher(byte[] delimiter) {
@@ -620,6 +711,17 @@ public abstract class DataBufferUtils {
 		}
 	}
 
+	/**
+	 * Return the index of the first byte from the given index on that equals
+	 * the given value, scanning the underlying buffer in bulk if possible.
+	 */
+	private static int indexOf(DataBuffer dataBuffer, byte value, int fromIndex) {
+		if (dataBuffer instanceof DefaultDataBuffer) {
+			return ((DefaultDataBuffer) dataBuffer).indexOf(value, fromIndex, dataBuffer.writePosition());
+		}
+		return dataBuffer.indexOf(b -> b == value, fromIndex);
+	}
+
 
 	/**
 	 * Contract to find delimiter(s) against one or more data buffers that can
@@ -739,13 +841,7 @@ public abstract class DataBufferUtils {
 
 		@Override
 		public int match(DataBuffer dataBuffer) {
-			for (int pos = dataBuffer.readPosition(); pos < dataBuffer.writePosition(); pos++) {
-				byte b = dataBuffer.getByte(pos);
-				if (match(b)) {
-					return pos;
-				}
-			}
-			return -1;
+			return indexOf(dataBuffer, this.delimiter[0], dataBuffer.readPosition());
 		}
 
 		@Override
@@ -829,6 +925,14 @@ public abstract class DataBufferUtils {
 			super(delimiter);
 			Assert.isTrue(delimiter.length == 2, "Expected a 2-byte delimiter");
 		}
+
+		@Override
+		public boolean match(byte b) {
+			if (getMatches() == 1 && b != delimiter()[1]) {
+				setMatches(0);
+			}
+			return super.match(b);
+		}
 	}
 
 
@@ -871,6 +975,102 @@ public abstract class DataBufferUtils {
 	}
 
 
+	/**
+	 * Matcher for delimiters that all end with the same byte, such as
+	 * {@code "\r\n"} and {@code "\n"}. Scans for that byte in bulk, and then
+	 * checks the preceding bytes, keeping the last bytes of data buffers
+	 * without a match to check delimiters that span data buffers.
+	 */
+	private static class LastByteMatcher implements Matcher {
+
+		private final byte[][] delimiters;
+
+		private final byte lastByte;
+
+		private final byte[] history;
+
+		private int historyLength;
+
+		@Nullable
+		private byte[] matchedDelimiter;
+
+		LastByteMatcher(byte[][] delimiters) {
+			Assert.isTrue(supports(delimiters), "Expected delimiters that end with the same byte");
+			this.delimiters = delimiters.clone();
+			// Longest first, to prefer the longest delimiter ending at the same position
+			Arrays.sort(this.delimiters, (d1, d2) -> Integer.compare(d2.length, d1.length));
+			this.lastByte = this.delimiters[0][this.delimiters[0].length - 1];
+			this.history = new byte[this.delimiters[0].length - 1];
+		}
+
+		static boolean supports(byte[][] delimiters) {
+			for (byte[] delimiter : delimiters) {
+				Assert.isTrue(delimiter.length > 0, "Delimiter must not be empty");
+				if (delimiter[delimiter.length - 1] != delimiters[0][delimiters[0].length - 1]) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public int match(DataBuffer dataBuffer) {
+			this.matchedDelimiter = null;
+			int start = dataBuffer.readPosition();
+			int pos = start;
+			while ((pos = indexOf(dataBuffer, this.lastByte, pos)) != -1) {
+				for (byte[] delimiter : this.delimiters) {
+					if (endsWith(dataBuffer, start, pos, delimiter)) {
+						this.matchedDelimiter = delimiter;
+						reset();
+						return pos;
+					}
+				}
+				pos++;
+			}
+			addHistory(dataBuffer, start);
+			return -1;
+		}
+
+		private boolean endsWith(DataBuffer dataBuffer, int start, int pos, byte[] delimiter) {
+			if (delimiter.length - 1 > pos - start + this.historyLength) {
+				return false;
+			}
+			for (int i = 1; i < delimiter.length; i++) {
+				int index = pos - i;
+				byte b = (index >= start ? dataBuffer.getByte(index) :
+						this.history[this.historyLength - (start - index)]);
+				if (b != delimiter[delimiter.length - 1 - i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private void addHistory(DataBuffer dataBuffer, int start) {
+			int end = dataBuffer.writePosition();
+			int count = Math.min(end - start, this.history.length);
+			int kept = Math.min(this.historyLength, this.history.length - count);
+			System.arraycopy(this.history, this.historyLength - kept, this.history, 0, kept);
+			for (int i = 0; i < count; i++) {
+				this.history[kept + i] = dataBuffer.getByte(end - count + i);
+			}
+			this.historyLength = kept + count;
+		}
+
+		@Override
+		public byte[] delimiter() {
+			Assert.state(this.matchedDelimiter != null, "'delimiter' not set");
+			return this.matchedDelimiter;
+		}
+
+		@Override
+		public void reset() {
+			this.historyLength = 0;
+		}
+	}
+
+
 	private static class ReadableByteChannelGenerator implements Consumer<SynchronousSink<DataBuffer>> {
 
 		private final ReadableByteChannel channel;
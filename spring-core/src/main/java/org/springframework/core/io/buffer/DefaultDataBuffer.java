@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,6 +21,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.charset.Charset;
 import java.util.Arrays;
 import java.util.function.IntPredicate;
@@ -61,7 +62,7 @@ public class DefaultDataBuffer implements DataBuffer {
 	private int writePosition;
 
 
-	private DefaultDataBuffer(DefaultDataBufferFactory dataBufferFactory, ByteBuffer byteBuffer) {
+	DefaultDataBuffer(DefaultDataBufferFactory dataBufferFactory, ByteBuffer byteBuffer) {
 		Assert.notNull(dataBufferFactory, "DefaultDataBufferFactory must not be null");
 		Assert.notNull(byteBuffer, "ByteBuffer must not be null");
 		this.dataBufferFactory = dataBufferFactory;
@@ -93,7 +94,7 @@ public class DefaultDataBuffer implements DataBuffer {
 		return this.byteBuffer;
 	}
 
-	private void setNativeBuffer(ByteBuffer byteBuffer) {
+	void setNativeBuffer(ByteBuffer byteBuffer) {
 		this.byteBuffer = byteBuffer;
 		this.capacity = byteBuffer.remaining();
 	}
@@ -135,6 +136,34 @@ public class DefaultDataBuffer implements DataBuffer {
 		return -1;
 	}
 
+	/**
+	 * Return the index of the first byte between {@code fromIndex} (inclusive)
+	 * and {@code toIndex} (exclusive) that equals the given value, or -1 if none.
+	 * <p>Compares eight bytes at a time, reading the underlying buffer as longs
+	 * and testing all of their bytes at once.
+	 */
+	int indexOf(byte value, int fromIndex, int toIndex) {
+		ByteBuffer buffer = this.byteBuffer;
+		boolean bigEndian = (buffer.order() == ByteOrder.BIG_ENDIAN);
+		long pattern = (value & 0xFFL) * 0x0101010101010101L;
+		int i = fromIndex;
+		for (; i <= toIndex - Long.BYTES; i += Long.BYTES) {
+			long word = buffer.getLong(i) ^ pattern;
+			// Sets the high bit of each byte of the word that is zero, i.e. that matched
+			long matches = ~((word & 0x7F7F7F7F7F7F7F7FL) + 0x7F7F7F7F7F7F7F7FL | word | 0x7F7F7F7F7F7F7F7FL);
+			if (matches != 0) {
+				int zeros = (bigEndian ? Long.numberOfLeadingZeros(matches) : Long.numberOfTrailingZeros(matches));
+				return i + (zeros >>> 3);
+			}
+		}
+		for (; i < toIndex; i++) {
+			if (buffer.get(i) == value) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
 	@Override
 	public int readableByteCount() {
 		return this.writePosition - this.readPosition;
@@ -228,7 +257,11 @@ public class DefaultDataBuffer implements DataBuffer {
 		return this;
 	}
 
-	private static ByteBuffer allocate(int capacity, boolean direct) {
+	/**
+	 * Allocate a native buffer for a change of {@linkplain #capacity(int) capacity}.
+	 * Overridden by buffers that take their memory from a pool.
+	 */
+	ByteBuffer allocate(int capacity, boolean direct) {
 		return (direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity));
 	}
 
@@ -341,13 +374,21 @@ public class DefaultDataBuffer implements DataBuffer {
 			ByteBuffer slice = this.byteBuffer.slice();
 			// Explicit cast for compatibility with covariant return type on JDK 9's ByteBuffer
 			slice.limit(length);
-			return new SlicedDefaultDataBuffer(slice, this.dataBufferFactory, length);
+			return createSlice(slice, length);
 		}
 		finally {
 			buffer.position(oldPosition);
 		}
 	}
 
+	/**
+	 * Create a buffer for the given slice of the native buffer.
+	 * Overridden by buffers that share a reference count with their slices.
+	 */
+	DefaultDataBuffer createSlice(ByteBuffer slice, int length) {
+		return new SlicedDefaultDataBuffer(slice, this.dataBufferFactory, length);
+	}
+
 	@Override
 	public ByteBuffer asByteBuffer() {
 		return asByteBuffer(this.readPosition, readableByteCount());
@@ -516,7 +557,7 @@ public class DefaultDataBuffer implements DataBuffer {
 	}
 
 
-	private static class SlicedDefaultDataBuffer extends DefaultDataBuffer {
+	static class SlicedDefaultDataBuffer extends DefaultDataBuffer {
 
 		SlicedDefaultDataBuffer(ByteBuffer byteBuffer, DefaultDataBufferFactory dataBufferFactory, int length) {
 			super(dataBufferFactory, byteBuffer);
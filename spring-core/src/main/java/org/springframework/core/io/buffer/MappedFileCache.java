@@ -0,0 +1,249 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * Cache of read-only memory mappings of files, used by
+ * {@link DataBufferUtils#readMapped} to serve frequently read files
+ * without system calls and copies for each read.
+ *
+ * <p>A mapping is shared between all concurrent readers of a file and kept
+ * until the file changes, as detected through its size, modification time
+ * and file key, or until it is evicted as least recently used once the
+ * maximum number of mappings or mapped bytes is exceeded. Files should be
+ * replaced rather than modified in place, since readers of a file that is
+ * truncated while mapped may fail with an {@link InternalError}.
+ *
+ * <p>Mappings are never unmapped explicitly, since data buffers of earlier
+ * reads may still refer to them: an evicted mapping is released by the garbage
+ * collector once no data buffer refers to it anymore.
+ *
+ * @since 5.3.39
+ * @see DataBufferUtils#readMapped(org.springframework.core.io.Resource, long, DataBufferFactory, int, MappedFileCache)
+ */
+public class MappedFileCache {
+
+	/**
+	 * The default maximum number of mappings: {@value}.
+	 */
+	public static final int DEFAULT_MAX_MAPPINGS = 256;
+
+	/**
+	 * The default maximum number of mapped bytes: {@value}.
+	 */
+	public static final long DEFAULT_MAX_MAPPED_BYTES = 256 * 1024 * 1024;
+
+	/**
+	 * The default maximum size of files to map: {@value}.
+	 */
+	public static final long DEFAULT_MAX_FILE_SIZE = 16 * 1024 * 1024;
+
+
+	private final int maxMappings;
+
+	private final long maxMappedBytes;
+
+	private long maxFileSize = DEFAULT_MAX_FILE_SIZE;
+
+	private final LinkedHashMap<Path, Mapping> mappings = new LinkedHashMap<>(16, 0.75f, true);
+
+	private long mappedBytes;
+
+
+	/**
+	 * Create a new {@code MappedFileCache} with default limits.
+	 */
+	public MappedFileCache() {
+		this(DEFAULT_MAX_MAPPINGS, DEFAULT_MAX_MAPPED_BYTES);
+	}
+
+	/**
+	 * Create a new {@code MappedFileCache}.
+	 * @param maxMappings the maximum number of files to keep mapped
+	 * @param maxMappedBytes the maximum total size of the files to keep mapped
+	 */
+	public MappedFileCache(int maxMappings, long maxMappedBytes) {
+		Assert.isTrue(maxMappings > 0, "'maxMappings' must be larger than 0");
+		Assert.isTrue(maxMappedBytes > 0, "'maxMappedBytes' must be larger than 0");
+		this.maxMappings = maxMappings;
+		this.maxMappedBytes = maxMappedBytes;
+	}
+
+
+	/**
+	 * Set the maximum size of files to map. Larger files are read
+	 * without mapping.
+	 * <p>By default, this is set to {@value #DEFAULT_MAX_FILE_SIZE},
+	 * and it cannot exceed the maximum number of mapped bytes or 2 GB.
+	 */
+	public void setMaxFileSize(long maxFileSize) {
+		Assert.isTrue(maxFileSize >= 0 && maxFileSize <= Math.min(this.maxMappedBytes, Integer.MAX_VALUE),
+				"'maxFileSize' must be between 0 and the maximum number of mapped bytes");
+		this.maxFileSize = maxFileSize;
+	}
+
+	/**
+	 * Return the maximum size of files to map.
+	 */
+	public long getMaxFileSize() {
+		return this.maxFileSize;
+	}
+
+
+	/**
+	 * Return a read-only mapping of the current content of the given file,
+	 * mapping the file if it is not mapped yet or has changed since.
+	 * <p>The returned buffer is a view of a shared mapping: its position and
+	 * limit may be changed freely, and it covers the whole file.
+	 * @param file the file to map
+	 * @return the mapping, or {@code null} if the file is too large to be mapped
+	 * @throws IOException if the file cannot be read
+	 */
+	@Nullable
+	public ByteBuffer getMapping(Path file) throws IOException {
+		Assert.notNull(file, "File must not be null");
+		BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+		if (attributes.size() > this.maxFileSize || !attributes.isRegularFile()) {
+			return null;
+		}
+		Mapping mapping;
+		synchronized (this.mappings) {
+			mapping = this.mappings.get(file);
+		}
+		if (mapping == null || !mapping.matches(attributes)) {
+			mapping = map(file, attributes);
+			synchronized (this.mappings) {
+				Mapping previous = this.mappings.put(file, mapping);
+				if (previous != null) {
+					this.mappedBytes -= previous.buffer.capacity();
+				}
+				this.mappedBytes += mapping.buffer.capacity();
+				evict();
+			}
+		}
+		return mapping.buffer.duplicate();
+	}
+
+	private static Mapping map(Path file, BasicFileAttributes attributes) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, attributes.size());
+			return new Mapping(buffer.asReadOnlyBuffer(), attributes);
+		}
+	}
+
+	private void evict() {
+		Iterator<Mapping> iterator = this.mappings.values().iterator();
+		while ((this.mappings.size() > this.maxMappings || this.mappedBytes > this.maxMappedBytes) &&
+				iterator.hasNext()) {
+			Mapping eldest = iterator.next();
+			iterator.remove();
+			this.mappedBytes -= eldest.buffer.capacity();
+		}
+	}
+
+	/**
+	 * Remove the mapping of the given file, if any.
+	 */
+	public void evict(Path file) {
+		synchronized (this.mappings) {
+			Mapping mapping = this.mappings.remove(file);
+			if (mapping != null) {
+				this.mappedBytes -= mapping.buffer.capacity();
+			}
+		}
+	}
+
+	/**
+	 * Remove all mappings.
+	 */
+	public void clear() {
+		synchronized (this.mappings) {
+			this.mappings.clear();
+			this.mappedBytes = 0;
+		}
+	}
+
+	/**
+	 * Return the number of files currently mapped.
+	 */
+	public int getMappingCount() {
+		synchronized (this.mappings) {
+			return this.mappings.size();
+		}
+	}
+
+	/**
+	 * Return the total size of the files currently mapped.
+	 */
+	public long getMappedBytes() {
+		synchronized (this.mappings) {
+			return this.mappedBytes;
+		}
+	}
+
+
+	@Override
+	public String toString() {
+		return "MappedFileCache (maxMappings=" + this.maxMappings + ", maxMappedBytes=" + this.maxMappedBytes + ")";
+	}
+
+
+	/**
+	 * A read-only mapping of a file, with the attributes of the file when mapped.
+	 */
+	private static final class Mapping {
+
+		final ByteBuffer buffer;
+
+		private final long size;
+
+		private final FileTime lastModifiedTime;
+
+		@Nullable
+		private final Object fileKey;
+
+		Mapping(ByteBuffer buffer, BasicFileAttributes attributes) {
+			this.buffer = buffer;
+			this.size = attributes.size();
+			this.lastModifiedTime = attributes.lastModifiedTime();
+			this.fileKey = attributes.fileKey();
+		}
+
+		boolean matches(BasicFileAttributes attributes) {
+			return (this.size == attributes.size() &&
+					this.lastModifiedTime.equals(attributes.lastModifiedTime()) &&
+					ObjectUtils.nullSafeEquals(this.fileKey, attributes.fileKey()));
+		}
+	}
+
+}
@@ -0,0 +1,610 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link DefaultDataBufferFactory} that recycles the memory of released
+ * buffers, for runtimes without a Netty allocator such as Servlet containers,
+ * Jetty and Undertow. Buffers created by this factory are
+ * {@link PooledDataBuffer PooledDataBuffers}: their memory is returned to the
+ * pool once {@link DataBufferUtils#release(DataBuffer)} has been called as many
+ * times as the buffer was {@linkplain PooledDataBuffer#retain() retained},
+ * plus one. Slices share the reference count of the buffer they were taken from.
+ *
+ * <p>Memory is pooled in power-of-two size classes from 64 bytes up to the
+ * {@linkplain #setMaxPooledCapacity maximum pooled capacity}; larger buffers
+ * are allocated as with {@link DefaultDataBufferFactory}. The pool is divided
+ * into arenas selected by the allocating thread, in order to reduce contention,
+ * and each size class of an arena keeps up to
+ * {@linkplain #setMaxCachedBytes a given amount} of released memory.
+ * Direct buffers are carved out of larger chunks in order to amortize the
+ * cost of direct allocation.
+ *
+ * <p>A buffer must not be accessed after it has been released, since its memory
+ * may be handed out to a different buffer. {@linkplain #setLeakDetectionEnabled
+ * Leak detection} reports buffers that are garbage collected without having
+ * been released, together with the {@linkplain PooledDataBuffer#touch hints}
+ * recorded for them.
+ *
+ * @since 5.3.39
+ * @see org.springframework.http.server.reactive.ServletHttpHandlerAdapter#setDataBufferFactory
+ * @see org.springframework.http.server.reactive.UndertowHttpHandlerAdapter#setDataBufferFactory
+ */
+public class PooledDataBufferFactory extends DefaultDataBufferFactory {
+
+	/**
+	 * The default maximum capacity of pooled buffers: {@value}.
+	 */
+	public static final int DEFAULT_MAX_POOLED_CAPACITY = 64 * 1024;
+
+	/**
+	 * The default amount of released memory to keep per size class and arena: {@value}.
+	 */
+	public static final int DEFAULT_MAX_CACHED_BYTES = 256 * 1024;
+
+	private static final int MIN_SIZE_CLASS_SHIFT = 6;
+
+	private static final int MAX_SIZE_CLASS_SHIFT = 20;
+
+	private static final int DIRECT_CHUNK_SIZE = 64 * 1024;
+
+	private static final ByteBuffer EMPTY_BUFFER = ByteBuffer.allocate(0);
+
+	private static final Log logger = LogFactory.getLog(PooledDataBufferFactory.class);
+
+
+	private final boolean preferDirect;
+
+	private final Arena[] arenas;
+
+	private int maxPooledCapacity = DEFAULT_MAX_POOLED_CAPACITY;
+
+	private int maxCachedBytes = DEFAULT_MAX_CACHED_BYTES;
+
+	private volatile boolean leakDetectionEnabled;
+
+	private final ReferenceQueue<PooledBuffer> leakQueue = new ReferenceQueue<>();
+
+	private final Set<LeakTracker> leakTrackers = ConcurrentHashMap.newKeySet();
+
+	private final LongAdder activeBuffers = new LongAdder();
+
+	private final LongAdder poolHits = new LongAdder();
+
+	private final LongAdder poolMisses = new LongAdder();
+
+	private final LongAdder unpooledAllocations = new LongAdder();
+
+	private final LongAdder leaks = new LongAdder();
+
+
+	/**
+	 * Create a new {@code PooledDataBufferFactory} for heap buffers,
+	 * with twice as many arenas as available processors.
+	 */
+	public PooledDataBufferFactory() {
+		this(false);
+	}
+
+	/**
+	 * Create a new {@code PooledDataBufferFactory}, with twice as many
+	 * arenas as available processors.
+	 * @param preferDirect {@code true} if direct buffers are to be preferred;
+	 * {@code false} otherwise
+	 */
+	public PooledDataBufferFactory(boolean preferDirect) {
+		this(preferDirect, Runtime.getRuntime().availableProcessors() * 2);
+	}
+
+	/**
+	 * Create a new {@code PooledDataBufferFactory}.
+	 * @param preferDirect {@code true} if direct buffers are to be preferred;
+	 * {@code false} otherwise
+	 * @param arenaCount the number of arenas to divide the pool into
+	 */
+	public PooledDataBufferFactory(boolean preferDirect, int arenaCount) {
+		super(preferDirect);
+		Assert.isTrue(arenaCount > 0, "'arenaCount' must be larger than 0");
+		this.preferDirect = preferDirect;
+		this.arenas = new Arena[arenaCount];
+		for (int i = 0; i < arenaCount; i++) {
+			this.arenas[i] = new Arena();
+		}
+	}
+
+
+	/**
+	 * Set the maximum capacity of pooled buffers, rounded up to a power of two.
+	 * Larger buffers are allocated without pooling.
+	 * <p>By default, this is set to {@value #DEFAULT_MAX_POOLED_CAPACITY}.
+	 * The supported maximum is 1 MB.
+	 */
+	public void setMaxPooledCapacity(int maxPooledCapacity) {
+		Assert.isTrue(maxPooledCapacity > 0 && maxPooledCapacity <= (1 << MAX_SIZE_CLASS_SHIFT),
+				"'maxPooledCapacity' must be between 1 byte and 1 MB");
+		this.maxPooledCapacity = 1 << (MIN_SIZE_CLASS_SHIFT + sizeClassIndex(maxPooledCapacity));
+	}
+
+	/**
+	 * Return the maximum capacity of pooled buffers.
+	 */
+	public int getMaxPooledCapacity() {
+		return this.maxPooledCapacity;
+	}
+
+	/**
+	 * Set the maximum amount of released memory to keep for reuse,
+	 * per size class and arena. Memory released beyond that amount
+	 * is left to the garbage collector.
+	 * <p>By default, this is set to {@value #DEFAULT_MAX_CACHED_BYTES}.
+	 */
+	public void setMaxCachedBytes(int maxCachedBytes) {
+		Assert.isTrue(maxCachedBytes >= 0, "'maxCachedBytes' must not be negative");
+		this.maxCachedBytes = maxCachedBytes;
+	}
+
+	/**
+	 * Return the maximum amount of released memory to keep per size class and arena.
+	 */
+	public int getMaxCachedBytes() {
+		return this.maxCachedBytes;
+	}
+
+	/**
+	 * Enable or disable the detection of buffers that are garbage collected
+	 * without having been released. Detected leaks are passed to
+	 * {@link #handleLeak(List)} on subsequent allocations.
+	 * <p>By default, leak detection is disabled since it adds overhead
+	 * to every allocation.
+	 */
+	public void setLeakDetectionEnabled(boolean leakDetectionEnabled) {
+		this.leakDetectionEnabled = leakDetectionEnabled;
+	}
+
+	/**
+	 * Return whether leak detection is enabled.
+	 */
+	public boolean isLeakDetectionEnabled() {
+		return this.leakDetectionEnabled;
+	}
+
+
+	@Override
+	public DefaultDataBuffer allocateBuffer(int initialCapacity) {
+		Assert.isTrue(initialCapacity >= 0, "'initialCapacity' must not be negative");
+		boolean leakDetection = this.leakDetectionEnabled;
+		if (leakDetection) {
+			detectLeaks();
+		}
+		PooledBuffer buffer = new PooledBuffer(this, initialCapacity, this.preferDirect);
+		if (leakDetection) {
+			LeakTracker tracker = new LeakTracker(buffer, this.leakQueue);
+			this.leakTrackers.add(tracker);
+			buffer.leakTracker = tracker;
+		}
+		this.activeBuffers.increment();
+		return buffer;
+	}
+
+	/**
+	 * Acquire pooled memory for the given capacity from the arena of the current thread.
+	 * @return the memory, or {@code null} if the capacity is not pooled
+	 */
+	@Nullable
+	private ByteBuffer acquire(Arena arena, int capacity, boolean direct) {
+		if (capacity > this.maxPooledCapacity || direct != this.preferDirect) {
+			this.unpooledAllocations.increment();
+			return null;
+		}
+		SizeClass sizeClass = arena.sizeClasses[sizeClassIndex(capacity)];
+		ByteBuffer memory = sizeClass.poll();
+		if (memory != null) {
+			this.poolHits.increment();
+			return memory;
+		}
+		this.poolMisses.increment();
+		if (!direct) {
+			return ByteBuffer.allocate(sizeClass.size);
+		}
+		if (sizeClass.size >= DIRECT_CHUNK_SIZE) {
+			return ByteBuffer.allocateDirect(sizeClass.size);
+		}
+		// Carve a chunk into buffers of this size class, keeping the remainder for reuse
+		ByteBuffer chunk = ByteBuffer.allocateDirect(DIRECT_CHUNK_SIZE);
+		int maxCount = this.maxCachedBytes / sizeClass.size;
+		for (int offset = sizeClass.size; offset < DIRECT_CHUNK_SIZE; offset += sizeClass.size) {
+			if (!sizeClass.offer(view(chunk, offset, sizeClass.size), maxCount)) {
+				break;
+			}
+		}
+		return view(chunk, 0, sizeClass.size);
+	}
+
+	/**
+	 * Return pooled memory to the given arena.
+	 */
+	private void recycle(Arena arena, ByteBuffer memory) {
+		SizeClass sizeClass = arena.sizeClasses[sizeClassIndex(memory.capacity())];
+		sizeClass.offer(memory, this.maxCachedBytes / sizeClass.size);
+	}
+
+	private Arena currentArena() {
+		return this.arenas[(int) (Thread.currentThread().getId() % this.arenas.length)];
+	}
+
+	private void detectLeaks() {
+		Reference<? extends PooledBuffer> reference;
+		while ((reference = this.leakQueue.poll()) != null) {
+			LeakTracker tracker = (LeakTracker) reference;
+			if (this.leakTrackers.remove(tracker)) {
+				this.leaks.increment();
+				this.activeBuffers.decrement();
+				handleLeak(tracker.getHints());
+			}
+		}
+	}
+
+	/**
+	 * Handle a buffer that has been garbage collected without having been released.
+	 * <p>The default implementation logs an error with the given hints.
+	 * Subclasses may override this method to report leaks differently,
+	 * for example to fail tests.
+	 * @param hints the hints {@linkplain PooledDataBuffer#touch recorded}
+	 * for the buffer, if any
+	 */
+	protected void handleLeak(List<Object> hints) {
+		logger.error("DataBuffer was garbage collected without having been released, recorded hints: " + hints);
+	}
+
+
+	/**
+	 * Return the number of buffers that have been allocated and not released yet.
+	 */
+	public long getActiveBufferCount() {
+		return this.activeBuffers.sum();
+	}
+
+	/**
+	 * Return the number of allocations served from released memory.
+	 */
+	public long getPoolHitCount() {
+		return this.poolHits.sum();
+	}
+
+	/**
+	 * Return the number of allocations of pooled size that required new memory.
+	 */
+	public long getPoolMissCount() {
+		return this.poolMisses.sum();
+	}
+
+	/**
+	 * Return the number of allocations that bypassed the pool, for example
+	 * because the requested capacity exceeded the maximum pooled capacity.
+	 */
+	public long getUnpooledAllocationCount() {
+		return this.unpooledAllocations.sum();
+	}
+
+	/**
+	 * Return the number of leaked buffers detected so far.
+	 * @see #setLeakDetectionEnabled
+	 */
+	public long getLeakCount() {
+		return this.leaks.sum();
+	}
+
+	/**
+	 * Return the amount of released memory currently kept for reuse.
+	 */
+	public long getCachedBytes() {
+		long bytes = 0;
+		for (Arena arena : this.arenas) {
+			for (SizeClass sizeClass : arena.sizeClasses) {
+				bytes += (long) sizeClass.size * sizeClass.count();
+			}
+		}
+		return bytes;
+	}
+
+
+	@Override
+	public String toString() {
+		return "PooledDataBufferFactory (preferDirect=" + this.preferDirect + ", arenas=" + this.arenas.length +
+				", maxPooledCapacity=" + this.maxPooledCapacity + ")";
+	}
+
+
+	private static int sizeClassIndex(int capacity) {
+		return (capacity <= (1 << MIN_SIZE_CLASS_SHIFT) ? 0 :
+				32 - Integer.numberOfLeadingZeros(capacity - 1) - MIN_SIZE_CLASS_SHIFT);
+	}
+
+	private static ByteBuffer view(ByteBuffer memory, int index, int length) {
+		ByteBuffer duplicate = memory.duplicate();
+		// Explicit access via Buffer base type for compatibility
+		// with covariant return type on JDK 9's ByteBuffer...
+		Buffer buffer = duplicate;
+		buffer.clear();
+		buffer.position(index);
+		buffer.limit(index + length);
+		return duplicate.slice();
+	}
+
+
+	/**
+	 * Pooled memory of all size classes for a subset of allocating threads.
+	 */
+	private static final class Arena {
+
+		final SizeClass[] sizeClasses = new SizeClass[MAX_SIZE_CLASS_SHIFT - MIN_SIZE_CLASS_SHIFT + 1];
+
+		Arena() {
+			for (int i = 0; i < this.sizeClasses.length; i++) {
+				this.sizeClasses[i] = new SizeClass(1 << (MIN_SIZE_CLASS_SHIFT + i));
+			}
+		}
+	}
+
+
+	/**
+	 * Released memory of a single size within an arena.
+	 */
+	private static final class SizeClass {
+
+		final int size;
+
+		private final ArrayDeque<ByteBuffer> memory = new ArrayDeque<>();
+
+		SizeClass(int size) {
+			this.size = size;
+		}
+
+		@Nullable
+		synchronized ByteBuffer poll() {
+			return this.memory.pollLast();
+		}
+
+		synchronized boolean offer(ByteBuffer buffer, int maxCount) {
+			if (this.memory.size() >= maxCount) {
+				return false;
+			}
+			this.memory.addLast(buffer);
+			return true;
+		}
+
+		synchronized int count() {
+			return this.memory.size();
+		}
+	}
+
+
+	/**
+	 * Reference to a buffer that is enqueued if the buffer becomes unreachable
+	 * without having been released.
+	 */
+	private static final class LeakTracker extends PhantomReference<PooledBuffer> {
+
+		private final List<Object> hints = new ArrayList<>(0);
+
+		LeakTracker(PooledBuffer buffer, ReferenceQueue<PooledBuffer> queue) {
+			super(buffer, queue);
+		}
+
+		synchronized void record(Object hint) {
+			this.hints.add(hint);
+		}
+
+		synchronized List<Object> getHints() {
+			return Collections.unmodifiableList(new ArrayList<>(this.hints));
+		}
+	}
+
+
+	/**
+	 * Reference counted buffer backed by pooled memory.
+	 */
+	private static final class PooledBuffer extends DefaultDataBuffer implements PooledDataBuffer {
+
+		private static final AtomicIntegerFieldUpdater<PooledBuffer> REF_COUNT_UPDATER =
+				AtomicIntegerFieldUpdater.newUpdater(PooledBuffer.class, "refCount");
+
+		private final PooledDataBufferFactory factory;
+
+		private volatile int refCount = 1;
+
+		private Arena arena;
+
+		@Nullable
+		private ByteBuffer memory;
+
+		// Memory replaced by growing the buffer, still referenced by earlier slices and views
+		@Nullable
+		private List<ByteBuffer> previousMemory;
+
+		@Nullable
+		LeakTracker leakTracker;
+
+		PooledBuffer(PooledDataBufferFactory factory, int capacity, boolean direct) {
+			super(factory, EMPTY_BUFFER);
+			this.factory = factory;
+			this.arena = factory.currentArena();
+			setNativeBuffer(allocate(capacity, direct));
+		}
+
+		@Override
+		ByteBuffer allocate(int capacity, boolean direct) {
+			Arena arena = this.factory.currentArena();
+			ByteBuffer memory = this.factory.acquire(arena, capacity, direct);
+			this.arena = arena;
+			this.memory = memory;
+			if (memory == null) {
+				return super.allocate(capacity, direct);
+			}
+			return view(memory, 0, capacity);
+		}
+
+		@Override
+		public DefaultDataBuffer capacity(int newCapacity) {
+			ByteBuffer memory = this.memory;
+			super.capacity(newCapacity);
+			if (memory != null && memory != this.memory) {
+				// Recycled on release only, since slices and views may still read it
+				if (this.previousMemory == null) {
+					this.previousMemory = new ArrayList<>(1);
+				}
+				this.previousMemory.add(memory);
+			}
+			return this;
+		}
+
+		@Override
+		DefaultDataBuffer createSlice(ByteBuffer slice, int length) {
+			return new PooledSlice(this, slice, length);
+		}
+
+		@Override
+		public boolean isAllocated() {
+			return (this.refCount > 0);
+		}
+
+		@Override
+		public PooledDataBuffer retain() {
+			for (;;) {
+				int refCount = this.refCount;
+				if (refCount <= 0) {
+					throw new IllegalStateException("Cannot retain released buffer: " + this);
+				}
+				if (REF_COUNT_UPDATER.compareAndSet(this, refCount, refCount + 1)) {
+					return this;
+				}
+			}
+		}
+
+		@Override
+		public PooledDataBuffer touch(Object hint) {
+			LeakTracker tracker = this.leakTracker;
+			if (tracker != null) {
+				tracker.record(hint);
+			}
+			return this;
+		}
+
+		@Override
+		public boolean release() {
+			for (;;) {
+				int refCount = this.refCount;
+				if (refCount <= 0) {
+					throw new IllegalStateException("Buffer has been released already: " + this);
+				}
+				if (REF_COUNT_UPDATER.compareAndSet(this, refCount, refCount - 1)) {
+					if (refCount > 1) {
+						return false;
+					}
+					deallocate();
+					return true;
+				}
+			}
+		}
+
+		private void deallocate() {
+			ByteBuffer memory = this.memory;
+			this.memory = null;
+			setNativeBuffer(EMPTY_BUFFER);
+			LeakTracker tracker = this.leakTracker;
+			if (tracker != null) {
+				this.leakTracker = null;
+				this.factory.leakTrackers.remove(tracker);
+				tracker.clear();
+			}
+			this.factory.activeBuffers.decrement();
+			if (memory != null) {
+				this.factory.recycle(this.arena, memory);
+			}
+			List<ByteBuffer> previousMemory = this.previousMemory;
+			if (previousMemory != null) {
+				this.previousMemory = null;
+				for (ByteBuffer previous : previousMemory) {
+					this.factory.recycle(this.arena, previous);
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Slice of a {@link PooledBuffer}, sharing its reference count.
+	 */
+	private static final class PooledSlice extends DefaultDataBuffer.SlicedDefaultDataBuffer
+			implements PooledDataBuffer {
+
+		private final PooledBuffer parent;
+
+		PooledSlice(PooledBuffer parent, ByteBuffer slice, int length) {
+			super(slice, parent.factory, length);
+			this.parent = parent;
+		}
+
+		@Override
+		DefaultDataBuffer createSlice(ByteBuffer slice, int length) {
+			return new PooledSlice(this.parent, slice, length);
+		}
+
+		@Override
+		public boolean isAllocated() {
+			return this.parent.isAllocated();
+		}
+
+		@Override
+		public PooledDataBuffer retain() {
+			this.parent.retain();
+			return this;
+		}
+
+		@Override
+		public PooledDataBuffer touch(Object hint) {
+			this.parent.touch(hint);
+			return this;
+		}
+
+		@Override
+		public boolean release() {
+			return this.parent.release();
+		}
+	}
+
+}
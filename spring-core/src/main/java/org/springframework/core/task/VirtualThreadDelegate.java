@@ -0,0 +1,92 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.task;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Internal delegate for virtual thread handling on JDK 21+, accessing the
+ * {@code Thread.ofVirtual()} builder API reflectively since this codebase
+ * is compiled against JDK 8.
+ *
+ * @since 5.3.39
+ * @see VirtualThreadTaskExecutor
+ */
+final class VirtualThreadDelegate {
+
+	@Nullable
+	private static final Method ofVirtualMethod;
+
+	@Nullable
+	private static final Method nameMethod;
+
+	@Nullable
+	private static final Method factoryMethod;
+
+	static {
+		Method ofVirtual = null;
+		Method name = null;
+		Method factory = null;
+		try {
+			ofVirtual = Thread.class.getMethod("ofVirtual");
+			Class<?> builderClass = ClassUtils.forName("java.lang.Thread$Builder", Thread.class.getClassLoader());
+			name = builderClass.getMethod("name", String.class, long.class);
+			factory = builderClass.getMethod("factory");
+			// Fails on JDK 19/20 unless preview features are enabled
+			factory.invoke(name.invoke(ofVirtual.invoke(null), "virtual-", 0L));
+		}
+		catch (Throwable ex) {
+			ofVirtual = null;
+		}
+		ofVirtualMethod = ofVirtual;
+		nameMethod = name;
+		factoryMethod = factory;
+	}
+
+
+	private VirtualThreadDelegate() {
+	}
+
+
+	/**
+	 * Determine whether virtual threads are available on the current JVM.
+	 */
+	static boolean isSupported() {
+		return (ofVirtualMethod != null);
+	}
+
+	/**
+	 * Create a factory for virtual threads with the given name prefix,
+	 * followed by an increasing number starting at 0.
+	 * @param threadNamePrefix the prefix for virtual thread names
+	 * @throws IllegalStateException if virtual threads are not supported
+	 */
+	static ThreadFactory virtualThreadFactory(String threadNamePrefix) {
+		if (ofVirtualMethod == null || nameMethod == null || factoryMethod == null) {
+			throw new IllegalStateException("Virtual threads require JDK 21 or higher");
+		}
+		Object builder = ReflectionUtils.invokeMethod(ofVirtualMethod, null);
+		builder = ReflectionUtils.invokeMethod(nameMethod, builder, threadNamePrefix, 0L);
+		return (ThreadFactory) ReflectionUtils.invokeMethod(factoryMethod, builder);
+	}
+
+}
@@ -0,0 +1,317 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.task;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.CustomizableThreadCreator;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.ListenableFutureTask;
+
+/**
+ * {@link AsyncTaskExecutor} implementation that starts a new virtual thread
+ * for each task, on JDK 21 and higher. Virtual thread support is detected at
+ * runtime: on earlier JDKs, a new platform thread is started for each task
+ * instead, analogous to {@link SimpleAsyncTaskExecutor}.
+ *
+ * <p>Supports limiting concurrent task executions through
+ * {@link #setConcurrencyLimit}, enforced by a {@link Semaphore}: when the
+ * limit is reached, the submitting thread blocks until a running task
+ * completes. Since virtual threads are cheap to create, this limit is the
+ * only sizing decision to make, typically derived from the capacity of the
+ * resource that the tasks block on (e.g. a connection pool).
+ *
+ * <p>This executor can be used wherever a {@link TaskExecutor} or
+ * {@link AsyncTaskExecutor} is accepted, for example for {@code @Async}
+ * methods, for asynchronous request processing in Spring MVC, or as the
+ * task executor of a JMS {@code DefaultMessageListenerContainer}.
+ *
+ * @since 5.3.39
+ * @see #isVirtual()
+ * @see #setConcurrencyLimit
+ * @see SimpleAsyncTaskExecutor
+ */
+public class VirtualThreadTaskExecutor implements AsyncListenableTaskExecutor {
+
+	/**
+	 * Permit any number of concurrent task executions.
+	 * @see #setConcurrencyLimit
+	 */
+	public static final int UNBOUNDED_CONCURRENCY = -1;
+
+
+	private final ThreadFactory threadFactory;
+
+	private final boolean virtual;
+
+	@Nullable
+	private volatile Semaphore concurrencyPermits;
+
+	private volatile int concurrencyLimit = UNBOUNDED_CONCURRENCY;
+
+	@Nullable
+	private TaskDecorator taskDecorator;
+
+
+	/**
+	 * Create a new {@code VirtualThreadTaskExecutor} with thread name prefix
+	 * "virtual-".
+	 */
+	public VirtualThreadTaskExecutor() {
+		this("virtual-");
+	}
+
+	/**
+	 * Create a new {@code VirtualThreadTaskExecutor} with the given thread name prefix.
+	 * @param threadNamePrefix the prefix to use for the names of newly created threads
+	 */
+	public VirtualThreadTaskExecutor(String threadNamePrefix) {
+		Assert.notNull(threadNamePrefix, "Thread name prefix must not be null");
+		this.virtual = VirtualThreadDelegate.isSupported();
+		this.threadFactory = (this.virtual ? VirtualThreadDelegate.virtualThreadFactory(threadNamePrefix) :
+				new CustomizableThreadCreator(threadNamePrefix)::createThread);
+	}
+
+
+	/**
+	 * Return whether virtual threads are available on the current JVM.
+	 */
+	public static boolean isVirtualThreadSupported() {
+		return VirtualThreadDelegate.isSupported();
+	}
+
+	/**
+	 * Return whether this executor runs tasks on virtual threads, as opposed
+	 * to falling back to platform threads on a JDK without virtual threads.
+	 */
+	public final boolean isVirtual() {
+		return this.virtual;
+	}
+
+	/**
+	 * Return the factory that this executor uses for creating new threads.
+	 */
+	public final ThreadFactory getThreadFactory() {
+		return this.threadFactory;
+	}
+
+	/**
+	 * Specify a custom {@link TaskDecorator} to be applied to any {@link Runnable}
+	 * about to be executed.
+	 * <p>Note that such a decorator is not necessarily being applied to the
+	 * user-supplied {@code Runnable}/{@code Callable} but rather to the actual
+	 * execution callback (which may be a wrapper around the user-supplied task).
+	 * @see SimpleAsyncTaskExecutor#setTaskDecorator
+	 */
+	public void setTaskDecorator(TaskDecorator taskDecorator) {
+		this.taskDecorator = taskDecorator;
+	}
+
+	/**
+	 * Set the maximum number of parallel task executions allowed.
+	 * The default of -1 indicates no concurrency limit at all.
+	 * <p>Changing the limit only affects tasks submitted afterwards.
+	 * @see #UNBOUNDED_CONCURRENCY
+	 */
+	public void setConcurrencyLimit(int concurrencyLimit) {
+		Assert.isTrue(concurrencyLimit == UNBOUNDED_CONCURRENCY || concurrencyLimit > 0,
+				"Concurrency limit must be positive or -1 for unbounded concurrency");
+		this.concurrencyLimit = concurrencyLimit;
+		this.concurrencyPermits = (concurrencyLimit > 0 ? new Semaphore(concurrencyLimit) : null);
+	}
+
+	/**
+	 * Return the maximum number of parallel task executions allowed.
+	 */
+	public final int getConcurrencyLimit() {
+		return this.concurrencyLimit;
+	}
+
+	/**
+	 * Return the number of tasks that may currently be started without
+	 * blocking, or -1 if concurrency is unbounded.
+	 */
+	public int getAvailablePermits() {
+		Semaphore permits = this.concurrencyPermits;
+		return (permits != null ? permits.availablePermits() : UNBOUNDED_CONCURRENCY);
+	}
+
+
+	/**
+	 * Executes the given task on a new thread, blocking the calling thread
+	 * first if the concurrency limit has been reached.
+	 * @throws TaskRejectedException if the calling thread has been interrupted
+	 * while waiting for a permit
+	 */
+	@Override
+	public void execute(Runnable task) {
+		Assert.notNull(task, "Runnable must not be null");
+		Runnable taskToUse = (this.taskDecorator != null ? this.taskDecorator.decorate(task) : task);
+		Semaphore permits = this.concurrencyPermits;
+		if (permits != null) {
+			try {
+				permits.acquire();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new TaskRejectedException("Interrupted while waiting to execute task: " + task, ex);
+			}
+			taskToUse = new PermitReleasingRunnable(taskToUse, permits);
+		}
+		try {
+			doExecute(taskToUse);
+		}
+		catch (RuntimeException | Error ex) {
+			if (permits != null) {
+				permits.release();
+			}
+			throw ex;
+		}
+	}
+
+	/**
+	 * Execute the given task on a new thread right away, waiting for a
+	 * concurrency permit on that new thread rather than blocking the calling
+	 * thread if the concurrency limit has been reached.
+	 * <p>If the new thread is interrupted while waiting for a permit,
+	 * the task is not run at all.
+	 * @param task the Runnable to execute
+	 * @see #execute(Runnable)
+	 */
+	protected void executeWithoutBlocking(Runnable task) {
+		Assert.notNull(task, "Runnable must not be null");
+		Runnable taskToUse = (this.taskDecorator != null ? this.taskDecorator.decorate(task) : task);
+		Semaphore permits = this.concurrencyPermits;
+		doExecute(permits != null ? new PermitAcquiringRunnable(taskToUse, permits) : taskToUse);
+	}
+
+	/**
+	 * Executes the given task, ignoring the start timeout.
+	 * @see #execute(Runnable)
+	 */
+	@Deprecated
+	@Override
+	public void execute(Runnable task, long startTimeout) {
+		execute(task);
+	}
+
+	@Override
+	public Future<?> submit(Runnable task) {
+		FutureTask<Object> future = new FutureTask<>(task, null);
+		execute(future);
+		return future;
+	}
+
+	@Override
+	public <T> Future<T> submit(Callable<T> task) {
+		FutureTask<T> future = new FutureTask<>(task);
+		execute(future);
+		return future;
+	}
+
+	@Override
+	public ListenableFuture<?> submitListenable(Runnable task) {
+		ListenableFutureTask<Object> future = new ListenableFutureTask<>(task, null);
+		execute(future);
+		return future;
+	}
+
+	@Override
+	public <T> ListenableFuture<T> submitListenable(Callable<T> task) {
+		ListenableFutureTask<T> future = new ListenableFutureTask<>(task);
+		execute(future);
+		return future;
+	}
+
+	/**
+	 * Template method for the actual execution of a task.
+	 * <p>The default implementation creates a new thread and starts it.
+	 * @param task the Runnable to execute
+	 * @see #getThreadFactory()
+	 */
+	protected void doExecute(Runnable task) {
+		this.threadFactory.newThread(task).start();
+	}
+
+
+	/**
+	 * Runnable that releases its concurrency permit once the target
+	 * Runnable has finished its execution.
+	 */
+	private static class PermitReleasingRunnable implements Runnable {
+
+		private final Runnable target;
+
+		private final Semaphore permits;
+
+		PermitReleasingRunnable(Runnable target, Semaphore permits) {
+			this.target = target;
+			this.permits = permits;
+		}
+
+		@Override
+		public void run() {
+			try {
+				this.target.run();
+			}
+			finally {
+				this.permits.release();
+			}
+		}
+	}
+
+
+	/**
+	 * Runnable that acquires a concurrency permit on the executing thread
+	 * before running the target Runnable, releasing the permit afterwards.
+	 */
+	private static class PermitAcquiringRunnable implements Runnable {
+
+		private final Runnable target;
+
+		private final Semaphore permits;
+
+		PermitAcquiringRunnable(Runnable target, Semaphore permits) {
+			this.target = target;
+			this.permits = permits;
+		}
+
+		@Override
+		public void run() {
+			try {
+				this.permits.acquire();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+			try {
+				this.target.run();
+			}
+			finally {
+				this.permits.release();
+			}
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,18 +16,34 @@
 
 package org.springframework.util;
 
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedDeque;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 
+import org.springframework.lang.Nullable;
+
 /**
  * Simple LRU (Least Recently Used) cache, bounded by a specified cache limit.
  *
  * <p>This implementation is backed by a {@code ConcurrentHashMap} for storing
- * the cached values and a {@code ConcurrentLinkedDeque} for ordering the keys
- * and choosing the least recently used key when the cache is at full capacity.
+ * the cached values and a doubly-linked eviction queue for ordering the entries
+ * and choosing the least recently used entry when the cache is at full capacity.
+ *
+ * <p>Cache hits do not touch the eviction queue directly: they are recorded in
+ * lossy, striped read buffers which are drained in batches by whichever thread
+ * manages to acquire the eviction lock, keeping the cost of a hit constant.
+ * Values are generated outside of any lock, so a slow generator for one key
+ * does not block lookups or generation for other keys; concurrent misses for
+ * the same key may generate the value more than once, in which case the first
+ * value stored in the cache wins. The number of entries may temporarily exceed
+ * the size limit while pending writes have not been drained yet.
  *
  * @author Brian Clozel
  * @author Juergen Hoeller
@@ -42,13 +58,25 @@ public class ConcurrentLruCache<K, V> {
 
 	private final Function<K, V> generator;
 
-	private final ConcurrentHashMap<K, V> cache = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<K, Node<K, V>> cache = new ConcurrentHashMap<>();
+
+	private final AtomicInteger currentSize = new AtomicInteger();
+
+	private final EvictionQueue<K, V> evictionQueue = new EvictionQueue<>();
+
+	private final ReadOperations<K, V> readOperations;
+
+	private final Queue<Runnable> writeOperations = new ConcurrentLinkedQueue<>();
 
-	private final ConcurrentLinkedDeque<K> queue = new ConcurrentLinkedDeque<>();
+	private final ReentrantLock evictionLock = new ReentrantLock();
 
-	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final AtomicReference<DrainStatus> drainStatus = new AtomicReference<>(DrainStatus.IDLE);
 
-	private volatile int size;
+	private final LongAdder hitCount = new LongAdder();
+
+	private final LongAdder missCount = new LongAdder();
+
+	private final LongAdder evictionCount = new LongAdder();
 
 
 	/**
@@ -62,6 +90,7 @@ public class ConcurrentLruCache<K, V> {
 		Assert.notNull(generator, "Generator function must not be null");
 		this.sizeLimit = sizeLimit;
 		this.generator = generator;
+		this.readOperations = new ReadOperations<>(this.evictionQueue);
 	}
 
 
@@ -73,52 +102,32 @@ public class ConcurrentLruCache<K, V> {
 	 */
 	public V get(K key) {
 		if (this.sizeLimit == 0) {
+			this.missCount.increment();
 			return this.generator.apply(key);
 		}
 
-		V cached = this.cache.get(key);
-		if (cached != null) {
-			if (this.size < this.sizeLimit) {
-				return cached;
-			}
-			this.lock.readLock().lock();
-			try {
-				if (this.queue.removeLastOccurrence(key)) {
-					this.queue.offer(key);
-				}
-				return cached;
-			}
-			finally {
-				this.lock.readLock().unlock();
-			}
+		Node<K, V> node = this.cache.get(key);
+		if (node != null) {
+			this.hitCount.increment();
+			processRead(node);
+			return node.value;
 		}
 
-		this.lock.writeLock().lock();
-		try {
-			// Retrying in case of concurrent reads on the same key
-			cached = this.cache.get(key);
-			if (cached != null) {
-				if (this.queue.removeLastOccurrence(key)) {
-					this.queue.offer(key);
-				}
-				return cached;
-			}
-			// Generate value first, to prevent size inconsistency
-			V value = this.generator.apply(key);
-			if (this.size == this.sizeLimit) {
-				K leastUsed = this.queue.poll();
-				if (leastUsed != null) {
-					this.cache.remove(leastUsed);
-				}
-			}
-			this.queue.offer(key);
-			this.cache.put(key, value);
-			this.size = this.cache.size();
-			return value;
-		}
-		finally {
-			this.lock.writeLock().unlock();
+		this.missCount.increment();
+		V value = this.generator.apply(key);
+		return put(key, value);
+	}
+
+	private V put(K key, V value) {
+		Node<K, V> node = new Node<>(key, value);
+		Node<K, V> prior = this.cache.putIfAbsent(key, node);
+		if (prior != null) {
+			// Concurrently generated for the same key: the stored value wins
+			processRead(prior);
+			return prior.value;
 		}
+		processWrite(new AddTask(node));
+		return value;
 	}
 
 	/**
@@ -138,30 +147,30 @@ public class ConcurrentLruCache<K, V> {
 	 * {@code false} if there was no matching key
 	 */
 	public boolean remove(K key) {
-		this.lock.writeLock().lock();
-		try {
-			boolean wasPresent = (this.cache.remove(key) != null);
-			this.queue.remove(key);
-			this.size = this.cache.size();
-			return wasPresent;
-		}
-		finally {
-			this.lock.writeLock().unlock();
+		Node<K, V> node = this.cache.remove(key);
+		if (node == null) {
+			return false;
 		}
+		processWrite(new RemovalTask(node));
+		return true;
 	}
 
 	/**
 	 * Immediately remove all entries from this cache.
 	 */
 	public void clear() {
-		this.lock.writeLock().lock();
+		this.evictionLock.lock();
 		try {
-			this.cache.clear();
-			this.queue.clear();
-			this.size = 0;
+			drainWriteOperations();
+			this.readOperations.clear();
+			Node<K, V> node;
+			while ((node = this.evictionQueue.poll()) != null) {
+				this.cache.remove(node.key, node);
+				retire(node);
+			}
 		}
 		finally {
-			this.lock.writeLock().unlock();
+			this.evictionLock.unlock();
 		}
 	}
 
@@ -170,7 +179,7 @@ public class ConcurrentLruCache<K, V> {
 	 * @see #sizeLimit()
 	 */
 	public int size() {
-		return this.size;
+		return this.cache.size();
 	}
 
 	/**
@@ -182,4 +191,393 @@ public class ConcurrentLruCache<K, V> {
 		return this.sizeLimit;
 	}
 
+	/**
+	 * Return the number of {@link #get} calls that returned a cached value.
+	 * @since 5.3.39
+	 */
+	public long hitCount() {
+		return this.hitCount.sum();
+	}
+
+	/**
+	 * Return the number of {@link #get} calls that triggered generation
+	 * of the value.
+	 * @since 5.3.39
+	 */
+	public long missCount() {
+		return this.missCount.sum();
+	}
+
+	/**
+	 * Return the number of entries that have been evicted because the
+	 * cache was at full capacity. Explicit removals are not included.
+	 * @since 5.3.39
+	 */
+	public long evictionCount() {
+		return this.evictionCount.sum();
+	}
+
+
+	private void processRead(Node<K, V> node) {
+		boolean delayable = this.readOperations.recordRead(node);
+		DrainStatus status = this.drainStatus.get();
+		if (status.shouldDrainBuffers(delayable)) {
+			attemptToDrain();
+		}
+	}
+
+	private void processWrite(Runnable task) {
+		this.writeOperations.add(task);
+		this.drainStatus.lazySet(DrainStatus.REQUIRED);
+		attemptToDrain();
+	}
+
+	private void attemptToDrain() {
+		if (this.evictionLock.tryLock()) {
+			try {
+				this.drainStatus.lazySet(DrainStatus.PROCESSING);
+				this.readOperations.drain();
+				drainWriteOperations();
+			}
+			finally {
+				this.drainStatus.compareAndSet(DrainStatus.PROCESSING, DrainStatus.IDLE);
+				this.evictionLock.unlock();
+			}
+		}
+	}
+
+	private void drainWriteOperations() {
+		Runnable task;
+		while ((task = this.writeOperations.poll()) != null) {
+			task.run();
+		}
+	}
+
+	private void evictEntries() {
+		while (this.currentSize.get() > this.sizeLimit) {
+			Node<K, V> node = this.evictionQueue.poll();
+			if (node == null) {
+				return;
+			}
+			if (this.cache.remove(node.key, node)) {
+				this.evictionCount.increment();
+			}
+			retire(node);
+		}
+	}
+
+	/**
+	 * Account for the removal of the given node, which must not be linked
+	 * into the eviction queue anymore. Must be called under the eviction lock.
+	 */
+	private void retire(Node<K, V> node) {
+		if (!node.retired) {
+			node.retired = true;
+			this.currentSize.decrementAndGet();
+		}
+	}
+
+
+	/**
+	 * Write operation recorded when a new entry is added to the cache.
+	 */
+	private final class AddTask implements Runnable {
+
+		private final Node<K, V> node;
+
+		AddTask(Node<K, V> node) {
+			this.node = node;
+		}
+
+		@Override
+		public void run() {
+			currentSize.incrementAndGet();
+			if (cache.get(this.node.key) == this.node) {
+				evictionQueue.add(this.node);
+				evictEntries();
+			}
+			// Otherwise already removed: a pending RemovalTask retires the node
+		}
+	}
+
+
+	/**
+	 * Write operation recorded when an entry is explicitly removed from the cache.
+	 */
+	private final class RemovalTask implements Runnable {
+
+		private final Node<K, V> node;
+
+		RemovalTask(Node<K, V> node) {
+			this.node = node;
+		}
+
+		@Override
+		public void run() {
+			evictionQueue.remove(this.node);
+			retire(this.node);
+		}
+	}
+
+
+	/**
+	 * Drain status for the read and write buffers.
+	 */
+	private enum DrainStatus {
+
+		/**
+		 * No drain operation currently running.
+		 */
+		IDLE {
+			@Override
+			boolean shouldDrainBuffers(boolean delayable) {
+				return !delayable;
+			}
+		},
+
+		/**
+		 * A drain operation is required due to a pending write modification.
+		 */
+		REQUIRED {
+			@Override
+			boolean shouldDrainBuffers(boolean delayable) {
+				return true;
+			}
+		},
+
+		/**
+		 * A drain operation is in progress.
+		 */
+		PROCESSING {
+			@Override
+			boolean shouldDrainBuffers(boolean delayable) {
+				return false;
+			}
+		};
+
+		/**
+		 * Determine whether the buffers should be drained.
+		 * @param delayable if a drain should be delayed until required
+		 * @return whether the buffers should be drained
+		 */
+		abstract boolean shouldDrainBuffers(boolean delayable);
+	}
+
+
+	/**
+	 * Striped, lossy ring buffers recording cache hits, to be replayed against
+	 * the eviction queue under the eviction lock.
+	 */
+	private static final class ReadOperations<K, V> {
+
+		private static final int BUFFER_COUNT = detectNumberOfBuffers();
+
+		private static int detectNumberOfBuffers() {
+			int availableProcessors = Runtime.getRuntime().availableProcessors();
+			int nextPowerOfTwo = 1 << (Integer.SIZE - Integer.numberOfLeadingZeros(availableProcessors - 1));
+			return Math.min(4, nextPowerOfTwo);
+		}
+
+		private static final int BUFFERS_MASK = BUFFER_COUNT - 1;
+
+		private static final int MAX_PENDING_OPERATIONS = 32;
+
+		private static final int MAX_DRAIN_COUNT = 2 * MAX_PENDING_OPERATIONS;
+
+		private static final int BUFFER_SIZE = 2 * MAX_DRAIN_COUNT;
+
+		private static final int BUFFER_INDEX_MASK = BUFFER_SIZE - 1;
+
+		/*
+		 * Number of operations recorded, for each buffer
+		 */
+		private final AtomicLongArray recordedCount = new AtomicLongArray(BUFFER_COUNT);
+
+		/*
+		 * Number of operations read, for each buffer
+		 */
+		private final long[] readCount = new long[BUFFER_COUNT];
+
+		/*
+		 * Number of operations processed, for each buffer
+		 */
+		private final AtomicLongArray processedCount = new AtomicLongArray(BUFFER_COUNT);
+
+		private final AtomicReferenceArray<Node<K, V>>[] buffers;
+
+		private final EvictionQueue<K, V> evictionQueue;
+
+		@SuppressWarnings("unchecked")
+		ReadOperations(EvictionQueue<K, V> evictionQueue) {
+			this.evictionQueue = evictionQueue;
+			this.buffers = new AtomicReferenceArray[BUFFER_COUNT];
+			for (int i = 0; i < BUFFER_COUNT; i++) {
+				this.buffers[i] = new AtomicReferenceArray<>(BUFFER_SIZE);
+			}
+		}
+
+		private static int getBufferIndex() {
+			return ((int) Thread.currentThread().getId()) & BUFFERS_MASK;
+		}
+
+		/**
+		 * Record a cache hit for the given node.
+		 * @return {@code true} if draining the buffers can be delayed
+		 */
+		boolean recordRead(Node<K, V> node) {
+			int bufferIndex = getBufferIndex();
+			long writeCount = this.recordedCount.get(bufferIndex);
+			this.recordedCount.lazySet(bufferIndex, writeCount + 1);
+			int index = (int) (writeCount & BUFFER_INDEX_MASK);
+			this.buffers[bufferIndex].lazySet(index, node);
+			long pending = (writeCount - this.processedCount.get(bufferIndex));
+			return (pending < MAX_PENDING_OPERATIONS);
+		}
+
+		/**
+		 * Replay recorded reads against the eviction queue.
+		 * Must be called under the eviction lock.
+		 */
+		void drain() {
+			int start = (int) Thread.currentThread().getId();
+			int end = start + BUFFER_COUNT;
+			for (int i = start; i < end; i++) {
+				drainReadBuffer(i & BUFFERS_MASK);
+			}
+		}
+
+		/**
+		 * Discard all recorded reads.
+		 * Must be called under the eviction lock.
+		 */
+		void clear() {
+			for (int i = 0; i < BUFFER_COUNT; i++) {
+				AtomicReferenceArray<Node<K, V>> buffer = this.buffers[i];
+				for (int j = 0; j < BUFFER_SIZE; j++) {
+					buffer.lazySet(j, null);
+				}
+				this.readCount[i] = this.recordedCount.get(i);
+				this.processedCount.lazySet(i, this.readCount[i]);
+			}
+		}
+
+		private void drainReadBuffer(int bufferIndex) {
+			long writeCount = this.recordedCount.get(bufferIndex);
+			AtomicReferenceArray<Node<K, V>> buffer = this.buffers[bufferIndex];
+			for (int i = 0; i < MAX_DRAIN_COUNT; i++) {
+				int index = (int) (this.readCount[bufferIndex] & BUFFER_INDEX_MASK);
+				Node<K, V> node = buffer.get(index);
+				if (node == null) {
+					break;
+				}
+				buffer.lazySet(index, null);
+				this.evictionQueue.moveToBack(node);
+				this.readCount[bufferIndex]++;
+			}
+			this.processedCount.lazySet(bufferIndex, writeCount);
+		}
+	}
+
+
+	/**
+	 * Doubly-linked list of cache entries, from least to most recently used.
+	 * Only accessed under the eviction lock.
+	 */
+	private static final class EvictionQueue<K, V> {
+
+		@Nullable
+		private Node<K, V> first;
+
+		@Nullable
+		private Node<K, V> last;
+
+		@Nullable
+		Node<K, V> poll() {
+			Node<K, V> node = this.first;
+			if (node != null) {
+				unlink(node);
+			}
+			return node;
+		}
+
+		void add(Node<K, V> node) {
+			if (!contains(node)) {
+				linkLast(node);
+			}
+		}
+
+		void remove(Node<K, V> node) {
+			if (contains(node)) {
+				unlink(node);
+			}
+		}
+
+		void moveToBack(Node<K, V> node) {
+			if (contains(node) && node != this.last) {
+				unlink(node);
+				linkLast(node);
+			}
+		}
+
+		private boolean contains(Node<K, V> node) {
+			return (node.previous != null || node.next != null || node == this.first);
+		}
+
+		private void linkLast(Node<K, V> node) {
+			Node<K, V> previousLast = this.last;
+			this.last = node;
+			node.previous = previousLast;
+			node.next = null;
+			if (previousLast == null) {
+				this.first = node;
+			}
+			else {
+				previousLast.next = node;
+			}
+		}
+
+		private void unlink(Node<K, V> node) {
+			Node<K, V> previous = node.previous;
+			Node<K, V> next = node.next;
+			if (previous == null) {
+				this.first = next;
+			}
+			else {
+				previous.next = next;
+			}
+			if (next == null) {
+				this.last = previous;
+			}
+			else {
+				next.previous = previous;
+			}
+			node.previous = null;
+			node.next = null;
+		}
+	}
+
+
+	/**
+	 * A cache entry; links and retirement state are guarded by the eviction lock.
+	 */
+	private static final class Node<K, V> {
+
+		final K key;
+
+		final V value;
+
+		@Nullable
+		Node<K, V> previous;
+
+		@Nullable
+		Node<K, V> next;
+
+		boolean retired;
+
+		Node(K key, V value) {
+			this.key = key;
+			this.value = value;
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -253,6 +253,43 @@ class DataBufferUtilsTests extends AbstractDataBufferAllocatingTests {
 				.verify(Duration.ofSeconds(5));
 	}
 
+	@ParameterizedDataBufferAllocatingTest
+	void readMapped(DataBufferFactory bufferFactory) throws Exception {
+		super.bufferFactory = bufferFactory;
+		MappedFileCache cache = new MappedFileCache();
+
+		Flux<DataBuffer> flux = DataBufferUtils.readMapped(this.resource, super.bufferFactory, 3, cache);
+
+		verifyReadData(flux);
+		assertThat(cache.getMappingCount()).isEqualTo(1);
+	}
+
+	@ParameterizedDataBufferAllocatingTest
+	void readMappedPosition(DataBufferFactory bufferFactory) throws Exception {
+		super.bufferFactory = bufferFactory;
+		MappedFileCache cache = new MappedFileCache();
+
+		Flux<DataBuffer> flux = DataBufferUtils.readMapped(this.resource, 7, super.bufferFactory, 3, cache);
+
+		StepVerifier.create(flux)
+				.consumeNextWith(stringConsumer("azq"))
+				.consumeNextWith(stringConsumer("ux"))
+				.expectComplete()
+				.verify(Duration.ofSeconds(5));
+	}
+
+	@ParameterizedDataBufferAllocatingTest
+	void readMappedNonFileResource(DataBufferFactory bufferFactory) throws Exception {
+		super.bufferFactory = bufferFactory;
+		MappedFileCache cache = new MappedFileCache();
+
+		Resource resource = new ByteArrayResource("foobarbazqux" .getBytes());
+		Flux<DataBuffer> flux = DataBufferUtils.readMapped(resource, super.bufferFactory, 3, cache);
+
+		verifyReadData(flux);
+		assertThat(cache.getMappingCount()).isZero();
+	}
+
 	private void verifyReadData(Flux<DataBuffer> buffers) {
 		StepVerifier.create(buffers)
 				.consumeNextWith(stringConsumer("foo"))
@@ -942,6 +979,61 @@ class DataBufferUtilsTests extends AbstractDataBufferAllocatingTests {
 		release(foo);
 	}
 
+	@ParameterizedDataBufferAllocatingTest
+	void matcherTwoByteDelimiterAfterPartialMatch(DataBufferFactory bufferFactory) {
+		super.bufferFactory = bufferFactory;
+
+		DataBuffer foo = stringBuffer("a\rb\r\n");
+
+		DataBufferUtils.Matcher matcher = DataBufferUtils.matcher("\r\n".getBytes(StandardCharsets.UTF_8));
+		assertThat(matcher.match(foo)).isEqualTo(4);
+
+		release(foo);
+	}
+
+	@ParameterizedDataBufferAllocatingTest
+	void matcherSingleByteDelimiterInLongBuffer(DataBufferFactory bufferFactory) {
+		super.bufferFactory = bufferFactory;
+
+		DataBuffer foo = stringBuffer("0123456789abcdefghijklmnopqrstuvwxyz\n0123456789\n");
+
+		DataBufferUtils.Matcher matcher = DataBufferUtils.matcher("\n".getBytes(StandardCharsets.UTF_8));
+		assertThat(matcher.match(foo)).isEqualTo(36);
+		foo.readPosition(37);
+		assertThat(matcher.match(foo)).isEqualTo(47);
+		foo.readPosition(48);
+		assertThat(matcher.match(foo)).isEqualTo(-1);
+
+		release(foo);
+	}
+
+	@ParameterizedDataBufferAllocatingTest
+	void matcherDelimitersEndingWithSameByte(DataBufferFactory bufferFactory) {
+		super.bufferFactory = bufferFactory;
+
+		DataBuffer foo = stringBuffer("foo\nbar\r\nbaz\r");
+		DataBuffer bar = stringBuffer("\nqux\r");
+		DataBuffer baz = stringBuffer("x\n");
+
+		byte[][] delims = {"\n".getBytes(StandardCharsets.UTF_8), "\r\n".getBytes(StandardCharsets.UTF_8)};
+		DataBufferUtils.Matcher matcher = DataBufferUtils.matcher(delims);
+		assertThat(matcher.match(foo)).isEqualTo(3);
+		assertThat(matcher.delimiter()).hasSize(1);
+		foo.readPosition(4);
+		assertThat(matcher.match(foo)).isEqualTo(8);
+		assertThat(matcher.delimiter()).hasSize(2);
+		foo.readPosition(9);
+		assertThat(matcher.match(foo)).isEqualTo(-1);
+		assertThat(matcher.match(bar)).isEqualTo(0);
+		assertThat(matcher.delimiter()).hasSize(2);
+		bar.readPosition(1);
+		assertThat(matcher.match(bar)).isEqualTo(-1);
+		assertThat(matcher.match(baz)).isEqualTo(1);
+		assertThat(matcher.delimiter()).hasSize(1);
+
+		release(foo, bar, baz);
+	}
+
 	@ParameterizedDataBufferAllocatingTest
 	void propagateContextByteChannel(DataBufferFactory bufferFactory) throws IOException {
 		Path path = Paths.get(this.resource.getURI());
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link MappedFileCache}.
+ */
+class MappedFileCacheTests {
+
+	@TempDir
+	Path tempDir;
+
+
+	@Test
+	void mappingIsSharedAndReadOnly() throws IOException {
+		MappedFileCache cache = new MappedFileCache();
+		Path file = createFile("a.txt", "foobar");
+
+		ByteBuffer first = cache.getMapping(file);
+		ByteBuffer second = cache.getMapping(file);
+		assertThat(first).isNotNull().isNotSameAs(second);
+		assertThat(first.isReadOnly()).isTrue();
+		assertThat(toString(first)).isEqualTo("foobar");
+		assertThat(toString(second)).isEqualTo("foobar");
+		assertThat(cache.getMappingCount()).isEqualTo(1);
+		assertThat(cache.getMappedBytes()).isEqualTo(6);
+		assertThatExceptionOfType(ReadOnlyBufferException.class).isThrownBy(() -> second.put(0, (byte) 'x'));
+	}
+
+	@Test
+	void replacedFileIsMappedAgain() throws IOException {
+		MappedFileCache cache = new MappedFileCache();
+		Path file = createFile("a.txt", "foobar");
+		ByteBuffer first = cache.getMapping(file);
+
+		Path replacement = createFile("b.txt", "bazquxquux");
+		Files.move(replacement, file, StandardCopyOption.REPLACE_EXISTING);
+		ByteBuffer second = cache.getMapping(file);
+
+		assertThat(toString(first)).isEqualTo("foobar");
+		assertThat(toString(second)).isEqualTo("bazquxquux");
+		assertThat(cache.getMappingCount()).isEqualTo(1);
+		assertThat(cache.getMappedBytes()).isEqualTo(10);
+	}
+
+	@Test
+	void leastRecentlyUsedMappingIsEvicted() throws IOException {
+		MappedFileCache cache = new MappedFileCache(2, 1024);
+		Path a = createFile("a.txt", "a");
+		Path b = createFile("b.txt", "bb");
+		Path c = createFile("c.txt", "ccc");
+
+		ByteBuffer mappingOfA = cache.getMapping(a);
+		cache.getMapping(b);
+		cache.getMapping(a);
+		cache.getMapping(c);
+
+		assertThat(cache.getMappingCount()).isEqualTo(2);
+		assertThat(cache.getMappedBytes()).isEqualTo(4);
+		assertThat(toString(mappingOfA)).isEqualTo("a");
+
+		cache.evict(a);
+		assertThat(cache.getMappingCount()).isEqualTo(1);
+		assertThat(cache.getMappedBytes()).isEqualTo(3);
+		cache.clear();
+		assertThat(cache.getMappingCount()).isZero();
+		assertThat(cache.getMappedBytes()).isZero();
+	}
+
+	@Test
+	void mappedBytesAreLimited() throws IOException {
+		MappedFileCache cache = new MappedFileCache(10, 8);
+		cache.setMaxFileSize(8);
+		cache.getMapping(createFile("a.txt", "aaaa"));
+		cache.getMapping(createFile("b.txt", "bbbb"));
+		cache.getMapping(createFile("c.txt", "cc"));
+
+		assertThat(cache.getMappingCount()).isEqualTo(2);
+		assertThat(cache.getMappedBytes()).isEqualTo(6);
+	}
+
+	@Test
+	void largeFileIsNotMapped() throws IOException {
+		MappedFileCache cache = new MappedFileCache();
+		cache.setMaxFileSize(4);
+
+		assertThat(cache.getMapping(createFile("a.txt", "foobar"))).isNull();
+		assertThat(cache.getMappingCount()).isZero();
+	}
+
+	private Path createFile(String name, String content) throws IOException {
+		return Files.write(this.tempDir.resolve(name), content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String toString(ByteBuffer buffer) {
+		byte[] bytes = new byte[buffer.remaining()];
+		buffer.duplicate().get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+}
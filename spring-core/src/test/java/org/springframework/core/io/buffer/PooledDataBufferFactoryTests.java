@@ -0,0 +1,180 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link PooledDataBufferFactory}.
+ */
+class PooledDataBufferFactoryTests {
+
+	private final PooledDataBufferFactory bufferFactory = new PooledDataBufferFactory(false, 1);
+
+
+	@Test
+	void releasedMemoryIsReused() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(100);
+		assertThat(buffer).isInstanceOf(PooledDataBuffer.class);
+		assertThat(buffer.capacity()).isEqualTo(100);
+		assertThat(buffer.factory()).isSameAs(this.bufferFactory);
+		assertThat(this.bufferFactory.getActiveBufferCount()).isEqualTo(1);
+		assertThat(DataBufferUtils.release(buffer)).isTrue();
+		assertThat(this.bufferFactory.getActiveBufferCount()).isZero();
+		assertThat(this.bufferFactory.getCachedBytes()).isEqualTo(128);
+
+		DataBuffer other = this.bufferFactory.allocateBuffer(120);
+		assertThat(this.bufferFactory.getPoolMissCount()).isEqualTo(1);
+		assertThat(this.bufferFactory.getPoolHitCount()).isEqualTo(1);
+		assertThat(this.bufferFactory.getCachedBytes()).isZero();
+		DataBufferUtils.release(other);
+	}
+
+	@Test
+	void releasedBufferIsNotAccessible() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(8);
+		buffer.write("abc", StandardCharsets.UTF_8);
+		DataBufferUtils.release(buffer);
+
+		DataBuffer other = this.bufferFactory.allocateBuffer(8);
+		other.write("xyz", StandardCharsets.UTF_8);
+		assertThat(buffer.capacity()).isZero();
+		assertThat(other.toString(StandardCharsets.UTF_8)).isEqualTo("xyz");
+		DataBufferUtils.release(other);
+	}
+
+	@Test
+	void largeBuffersAreNotPooled() {
+		this.bufferFactory.setMaxPooledCapacity(1000);
+		assertThat(this.bufferFactory.getMaxPooledCapacity()).isEqualTo(1024);
+
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(2000);
+		assertThat(this.bufferFactory.getUnpooledAllocationCount()).isEqualTo(1);
+		DataBufferUtils.release(buffer);
+		assertThat(this.bufferFactory.getActiveBufferCount()).isZero();
+		assertThat(this.bufferFactory.getCachedBytes()).isZero();
+	}
+
+	@Test
+	void growingBufferRecyclesPreviousMemoryOnRelease() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(64);
+		buffer.write(new byte[64]);
+		buffer.write("abc", StandardCharsets.UTF_8);
+		assertThat(buffer.capacity()).isEqualTo(128);
+		assertThat(this.bufferFactory.getCachedBytes()).isZero();
+
+		DataBufferUtils.release(buffer);
+		assertThat(this.bufferFactory.getCachedBytes()).isEqualTo(64 + 128);
+	}
+
+	@ParameterizedTest
+	@ValueSource(booleans = {false, true})
+	void sliceBeforeGrowingIsNotOverwritten(boolean direct) {
+		PooledDataBufferFactory bufferFactory = new PooledDataBufferFactory(direct, 1);
+		DataBuffer buffer = bufferFactory.allocateBuffer(8);
+		buffer.write("hello", StandardCharsets.UTF_8);
+		DataBuffer slice = buffer.slice(0, 5);
+		ByteBuffer view = buffer.asByteBuffer(0, 5);
+		buffer.capacity(256);
+
+		DataBuffer other = bufferFactory.allocateBuffer(8);
+		other.write("XXXXX", StandardCharsets.UTF_8);
+		assertThat(slice.toString(StandardCharsets.UTF_8)).isEqualTo("hello");
+		assertThat(StandardCharsets.UTF_8.decode(view).toString()).isEqualTo("hello");
+		assertThat(buffer.toString(StandardCharsets.UTF_8)).isEqualTo("hello");
+
+		DataBufferUtils.release(other);
+		DataBufferUtils.release(buffer);
+		assertThat(bufferFactory.getActiveBufferCount()).isZero();
+	}
+
+	@Test
+	void cachedMemoryIsLimited() {
+		this.bufferFactory.setMaxCachedBytes(128);
+		List<DataBuffer> buffers = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			buffers.add(this.bufferFactory.allocateBuffer(64));
+		}
+		buffers.forEach(DataBufferUtils::release);
+		assertThat(this.bufferFactory.getCachedBytes()).isEqualTo(128);
+	}
+
+	@Test
+	void directBuffersAreCarvedFromChunks() {
+		PooledDataBufferFactory bufferFactory = new PooledDataBufferFactory(true, 1);
+		DataBuffer buffer = bufferFactory.allocateBuffer(1024);
+		assertThat(buffer.asByteBuffer().isDirect()).isTrue();
+		assertThat(bufferFactory.getCachedBytes()).isEqualTo(63 * 1024);
+
+		DataBuffer other = bufferFactory.allocateBuffer(1000);
+		assertThat(bufferFactory.getPoolHitCount()).isEqualTo(1);
+		DataBufferUtils.release(buffer);
+		DataBufferUtils.release(other);
+		assertThat(bufferFactory.getCachedBytes()).isEqualTo(64 * 1024);
+	}
+
+	@Test
+	void slicesShareReferenceCount() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(8);
+		buffer.write("abcdef", StandardCharsets.UTF_8);
+		DataBuffer slice = buffer.retainedSlice(1, 3);
+		assertThat(slice).isInstanceOf(PooledDataBuffer.class);
+		assertThat(slice.toString(StandardCharsets.UTF_8)).isEqualTo("bcd");
+		assertThat(slice.slice(1, 1)).isInstanceOf(PooledDataBuffer.class);
+
+		assertThat(DataBufferUtils.release(buffer)).isFalse();
+		assertThat(((PooledDataBuffer) slice).isAllocated()).isTrue();
+		assertThat(DataBufferUtils.release(slice)).isTrue();
+		assertThat(((PooledDataBuffer) buffer).isAllocated()).isFalse();
+		assertThatIllegalStateException().isThrownBy(((PooledDataBuffer) buffer)::retain);
+	}
+
+	@Test
+	void leakDetection() throws InterruptedException {
+		List<List<Object>> leaks = new ArrayList<>();
+		PooledDataBufferFactory bufferFactory = new PooledDataBufferFactory() {
+			@Override
+			protected void handleLeak(List<Object> hints) {
+				leaks.add(hints);
+			}
+		};
+		bufferFactory.setLeakDetectionEnabled(true);
+		DataBufferUtils.touch(bufferFactory.allocateBuffer(8), "leaked");
+		DataBufferUtils.release(bufferFactory.allocateBuffer(8));
+
+		for (int i = 0; i < 50 && leaks.isEmpty(); i++) {
+			System.gc();
+			Thread.sleep(20);
+			DataBufferUtils.release(bufferFactory.allocateBuffer(8));
+		}
+		assertThat(leaks).containsExactly(Collections.singletonList("leaked"));
+		assertThat(bufferFactory.getLeakCount()).isEqualTo(1);
+		assertThat(bufferFactory.getActiveBufferCount()).isZero();
+	}
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.task;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link VirtualThreadTaskExecutor}.
+ */
+class VirtualThreadTaskExecutorTests {
+
+	@Test
+	void usesVirtualThreadsWhenSupported() {
+		VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor();
+		assertThat(executor.isVirtual()).isEqualTo(VirtualThreadTaskExecutor.isVirtualThreadSupported());
+	}
+
+	@Test
+	void threadNameGetsSetCorrectly() throws Exception {
+		VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor("chankPop#");
+		Future<String> future = executor.submit(() -> Thread.currentThread().getName());
+		assertThat(future.get(1, TimeUnit.SECONDS)).startsWith("chankPop#");
+	}
+
+	@Test
+	void taskDecoratorIsApplied() throws Exception {
+		VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor();
+		AtomicReference<String> decorated = new AtomicReference<>();
+		executor.setTaskDecorator(task -> () -> {
+			decorated.set(Thread.currentThread().getName());
+			task.run();
+		});
+		executor.submit(() -> {}).get(1, TimeUnit.SECONDS);
+		assertThat(decorated.get()).startsWith("virtual-");
+	}
+
+	@Test
+	void concurrencyLimitIsEnforced() throws Exception {
+		VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor();
+		executor.setConcurrencyLimit(2);
+		AtomicInteger active = new AtomicInteger();
+		AtomicInteger maxActive = new AtomicInteger();
+		CountDownLatch latch = new CountDownLatch(10);
+		for (int i = 0; i < 10; i++) {
+			executor.execute(() -> {
+				maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+				try {
+					Thread.sleep(20);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+				finally {
+					active.decrementAndGet();
+					latch.countDown();
+				}
+			});
+		}
+		assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(maxActive.get()).isLessThanOrEqualTo(2);
+	}
+
+	@Test
+	void permitIsReleasedAfterFailure() throws Exception {
+		VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor();
+		executor.setConcurrencyLimit(1);
+		Future<?> future = executor.submit(() -> {
+			throw new IllegalStateException("boom");
+		});
+		assertThat(future).failsWithin(1, TimeUnit.SECONDS);
+		assertThat(executor.submit(() -> "ok").get(1, TimeUnit.SECONDS)).isEqualTo("ok");
+	}
+
+	@Test
+	void unboundedByDefault() {
+		VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor();
+		assertThat(executor.getConcurrencyLimit()).isEqualTo(VirtualThreadTaskExecutor.UNBOUNDED_CONCURRENCY);
+		assertThat(executor.getAvailablePermits()).isEqualTo(-1);
+	}
+
+	@Test
+	void rejectsInvalidConcurrencyLimit() {
+		assertThatIllegalArgumentException().isThrownBy(() ->
+				new VirtualThreadTaskExecutor().setConcurrencyLimit(0));
+	}
+
+	@Test
+	void throwsExceptionWhenSuppliedWithNullRunnable() {
+		assertThatIllegalArgumentException().isThrownBy(() ->
+				new VirtualThreadTaskExecutor().execute(null));
+	}
+
+}
@@ -108,4 +108,29 @@ class ConcurrentLruCacheTests {
 		assertThat(this.cache.contains("k3")).isTrue();
 	}
 
+	@Test
+	void statistics() {
+		assertThat(this.cache.get("k1")).isEqualTo("k1value");
+		assertThat(this.cache.get("k1")).isEqualTo("k1value");
+		assertThat(this.cache.get("k2")).isEqualTo("k2value");
+		assertThat(this.cache.get("k3")).isEqualTo("k3value");
+		assertThat(this.cache.hitCount()).isEqualTo(1);
+		assertThat(this.cache.missCount()).isEqualTo(3);
+		assertThat(this.cache.evictionCount()).isEqualTo(1);
+		this.cache.remove("k3");
+		assertThat(this.cache.evictionCount()).isEqualTo(1);
+	}
+
+	@Test
+	void recentlyReadEntryIsNotEvicted() {
+		assertThat(this.cache.get("k1")).isEqualTo("k1value");
+		assertThat(this.cache.get("k2")).isEqualTo("k2value");
+		assertThat(this.cache.get("k1")).isEqualTo("k1value");
+		assertThat(this.cache.get("k3")).isEqualTo("k3value");
+		assertThat(this.cache.size()).isEqualTo(2);
+		assertThat(this.cache.contains("k1")).isTrue();
+		assertThat(this.cache.contains("k2")).isFalse();
+		assertThat(this.cache.contains("k3")).isTrue();
+	}
+
 }
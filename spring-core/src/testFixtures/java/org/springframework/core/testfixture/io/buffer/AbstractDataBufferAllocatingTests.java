@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -46,6 +46,7 @@ import org.springframework.core.io.buffer.DataBufferFactory;
 import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.core.io.buffer.PooledDataBufferFactory;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -145,6 +146,10 @@ public abstract class AbstractDataBufferAllocatingTests {
 				}
 			}
 		}
+		else if (this.bufferFactory instanceof PooledDataBufferFactory) {
+			long active = ((PooledDataBufferFactory) this.bufferFactory).getActiveBufferCount();
+			assertThat(active).as("DataBuffer Leak: " + active + " unreleased allocations").isEqualTo(0);
+		}
 	}
 
 	private static long getAllocations(List<PoolArenaMetric> metrics) {
@@ -175,7 +180,11 @@ public abstract class AbstractDataBufferAllocatingTests {
 			arguments(named("DefaultDataBufferFactory - preferDirect = true",
 					new DefaultDataBufferFactory(true))),
 			arguments(named("DefaultDataBufferFactory - preferDirect = false",
-					new DefaultDataBufferFactory(false)))
+					new DefaultDataBufferFactory(false))),
+			arguments(named("PooledDataBufferFactory - preferDirect = true",
+					new PooledDataBufferFactory(true))),
+			arguments(named("PooledDataBufferFactory - preferDirect = false",
+					new PooledDataBufferFactory(false)))
 		);
 	}
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,18 +16,24 @@
 
 package org.springframework.expression.spel;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpression;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 
@@ -103,4 +109,97 @@ public class SpelBenchmark {
 		return data.expression.getValue(data.context);
 	}
 
+	@State(Scope.Benchmark)
+	public static class CompilationBenchmarkData {
+
+		@Param({"interpreted", "compiled"})
+		public String mode;
+
+		public CollectionHolder root = new CollectionHolder();
+
+		public EvaluationContext context = new StandardEvaluationContext();
+
+		public Expression selection;
+
+		public Expression projection;
+
+		public Expression inlineMap;
+
+		public Expression elvis;
+
+		public Expression varargs;
+
+		public Expression indexerAssignment;
+
+		@Setup
+		public void setup() {
+			ExpressionParser parser = new SpelExpressionParser();
+			this.selection = parser.parseExpression("numbers.?[#this > #root.threshold]");
+			this.projection = parser.parseExpression("numbers.![#this * 2]");
+			this.inlineMap = parser.parseExpression("{name:name, size:numbers.size()}");
+			this.elvis = parser.parseExpression("threshold ?: 0");
+			this.varargs = parser.parseExpression("sum(1, 2, 3)");
+			this.indexerAssignment = parser.parseExpression("counts['hits'] = threshold");
+			if (this.mode.equals("compiled")) {
+				for (Expression expression : Arrays.asList(this.selection, this.projection,
+						this.inlineMap, this.elvis, this.varargs, this.indexerAssignment)) {
+					expression.getValue(this.context, this.root);
+					if (!((SpelExpression) expression).compileExpression()) {
+						throw new IllegalStateException("Failed to compile " + expression.getExpressionString());
+					}
+				}
+			}
+		}
+	}
+
+	@Benchmark
+	public Object compilationSelection(CompilationBenchmarkData data) {
+		return data.selection.getValue(data.context, data.root);
+	}
+
+	@Benchmark
+	public Object compilationProjection(CompilationBenchmarkData data) {
+		return data.projection.getValue(data.context, data.root);
+	}
+
+	@Benchmark
+	public Object compilationInlineMap(CompilationBenchmarkData data) {
+		return data.inlineMap.getValue(data.context, data.root);
+	}
+
+	@Benchmark
+	public Object compilationElvis(CompilationBenchmarkData data) {
+		return data.elvis.getValue(data.context, data.root);
+	}
+
+	@Benchmark
+	public Object compilationVarargs(CompilationBenchmarkData data) {
+		return data.varargs.getValue(data.context, data.root);
+	}
+
+	@Benchmark
+	public Object compilationIndexerAssignment(CompilationBenchmarkData data) {
+		return data.indexerAssignment.getValue(data.context, data.root);
+	}
+
+
+	public static class CollectionHolder {
+
+		public String name = "holder";
+
+		public List<Integer> numbers = new ArrayList<>(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10));
+
+		public Map<String, Integer> counts = new HashMap<>();
+
+		public int threshold = 5;
+
+		public long sum(long... values) {
+			long sum = 0;
+			for (long value : values) {
+				sum += value;
+			}
+			return sum;
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -85,9 +85,17 @@ public class CodeFlow implements Opcodes {
 
 	/**
 	 * When code generation requires an intermediate variable within a method,
-	 * this method records the next available variable (variable 0 is 'this').
+	 * this method records the next available variable (variable 0 is 'this',
+	 * variables 1 and 2 are the target and the evaluation context).
 	 */
-	private int nextFreeVariableId = 1;
+	private int nextFreeVariableId = 3;
+
+	/**
+	 * Local variables holding the current target, for sub-expressions that are
+	 * evaluated against something other than the target passed to the compiled
+	 * expression (e.g. the elements visited by a selection or projection).
+	 */
+	private final Deque<Integer> targetVariables = new ArrayDeque<>();
 
 
 	/**
@@ -105,11 +113,34 @@ public class CodeFlow implements Opcodes {
 
 	/**
 	 * Push the byte code to load the target (i.e. what was passed as the first argument
-	 * to CompiledExpression.getValue(target, context))
+	 * to CompiledExpression.getValue(target, context), unless a different target has
+	 * been established through {@link #enterTargetScope(int)})
 	 * @param mv the visitor into which the load instruction should be inserted
 	 */
 	public void loadTarget(MethodVisitor mv) {
-		mv.visitVarInsn(ALOAD, 1);
+		Integer targetVariable = this.targetVariables.peek();
+		mv.visitVarInsn(ALOAD, (targetVariable != null ? targetVariable : 1));
+	}
+
+	/**
+	 * Use the value held in the given local variable as the target for code generated
+	 * until the corresponding {@link #exitTargetScope()} call. For example, the criteria
+	 * of a selection are evaluated against each element of the selected collection.
+	 * Variable 1 always holds the root object passed to the compiled expression.
+	 * @param variableId the local variable holding the new target
+	 * @since 5.3.39
+	 * @see #nextFreeVariableId()
+	 */
+	public void enterTargetScope(int variableId) {
+		this.targetVariables.push(variableId);
+	}
+
+	/**
+	 * Return to the target that was in use before the last {@link #enterTargetScope(int)}.
+	 * @since 5.3.39
+	 */
+	public void exitTargetScope() {
+		this.targetVariables.pop();
 	}
 
 	/**
@@ -614,6 +645,24 @@ public class CodeFlow implements Opcodes {
 		return false;
 	}
 
+	/**
+	 * Determine whether a value of the first supported number type can be widened
+	 * to the second one without loss of magnitude, e.g. from {@code int} to
+	 * {@code long} or from {@code Integer} to {@code double}.
+	 * @param fromDescriptor the descriptor of the value (primitive or boxed)
+	 * @param toDescriptor the descriptor of the desired type (primitive or boxed)
+	 * @return {@code true} if it is a widening conversion between two different types
+	 * @since 5.3.39
+	 */
+	public static boolean isNumericWidening(@Nullable String fromDescriptor, @Nullable String toDescriptor) {
+		if (!isPrimitiveOrUnboxableSupportedNumber(fromDescriptor) ||
+				!isPrimitiveOrUnboxableSupportedNumber(toDescriptor)) {
+			return false;
+		}
+		String order = "IJFD";
+		return (order.indexOf(toPrimitiveTargetDesc(fromDescriptor)) < order.indexOf(toPrimitiveTargetDesc(toDescriptor)));
+	}
+
 	/**
 	 * Determine if the supplied descriptor is for a supported number type or boolean. The
 	 * compilation process only (currently) supports certain number types. These are
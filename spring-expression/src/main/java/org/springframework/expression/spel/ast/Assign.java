@@ -16,11 +16,16 @@
 
 package org.springframework.expression.spel.ast;
 
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
 import org.springframework.expression.EvaluationException;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.expression.spel.SpelEvaluationException;
 import org.springframework.expression.spel.SpelMessage;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 
 /**
  * Represents assignment. An alternative to calling {@code setValue}
@@ -52,4 +57,79 @@ public class Assign extends SpelNodeImpl {
 		return getChild(0).toStringAST() + "=" + getChild(1).toStringAST();
 	}
 
+	/**
+	 * An assignment is compilable if it writes to a list, a map or an array through
+	 * an {@link Indexer} (e.g. {@code map['key']=value}), and if the last such write
+	 * did not need to convert the value.
+	 */
+	@Override
+	public boolean isCompilable() {
+		Indexer indexer = getTargetIndexer();
+		if (indexer == null) {
+			return false;
+		}
+		SpelNodeImpl target = this.children[0];
+		if (target instanceof CompoundExpression) {
+			for (int i = 0; i < target.children.length - 1; i++) {
+				if (!target.children[i].isCompilable()) {
+					return false;
+				}
+			}
+		}
+		return indexer.isCompilableWrite(this.children[1]);
+	}
+
+	@Override
+	public void generateCode(MethodVisitor mv, CodeFlow cf) {
+		Indexer indexer = getTargetIndexer();
+		Assert.state(indexer != null, "No target indexer");
+
+		// Same check as in getValueInternal
+		Label assignmentEnabled = new Label();
+		cf.loadEvaluationContext(mv);
+		mv.visitMethodInsn(INVOKEINTERFACE, "org/springframework/expression/EvaluationContext",
+				"isAssignmentEnabled", "()Z", true);
+		mv.visitJumpInsn(IFNE, assignmentEnabled);
+		mv.visitTypeInsn(NEW, "org/springframework/expression/spel/SpelEvaluationException");
+		mv.visitInsn(DUP);
+		CodeFlow.insertOptimalLoad(mv, getStartPosition());
+		mv.visitFieldInsn(GETSTATIC, "org/springframework/expression/spel/SpelMessage",
+				"NOT_ASSIGNABLE", "Lorg/springframework/expression/spel/SpelMessage;");
+		CodeFlow.insertOptimalLoad(mv, 1);
+		mv.visitTypeInsn(ANEWARRAY, "java/lang/Object");
+		mv.visitInsn(DUP);
+		CodeFlow.insertOptimalLoad(mv, 0);
+		mv.visitLdcInsn(toStringAST());
+		mv.visitInsn(AASTORE);
+		mv.visitMethodInsn(INVOKESPECIAL, "org/springframework/expression/spel/SpelEvaluationException", "<init>",
+				"(ILorg/springframework/expression/spel/SpelMessage;[Ljava/lang/Object;)V", false);
+		mv.visitInsn(ATHROW);
+		mv.visitLabel(assignmentEnabled);
+
+		// As in getValueInternal, the value is evaluated before the target
+		int valueVariable = indexer.generateWriteValueCode(mv, cf, this.children[1]);
+		cf.enterCompilationScope();
+		SpelNodeImpl target = this.children[0];
+		if (target instanceof CompoundExpression) {
+			for (int i = 0; i < target.children.length - 1; i++) {
+				target.children[i].generateCode(mv, cf);
+			}
+		}
+		this.exitTypeDescriptor = indexer.generateWriteCode(mv, cf, valueVariable);
+		cf.exitCompilationScope();
+		cf.pushDescriptor(this.exitTypeDescriptor);
+	}
+
+	/**
+	 * Return the indexer that this assignment writes through, if any.
+	 */
+	@Nullable
+	private Indexer getTargetIndexer() {
+		SpelNodeImpl target = this.children[0];
+		if (target instanceof CompoundExpression) {
+			target = target.children[target.children.length - 1];
+		}
+		return (target instanceof Indexer ? (Indexer) target : null);
+	}
+
 }
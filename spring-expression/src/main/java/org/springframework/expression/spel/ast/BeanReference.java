@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,10 +16,15 @@
 
 package org.springframework.expression.spel.ast;
 
+import java.lang.reflect.Modifier;
+
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
 import org.springframework.expression.AccessException;
 import org.springframework.expression.BeanResolver;
 import org.springframework.expression.EvaluationException;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.expression.spel.SpelEvaluationException;
 import org.springframework.expression.spel.SpelMessage;
@@ -52,7 +57,11 @@ public class BeanReference extends SpelNodeImpl {
 		}
 
 		try {
-			return new TypedValue(beanResolver.resolve(state.getEvaluationContext(), this.beanName));
+			Object bean = beanResolver.resolve(state.getEvaluationContext(), this.beanName);
+			// As for variables, only a public type can be used for the checkcast in generateCode
+			this.exitTypeDescriptor = (bean != null && Modifier.isPublic(bean.getClass().getModifiers()) ?
+					CodeFlow.toDescriptorFromObject(bean) : "Ljava/lang/Object");
+			return new TypedValue(bean);
 		}
 		catch (AccessException ex) {
 			throw new SpelEvaluationException(getStartPosition(), ex, SpelMessage.EXCEPTION_DURING_BEAN_RESOLUTION,
@@ -75,4 +84,44 @@ public class BeanReference extends SpelNodeImpl {
 		return sb.toString();
 	}
 
+	@Override
+	public boolean isCompilable() {
+		return (this.exitTypeDescriptor != null);
+	}
+
+	@Override
+	public void generateCode(MethodVisitor mv, CodeFlow cf) {
+		// context.getBeanResolver().resolve(context, beanName)
+		cf.loadEvaluationContext(mv);
+		mv.visitMethodInsn(INVOKEINTERFACE, "org/springframework/expression/EvaluationContext",
+				"getBeanResolver", "()Lorg/springframework/expression/BeanResolver;", true);
+
+		// Same check as in getValueInternal
+		Label beanResolverAvailable = new Label();
+		mv.visitInsn(DUP);
+		mv.visitJumpInsn(IFNONNULL, beanResolverAvailable);
+		mv.visitTypeInsn(NEW, "org/springframework/expression/spel/SpelEvaluationException");
+		mv.visitInsn(DUP);
+		CodeFlow.insertOptimalLoad(mv, getStartPosition());
+		mv.visitFieldInsn(GETSTATIC, "org/springframework/expression/spel/SpelMessage",
+				"NO_BEAN_RESOLVER_REGISTERED", "Lorg/springframework/expression/spel/SpelMessage;");
+		CodeFlow.insertOptimalLoad(mv, 1);
+		mv.visitTypeInsn(ANEWARRAY, "java/lang/Object");
+		mv.visitInsn(DUP);
+		CodeFlow.insertOptimalLoad(mv, 0);
+		mv.visitLdcInsn(this.beanName);
+		mv.visitInsn(AASTORE);
+		mv.visitMethodInsn(INVOKESPECIAL, "org/springframework/expression/spel/SpelEvaluationException", "<init>",
+				"(ILorg/springframework/expression/spel/SpelMessage;[Ljava/lang/Object;)V", false);
+		mv.visitInsn(ATHROW);
+		mv.visitLabel(beanResolverAvailable);
+
+		cf.loadEvaluationContext(mv);
+		mv.visitLdcInsn(this.beanName);
+		mv.visitMethodInsn(INVOKEINTERFACE, "org/springframework/expression/BeanResolver", "resolve",
+				"(Lorg/springframework/expression/EvaluationContext;Ljava/lang/String;)Ljava/lang/Object;", true);
+		CodeFlow.insertCheckCast(mv, this.exitTypeDescriptor);
+		cf.pushDescriptor(this.exitTypeDescriptor);
+	}
+
 }
@@ -28,6 +28,7 @@ import java.util.StringJoiner;
 import java.util.function.Supplier;
 
 import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Type;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.expression.AccessException;
 import org.springframework.expression.EvaluationContext;
@@ -42,6 +43,7 @@ import org.springframework.expression.spel.SpelMessage;
 import org.springframework.expression.spel.support.ReflectivePropertyAccessor;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.ReflectionUtils;
 
 /**
@@ -92,6 +94,11 @@ public class Indexer extends SpelNodeImpl {
 	@Nullable
 	private IndexedType indexedType;
 
+	// Set when the last write through this indexer did not need to convert the value,
+	// to the descriptor of the value type that generated code passes to the write
+	@Nullable
+	private String writeTypeDescriptor;
+
 
 	public Indexer(int startPos, int endPos, SpelNodeImpl expr) {
 		super(startPos, endPos, expr);
@@ -160,7 +167,8 @@ public class Indexer extends SpelNodeImpl {
 				key = state.convertValue(key, targetDescriptor.getMapKeyTypeDescriptor());
 			}
 			this.indexedType = IndexedType.MAP;
-			return new MapIndexingValueRef(state.getTypeConverter(), (Map<?, ?>) target, key, targetDescriptor);
+			return new MapIndexingValueRef(
+					state.getTypeConverter(), (Map<?, ?>) target, key, (key != index), targetDescriptor);
 		}
 
 		// If the object is something that looks indexable by an integer,
@@ -323,7 +331,113 @@ public class Indexer extends SpelNodeImpl {
 
 	private void generateIndexCode(MethodVisitor mv, CodeFlow cf, SpelNodeImpl indexNode, Class<?> indexType) {
 		String indexDesc = CodeFlow.toDescriptor(indexType);
+		// As in getValueRef, the index is evaluated against the root object
+		cf.enterTargetScope(1);
 		generateCodeForArgument(mv, cf, indexNode, indexDesc);
+		cf.exitTargetScope();
+	}
+
+	/**
+	 * Determine whether an assignment of the given value through this indexer
+	 * can be compiled: the last write must have targeted a list, a map or an
+	 * array, without any conversion of the written value.
+	 * @param valueNode the node providing the value to write
+	 */
+	boolean isCompilableWrite(SpelNodeImpl valueNode) {
+		String valueDescriptor = valueNode.exitTypeDescriptor;
+		if (this.writeTypeDescriptor == null || valueDescriptor == null || !valueNode.isCompilable()) {
+			return false;
+		}
+		SpelNodeImpl index = this.children[0];
+		if (this.indexedType == IndexedType.MAP) {
+			return (index instanceof PropertyOrFieldReference || index.isCompilable());
+		}
+		else if (this.indexedType == IndexedType.LIST) {
+			return index.isCompilable();
+		}
+		else if (this.indexedType == IndexedType.ARRAY) {
+			return (index.isCompilable() && (!CodeFlow.isPrimitive(this.writeTypeDescriptor) ||
+					CodeFlow.areBoxingCompatible(valueDescriptor, this.writeTypeDescriptor)));
+		}
+		return false;
+	}
+
+	/**
+	 * Generate the code evaluating the value to write, storing it in a new local
+	 * variable since it is evaluated before the target of the write.
+	 * @param mv the method visitor where code should be generated
+	 * @param cf the current codeflow
+	 * @param valueNode the node providing the value to write
+	 * @return the local variable holding the value
+	 * @see #generateWriteCode(MethodVisitor, CodeFlow, int)
+	 */
+	int generateWriteValueCode(MethodVisitor mv, CodeFlow cf, SpelNodeImpl valueNode) {
+		Assert.state(this.writeTypeDescriptor != null, "No write type descriptor");
+		generateCodeForArgument(mv, cf, valueNode, this.writeTypeDescriptor);
+		Type valueType = getWriteType(this.writeTypeDescriptor);
+		int valueVariable = cf.nextFreeVariableId();
+		if (valueType.getSize() == 2) {
+			cf.nextFreeVariableId();
+		}
+		mv.visitVarInsn(valueType.getOpcode(ISTORE), valueVariable);
+		return valueVariable;
+	}
+
+	/**
+	 * Generate the code writing the value held in the given local variable through
+	 * this indexer, leaving the written value on the stack.
+	 * @param mv the method visitor where code should be generated
+	 * @param cf the current codeflow
+	 * @param valueVariable the local variable holding the value
+	 * @return the descriptor of the written value
+	 */
+	String generateWriteCode(MethodVisitor mv, CodeFlow cf, int valueVariable) {
+		String valueDescriptor = this.writeTypeDescriptor;
+		Assert.state(valueDescriptor != null, "No write type descriptor");
+		if (cf.lastDescriptor() == null) {
+			// Stack is empty, should use context object
+			cf.loadTarget(mv);
+		}
+
+		SpelNodeImpl index = this.children[0];
+		Type valueType = getWriteType(valueDescriptor);
+
+		if (this.indexedType == IndexedType.MAP) {
+			mv.visitTypeInsn(CHECKCAST, "java/util/Map");
+			if (index instanceof PropertyOrFieldReference) {
+				mv.visitLdcInsn(((PropertyOrFieldReference) index).getName());
+			}
+			else {
+				generateIndexCode(mv, cf, index, Object.class);
+			}
+			mv.visitVarInsn(ALOAD, valueVariable);
+			mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Map", "put",
+					"(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;", true);
+			mv.visitInsn(POP);
+		}
+		else if (this.indexedType == IndexedType.LIST) {
+			mv.visitTypeInsn(CHECKCAST, "java/util/List");
+			generateIndexCode(mv, cf, index, int.class);
+			mv.visitVarInsn(ALOAD, valueVariable);
+			mv.visitMethodInsn(INVOKEINTERFACE, "java/util/List", "set", "(ILjava/lang/Object;)Ljava/lang/Object;", true);
+			mv.visitInsn(POP);
+		}
+		else {
+			// Reference type arrays are written as Object[], relying on the runtime store check
+			mv.visitTypeInsn(CHECKCAST, CodeFlow.isPrimitive(valueDescriptor) ?
+					"[" + valueDescriptor : "[Ljava/lang/Object;");
+			generateIndexCode(mv, cf, index, int.class);
+			mv.visitVarInsn(valueType.getOpcode(ILOAD), valueVariable);
+			CodeFlow.insertArrayStore(mv, valueDescriptor);
+		}
+
+		mv.visitVarInsn(valueType.getOpcode(ILOAD), valueVariable);
+		return valueDescriptor;
+	}
+
+	private static Type getWriteType(String writeTypeDescriptor) {
+		return (CodeFlow.isPrimitive(writeTypeDescriptor) ?
+				Type.getType(writeTypeDescriptor) : Type.getObjectType("java/lang/Object"));
 	}
 
 	@Override
@@ -490,6 +604,13 @@ public class Indexer extends SpelNodeImpl {
 		public void setValue(@Nullable Object newValue) {
 			TypeDescriptor elementType = this.typeDescriptor.getElementTypeDescriptor();
 			Assert.state(elementType != null, "No element type");
+			Class<?> componentType = this.array.getClass().getComponentType();
+			boolean conversionFree = (newValue != null ?
+					ClassUtils.resolvePrimitiveIfNecessary(componentType).isInstance(newValue) &&
+							ClassUtils.resolvePrimitiveIfNecessary(elementType.getType()).isInstance(newValue) :
+					!componentType.isPrimitive());
+			writeTypeDescriptor = (conversionFree ? (componentType.isPrimitive() ?
+					CodeFlow.toDescriptor(componentType) : "Ljava/lang/Object") : null);
 			setArrayElement(this.typeConverter, this.array, this.index, newValue, elementType.getType());
 		}
 
@@ -510,14 +631,17 @@ public class Indexer extends SpelNodeImpl {
 		@Nullable
 		private final Object key;
 
+		private final boolean keyConverted;
+
 		private final TypeDescriptor mapEntryDescriptor;
 
-		public MapIndexingValueRef(
-				TypeConverter typeConverter, Map map, @Nullable Object key, TypeDescriptor mapEntryDescriptor) {
+		public MapIndexingValueRef(TypeConverter typeConverter, Map map, @Nullable Object key,
+				boolean keyConverted, TypeDescriptor mapEntryDescriptor) {
 
 			this.typeConverter = typeConverter;
 			this.map = map;
 			this.key = key;
+			this.keyConverted = keyConverted;
 			this.mapEntryDescriptor = mapEntryDescriptor;
 		}
 
@@ -530,11 +654,13 @@ public class Indexer extends SpelNodeImpl {
 
 		@Override
 		public void setValue(@Nullable Object newValue) {
+			Object value = newValue;
 			if (this.mapEntryDescriptor.getMapValueTypeDescriptor() != null) {
-				newValue = this.typeConverter.convertValue(newValue, TypeDescriptor.forObject(newValue),
+				value = this.typeConverter.convertValue(newValue, TypeDescriptor.forObject(newValue),
 						this.mapEntryDescriptor.getMapValueTypeDescriptor());
 			}
-			this.map.put(this.key, newValue);
+			writeTypeDescriptor = (!this.keyConverted && value == newValue ? "Ljava/lang/Object" : null);
+			this.map.put(this.key, value);
 		}
 
 		@Override
@@ -691,14 +817,18 @@ public class Indexer extends SpelNodeImpl {
 
 		@Override
 		public void setValue(@Nullable Object newValue) {
+			// Generated code does not grow the collection
+			boolean growing = (this.index >= this.collection.size());
 			growCollectionIfNecessary();
 			if (this.collection instanceof List) {
 				List list = (List) this.collection;
+				Object value = newValue;
 				if (this.collectionEntryDescriptor.getElementTypeDescriptor() != null) {
-					newValue = this.typeConverter.convertValue(newValue, TypeDescriptor.forObject(newValue),
+					value = this.typeConverter.convertValue(newValue, TypeDescriptor.forObject(newValue),
 							this.collectionEntryDescriptor.getElementTypeDescriptor());
 				}
-				list.set(this.index, newValue);
+				writeTypeDescriptor = (!growing && value == newValue ? "Ljava/lang/Object" : null);
+				list.set(this.index, value);
 			}
 			else {
 				throw new SpelEvaluationException(getStartPosition(), SpelMessage.INDEXING_NOT_SUPPORTED_FOR_TYPE,
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,8 +20,10 @@ import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
+import org.springframework.asm.MethodVisitor;
 import org.springframework.expression.EvaluationException;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.expression.spel.SpelNode;
 import org.springframework.lang.Nullable;
@@ -164,4 +166,93 @@ public class InlineMap extends SpelNodeImpl {
 		return (Map<Object, Object>) this.constant.getValue();
 	}
 
+	@Override
+	public boolean isCompilable() {
+		if (isConstant()) {
+			return true;
+		}
+		for (int c = 0, max = getChildCount(); c < max; c++) {
+			SpelNodeImpl child = this.children[c];
+			if (!(c % 2 == 0 && child instanceof PropertyOrFieldReference) && !child.isCompilable()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public void generateCode(MethodVisitor mv, CodeFlow codeflow) {
+		if (isConstant()) {
+			final String constantFieldName = "inlineMap$" + codeflow.nextFieldId();
+			final String className = codeflow.getClassName();
+
+			codeflow.registerNewField((cw, cflow) ->
+					cw.visitField(ACC_PRIVATE | ACC_STATIC | ACC_FINAL, constantFieldName, "Ljava/util/Map;", null, null));
+
+			codeflow.registerNewClinit((mVisitor, cflow) ->
+					generateClinitCode(className, constantFieldName, mVisitor, cflow, false));
+
+			mv.visitFieldInsn(GETSTATIC, className, constantFieldName, "Ljava/util/Map;");
+		}
+		else {
+			generateMapCode(mv, codeflow, false);
+		}
+		codeflow.pushDescriptor("Ljava/util/Map");
+	}
+
+	void generateClinitCode(String clazzname, String constantFieldName, MethodVisitor mv, CodeFlow codeflow, boolean nested) {
+		generateMapCode(mv, codeflow, true);
+		// Nested constant maps are shared as well, as are their enclosing maps
+		mv.visitMethodInsn(INVOKESTATIC, "java/util/Collections", "unmodifiableMap",
+				"(Ljava/util/Map;)Ljava/util/Map;", false);
+		if (!nested) {
+			mv.visitFieldInsn(PUTSTATIC, clazzname, constantFieldName, "Ljava/util/Map;");
+		}
+	}
+
+	/**
+	 * Build the map on the stack. Constant nested lists and maps are built in place
+	 * when generating static initializer code, rather than registering further fields.
+	 */
+	private void generateMapCode(MethodVisitor mv, CodeFlow codeflow, boolean clinit) {
+		mv.visitTypeInsn(NEW, "java/util/LinkedHashMap");
+		mv.visitInsn(DUP);
+		mv.visitMethodInsn(INVOKESPECIAL, "java/util/LinkedHashMap", "<init>", "()V", false);
+		int childCount = getChildCount();
+		for (int c = 0; c < childCount; c++) {
+			mv.visitInsn(DUP);
+			SpelNodeImpl keyChild = this.children[c++];
+			if (keyChild instanceof PropertyOrFieldReference) {
+				mv.visitLdcInsn(((PropertyOrFieldReference) keyChild).getName());
+			}
+			else {
+				generateEntryCode(mv, codeflow, keyChild, clinit);
+			}
+			generateEntryCode(mv, codeflow, this.children[c], clinit);
+			mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Map", "put",
+					"(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;", true);
+			mv.visitInsn(POP);
+		}
+	}
+
+	private void generateEntryCode(MethodVisitor mv, CodeFlow codeflow, SpelNodeImpl child, boolean clinit) {
+		if (clinit && child instanceof InlineList) {
+			((InlineList) child).generateClinitCode(codeflow.getClassName(), "", mv, codeflow, true);
+			mv.visitMethodInsn(INVOKESTATIC, "java/util/Collections", "unmodifiableList",
+					"(Ljava/util/List;)Ljava/util/List;", false);
+		}
+		else if (clinit && child instanceof InlineMap) {
+			((InlineMap) child).generateClinitCode(codeflow.getClassName(), "", mv, codeflow, true);
+		}
+		else {
+			codeflow.enterCompilationScope();
+			child.generateCode(mv, codeflow);
+			String lastDesc = codeflow.lastDescriptor();
+			if (CodeFlow.isPrimitive(lastDesc)) {
+				CodeFlow.insertBoxIfNecessary(mv, lastDesc.charAt(0));
+			}
+			codeflow.exitCompilationScope();
+		}
+	}
+
 }
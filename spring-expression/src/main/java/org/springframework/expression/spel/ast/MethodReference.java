@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -54,6 +54,10 @@ import org.springframework.util.ObjectUtils;
  */
 public class MethodReference extends SpelNodeImpl {
 
+	// Maximum number of receiver and argument type combinations remembered per method reference
+	private static final int INLINE_CACHE_SIZE = 4;
+
+
 	private final String name;
 
 	private final boolean nullSafe;
@@ -64,6 +68,9 @@ public class MethodReference extends SpelNodeImpl {
 	@Nullable
 	private volatile CachedMethodExecutor cachedExecutor;
 
+	// Polymorphic inline cache: executors for the receiver and argument types seen so far
+	private volatile CachedMethodExecutor[] inlineCache = new CachedMethodExecutor[0];
+
 
 	public MethodReference(boolean nullSafe, String methodName, int startPos, int endPos, SpelNodeImpl... arguments) {
 		super(startPos, endPos, arguments);
@@ -100,14 +107,15 @@ public class MethodReference extends SpelNodeImpl {
 	private TypedValue getValueInternal(EvaluationContext evaluationContext,
 			@Nullable Object value, @Nullable TypeDescriptor targetType, Object[] arguments) {
 
-		List<TypeDescriptor> argumentTypes = getArgumentTypes(arguments);
 		if (value == null) {
-			throwIfNotNullSafe(argumentTypes);
+			throwIfNotNullSafe(getArgumentTypes(arguments));
 			return TypedValue.NULL;
 		}
 
-		MethodExecutor executorToUse = getCachedExecutor(evaluationContext, value, targetType, argumentTypes);
-		if (executorToUse != null) {
+		List<TypeDescriptor> argumentTypes = null;
+		CachedMethodExecutor executorToCheck = getCachedExecutor(evaluationContext, value, targetType, arguments);
+		if (executorToCheck != null) {
+			MethodExecutor executorToUse = executorToCheck.get();
 			try {
 				return executorToUse.execute(evaluationContext, value, arguments);
 			}
@@ -128,13 +136,21 @@ public class MethodReference extends SpelNodeImpl {
 				// At this point we know it wasn't a user problem so worth a retry if a
 				// better candidate can be found.
 				this.cachedExecutor = null;
+				removeFromInlineCache(executorToCheck);
+				// The arguments may have been converted in place: use the types they arrived with
+				argumentTypes = executorToCheck.argumentTypes;
 			}
 		}
 
 		// either there was no accessor or it no longer existed
-		executorToUse = findAccessorForMethod(argumentTypes, value, evaluationContext);
-		this.cachedExecutor = new CachedMethodExecutor(
+		if (argumentTypes == null) {
+			argumentTypes = getArgumentTypes(arguments);
+		}
+		MethodExecutor executorToUse = findAccessorForMethod(argumentTypes, value, evaluationContext);
+		CachedMethodExecutor newExecutor = new CachedMethodExecutor(
 				executorToUse, (value instanceof Class ? (Class<?>) value : null), targetType, argumentTypes);
+		this.cachedExecutor = newExecutor;
+		addToInlineCache(newExecutor);
 		try {
 			return executorToUse.execute(evaluationContext, value, arguments);
 		}
@@ -179,8 +195,8 @@ public class MethodReference extends SpelNodeImpl {
 	}
 
 	@Nullable
-	private MethodExecutor getCachedExecutor(EvaluationContext evaluationContext, Object value,
-			@Nullable TypeDescriptor target, List<TypeDescriptor> argumentTypes) {
+	private CachedMethodExecutor getCachedExecutor(EvaluationContext evaluationContext, Object value,
+			@Nullable TypeDescriptor target, Object[] arguments) {
 
 		List<MethodResolver> methodResolvers = evaluationContext.getMethodResolvers();
 		if (methodResolvers.size() != 1 || !(methodResolvers.get(0) instanceof ReflectiveMethodResolver)) {
@@ -189,13 +205,43 @@ public class MethodReference extends SpelNodeImpl {
 		}
 
 		CachedMethodExecutor executorToCheck = this.cachedExecutor;
-		if (executorToCheck != null && executorToCheck.isSuitable(value, target, argumentTypes)) {
-			return executorToCheck.get();
+		if (executorToCheck != null && executorToCheck.isSuitable(value, target, arguments)) {
+			return executorToCheck;
+		}
+		for (CachedMethodExecutor candidate : this.inlineCache) {
+			if (candidate != executorToCheck && candidate.isSuitable(value, target, arguments)) {
+				this.cachedExecutor = candidate;
+				return candidate;
+			}
 		}
 		this.cachedExecutor = null;
 		return null;
 	}
 
+	private void addToInlineCache(CachedMethodExecutor executor) {
+		synchronized (this) {
+			CachedMethodExecutor[] current = this.inlineCache;
+			int retained = Math.min(current.length, INLINE_CACHE_SIZE - 1);
+			CachedMethodExecutor[] updated = new CachedMethodExecutor[retained + 1];
+			updated[0] = executor;
+			System.arraycopy(current, 0, updated, 1, retained);
+			this.inlineCache = updated;
+		}
+	}
+
+	private void removeFromInlineCache(CachedMethodExecutor executor) {
+		synchronized (this) {
+			CachedMethodExecutor[] current = this.inlineCache;
+			List<CachedMethodExecutor> updated = new ArrayList<>(current.length);
+			for (CachedMethodExecutor candidate : current) {
+				if (candidate != executor) {
+					updated.add(candidate);
+				}
+			}
+			this.inlineCache = updated.toArray(new CachedMethodExecutor[0]);
+		}
+	}
+
 	private MethodExecutor findAccessorForMethod(List<TypeDescriptor> argumentTypes, Object targetObject,
 			EvaluationContext evaluationContext) throws SpelEvaluationException {
 
@@ -285,7 +331,7 @@ public class MethodReference extends SpelNodeImpl {
 		}
 
 		ReflectiveMethodExecutor executor = (ReflectiveMethodExecutor) executorToCheck.get();
-		if (executor.didArgumentConversionOccur()) {
+		if (executor.didArgumentConversionOccur() && !isNumericWideningOfVarargs(executor.getMethod())) {
 			return false;
 		}
 
@@ -293,6 +339,36 @@ public class MethodReference extends SpelNodeImpl {
 		return (Modifier.isPublic(clazz.getModifiers()) || executor.getPublicDeclaringClass() != null);
 	}
 
+	/**
+	 * Determine whether the argument conversion for a varargs method was limited
+	 * to numeric widening (e.g. {@code int} values passed as {@code long...}),
+	 * which the generated code can perform without a type converter.
+	 */
+	private boolean isNumericWideningOfVarargs(Method method) {
+		if (!method.isVarArgs()) {
+			return false;
+		}
+		String[] paramDescriptors = CodeFlow.toParamDescriptors(method);
+		int varargsPosition = paramDescriptors.length - 1;
+		String arrayDescriptor = paramDescriptors[varargsPosition];
+		for (int i = 0; i < this.children.length; i++) {
+			String argDescriptor = this.children[i].exitTypeDescriptor;
+			if (argDescriptor == null) {
+				return false;
+			}
+			if (i == varargsPosition && this.children.length == paramDescriptors.length &&
+					arrayDescriptor.equals(argDescriptor)) {
+				continue;
+			}
+			String paramDescriptor = (i < varargsPosition ? paramDescriptors[i] : arrayDescriptor.substring(1));
+			if (!CodeFlow.areBoxingCompatible(argDescriptor, paramDescriptor) &&
+					!CodeFlow.isNumericWidening(argDescriptor, paramDescriptor)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	@Override
 	public void generateCode(MethodVisitor mv, CodeFlow cf) {
 		CachedMethodExecutor executorToCheck = this.cachedExecutor;
@@ -419,9 +495,21 @@ public class MethodReference extends SpelNodeImpl {
 			this.argumentTypes = argumentTypes;
 		}
 
-		public boolean isSuitable(Object value, @Nullable TypeDescriptor target, List<TypeDescriptor> argumentTypes) {
-			return ((this.staticClass == null || this.staticClass == value) &&
-					ObjectUtils.nullSafeEquals(this.target, target) && this.argumentTypes.equals(argumentTypes));
+		public boolean isSuitable(Object value, @Nullable TypeDescriptor target, Object[] arguments) {
+			if ((this.staticClass != null && this.staticClass != value) ||
+					!ObjectUtils.nullSafeEquals(this.target, target) || this.argumentTypes.size() != arguments.length) {
+				return false;
+			}
+			// Equivalent to comparing against TypeDescriptor.forObject(argument), without creating descriptors
+			for (int i = 0; i < arguments.length; i++) {
+				TypeDescriptor argumentType = this.argumentTypes.get(i);
+				Object argument = arguments[i];
+				if (argument == null ? argumentType != null :
+						(argumentType == null || argumentType.getType() != argument.getClass())) {
+					return false;
+				}
+			}
+			return true;
 		}
 
 		public boolean hasProxyTarget() {
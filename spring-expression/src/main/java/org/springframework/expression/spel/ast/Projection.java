@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,8 +22,11 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
 import org.springframework.expression.EvaluationException;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.expression.spel.SpelEvaluationException;
 import org.springframework.expression.spel.SpelMessage;
@@ -45,6 +48,10 @@ public class Projection extends SpelNodeImpl {
 
 	private final boolean nullSafe;
 
+	// The kind of operand (Map or Iterable) seen by the last evaluation, if supported by generateCode
+	@Nullable
+	private Class<?> operandType;
+
 
 	public Projection(boolean nullSafe, int startPos, int endPos, SpelNodeImpl expression) {
 		super(startPos, endPos, expression);
@@ -71,6 +78,8 @@ public class Projection extends SpelNodeImpl {
 		// and value, and they can be referenced in the operation
 		// eg. {'a':'y','b':'n'}.![value=='y'?key:null]" == ['a', null]
 		if (operand instanceof Map) {
+			this.operandType = Map.class;
+			this.exitTypeDescriptor = "Ljava/util/List";
 			Map<?, ?> mapData = (Map<?, ?>) operand;
 			List<Object> result = new ArrayList<>();
 			for (Map.Entry<?, ?> entry : mapData.entrySet()) {
@@ -90,6 +99,14 @@ public class Projection extends SpelNodeImpl {
 		if (operand instanceof Iterable || operandIsArray) {
 			Iterable<?> data = (operand instanceof Iterable ?
 					(Iterable<?>) operand : Arrays.asList(ObjectUtils.toObjectArray(operand)));
+			if (operandIsArray) {
+				// Array results are created with the common type of the projected values
+				this.operandType = null;
+			}
+			else {
+				this.operandType = Iterable.class;
+				this.exitTypeDescriptor = "Ljava/util/List";
+			}
 
 			List<Object> result = new ArrayList<>();
 			Class<?> arrayElementType = null;
@@ -137,6 +154,73 @@ public class Projection extends SpelNodeImpl {
 		return "![" + getChild(0).toStringAST() + "]";
 	}
 
+	@Override
+	public boolean isCompilable() {
+		return (this.operandType != null && this.children[0].isCompilable());
+	}
+
+	@Override
+	public void generateCode(MethodVisitor mv, CodeFlow cf) {
+		if (cf.lastDescriptor() == null) {
+			// Stack is empty, project the context object
+			cf.loadTarget(mv);
+		}
+		Label endOfProjection = new Label();
+		if (this.nullSafe) {
+			Label continueLabel = new Label();
+			mv.visitInsn(DUP);
+			mv.visitJumpInsn(IFNONNULL, continueLabel);
+			mv.visitJumpInsn(GOTO, endOfProjection);
+			mv.visitLabel(continueLabel);
+		}
+
+		// Map entries are projected like the elements of a collection
+		if (this.operandType == Map.class) {
+			mv.visitTypeInsn(CHECKCAST, "java/util/Map");
+			mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Map", "entrySet", "()Ljava/util/Set;", true);
+			mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Set", "iterator", "()Ljava/util/Iterator;", true);
+		}
+		else {
+			mv.visitTypeInsn(CHECKCAST, "java/lang/Iterable");
+			mv.visitMethodInsn(INVOKEINTERFACE, "java/lang/Iterable", "iterator", "()Ljava/util/Iterator;", true);
+		}
+		int iterator = cf.nextFreeVariableId();
+		int element = cf.nextFreeVariableId();
+		mv.visitVarInsn(ASTORE, iterator);
+		mv.visitTypeInsn(NEW, "java/util/ArrayList");
+		mv.visitInsn(DUP);
+		mv.visitMethodInsn(INVOKESPECIAL, "java/util/ArrayList", "<init>", "()V", false);
+
+		Label nextElement = new Label();
+		Label endOfElements = new Label();
+		mv.visitLabel(nextElement);
+		mv.visitVarInsn(ALOAD, iterator);
+		mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Iterator", "hasNext", "()Z", true);
+		mv.visitJumpInsn(IFEQ, endOfElements);
+		mv.visitInsn(DUP);
+		mv.visitVarInsn(ALOAD, iterator);
+		mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Iterator", "next", "()Ljava/lang/Object;", true);
+		mv.visitVarInsn(ASTORE, element);
+
+		// Evaluate the projection against the current element
+		cf.enterTargetScope(element);
+		cf.enterCompilationScope();
+		this.children[0].generateCode(mv, cf);
+		String lastDesc = cf.lastDescriptor();
+		if (CodeFlow.isPrimitive(lastDesc)) {
+			CodeFlow.insertBoxIfNecessary(mv, lastDesc.charAt(0));
+		}
+		cf.exitCompilationScope();
+		cf.exitTargetScope();
+		mv.visitMethodInsn(INVOKEVIRTUAL, "java/util/ArrayList", "add", "(Ljava/lang/Object;)Z", false);
+		mv.visitInsn(POP);
+		mv.visitJumpInsn(GOTO, nextElement);
+
+		mv.visitLabel(endOfElements);
+		mv.visitLabel(endOfProjection);
+		cf.pushDescriptor(this.exitTypeDescriptor);
+	}
+
 	private Class<?> determineCommonType(@Nullable Class<?> oldType, Class<?> newType) {
 		if (oldType == null) {
 			return newType;
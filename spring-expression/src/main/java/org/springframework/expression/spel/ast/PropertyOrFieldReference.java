@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -52,6 +52,10 @@ import org.springframework.util.ReflectionUtils;
  */
 public class PropertyOrFieldReference extends SpelNodeImpl {
 
+	// Maximum number of target types remembered per property reference
+	private static final int INLINE_CACHE_SIZE = 4;
+
+
 	private final boolean nullSafe;
 
 	private final String name;
@@ -65,6 +69,9 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 	@Nullable
 	private volatile PropertyAccessor cachedWriteAccessor;
 
+	// Polymorphic inline cache: optimal reflective read accessors for the target types seen so far
+	private volatile InlineCacheEntry[] readInlineCache = new InlineCacheEntry[0];
+
 
 	public PropertyOrFieldReference(boolean nullSafe, String propertyOrFieldName, int startPos, int endPos) {
 		super(startPos, endPos);
@@ -180,6 +187,29 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 			return TypedValue.NULL;
 		}
 
+		if (targetObject != null) {
+			InlineCacheEntry entry = findInlineCacheEntry(targetObject, evalContext);
+			if (entry != null) {
+				try {
+					TypedValue result = entry.accessor.read(evalContext, targetObject, name);
+					if (this.cachedReadAccessor != entry.accessor) {
+						this.cachedReadAccessor = entry.accessor;
+					}
+					return result;
+				}
+				catch (AccessException ex) {
+					if (ex.getCause() instanceof InvocationTargetException) {
+						// The getter itself failed - don't invoke it a second time
+						throw new SpelEvaluationException(ex, SpelMessage.EXCEPTION_DURING_PROPERTY_READ, name, ex.getMessage());
+					}
+					// Otherwise let's try to find a suitable accessor again before giving up...
+				}
+				catch (Exception ex) {
+					// Let's try to find a suitable accessor again before giving up...
+				}
+			}
+		}
+
 		PropertyAccessor accessorToUse = this.cachedReadAccessor;
 		if (accessorToUse != null) {
 			if (evalContext.getPropertyAccessors().contains(accessorToUse)) {
@@ -203,8 +233,12 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 			for (PropertyAccessor accessor : accessorsToTry) {
 				if (accessor.canRead(evalContext, contextObject.getValue(), name)) {
 					if (accessor instanceof ReflectivePropertyAccessor) {
-						accessor = ((ReflectivePropertyAccessor) accessor).createOptimalAccessor(
+						PropertyAccessor optimalAccessor = ((ReflectivePropertyAccessor) accessor).createOptimalAccessor(
 								evalContext, contextObject.getValue(), name);
+						if (optimalAccessor != accessor && targetObject != null) {
+							addInlineCacheEntry(new InlineCacheEntry(targetObject, accessor, optimalAccessor));
+						}
+						accessor = optimalAccessor;
 					}
 					this.cachedReadAccessor = accessor;
 					return accessor.read(evalContext, contextObject.getValue(), name);
@@ -224,6 +258,30 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 		}
 	}
 
+	@Nullable
+	private InlineCacheEntry findInlineCacheEntry(Object targetObject, EvaluationContext evalContext) {
+		for (InlineCacheEntry entry : this.readInlineCache) {
+			if (entry.matches(targetObject) && entry.isValidFor(evalContext.getPropertyAccessors())) {
+				return entry;
+			}
+		}
+		return null;
+	}
+
+	private void addInlineCacheEntry(InlineCacheEntry entry) {
+		synchronized (this) {
+			InlineCacheEntry[] current = this.readInlineCache;
+			List<InlineCacheEntry> updated = new ArrayList<>(INLINE_CACHE_SIZE);
+			updated.add(entry);
+			for (InlineCacheEntry existing : current) {
+				if (updated.size() < INLINE_CACHE_SIZE && !existing.sameTarget(entry)) {
+					updated.add(existing);
+				}
+			}
+			this.readInlineCache = updated.toArray(new InlineCacheEntry[0]);
+		}
+	}
+
 	private void writeProperty(
 			TypedValue contextObject, EvaluationContext evalContext, String name, @Nullable Object newValue)
 			throws EvaluationException {
@@ -428,4 +486,81 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 		}
 	}
 
+
+	/**
+	 * Inline cache entry for a read accessor that is specific to a target type,
+	 * as created by a {@link ReflectivePropertyAccessor}. The entry is only valid
+	 * for property accessor lists in which the resolving accessor would be the
+	 * first one to try for the target type (see {@link #getPropertyAccessorsToTry}).
+	 */
+	private static class InlineCacheEntry {
+
+		private final Class<?> targetType;
+
+		private final boolean classTarget;
+
+		private final PropertyAccessor resolver;
+
+		private final PropertyAccessor accessor;
+
+		// The accessor list (and its size) that this entry was last validated against
+		@Nullable
+		private volatile List<PropertyAccessor> validatedAccessors;
+
+		private volatile int validatedSize;
+
+		InlineCacheEntry(Object targetObject, PropertyAccessor resolver, PropertyAccessor accessor) {
+			this.classTarget = (targetObject instanceof Class);
+			this.targetType = (this.classTarget ? (Class<?>) targetObject : targetObject.getClass());
+			this.resolver = resolver;
+			this.accessor = accessor;
+		}
+
+		boolean matches(Object targetObject) {
+			return (this.classTarget ? this.targetType == targetObject :
+					this.targetType == targetObject.getClass());
+		}
+
+		boolean sameTarget(InlineCacheEntry other) {
+			return (this.targetType == other.targetType && this.classTarget == other.classTarget);
+		}
+
+		boolean isValidFor(List<PropertyAccessor> accessors) {
+			if (accessors == this.validatedAccessors && accessors.size() == this.validatedSize) {
+				return true;
+			}
+			if (!isFirstAccessorToTry(accessors)) {
+				return false;
+			}
+			this.validatedAccessors = accessors;
+			this.validatedSize = accessors.size();
+			return true;
+		}
+
+		private boolean isFirstAccessorToTry(List<PropertyAccessor> accessors) {
+			Class<?> lookupType = (this.classTarget ? Class.class : this.targetType);
+			boolean resolverFound = false;
+			for (PropertyAccessor candidate : accessors) {
+				if (candidate == this.resolver) {
+					resolverFound = true;
+					continue;
+				}
+				Class<?>[] targets = candidate.getSpecificTargetClasses();
+				if (targets == null) {
+					if (!resolverFound) {
+						return false;
+					}
+				}
+				else {
+					for (Class<?> clazz : targets) {
+						if (clazz == lookupType || (!resolverFound && clazz.isAssignableFrom(lookupType))) {
+							return false;
+						}
+					}
+				}
+			}
+			return resolverFound;
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,12 +23,16 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.expression.EvaluationException;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.expression.spel.SpelEvaluationException;
 import org.springframework.expression.spel.SpelMessage;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.CollectionUtils;
@@ -68,6 +72,10 @@ public class Selection extends SpelNodeImpl {
 
 	private final boolean nullSafe;
 
+	// The kind of operand (Map or Iterable) seen by the last evaluation, if supported by generateCode
+	@Nullable
+	private Class<?> operandType;
+
 
 	public Selection(boolean nullSafe, int variant, int startPos, int endPos, SpelNodeImpl expression) {
 		super(startPos, endPos, expression);
@@ -88,6 +96,8 @@ public class Selection extends SpelNodeImpl {
 		SpelNodeImpl selectionCriteria = this.children[0];
 
 		if (operand instanceof Map) {
+			this.operandType = Map.class;
+			this.exitTypeDescriptor = "Ljava/util/Map";
 			Map<?, ?> mapdata = (Map<?, ?>) operand;
 			// TODO don't lose generic info for the new map
 			Map<Object, Object> result = new HashMap<>();
@@ -137,6 +147,14 @@ public class Selection extends SpelNodeImpl {
 		if (operand instanceof Iterable || ObjectUtils.isArray(operand)) {
 			Iterable<?> data = (operand instanceof Iterable ?
 					(Iterable<?>) operand : Arrays.asList(ObjectUtils.toObjectArray(operand)));
+			if (operand instanceof Iterable) {
+				this.operandType = Iterable.class;
+				this.exitTypeDescriptor = (this.variant == ALL ? "Ljava/util/List" : "Ljava/lang/Object");
+			}
+			else {
+				// Array results are created with the component type of the operand
+				this.operandType = null;
+			}
 
 			List<Object> result = new ArrayList<>();
 			int index = 0;
@@ -208,6 +226,152 @@ public class Selection extends SpelNodeImpl {
 		return prefix() + getChild(0).toStringAST() + "]";
 	}
 
+	@Override
+	public boolean isCompilable() {
+		SpelNodeImpl selectionCriteria = this.children[0];
+		return (this.operandType != null && this.exitTypeDescriptor != null &&
+				selectionCriteria.isCompilable() && CodeFlow.isBooleanCompatible(selectionCriteria.exitTypeDescriptor));
+	}
+
+	@Override
+	public void generateCode(MethodVisitor mv, CodeFlow cf) {
+		if (cf.lastDescriptor() == null) {
+			// Stack is empty, select from the context object
+			cf.loadTarget(mv);
+		}
+		Label endOfSelection = new Label();
+		if (this.nullSafe) {
+			Label continueLabel = new Label();
+			mv.visitInsn(DUP);
+			mv.visitJumpInsn(IFNONNULL, continueLabel);
+			mv.visitJumpInsn(GOTO, endOfSelection);
+			mv.visitLabel(continueLabel);
+		}
+
+		boolean isMap = (this.operandType == Map.class);
+		if (isMap) {
+			mv.visitTypeInsn(CHECKCAST, "java/util/Map");
+			mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Map", "entrySet", "()Ljava/util/Set;", true);
+			mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Set", "iterator", "()Ljava/util/Iterator;", true);
+		}
+		else {
+			mv.visitTypeInsn(CHECKCAST, "java/lang/Iterable");
+			mv.visitMethodInsn(INVOKEINTERFACE, "java/lang/Iterable", "iterator", "()Ljava/util/Iterator;", true);
+		}
+		int iterator = cf.nextFreeVariableId();
+		int element = cf.nextFreeVariableId();
+		int result = cf.nextFreeVariableId();
+		mv.visitVarInsn(ASTORE, iterator);
+		if (this.variant == ALL) {
+			String resultType = (isMap ? "java/util/HashMap" : "java/util/ArrayList");
+			mv.visitTypeInsn(NEW, resultType);
+			mv.visitInsn(DUP);
+			mv.visitMethodInsn(INVOKESPECIAL, resultType, "<init>", "()V", false);
+			mv.visitVarInsn(ASTORE, result);
+		}
+		else if (this.variant == LAST) {
+			// Holds the last matching element
+			mv.visitInsn(ACONST_NULL);
+			mv.visitVarInsn(ASTORE, result);
+		}
+
+		Label nextElement = new Label();
+		Label endOfElements = new Label();
+		mv.visitLabel(nextElement);
+		mv.visitVarInsn(ALOAD, iterator);
+		mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Iterator", "hasNext", "()Z", true);
+		mv.visitJumpInsn(IFEQ, endOfElements);
+		mv.visitVarInsn(ALOAD, iterator);
+		mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Iterator", "next", "()Ljava/lang/Object;", true);
+		mv.visitVarInsn(ASTORE, element);
+
+		// Evaluate the selection criteria against the current element
+		cf.enterTargetScope(element);
+		cf.enterCompilationScope();
+		this.children[0].generateCode(mv, cf);
+		cf.unboxBooleanIfNecessary(mv);
+		cf.exitCompilationScope();
+		cf.exitTargetScope();
+		mv.visitJumpInsn(IFEQ, nextElement);
+
+		if (this.variant == ALL) {
+			mv.visitVarInsn(ALOAD, result);
+			if (isMap) {
+				loadEntryKeyAndValue(mv, element);
+				mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Map", "put",
+						"(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;", true);
+			}
+			else {
+				mv.visitVarInsn(ALOAD, element);
+				mv.visitMethodInsn(INVOKEINTERFACE, "java/util/List", "add", "(Ljava/lang/Object;)Z", true);
+			}
+			mv.visitInsn(POP);
+			mv.visitJumpInsn(GOTO, nextElement);
+		}
+		else if (this.variant == FIRST) {
+			if (isMap) {
+				newEntryMap(mv, element);
+			}
+			else {
+				mv.visitVarInsn(ALOAD, element);
+			}
+			mv.visitJumpInsn(GOTO, endOfSelection);
+		}
+		else {
+			mv.visitVarInsn(ALOAD, element);
+			mv.visitVarInsn(ASTORE, result);
+			mv.visitJumpInsn(GOTO, nextElement);
+		}
+
+		mv.visitLabel(endOfElements);
+		if (this.variant == ALL) {
+			mv.visitVarInsn(ALOAD, result);
+		}
+		else if (this.variant == FIRST) {
+			mv.visitInsn(ACONST_NULL);
+		}
+		else if (isMap) {
+			Label match = new Label();
+			mv.visitVarInsn(ALOAD, result);
+			mv.visitJumpInsn(IFNONNULL, match);
+			mv.visitInsn(ACONST_NULL);
+			mv.visitJumpInsn(GOTO, endOfSelection);
+			mv.visitLabel(match);
+			newEntryMap(mv, result);
+		}
+		else {
+			mv.visitVarInsn(ALOAD, result);
+		}
+		mv.visitLabel(endOfSelection);
+		cf.pushDescriptor(this.exitTypeDescriptor);
+	}
+
+	/**
+	 * Push a new map holding the map entry in the given local variable.
+	 */
+	private static void newEntryMap(MethodVisitor mv, int entry) {
+		mv.visitTypeInsn(NEW, "java/util/HashMap");
+		mv.visitInsn(DUP);
+		mv.visitMethodInsn(INVOKESPECIAL, "java/util/HashMap", "<init>", "()V", false);
+		mv.visitInsn(DUP);
+		loadEntryKeyAndValue(mv, entry);
+		mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Map", "put",
+				"(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;", true);
+		mv.visitInsn(POP);
+	}
+
+	/**
+	 * Push the key and the value of the map entry in the given local variable.
+	 */
+	private static void loadEntryKeyAndValue(MethodVisitor mv, int entry) {
+		mv.visitVarInsn(ALOAD, entry);
+		mv.visitTypeInsn(CHECKCAST, "java/util/Map$Entry");
+		mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Map$Entry", "getKey", "()Ljava/lang/Object;", true);
+		mv.visitVarInsn(ALOAD, entry);
+		mv.visitTypeInsn(CHECKCAST, "java/util/Map$Entry");
+		mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Map$Entry", "getValue", "()Ljava/lang/Object;", true);
+	}
+
 	private String prefix() {
 		switch (this.variant) {
 			case ALL:   return "?[";
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -292,8 +292,16 @@ public abstract class SpelNodeImpl implements SpelNode, Opcodes {
 		String lastDesc = cf.lastDescriptor();
 		Assert.state(lastDesc != null, "No last descriptor");
 		boolean primitiveOnStack = CodeFlow.isPrimitive(lastDesc);
+		// Numeric widening, e.g. an int value passed to a long... varargs parameter
+		if (!CodeFlow.areBoxingCompatible(lastDesc, paramDesc) && CodeFlow.isNumericWidening(lastDesc, paramDesc)) {
+			char targetDesc = CodeFlow.toPrimitiveTargetDesc(paramDesc);
+			CodeFlow.insertNumericUnboxOrPrimitiveTypeCoercion(mv, lastDesc, targetDesc);
+			if (paramDesc.charAt(0) == 'L') {
+				CodeFlow.insertBoxIfNecessary(mv, targetDesc);
+			}
+		}
 		// Check if need to box it for the method reference?
-		if (primitiveOnStack && paramDesc.charAt(0) == 'L') {
+		else if (primitiveOnStack && paramDesc.charAt(0) == 'L') {
 			CodeFlow.insertBoxIfNecessary(mv, lastDesc.charAt(0));
 		}
 		else if (paramDesc.length() == 1 && !primitiveOnStack) {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -68,15 +68,13 @@ public class VariableReference extends SpelNodeImpl {
 
 	@Override
 	public TypedValue getValueInternal(ExpressionState state) throws SpelEvaluationException {
-		if (this.name.equals(THIS)) {
-			return state.getActiveContextObject();
-		}
 		if (this.name.equals(ROOT)) {
 			TypedValue result = state.getRootContextObject();
 			this.exitTypeDescriptor = CodeFlow.toDescriptorFromObject(result.getValue());
 			return result;
 		}
-		TypedValue result = state.lookupVariable(this.name);
+		TypedValue result = (this.name.equals(THIS) ?
+				state.getActiveContextObject() : state.lookupVariable(this.name));
 		Object value = result.getValue();
 		if (value == null || !Modifier.isPublic(value.getClass().getModifiers())) {
 			// If the type is not public then when generateCode produces a checkcast to it
@@ -119,6 +117,17 @@ public class VariableReference extends SpelNodeImpl {
 		if (this.name.equals(ROOT)) {
 			mv.visitVarInsn(ALOAD,1);
 		}
+		else if (this.name.equals(THIS)) {
+			// Either the result of the previous expression element or the current target,
+			// e.g. the element being visited by a selection or projection
+			String descriptor = cf.lastDescriptor();
+			if (descriptor == null) {
+				cf.loadTarget(mv);
+			}
+			else if (CodeFlow.isPrimitive(descriptor)) {
+				CodeFlow.insertBoxIfNecessary(mv, descriptor.charAt(0));
+			}
+		}
 		else {
 			mv.visitVarInsn(ALOAD, 2);
 			mv.visitLdcInsn(this.name);
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -66,17 +66,8 @@ public class SpelExpression implements Expression {
 	@Nullable
 	private EvaluationContext evaluationContext;
 
-	// Holds the compiled form of the expression (if it has been compiled)
-	@Nullable
-	private volatile CompiledExpression compiledAst;
-
-	// Count of many times as the expression been interpreted - can trigger compilation
-	// when certain limit reached
-	private final AtomicInteger interpretedCount = new AtomicInteger();
-
-	// The number of times compilation was attempted and failed - enables us to eventually
-	// give up trying to compile it when it just doesn't seem to be possible.
-	private final AtomicInteger failedAttempts = new AtomicInteger();
+	// Compilation state, shared by all expressions that share the same AST
+	private final CompilationState compilationState;
 
 
 	/**
@@ -86,6 +77,20 @@ public class SpelExpression implements Expression {
 		this.expression = expression;
 		this.ast = ast;
 		this.configuration = configuration;
+		this.compilationState = new CompilationState();
+	}
+
+	/**
+	 * Construct an expression that shares the AST and the compilation state of
+	 * the given expression but has its own default evaluation context; only
+	 * used by the parser when serving an expression from its cache.
+	 * @since 5.3.39
+	 */
+	SpelExpression(SpelExpression original) {
+		this.expression = original.expression;
+		this.ast = original.ast;
+		this.configuration = original.configuration;
+		this.compilationState = original.compilationState;
 	}
 
 
@@ -119,7 +124,7 @@ public class SpelExpression implements Expression {
 	@Override
 	@Nullable
 	public Object getValue() throws EvaluationException {
-		CompiledExpression compiledAst = this.compiledAst;
+		CompiledExpression compiledAst = this.compilationState.compiledAst;
 		if (compiledAst != null) {
 			try {
 				EvaluationContext context = getEvaluationContext();
@@ -128,8 +133,8 @@ public class SpelExpression implements Expression {
 			catch (Throwable ex) {
 				// If running in mixed mode, revert to interpreted
 				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.compiledAst = null;
-					this.interpretedCount.set(0);
+					this.compilationState.compiledAst = null;
+					this.compilationState.interpretedCount.set(0);
 				}
 				else {
 					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
@@ -148,7 +153,7 @@ public class SpelExpression implements Expression {
 	@Override
 	@Nullable
 	public <T> T getValue(@Nullable Class<T> expectedResultType) throws EvaluationException {
-		CompiledExpression compiledAst = this.compiledAst;
+		CompiledExpression compiledAst = this.compilationState.compiledAst;
 		if (compiledAst != null) {
 			try {
 				EvaluationContext context = getEvaluationContext();
@@ -164,8 +169,8 @@ public class SpelExpression implements Expression {
 			catch (Throwable ex) {
 				// If running in mixed mode, revert to interpreted
 				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.compiledAst = null;
-					this.interpretedCount.set(0);
+					this.compilationState.compiledAst = null;
+					this.compilationState.interpretedCount.set(0);
 				}
 				else {
 					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
@@ -184,7 +189,7 @@ public class SpelExpression implements Expression {
 	@Override
 	@Nullable
 	public Object getValue(@Nullable Object rootObject) throws EvaluationException {
-		CompiledExpression compiledAst = this.compiledAst;
+		CompiledExpression compiledAst = this.compilationState.compiledAst;
 		if (compiledAst != null) {
 			try {
 				return compiledAst.getValue(rootObject, getEvaluationContext());
@@ -192,8 +197,8 @@ public class SpelExpression implements Expression {
 			catch (Throwable ex) {
 				// If running in mixed mode, revert to interpreted
 				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.compiledAst = null;
-					this.interpretedCount.set(0);
+					this.compilationState.compiledAst = null;
+					this.compilationState.interpretedCount.set(0);
 				}
 				else {
 					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
@@ -213,7 +218,7 @@ public class SpelExpression implements Expression {
 	@Override
 	@Nullable
 	public <T> T getValue(@Nullable Object rootObject, @Nullable Class<T> expectedResultType) throws EvaluationException {
-		CompiledExpression compiledAst = this.compiledAst;
+		CompiledExpression compiledAst = this.compilationState.compiledAst;
 		if (compiledAst != null) {
 			try {
 				Object result = compiledAst.getValue(rootObject, getEvaluationContext());
@@ -228,8 +233,8 @@ public class SpelExpression implements Expression {
 			catch (Throwable ex) {
 				// If running in mixed mode, revert to interpreted
 				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.compiledAst = null;
-					this.interpretedCount.set(0);
+					this.compilationState.compiledAst = null;
+					this.compilationState.interpretedCount.set(0);
 				}
 				else {
 					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
@@ -251,7 +256,7 @@ public class SpelExpression implements Expression {
 	public Object getValue(EvaluationContext context) throws EvaluationException {
 		Assert.notNull(context, "EvaluationContext is required");
 
-		CompiledExpression compiledAst = this.compiledAst;
+		CompiledExpression compiledAst = this.compilationState.compiledAst;
 		if (compiledAst != null) {
 			try {
 				return compiledAst.getValue(context.getRootObject().getValue(), context);
@@ -259,8 +264,8 @@ public class SpelExpression implements Expression {
 			catch (Throwable ex) {
 				// If running in mixed mode, revert to interpreted
 				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.compiledAst = null;
-					this.interpretedCount.set(0);
+					this.compilationState.compiledAst = null;
+					this.compilationState.interpretedCount.set(0);
 				}
 				else {
 					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
@@ -281,7 +286,7 @@ public class SpelExpression implements Expression {
 	public <T> T getValue(EvaluationContext context, @Nullable Class<T> expectedResultType) throws EvaluationException {
 		Assert.notNull(context, "EvaluationContext is required");
 
-		CompiledExpression compiledAst = this.compiledAst;
+		CompiledExpression compiledAst = this.compilationState.compiledAst;
 		if (compiledAst != null) {
 			try {
 				Object result = compiledAst.getValue(context.getRootObject().getValue(), context);
@@ -295,8 +300,8 @@ public class SpelExpression implements Expression {
 			catch (Throwable ex) {
 				// If running in mixed mode, revert to interpreted
 				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.compiledAst = null;
-					this.interpretedCount.set(0);
+					this.compilationState.compiledAst = null;
+					this.compilationState.interpretedCount.set(0);
 				}
 				else {
 					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
@@ -316,7 +321,7 @@ public class SpelExpression implements Expression {
 	public Object getValue(EvaluationContext context, @Nullable Object rootObject) throws EvaluationException {
 		Assert.notNull(context, "EvaluationContext is required");
 
-		CompiledExpression compiledAst = this.compiledAst;
+		CompiledExpression compiledAst = this.compilationState.compiledAst;
 		if (compiledAst != null) {
 			try {
 				return compiledAst.getValue(rootObject, context);
@@ -324,8 +329,8 @@ public class SpelExpression implements Expression {
 			catch (Throwable ex) {
 				// If running in mixed mode, revert to interpreted
 				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.compiledAst = null;
-					this.interpretedCount.set(0);
+					this.compilationState.compiledAst = null;
+					this.compilationState.interpretedCount.set(0);
 				}
 				else {
 					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
@@ -348,7 +353,7 @@ public class SpelExpression implements Expression {
 
 		Assert.notNull(context, "EvaluationContext is required");
 
-		CompiledExpression compiledAst = this.compiledAst;
+		CompiledExpression compiledAst = this.compilationState.compiledAst;
 		if (compiledAst != null) {
 			try {
 				Object result = compiledAst.getValue(rootObject, context);
@@ -362,8 +367,8 @@ public class SpelExpression implements Expression {
 			catch (Throwable ex) {
 				// If running in mixed mode, revert to interpreted
 				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.compiledAst = null;
-					this.interpretedCount.set(0);
+					this.compilationState.compiledAst = null;
+					this.compilationState.interpretedCount.set(0);
 				}
 				else {
 					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
@@ -484,17 +489,17 @@ public class SpelExpression implements Expression {
 	 * @param expressionState the expression state used to determine compilation mode
 	 */
 	private void checkCompile(ExpressionState expressionState) {
-		this.interpretedCount.incrementAndGet();
+		this.compilationState.interpretedCount.incrementAndGet();
 		SpelCompilerMode compilerMode = expressionState.getConfiguration().getCompilerMode();
 		if (compilerMode != SpelCompilerMode.OFF) {
 			if (compilerMode == SpelCompilerMode.IMMEDIATE) {
-				if (this.interpretedCount.get() > 1) {
+				if (this.compilationState.interpretedCount.get() > 1) {
 					compileExpression();
 				}
 			}
 			else {
 				// compilerMode = SpelCompilerMode.MIXED
-				if (this.interpretedCount.get() > INTERPRETED_COUNT_THRESHOLD) {
+				if (this.compilationState.interpretedCount.get() > INTERPRETED_COUNT_THRESHOLD) {
 					compileExpression();
 				}
 			}
@@ -508,18 +513,18 @@ public class SpelExpression implements Expression {
 	 * @return whether this expression has been successfully compiled
 	 */
 	public boolean compileExpression() {
-		CompiledExpression compiledAst = this.compiledAst;
+		CompiledExpression compiledAst = this.compilationState.compiledAst;
 		if (compiledAst != null) {
 			// Previously compiled
 			return true;
 		}
-		if (this.failedAttempts.get() > FAILED_ATTEMPTS_THRESHOLD) {
+		if (this.compilationState.failedAttempts.get() > FAILED_ATTEMPTS_THRESHOLD) {
 			// Don't try again
 			return false;
 		}
 
-		synchronized (this) {
-			if (this.compiledAst != null) {
+		synchronized (this.compilationState) {
+			if (this.compilationState.compiledAst != null) {
 				// Compiled by another thread before this thread got into the sync block
 				return true;
 			}
@@ -528,23 +533,23 @@ public class SpelExpression implements Expression {
 				compiledAst = compiler.compile(this.ast);
 				if (compiledAst != null) {
 					// Successfully compiled
-					this.compiledAst = compiledAst;
+					this.compilationState.compiledAst = compiledAst;
 					return true;
 				}
 				else {
 					// Failed to compile
-					this.failedAttempts.incrementAndGet();
+					this.compilationState.failedAttempts.incrementAndGet();
 					return false;
 				}
 			}
 			catch (Exception ex) {
 				// Failed to compile
-				this.failedAttempts.incrementAndGet();
+				this.compilationState.failedAttempts.incrementAndGet();
 
 				// If running in mixed mode, revert to interpreted
 				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.compiledAst = null;
-					this.interpretedCount.set(0);
+					this.compilationState.compiledAst = null;
+					this.compilationState.interpretedCount.set(0);
 					return false;
 				}
 				else {
@@ -561,9 +566,9 @@ public class SpelExpression implements Expression {
 	 * longer considered compilable if it cannot be compiled after 100 attempts).
 	 */
 	public void revertToInterpreted() {
-		this.compiledAst = null;
-		this.interpretedCount.set(0);
-		this.failedAttempts.set(0);
+		this.compilationState.compiledAst = null;
+		this.compilationState.interpretedCount.set(0);
+		this.compilationState.failedAttempts.set(0);
 	}
 
 	/**
@@ -587,4 +592,24 @@ public class SpelExpression implements Expression {
 		return (object != null ? new TypedValue(object) : TypedValue.NULL);
 	}
 
+
+	/**
+	 * Compilation state of an expression, shared across threads and across
+	 * expression instances that are backed by the same AST.
+	 */
+	private static class CompilationState {
+
+		// Holds the compiled form of the expression (if it has been compiled)
+		@Nullable
+		volatile CompiledExpression compiledAst;
+
+		// Count of many times as the expression been interpreted - can trigger compilation
+		// when certain limit reached
+		final AtomicInteger interpretedCount = new AtomicInteger();
+
+		// The number of times compilation was attempted and failed - enables us to eventually
+		// give up trying to compile it when it just doesn't seem to be possible.
+		final AtomicInteger failedAttempts = new AtomicInteger();
+	}
+
 }
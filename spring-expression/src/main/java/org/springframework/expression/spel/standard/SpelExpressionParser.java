@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,10 +22,18 @@ import org.springframework.expression.common.TemplateAwareExpressionParser;
 import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentLruCache;
 
 /**
  * SpEL parser. Instances are reusable and thread-safe.
  *
+ * <p>A parser may be created with a cache limit, in which case parsed
+ * expressions are held in a bounded LRU cache keyed by expression string.
+ * Expressions served from the cache are distinct instances (each with its
+ * own default {@link SpelExpression#setEvaluationContext evaluation context})
+ * that share an AST and a compilation state, so an expression compiled once
+ * is reused by all callers parsing the same expression string.
+ *
  * @author Andy Clement
  * @author Juergen Hoeller
  * @author Sam Brannen
@@ -35,12 +43,16 @@ public class SpelExpressionParser extends TemplateAwareExpressionParser {
 
 	private final SpelParserConfiguration configuration;
 
+	@Nullable
+	private final ConcurrentLruCache<String, SpelExpression> expressionCache;
+
 
 	/**
 	 * Create a parser with default settings.
 	 */
 	public SpelExpressionParser() {
 		this.configuration = new SpelParserConfiguration();
+		this.expressionCache = null;
 	}
 
 	/**
@@ -48,8 +60,23 @@ public class SpelExpressionParser extends TemplateAwareExpressionParser {
 	 * @param configuration custom configuration options
 	 */
 	public SpelExpressionParser(SpelParserConfiguration configuration) {
+		this(configuration, 0);
+	}
+
+	/**
+	 * Create a parser with the specified configuration, caching up to the
+	 * given number of parsed expressions.
+	 * @param configuration custom configuration options
+	 * @param cacheLimit the maximum number of parsed expressions to cache
+	 * (0 to disable caching)
+	 * @since 5.3.39
+	 */
+	public SpelExpressionParser(SpelParserConfiguration configuration, int cacheLimit) {
 		Assert.notNull(configuration, "SpelParserConfiguration must not be null");
+		Assert.isTrue(cacheLimit >= 0, "Cache limit must not be negative");
 		this.configuration = configuration;
+		this.expressionCache = (cacheLimit > 0 ?
+				new ConcurrentLruCache<>(cacheLimit, this::parseInternal) : null);
 	}
 
 
@@ -60,7 +87,14 @@ public class SpelExpressionParser extends TemplateAwareExpressionParser {
 
 	@Override
 	protected SpelExpression doParseExpression(String expressionString, @Nullable ParserContext context) throws ParseException {
+		if (this.expressionCache != null) {
+			return new SpelExpression(this.expressionCache.get(expressionString));
+		}
 		return new InternalSpelExpressionParser(this.configuration).doParseExpression(expressionString, context);
 	}
 
+	private SpelExpression parseInternal(String expressionString) {
+		return new InternalSpelExpressionParser(this.configuration).doParseExpression(expressionString, null);
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,10 @@
 
 package org.springframework.expression.spel.support;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 
@@ -32,6 +36,10 @@ import org.springframework.util.ReflectionUtils;
 /**
  * {@link MethodExecutor} that works via reflection.
  *
+ * <p>As of 5.3.39, the method is invoked through a {@link MethodHandle} when
+ * the target and the (converted) arguments exactly match the parameter types,
+ * and through {@link Method#invoke} otherwise.
+ *
  * @author Andy Clement
  * @author Juergen Hoeller
  * @since 3.0
@@ -52,6 +60,13 @@ public class ReflectiveMethodExecutor implements MethodExecutor {
 
 	private boolean argumentConversionOccurred = false;
 
+	private final Class<?>[] parameterTypes;
+
+	@Nullable
+	private volatile MethodHandle methodHandle;
+
+	private volatile boolean methodHandleResolved;
+
 
 	/**
 	 * Create a new executor for the given method.
@@ -76,6 +91,7 @@ public class ReflectiveMethodExecutor implements MethodExecutor {
 		else {
 			this.varargsPosition = null;
 		}
+		this.parameterTypes = this.methodToInvoke.getParameterTypes();
 	}
 
 
@@ -135,8 +151,15 @@ public class ReflectiveMethodExecutor implements MethodExecutor {
 				arguments = ReflectionHelper.setupArgumentsForVarargsInvocation(
 						this.originalMethod.getParameterTypes(), arguments);
 			}
-			ReflectionUtils.makeAccessible(this.methodToInvoke);
-			Object value = this.methodToInvoke.invoke(target, arguments);
+			Object value;
+			MethodHandle handle = getMethodHandle();
+			if (handle != null && isInvocableWithHandle(target, arguments)) {
+				value = invoke(handle, target, arguments);
+			}
+			else {
+				ReflectionUtils.makeAccessible(this.methodToInvoke);
+				value = this.methodToInvoke.invoke(target, arguments);
+			}
 			return new TypedValue(value, new TypeDescriptor(new MethodParameter(this.originalMethod, -1)).narrow(value));
 		}
 		catch (Exception ex) {
@@ -144,4 +167,72 @@ public class ReflectiveMethodExecutor implements MethodExecutor {
 		}
 	}
 
+	/**
+	 * Determine whether the given target and arguments can be passed to the
+	 * method handle without any further conversion, so that a failure of the
+	 * invocation can only originate from the method itself.
+	 */
+	private boolean isInvocableWithHandle(Object target, Object[] arguments) {
+		if (!Modifier.isStatic(this.methodToInvoke.getModifiers()) &&
+				!this.methodToInvoke.getDeclaringClass().isInstance(target)) {
+			return false;
+		}
+		if (arguments.length != this.parameterTypes.length) {
+			return false;
+		}
+		for (int i = 0; i < arguments.length; i++) {
+			Class<?> parameterType = this.parameterTypes[i];
+			Object argument = arguments[i];
+			if (argument == null ? parameterType.isPrimitive() :
+					!ClassUtils.resolvePrimitiveIfNecessary(parameterType).isInstance(argument)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Lazily create a {@link MethodHandle} of type {@code (Object,Object[])Object}
+	 * for the method, or {@code null} if the method is not accessible through a
+	 * method handle, in which case reflection is used instead.
+	 */
+	@Nullable
+	private MethodHandle getMethodHandle() {
+		if (!this.methodHandleResolved) {
+			MethodHandle handle = null;
+			try {
+				ReflectionUtils.makeAccessible(this.methodToInvoke);
+				handle = MethodHandles.lookup().unreflect(this.methodToInvoke).asFixedArity();
+				if (Modifier.isStatic(this.methodToInvoke.getModifiers())) {
+					handle = MethodHandles.dropArguments(handle, 0, Object.class);
+				}
+				handle = handle.asSpreader(Object[].class, this.parameterTypes.length)
+						.asType(MethodType.methodType(Object.class, Object.class, Object[].class));
+			}
+			catch (IllegalAccessException | RuntimeException ex) {
+				// Fall back to reflective invocation
+				handle = null;
+			}
+			this.methodHandle = handle;
+			this.methodHandleResolved = true;
+		}
+		return this.methodHandle;
+	}
+
+	/**
+	 * Invoke the given method handle, wrapping any exception thrown by the
+	 * method in an {@link InvocationTargetException} as {@link Method#invoke} does.
+	 */
+	@Nullable
+	private static Object invoke(MethodHandle handle, Object target, Object[] arguments)
+			throws InvocationTargetException {
+
+		try {
+			return (Object) handle.invokeExact(target, arguments);
+		}
+		catch (Throwable ex) {
+			throw new InvocationTargetException(ex);
+		}
+	}
+
 }
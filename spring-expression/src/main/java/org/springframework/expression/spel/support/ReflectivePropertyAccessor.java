@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,8 +16,12 @@
 
 package org.springframework.expression.spel.support;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
@@ -660,6 +664,11 @@ public class ReflectivePropertyAccessor implements PropertyAccessor {
 
 		private final TypeDescriptor typeDescriptor;
 
+		@Nullable
+		private volatile MethodHandle readHandle;
+
+		private volatile boolean readHandleResolved;
+
 		OptimalPropertyAccessor(InvokerPair target) {
 			this.member = target.member;
 			this.typeDescriptor = target.typeDescriptor;
@@ -697,6 +706,21 @@ public class ReflectivePropertyAccessor implements PropertyAccessor {
 
 		@Override
 		public TypedValue read(EvaluationContext context, @Nullable Object target, String name) throws AccessException {
+			MethodHandle handle = getReadHandle();
+			if (handle != null && (Modifier.isStatic(this.member.getModifiers()) ||
+					this.member.getDeclaringClass().isInstance(target))) {
+				Object value;
+				try {
+					value = (Object) handle.invokeExact(target);
+				}
+				catch (Throwable ex) {
+					// Same exception structure as for reflective invocation
+					throw new AccessException(this.member instanceof Method ?
+							"Unable to access property '" + name + "' through getter method" :
+							"Unable to access field '" + name + "'", new InvocationTargetException(ex));
+				}
+				return new TypedValue(value, this.typeDescriptor.narrow(value));
+			}
 			if (this.member instanceof Method) {
 				Method method = (Method) this.member;
 				try {
@@ -721,6 +745,42 @@ public class ReflectivePropertyAccessor implements PropertyAccessor {
 			}
 		}
 
+		/**
+		 * Lazily create a {@link MethodHandle} of type {@code (Object)Object} for
+		 * reading the member, or {@code null} if the member is not accessible
+		 * through a method handle, in which case reflection is used instead.
+		 */
+		@Nullable
+		private MethodHandle getReadHandle() {
+			if (!this.readHandleResolved) {
+				MethodHandle handle = null;
+				try {
+					MethodHandles.Lookup lookup = MethodHandles.lookup();
+					if (this.member instanceof Method) {
+						Method method = (Method) this.member;
+						ReflectionUtils.makeAccessible(method);
+						handle = lookup.unreflect(method);
+					}
+					else {
+						Field field = (Field) this.member;
+						ReflectionUtils.makeAccessible(field);
+						handle = lookup.unreflectGetter(field);
+					}
+					if (Modifier.isStatic(this.member.getModifiers())) {
+						handle = MethodHandles.dropArguments(handle, 0, Object.class);
+					}
+					handle = handle.asType(MethodType.methodType(Object.class, Object.class));
+				}
+				catch (IllegalAccessException | RuntimeException ex) {
+					// Fall back to reflective access
+					handle = null;
+				}
+				this.readHandle = handle;
+				this.readHandleResolved = true;
+			}
+			return this.readHandle;
+		}
+
 		@Override
 		public boolean canWrite(EvaluationContext context, @Nullable Object target, String name) {
 			throw new UnsupportedOperationException("Should not be called on an OptimalPropertyAccessor");
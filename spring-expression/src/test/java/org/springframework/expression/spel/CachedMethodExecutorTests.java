@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,6 +25,7 @@ import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 
 /**
  * Test for caching in {@link MethodReference} (SPR-10657).
@@ -58,6 +59,26 @@ public class CachedMethodExecutorTests {
 		assertMethodExecution(expression, new RootObject(), "int: 42");
 	}
 
+	@Test
+	public void testCachedExecutionForNullArguments() {
+		Expression expression = this.parser.parseExpression("echo(#var)");
+
+		assertMethodExecution(expression, "Deep Thought", "String: Deep Thought");
+		assertMethodExecution(expression, null, "String: null");
+		assertMethodExecution(expression, "Deep Thought", "String: Deep Thought");
+	}
+
+	@Test
+	public void testCachedExecutionInvokesFailingMethodOnce() {
+		Expression expression = this.parser.parseExpression("fail()");
+		RootObject root = new RootObject();
+
+		for (int i = 1; i <= 3; i++) {
+			assertThatIllegalStateException().isThrownBy(() -> expression.getValue(this.context, root));
+			assertThat(root.failures).isEqualTo(i);
+		}
+	}
+
 	private void assertMethodExecution(Expression expression, Object var, String expected) {
 		this.context.setVariable("var", var);
 		assertThat(expression.getValue(this.context)).isEqualTo(expected);
@@ -73,9 +94,16 @@ public class CachedMethodExecutorTests {
 
 	public static class RootObject extends BaseObject {
 
+		int failures;
+
 		public String echo(int value) {
 			return "int: " + value;
 		}
+
+		public void fail() {
+			this.failures++;
+			throw new IllegalStateException("failure " + this.failures);
+		}
 	}
 
 }
@@ -284,6 +284,42 @@ public class PropertyAccessTests extends AbstractExpressionTests {
 			.extracting(SpelEvaluationException::getMessageCode).isEqualTo(SpelMessage.ARRAY_INDEX_OUT_OF_BOUNDS);
 	}
 
+	@Test
+	void propertyAccessWithDifferentTargetTypes() {
+		Expression expression = parser.parseExpression("name");
+		EvaluationContext context = new StandardEvaluationContext();
+		for (int i = 0; i < 3; i++) {
+			assertThat(expression.getValue(context, new Person("p" + i))).isEqualTo("p" + i);
+			assertThat(expression.getValue(context, new Inventor("i" + i, null, "Serbian"))).isEqualTo("i" + i);
+			assertThat(expression.getValue(context, new FieldHolder())).isEqualTo("field");
+		}
+	}
+
+	@Test
+	void propertyAccessWithFailingGetterInvokesGetterOnce() {
+		Expression expression = parser.parseExpression("failing");
+		EvaluationContext context = new StandardEvaluationContext();
+		FieldHolder target = new FieldHolder();
+		for (int i = 1; i <= 3; i++) {
+			assertThatSpelEvaluationException()
+				.isThrownBy(() -> expression.getValue(context, target))
+				.extracting(SpelEvaluationException::getMessageCode).isEqualTo(SpelMessage.EXCEPTION_DURING_PROPERTY_READ);
+			assertThat(target.failures).isEqualTo(i);
+		}
+	}
+
+	@Test
+	void propertyAccessorAddedAfterFirstAccessTakesPrecedence() {
+		Expression expression = parser.parseExpression("name");
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		Person target = new Person("p1");
+		assertThat(expression.getValue(context, target)).isEqualTo("p1");
+		assertThat(expression.getValue(context, target)).isEqualTo("p1");
+
+		context.addPropertyAccessor(new ConfigurablePropertyAccessor(Collections.singletonMap("name", "Ollie")));
+		assertThat(expression.getValue(context, target)).isEqualTo("Ollie");
+	}
+
 
 	private ThrowableTypeAssert<SpelEvaluationException> assertThatSpelEvaluationException() {
 		return assertThatExceptionOfType(SpelEvaluationException.class);
@@ -340,6 +376,19 @@ public class PropertyAccessTests extends AbstractExpressionTests {
 	}
 
 
+	public static class FieldHolder {
+
+		public String name = "field";
+
+		int failures;
+
+		public String getFailing() {
+			this.failures++;
+			throw new IllegalStateException("failing getter");
+		}
+	}
+
+
 	private static class ConfigurablePropertyAccessor implements PropertyAccessor {
 
 		private final Map<String, Object> values;
@@ -25,6 +25,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -859,6 +860,158 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 		assertThat(o).isEqualTo("bc");
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	void inlineMap() {
+		expression = parser.parseExpression("{a:1, 'b':{2,3}, c:{d:'e'}}");
+		Object resultI = expression.getValue();
+		assertCanCompile(expression);
+		Object resultC = expression.getValue();
+		assertThat(resultC).isEqualTo(resultI);
+		assertThat(resultC.toString()).isEqualTo("{a=1, b=[2, 3], c={d=e}}");
+		assertThat(expression.getValue()).isSameAs(resultC);
+		Map<String, Object> constantMap = (Map<String, Object>) resultC;
+		assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() ->
+				((Map<String, Object>) constantMap.get("c")).put("f", "g"));
+		assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() ->
+				((List<Object>) constantMap.get("b")).add(4));
+
+		StandardEvaluationContext context = new StandardEvaluationContext("abc");
+		context.setVariable("x", 42);
+		expression = parser.parseExpression("{key:#x, length:length(), (#root):toUpperCase(), nested:{1}}");
+		resultI = expression.getValue(context);
+		assertCanCompile(expression);
+		resultC = expression.getValue(context);
+		assertThat(resultC).isEqualTo(resultI);
+		assertThat(resultC.toString()).isEqualTo("{key=42, length=3, abc=ABC, nested=[1]}");
+	}
+
+	@Test
+	void selection() {
+		SelectionRoot root = new SelectionRoot();
+
+		expression = parser.parseExpression("numbers.?[#this > 2]");
+		assertThat(expression.getValue(root, List.class)).containsExactly(3, 4, 5);
+		assertCanCompile(expression);
+		assertThat(expression.getValue(root, List.class)).containsExactly(3, 4, 5);
+
+		expression = parser.parseExpression("numbers.^[#this > 2]");
+		assertThat(expression.getValue(root)).isEqualTo(3);
+		assertCanCompile(expression);
+		assertThat(expression.getValue(root)).isEqualTo(3);
+
+		expression = parser.parseExpression("numbers.$[#this < #root.threshold]");
+		assertThat(expression.getValue(root)).isEqualTo(2);
+		assertCanCompile(expression);
+		assertThat(expression.getValue(root)).isEqualTo(2);
+		root.threshold = 0;
+		assertThat(expression.getValue(root)).isNull();
+
+		expression = parser.parseExpression("people.?[age > 30 and name.startsWith('B')].size()");
+		assertThat(expression.getValue(root)).isEqualTo(1);
+		assertCanCompile(expression);
+		assertThat(expression.getValue(root)).isEqualTo(1);
+
+		expression = parser.parseExpression("ages.?[value > 30]");
+		assertThat(expression.getValue(root)).isEqualTo(Collections.singletonMap("Bob", 42));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(root)).isEqualTo(Collections.singletonMap("Bob", 42));
+
+		expression = parser.parseExpression("ages.^[value > 10]");
+		assertThat(expression.getValue(root)).isEqualTo(Collections.singletonMap("Alice", 25));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(root)).isEqualTo(Collections.singletonMap("Alice", 25));
+
+		expression = parser.parseExpression("ages.$[value > 100]");
+		assertThat(expression.getValue(root)).isNull();
+		assertCanCompile(expression);
+		assertThat(expression.getValue(root)).isNull();
+
+		expression = parser.parseExpression("numbers?.?[#this > 2]");
+		expression.getValue(root);
+		assertCanCompile(expression);
+		root.numbers = null;
+		assertThat(expression.getValue(root)).isNull();
+
+		// Array selections produce typed arrays
+		expression = parser.parseExpression("{1,2,3}.toArray().?[#this > 1]");
+		expression.getValue();
+		assertCantCompile(expression);
+	}
+
+	@Test
+	void projection() {
+		SelectionRoot root = new SelectionRoot();
+
+		expression = parser.parseExpression("numbers.![#this * 2]");
+		assertThat(expression.getValue(root, List.class)).containsExactly(2, 4, 6, 8, 10);
+		assertCanCompile(expression);
+		assertThat(expression.getValue(root, List.class)).containsExactly(2, 4, 6, 8, 10);
+
+		expression = parser.parseExpression("people.?[age > 20].![name]");
+		assertThat(expression.getValue(root, List.class)).containsExactly("Alice", "Bob");
+		assertCanCompile(expression);
+		assertThat(expression.getValue(root, List.class)).containsExactly("Alice", "Bob");
+
+		expression = parser.parseExpression("ages.![key + ':' + value.toString()]");
+		assertThat(expression.getValue(root, List.class)).containsExactly("Alice:25", "Bob:42");
+		assertCanCompile(expression);
+		assertThat(expression.getValue(root, List.class)).containsExactly("Alice:25", "Bob:42");
+
+		// Array projections produce typed arrays
+		expression = parser.parseExpression("{1,2,3}.toArray().![#this * 2]");
+		assertThat(expression.getValue()).isEqualTo(new Integer[] {2, 4, 6});
+		assertCantCompile(expression);
+	}
+
+	@Test
+	void beanReference() {
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		context.setBeanResolver((ctx, beanName) -> beanName.toUpperCase());
+		expression = parser.parseExpression("@foo.length() + &bar.length()");
+		assertThat(expression.getValue(context)).isEqualTo(7);
+		assertCanCompile(expression);
+		assertThat(expression.getValue(context)).isEqualTo(7);
+
+		// Same failure as interpreted without a BeanResolver
+		assertThatExceptionOfType(SpelEvaluationException.class)
+				.isThrownBy(() -> expression.getValue(new StandardEvaluationContext()))
+				.havingCause()
+				.isInstanceOf(SpelEvaluationException.class)
+				.withMessageContaining("No bean resolver registered in the context to resolve access to bean 'foo'");
+	}
+
+	@Test
+	void assignmentThroughIndexer() {
+		SelectionRoot root = new SelectionRoot();
+		StandardEvaluationContext context = new StandardEvaluationContext(root);
+
+		expression = parser.parseExpression("ages['Carol'] = threshold");
+		assertThat(expression.getValue(context)).isEqualTo(3);
+		assertCanCompile(expression);
+		root.threshold = 33;
+		assertThat(expression.getValue(context)).isEqualTo(33);
+		assertThat(root.ages).containsEntry("Carol", 33);
+
+		expression = parser.parseExpression("numbers[0] = 10");
+		assertThat(expression.getValue(context)).isEqualTo(10);
+		assertCanCompile(expression);
+		assertThat(expression.getValue(context)).isEqualTo(10);
+		assertThat(root.numbers).startsWith(10, 2);
+
+		expression = parser.parseExpression("scores[1] = scores[0] + 1");
+		assertThat(expression.getValue(context)).isEqualTo(2);
+		assertCanCompile(expression);
+		assertThat(expression.getValue(context)).isEqualTo(2);
+		assertThat(root.scores).containsExactly(1, 2, 3);
+
+		// Value conversion is left to the interpreter
+		expression = parser.parseExpression("scores[2] = '7'");
+		assertThat(expression.getValue(context)).isEqualTo("7");
+		assertCantCompile(expression);
+		assertThat(root.scores).containsExactly(1, 2, 7);
+	}
+
 	@SuppressWarnings("rawtypes")
 	@Test
 	void nestedInlineLists() throws Exception {
@@ -1380,6 +1533,17 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 		resultI = expression.getValue(s, String.class);
 		assertThat(resultI).isEqualTo("abc");
 		assertCanCompile(expression);
+
+		// A primitive is never null, the alternative does not need to have been evaluated
+		expression = parser.parseExpression("length()?:#root.toUpperCase()");
+		Object result = expression.getValue(s);
+		assertCanCompile(expression);
+		assertThat(expression.getValue(s)).isEqualTo(result).isEqualTo(3);
+
+		expression = parser.parseExpression("length()?:5");
+		result = expression.getValue(s);
+		assertCanCompile(expression);
+		assertThat(expression.getValue(s)).isEqualTo(result).isEqualTo(3);
 	}
 
 	@Test
@@ -4265,6 +4429,35 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 		assertThat(tc.s).isEqualTo("1");
 		tc.reset();
 
+		// varargs long and double with numeric widening of the arguments
+		expression = parser.parseExpression("arrayj(1,2,3)");
+		assertCantCompile(expression);
+		expression.getValue(tc);
+		assertThat(tc.s).isEqualTo("123");
+		assertCanCompile(expression);
+		tc.reset();
+		expression.getValue(tc);
+		assertThat(tc.s).isEqualTo("123");
+		tc.reset();
+
+		expression = parser.parseExpression("arrayd(1,2L)");
+		assertCantCompile(expression);
+		expression.getValue(tc);
+		assertThat(tc.s).isEqualTo("1.02.0");
+		assertCanCompile(expression);
+		tc.reset();
+		expression.getValue(tc);
+		assertThat(tc.s).isEqualTo("1.02.0");
+		tc.reset();
+
+		// narrowing is left to the type converter
+		expression = parser.parseExpression("arrayj(1.5d)");
+		assertCantCompile(expression);
+		expression.getValue(tc);
+		assertThat(tc.s).isEqualTo("1");
+		assertCantCompile(expression);
+		tc.reset();
+
 		// varargs char
 		expression = parser.parseExpression("arrayc(c1,c2,c3)");
 		assertCantCompile(expression);
@@ -6607,6 +6800,46 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 	}
 
 
+	public static class SelectionRoot {
+
+		public List<Integer> numbers = new ArrayList<>(Arrays.asList(1, 2, 3, 4, 5));
+
+		public List<Member> people = Arrays.asList(new Member("Alice", 25), new Member("Bob", 42), new Member("Carl", 17));
+
+		public Map<String, Integer> ages = new LinkedHashMap<>();
+
+		public int[] scores = {1, 0, 3};
+
+		public int threshold = 3;
+
+		public SelectionRoot() {
+			this.ages.put("Alice", 25);
+			this.ages.put("Bob", 42);
+		}
+
+
+		public static class Member {
+
+			private final String name;
+
+			private final int age;
+
+			public Member(String name, int age) {
+				this.name = name;
+				this.age = age;
+			}
+
+			public String getName() {
+				return this.name;
+			}
+
+			public int getAge() {
+				return this.age;
+			}
+		}
+	}
+
+
 	public class Reg {
 
 		private Integer _value,_value2;
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,9 +23,13 @@ import org.assertj.core.api.ThrowableAssertAlternative;
 import org.junit.jupiter.api.Test;
 
 import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionException;
+import org.springframework.expression.ParserContext;
+import org.springframework.expression.common.CompositeStringExpression;
 import org.springframework.expression.spel.SpelMessage;
 import org.springframework.expression.spel.SpelNode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.SpelParseException;
 import org.springframework.expression.spel.ast.OpAnd;
 import org.springframework.expression.spel.ast.OpOr;
@@ -370,6 +374,68 @@ class SpelParserTests {
 		checkNumber("1e+3", 1e3d, Double.class);
 	}
 
+	@Test
+	void cachedExpressionsShareAst() {
+		SpelExpressionParser cachingParser = new SpelExpressionParser(new SpelParserConfiguration(), 2);
+		SpelExpression expr1 = cachingParser.parseRaw("'abc'.length()");
+		SpelExpression expr2 = cachingParser.parseRaw("'abc'.length()");
+		assertThat(expr2).isNotSameAs(expr1);
+		assertThat(expr2.getAST()).isSameAs(expr1.getAST());
+		assertThat(expr2.getValue()).isEqualTo(3);
+
+		cachingParser.parseRaw("1 + 1");
+		cachingParser.parseRaw("2 + 2");
+		assertThat(cachingParser.parseRaw("'abc'.length()").getAST()).isNotSameAs(expr1.getAST());
+	}
+
+	@Test
+	void cachedExpressionsHaveTheirOwnEvaluationContext() {
+		SpelExpressionParser cachingParser = new SpelExpressionParser(new SpelParserConfiguration(), 16);
+		SpelExpression expr1 = cachingParser.parseRaw("#x");
+		SpelExpression expr2 = cachingParser.parseRaw("#x");
+		EvaluationContext context1 = new StandardEvaluationContext();
+		context1.setVariable("x", "one");
+		EvaluationContext context2 = new StandardEvaluationContext();
+		context2.setVariable("x", "two");
+		expr1.setEvaluationContext(context1);
+		expr2.setEvaluationContext(context2);
+		assertThat(expr1.getValue()).isEqualTo("one");
+		assertThat(expr2.getValue()).isEqualTo("two");
+	}
+
+	@Test
+	void cachedExpressionsShareCompilationState() {
+		SpelExpressionParser cachingParser = new SpelExpressionParser(new SpelParserConfiguration(), 16);
+		SpelExpression expr1 = cachingParser.parseRaw("'abc'.length()");
+		SpelExpression expr2 = cachingParser.parseRaw("'abc'.length()");
+		expr1.getValue();
+		assertThat(expr1.compileExpression()).isTrue();
+		assertThat(expr2.getValue()).isEqualTo(3);
+		assertThat(expr2.compileExpression()).isTrue();
+
+		expr2.revertToInterpreted();
+		assertThat(expr1.getValue()).isEqualTo(3);
+	}
+
+	@Test
+	void cachedTemplateExpressions() {
+		SpelExpressionParser cachingParser = new SpelExpressionParser(new SpelParserConfiguration(), 16);
+		Expression expr1 = cachingParser.parseExpression("Hello #{'world'.toUpperCase()}", ParserContext.TEMPLATE_EXPRESSION);
+		Expression expr2 = cachingParser.parseExpression("Hello #{'world'.toUpperCase()}", ParserContext.TEMPLATE_EXPRESSION);
+		assertThat(expr1).isInstanceOf(CompositeStringExpression.class);
+		assertThat(expr2.getValue()).isEqualTo("Hello WORLD");
+		SpelExpression part1 = (SpelExpression) ((CompositeStringExpression) expr1).getExpressions()[1];
+		SpelExpression part2 = (SpelExpression) ((CompositeStringExpression) expr2).getExpressions()[1];
+		assertThat(part2.getAST()).isSameAs(part1.getAST());
+	}
+
+	@Test
+	void parseErrorsAreNotCached() {
+		SpelExpressionParser cachingParser = new SpelExpressionParser(new SpelParserConfiguration(), 16);
+		assertParseExceptionThrownBy(() -> cachingParser.parseRaw("1 +"));
+		assertParseExceptionThrownBy(() -> cachingParser.parseRaw("1 +"));
+	}
+
 
 	private void checkNumber(String expression, Object value, Class<?> type) {
 		try {
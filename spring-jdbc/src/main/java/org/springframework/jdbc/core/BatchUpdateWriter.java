@@ -0,0 +1,297 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.io.Flushable;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.util.Assert;
+
+/**
+ * Accumulates heterogeneous update statements, grouping them by SQL string
+ * and executing each group as a JDBC batch once the configured batch size
+ * has been reached for any of them or {@link #flush()} is called.
+ *
+ * <p>In contrast to {@link JdbcOperations#batchUpdate(String, List)} and
+ * {@link org.springframework.jdbc.object.BatchSqlUpdate}, individual row
+ * counts are not retained: the writer only keeps the number of executed
+ * statements and the sum of affected rows, so memory usage is bounded by the
+ * batch size rather than by the total number of statements. The queue of a
+ * SQL string is discarded once executed, and counts per SQL string are only
+ * kept for the {@value #STATEMENT_COUNTS_LIMIT} most recently executed SQL
+ * strings, so that dynamically generated SQL does not accumulate either.
+ *
+ * <p>Statements are executed in the order they were added within each SQL
+ * group. Across groups, all queued groups are executed together, ordered by
+ * their earliest queued statement, whenever one of them reaches the batch
+ * size or {@code flush} is called. A statement may therefore still be executed
+ * before a statement of another group that was added earlier: call
+ * {@code flush} explicitly where a statement depends on statements of another
+ * group having been executed (e.g. for foreign key constraints).
+ *
+ * <p>If the execution of a batch fails, its statements remain queued, along
+ * with the statements of all groups that have not been executed yet. Depending
+ * on the transaction setup, some of them may have been applied already:
+ * call {@code reset} to discard them instead of retrying with {@code flush}.
+ *
+ * <p>Note that this class is a <b>non-thread-safe object</b>. You need to
+ * create a new instance for each use, or call {@code reset} before reuse
+ * within the same thread. Calling {@code close} flushes remaining statements.
+ *
+ * @since 5.3.39
+ * @see #update(String, Object...)
+ * @see #flush()
+ */
+public class BatchUpdateWriter implements Flushable, AutoCloseable {
+
+	/**
+	 * Default number of statements per SQL string to accumulate before
+	 * executing a batch (1000).
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 1000;
+
+
+	/**
+	 * Maximum number of SQL strings to keep counts per SQL string for (256).
+	 */
+	public static final int STATEMENT_COUNTS_LIMIT = 256;
+
+
+	private static final Log logger = LogFactory.getLog(BatchUpdateWriter.class);
+
+	private final JdbcOperations jdbcOperations;
+
+	private final int batchSize;
+
+	/** Statement queues by SQL string, in the order of their first queued statement. */
+	private final Map<String, StatementGroup> groups = new LinkedHashMap<>();
+
+	/** Counts by SQL string, in access order and limited to the most recent ones. */
+	private final Map<String, StatementCounts> statementCounts =
+			new LinkedHashMap<String, StatementCounts>(16, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, StatementCounts> eldest) {
+					return (size() > STATEMENT_COUNTS_LIMIT);
+				}
+			};
+
+	private final StatementCounts totalCounts = new StatementCounts();
+
+
+	/**
+	 * Create a new {@code BatchUpdateWriter} with the default batch size.
+	 * @param jdbcOperations the JDBC operations to execute batches with
+	 */
+	public BatchUpdateWriter(JdbcOperations jdbcOperations) {
+		this(jdbcOperations, DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * Create a new {@code BatchUpdateWriter}.
+	 * @param jdbcOperations the JDBC operations to execute batches with
+	 * @param batchSize the number of statements per SQL string that will
+	 * trigger an automatic execution of the corresponding batch
+	 */
+	public BatchUpdateWriter(JdbcOperations jdbcOperations, int batchSize) {
+		Assert.notNull(jdbcOperations, "JdbcOperations must not be null");
+		Assert.isTrue(batchSize > 0, "Batch size must be greater than 0");
+		this.jdbcOperations = jdbcOperations;
+		this.batchSize = batchSize;
+	}
+
+
+	/**
+	 * Queue the given statement, executing all queued batches if the batch
+	 * size has been reached for its SQL string.
+	 * @param sql the SQL statement to execute
+	 * @param args arguments to bind to the statement
+	 * (leaving it to the PreparedStatement to guess the corresponding SQL type);
+	 * may also contain {@link SqlParameterValue} objects which indicate not
+	 * only the argument value but also the SQL type and optionally the scale
+	 * @throws DataAccessException if an automatically triggered batch fails
+	 */
+	public void update(String sql, Object... args) throws DataAccessException {
+		Assert.hasText(sql, "SQL must not be empty");
+		Assert.notNull(args, "Arguments must not be null");
+		StatementGroup group = this.groups.computeIfAbsent(sql, key -> new StatementGroup(key, this.batchSize));
+		group.pendingArgs.add(args.clone());
+		if (group.pendingArgs.size() >= this.batchSize) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Triggering auto-flush for SQL [" + sql + "] because queue reached batch size of " +
+						this.batchSize);
+			}
+			flush();
+		}
+	}
+
+	/**
+	 * Execute all queued statements, group by group, ordered by the
+	 * earliest queued statement of each group.
+	 * @throws DataAccessException if any of the batches fails, leaving the
+	 * statements of that batch and of all subsequent batches queued
+	 */
+	@Override
+	public void flush() throws DataAccessException {
+		// Groups are registered with their first queued statement and removed once executed
+		for (StatementGroup group : new ArrayList<>(this.groups.values())) {
+			execute(group);
+		}
+	}
+
+	/**
+	 * Flush all queued statements.
+	 * @see #flush()
+	 */
+	@Override
+	public void close() throws DataAccessException {
+		flush();
+	}
+
+	private void execute(StatementGroup group) {
+		int[] rowCounts = this.jdbcOperations.batchUpdate(group.sql, group.pendingArgs);
+		this.groups.remove(group.sql);
+		StatementCounts counts = this.statementCounts.computeIfAbsent(group.sql, sql -> new StatementCounts());
+		counts.add(rowCounts);
+		this.totalCounts.add(rowCounts);
+	}
+
+
+	/**
+	 * Return the number of statements currently queued across all SQL strings.
+	 */
+	public int getQueueCount() {
+		int count = 0;
+		for (StatementGroup group : this.groups.values()) {
+			count += group.pendingArgs.size();
+		}
+		return count;
+	}
+
+	/**
+	 * Return the number of already executed statements across all SQL strings.
+	 */
+	public long getExecutionCount() {
+		return this.totalCounts.executionCount;
+	}
+
+	/**
+	 * Return the number of already executed statements for the given SQL string.
+	 * <p>Only available for the {@value #STATEMENT_COUNTS_LIMIT} most recently
+	 * executed SQL strings, returning 0 for any other.
+	 * @param sql the SQL statement as passed to {@link #update}
+	 */
+	public long getExecutionCount(String sql) {
+		StatementCounts counts = this.statementCounts.get(sql);
+		return (counts != null ? counts.executionCount : 0);
+	}
+
+	/**
+	 * Return the sum of affected rows for all already executed statements.
+	 * <p>Statements for which the driver returned
+	 * {@link Statement#SUCCESS_NO_INFO} do not contribute to this count.
+	 * @see #getUnknownRowCounts()
+	 */
+	public long getRowsAffected() {
+		return this.totalCounts.rowsAffected;
+	}
+
+	/**
+	 * Return the sum of affected rows for the already executed statements
+	 * with the given SQL string.
+	 * <p>Only available for the {@value #STATEMENT_COUNTS_LIMIT} most recently
+	 * executed SQL strings, returning 0 for any other.
+	 * @param sql the SQL statement as passed to {@link #update}
+	 */
+	public long getRowsAffected(String sql) {
+		StatementCounts counts = this.statementCounts.get(sql);
+		return (counts != null ? counts.rowsAffected : 0);
+	}
+
+	/**
+	 * Return the number of executed statements for which the driver reported
+	 * success without the number of affected rows.
+	 * @see Statement#SUCCESS_NO_INFO
+	 */
+	public long getUnknownRowCounts() {
+		return this.totalCounts.unknownRowCounts;
+	}
+
+	/**
+	 * Reset the statement queues as well as all execution and row counts.
+	 */
+	public void reset() {
+		this.groups.clear();
+		this.statementCounts.clear();
+		this.totalCounts.reset();
+	}
+
+
+	/**
+	 * Queued arguments for a single SQL string.
+	 */
+	private static class StatementGroup {
+
+		final String sql;
+
+		final List<Object[]> pendingArgs;
+
+		StatementGroup(String sql, int batchSize) {
+			this.sql = sql;
+			this.pendingArgs = new ArrayList<>(batchSize);
+		}
+	}
+
+
+	/**
+	 * Counters for executed statements.
+	 */
+	private static class StatementCounts {
+
+		long executionCount;
+
+		long rowsAffected;
+
+		long unknownRowCounts;
+
+		void add(int[] rowCounts) {
+			for (int rowCount : rowCounts) {
+				this.executionCount++;
+				if (rowCount > 0) {
+					this.rowsAffected += rowCount;
+				}
+				else if (rowCount == Statement.SUCCESS_NO_INFO) {
+					this.unknownRowCounts++;
+				}
+			}
+		}
+
+		void reset() {
+			this.executionCount = 0;
+			this.rowsAffected = 0;
+			this.unknownRowCounts = 0;
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,10 +16,18 @@
 
 package org.springframework.jdbc.core;
 
+import java.beans.PropertyChangeEvent;
 import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Locale;
@@ -32,6 +40,7 @@ import org.apache.commons.logging.LogFactory;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.BeanWrapper;
 import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.MethodInvocationException;
 import org.springframework.beans.NotWritablePropertyException;
 import org.springframework.beans.TypeConverter;
 import org.springframework.beans.TypeMismatchException;
@@ -43,6 +52,7 @@ import org.springframework.jdbc.support.JdbcUtils;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -73,6 +83,13 @@ import org.springframework.util.StringUtils;
  * {@code true}. See {@link #setPrimitivesDefaultedForNullValue(boolean)} for
  * details.
  *
+ * <p>The resolution of columns to properties is computed once per result set
+ * shape and reused for every row. Column values which are already assignable
+ * to the property type are applied through the setter method directly, with a
+ * {@link BeanWrapper} only being created for rows that actually need a type
+ * conversion. If {@link #initBeanWrapper} is overridden, all values go through
+ * the {@code BeanWrapper} in order to respect custom editors registered there.
+ *
  * <p>If you need to map to a target class which has a <em>data class</em> constructor
  * &mdash; for example, a Java {@code record} or a Kotlin {@code data} class &mdash;
  * use {@link DataClassRowMapper} instead.
@@ -119,6 +136,16 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 	@Nullable
 	private Set<String> mappedPropertyNames;
 
+	/** Whether {@link #initBeanWrapper} is overridden, possibly registering custom editors. */
+	private boolean customizedBeanWrapper;
+
+	/** Whether {@link #constructMappedInstance} is overridden, possibly using the BeanWrapper. */
+	private boolean customizedConstruction;
+
+	/** Column mappings for the most recently mapped result set shape. */
+	@Nullable
+	private volatile ColumnMappings columnMappings;
+
 
 	/**
 	 * Create a new {@code BeanPropertyRowMapper} for bean-style configuration.
@@ -225,6 +252,7 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 	 */
 	public void setConversionService(@Nullable ConversionService conversionService) {
 		this.conversionService = conversionService;
+		this.columnMappings = null;
 	}
 
 	/**
@@ -246,6 +274,9 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 		this.mappedClass = mappedClass;
 		this.mappedProperties = new HashMap<>();
 		this.mappedPropertyNames = new HashSet<>();
+		this.customizedBeanWrapper = isOverridden("initBeanWrapper", BeanWrapper.class);
+		this.customizedConstruction = isOverridden("constructMappedInstance", ResultSet.class, TypeConverter.class);
+		this.columnMappings = null;
 
 		for (PropertyDescriptor pd : BeanUtils.getPropertyDescriptors(mappedClass)) {
 			if (pd.getWriteMethod() != null) {
@@ -270,6 +301,12 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 			this.mappedProperties.remove(lowerCaseName(propertyName));
 			this.mappedProperties.remove(underscoreName(propertyName));
 		}
+		this.columnMappings = null;
+	}
+
+	private boolean isOverridden(String methodName, Class<?>... paramTypes) {
+		Method method = ReflectionUtils.findMethod(getClass(), methodName, paramTypes);
+		return (method != null && method.getDeclaringClass() != BeanPropertyRowMapper.class);
 	}
 
 	/**
@@ -318,56 +355,76 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 	 */
 	@Override
 	public T mapRow(ResultSet rs, int rowNumber) throws SQLException {
-		BeanWrapperImpl bw = new BeanWrapperImpl();
-		initBeanWrapper(bw);
-
-		T mappedObject = constructMappedInstance(rs, bw);
-		bw.setBeanInstance(mappedObject);
-
-		ResultSetMetaData rsmd = rs.getMetaData();
-		int columnCount = rsmd.getColumnCount();
-		Set<String> populatedProperties = (isCheckFullyPopulated() ? new HashSet<>() : null);
+		ColumnMappings mappings = obtainColumnMappings(rs);
+
+		BeanWrapperImpl bw = null;
+		T mappedObject;
+		if (this.customizedBeanWrapper || this.customizedConstruction) {
+			bw = new BeanWrapperImpl();
+			initBeanWrapper(bw);
+			mappedObject = constructMappedInstance(rs, bw);
+			bw.setBeanInstance(mappedObject);
+		}
+		else {
+			Assert.state(this.mappedClass != null, "Mapped class was not specified");
+			mappedObject = BeanUtils.instantiateClass(this.mappedClass);
+		}
 
-		for (int index = 1; index <= columnCount; index++) {
-			String column = JdbcUtils.lookupColumnName(rsmd, index);
-			String property = lowerCaseName(StringUtils.delete(column, " "));
-			PropertyDescriptor pd = (this.mappedProperties != null ? this.mappedProperties.get(property) : null);
-			if (pd != null) {
-				try {
-					Object value = getColumnValue(rs, index, pd);
-					if (rowNumber == 0 && logger.isDebugEnabled()) {
-						logger.debug("Mapping column '" + column + "' to property '" + pd.getName() +
-								"' of type '" + ClassUtils.getQualifiedName(pd.getPropertyType()) + "'");
-					}
+		for (int i = 0; i < mappings.properties.length; i++) {
+			PropertyDescriptor pd = mappings.properties[i];
+			if (pd == null) {
+				continue;
+			}
+			int index = i + 1;
+			String column = mappings.columnNames[i];
+			try {
+				Object value = getColumnValue(rs, index, pd);
+				if (rowNumber == 0 && logger.isDebugEnabled()) {
+					logger.debug("Mapping column '" + column + "' to property '" + pd.getName() +
+							"' of type '" + ClassUtils.getQualifiedName(pd.getPropertyType()) + "'");
+				}
+				MethodHandle writeHandle = mappings.writeHandles[i];
+				if (writeHandle != null && value != null && ClassUtils.isAssignableValue(pd.getPropertyType(), value)) {
+					// No conversion necessary: invoke the setter directly, as the BeanWrapper would do
 					try {
-						bw.setPropertyValue(pd.getName(), value);
+						writeHandle.invokeExact(mappedObject, value);
 					}
-					catch (TypeMismatchException ex) {
-						if (value == null && isPrimitivesDefaultedForNullValue()) {
-							if (logger.isDebugEnabled()) {
-								String propertyType = ClassUtils.getQualifiedName(pd.getPropertyType());
-								logger.debug(String.format(
-										"Ignoring intercepted TypeMismatchException for row %d and column '%s' " +
-										"with null value when setting property '%s' of type '%s' on object: %s",
-										rowNumber, column, pd.getName(), propertyType, mappedObject), ex);
-							}
-						}
-						else {
-							throw ex;
+					catch (Throwable ex) {
+						throw new MethodInvocationException(
+								new PropertyChangeEvent(mappedObject, pd.getName(), null, value), ex);
+					}
+					continue;
+				}
+				if (bw == null) {
+					bw = new BeanWrapperImpl();
+					initBeanWrapper(bw);
+					bw.setBeanInstance(mappedObject);
+				}
+				try {
+					bw.setPropertyValue(pd.getName(), value);
+				}
+				catch (TypeMismatchException ex) {
+					if (value == null && isPrimitivesDefaultedForNullValue()) {
+						if (logger.isDebugEnabled()) {
+							String propertyType = ClassUtils.getQualifiedName(pd.getPropertyType());
+							logger.debug(String.format(
+									"Ignoring intercepted TypeMismatchException for row %d and column '%s' " +
+									"with null value when setting property '%s' of type '%s' on object: %s",
+									rowNumber, column, pd.getName(), propertyType, mappedObject), ex);
 						}
 					}
-					if (populatedProperties != null) {
-						populatedProperties.add(pd.getName());
+					else {
+						throw ex;
 					}
 				}
-				catch (NotWritablePropertyException ex) {
-					throw new DataRetrievalFailureException(
-							"Unable to map column '" + column + "' to property '" + pd.getName() + "'", ex);
-				}
+			}
+			catch (NotWritablePropertyException ex) {
+				throw new DataRetrievalFailureException(
+						"Unable to map column '" + column + "' to property '" + pd.getName() + "'", ex);
 			}
 		}
 
-		if (populatedProperties != null && !populatedProperties.equals(this.mappedPropertyNames)) {
+		if (isCheckFullyPopulated() && !mappings.populatesAllProperties) {
 			throw new InvalidDataAccessApiUsageException("Given ResultSet does not contain all properties " +
 					"necessary to populate object of " + this.mappedClass + ": " + this.mappedPropertyNames);
 		}
@@ -375,6 +432,85 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 		return mappedObject;
 	}
 
+	/**
+	 * Obtain the column mappings for the given ResultSet, reusing the cached
+	 * mappings for the same ResultSet or for a ResultSet with identical columns.
+	 */
+	private ColumnMappings obtainColumnMappings(ResultSet rs) throws SQLException {
+		ColumnMappings mappings = this.columnMappings;
+		if (mappings != null && mappings.resultSet.get() == rs) {
+			return mappings;
+		}
+
+		ResultSetMetaData rsmd = rs.getMetaData();
+		int columnCount = rsmd.getColumnCount();
+		String[] columnNames = new String[columnCount];
+		for (int index = 1; index <= columnCount; index++) {
+			columnNames[index - 1] = JdbcUtils.lookupColumnName(rsmd, index);
+		}
+
+		if (mappings != null && Arrays.equals(mappings.columnNames, columnNames)) {
+			mappings = new ColumnMappings(rs, mappings);
+		}
+		else {
+			mappings = buildColumnMappings(rs, columnNames);
+		}
+		this.columnMappings = mappings;
+		return mappings;
+	}
+
+	private ColumnMappings buildColumnMappings(ResultSet rs, String[] columnNames) {
+		PropertyDescriptor[] properties = new PropertyDescriptor[columnNames.length];
+		MethodHandle[] writeHandles = new MethodHandle[columnNames.length];
+		Set<String> populatedProperties = new HashSet<>();
+		ConversionService cs = getConversionService();
+		boolean directWrite = (!this.customizedBeanWrapper &&
+				(cs == null || cs == DefaultConversionService.getSharedInstance()));
+
+		for (int i = 0; i < columnNames.length; i++) {
+			String property = lowerCaseName(StringUtils.delete(columnNames[i], " "));
+			PropertyDescriptor pd = (this.mappedProperties != null ? this.mappedProperties.get(property) : null);
+			if (pd != null) {
+				properties[i] = pd;
+				populatedProperties.add(pd.getName());
+				if (directWrite) {
+					writeHandles[i] = getWriteHandle(pd);
+				}
+			}
+		}
+
+		return new ColumnMappings(rs, columnNames, properties, writeHandles,
+				populatedProperties.equals(this.mappedPropertyNames));
+	}
+
+	/**
+	 * Determine a {@link MethodHandle} for invoking the setter of the given
+	 * property directly, or {@code null} if values for the property need to go
+	 * through a {@link BeanWrapper} in any case (e.g. for collection types
+	 * which the {@link ConversionService} may convert element by element).
+	 */
+	@Nullable
+	private MethodHandle getWriteHandle(PropertyDescriptor pd) {
+		Method writeMethod = pd.getWriteMethod();
+		Class<?> propertyType = pd.getPropertyType();
+		if (writeMethod == null || propertyType == null || writeMethod.getParameterCount() != 1 ||
+				writeMethod.getParameterTypes()[0] != propertyType || propertyType.isArray() ||
+				Collection.class.isAssignableFrom(propertyType) || Map.class.isAssignableFrom(propertyType)) {
+			return null;
+		}
+		try {
+			ReflectionUtils.makeAccessible(writeMethod);
+			return MethodHandles.lookup().unreflect(writeMethod)
+					.asType(MethodType.methodType(void.class, Object.class, Object.class));
+		}
+		catch (IllegalAccessException | RuntimeException ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Cannot invoke setter for property '" + pd.getName() + "' directly", ex);
+			}
+			return null;
+		}
+	}
+
 	/**
 	 * Construct an instance of the mapped class for the current row.
 	 * @param rs the ResultSet to map (pre-initialized for the current row)
@@ -469,4 +605,37 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 		return rowMapper;
 	}
 
+
+	/**
+	 * Resolved mapping from column index to bean property for a given
+	 * result set shape.
+	 */
+	private static final class ColumnMappings {
+
+		final WeakReference<ResultSet> resultSet;
+
+		final String[] columnNames;
+
+		final PropertyDescriptor[] properties;
+
+		final MethodHandle[] writeHandles;
+
+		final boolean populatesAllProperties;
+
+		ColumnMappings(ResultSet resultSet, String[] columnNames, PropertyDescriptor[] properties,
+				MethodHandle[] writeHandles, boolean populatesAllProperties) {
+
+			this.resultSet = new WeakReference<>(resultSet);
+			this.columnNames = columnNames;
+			this.properties = properties;
+			this.writeHandles = writeHandles;
+			this.populatesAllProperties = populatesAllProperties;
+		}
+
+		ColumnMappings(ResultSet resultSet, ColumnMappings existing) {
+			this(resultSet, existing.columnNames, existing.properties, existing.writeHandles,
+					existing.populatesAllProperties);
+		}
+	}
+
 }
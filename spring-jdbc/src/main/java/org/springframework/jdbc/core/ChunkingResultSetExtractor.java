@@ -0,0 +1,71 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.util.Assert;
+
+/**
+ * ResultSetExtractor for {@code queryInChunks}, handing mapped objects to a
+ * consumer in chunks and returning the total number of rows.
+ *
+ * @since 5.3.39
+ * @param <T> the result type
+ * @see JdbcOperations#queryInChunks(PreparedStatementCreator, RowMapper, int, Consumer)
+ */
+class ChunkingResultSetExtractor<T> implements ResultSetExtractor<Long> {
+
+	private final RowMapper<T> rowMapper;
+
+	private final int chunkSize;
+
+	private final Consumer<? super List<T>> chunkConsumer;
+
+
+	ChunkingResultSetExtractor(RowMapper<T> rowMapper, int chunkSize, Consumer<? super List<T>> chunkConsumer) {
+		Assert.notNull(rowMapper, "RowMapper must not be null");
+		Assert.isTrue(chunkSize > 0, "Chunk size must be greater than 0");
+		Assert.notNull(chunkConsumer, "Chunk consumer must not be null");
+		this.rowMapper = rowMapper;
+		this.chunkSize = chunkSize;
+		this.chunkConsumer = chunkConsumer;
+	}
+
+
+	@Override
+	public Long extractData(ResultSet rs) throws SQLException {
+		long rowCount = 0;
+		List<T> chunk = new ArrayList<>(this.chunkSize);
+		while (rs.next()) {
+			chunk.add(this.rowMapper.mapRow(rs, (int) rowCount++));
+			if (chunk.size() == this.chunkSize) {
+				this.chunkConsumer.accept(chunk);
+				chunk = new ArrayList<>(this.chunkSize);
+			}
+		}
+		if (!chunk.isEmpty()) {
+			this.chunkConsumer.accept(chunk);
+		}
+		return rowCount;
+	}
+
+}
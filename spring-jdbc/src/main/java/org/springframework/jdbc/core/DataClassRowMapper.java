@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 
 package org.springframework.jdbc.core;
 
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Constructor;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -69,6 +70,10 @@ public class DataClassRowMapper<T> extends BeanPropertyRowMapper<T> {
 	@Nullable
 	private TypeDescriptor[] constructorParameterTypes;
 
+	/** Column indexes for the constructor parameters, cached per ResultSet. */
+	@Nullable
+	private volatile ConstructorColumns constructorColumns;
+
 
 	/**
 	 * Create a new {@code DataClassRowMapper} for bean-style configuration.
@@ -111,20 +116,11 @@ public class DataClassRowMapper<T> extends BeanPropertyRowMapper<T> {
 
 		Object[] args;
 		if (this.constructorParameterNames != null && this.constructorParameterTypes != null) {
+			int[] indexes = obtainConstructorColumnIndexes(rs, this.constructorParameterNames);
 			args = new Object[this.constructorParameterNames.length];
 			for (int i = 0; i < args.length; i++) {
-				String name = this.constructorParameterNames[i];
-				int index;
-				try {
-					// Try direct name match first
-					index = rs.findColumn(lowerCaseName(name));
-				}
-				catch (SQLException ex) {
-					// Try underscored name match instead
-					index = rs.findColumn(underscoreName(name));
-				}
 				TypeDescriptor td = this.constructorParameterTypes[i];
-				Object value = getColumnValue(rs, index, td.getType());
+				Object value = getColumnValue(rs, indexes[i], td.getType());
 				args[i] = tc.convertIfNecessary(value, td.getType(), td);
 			}
 		}
@@ -135,6 +131,27 @@ public class DataClassRowMapper<T> extends BeanPropertyRowMapper<T> {
 		return BeanUtils.instantiateClass(this.mappedConstructor, args);
 	}
 
+	private int[] obtainConstructorColumnIndexes(ResultSet rs, String[] parameterNames) throws SQLException {
+		ConstructorColumns columns = this.constructorColumns;
+		if (columns != null && columns.resultSet.get() == rs) {
+			return columns.indexes;
+		}
+		int[] indexes = new int[parameterNames.length];
+		for (int i = 0; i < parameterNames.length; i++) {
+			String name = parameterNames[i];
+			try {
+				// Try direct name match first
+				indexes[i] = rs.findColumn(lowerCaseName(name));
+			}
+			catch (SQLException ex) {
+				// Try underscored name match instead
+				indexes[i] = rs.findColumn(underscoreName(name));
+			}
+		}
+		this.constructorColumns = new ConstructorColumns(rs, indexes);
+		return indexes;
+	}
+
 
 	/**
 	 * Static factory method to create a new {@code DataClassRowMapper}.
@@ -161,4 +178,20 @@ public class DataClassRowMapper<T> extends BeanPropertyRowMapper<T> {
 		return rowMapper;
 	}
 
+
+	/**
+	 * Constructor parameter column indexes resolved for a specific ResultSet.
+	 */
+	private static final class ConstructorColumns {
+
+		final WeakReference<ResultSet> resultSet;
+
+		final int[] indexes;
+
+		ConstructorColumns(ResultSet resultSet, int[] indexes) {
+			this.resultSet = new WeakReference<>(resultSet);
+			this.indexes = indexes;
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,6 +19,7 @@ package org.springframework.jdbc.core;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import org.springframework.dao.DataAccessException;
@@ -593,6 +594,64 @@ public interface JdbcOperations {
 	<T> Stream<T> queryForStream(String sql, RowMapper<T> rowMapper, @Nullable Object... args)
 			throws DataAccessException;
 
+	/**
+	 * Query using a prepared statement, mapping each row to a result object
+	 * via a RowMapper and handing the mapped objects to the given consumer
+	 * in chunks of the specified size.
+	 * <p>Only a single chunk of mapped objects is held in memory at any time,
+	 * which makes this variant suitable for exporting very large results.
+	 * <p>The default implementation delegates to
+	 * {@link #query(PreparedStatementCreator, ResultSetExtractor)}.
+	 * {@link JdbcTemplate} also applies the chunk size as fetch size for the
+	 * statement, unless a fetch size has been set on the template.
+	 * @param psc a callback that creates a PreparedStatement given a Connection
+	 * @param rowMapper a callback that will map one object per row
+	 * @param chunkSize the maximum number of mapped objects per chunk
+	 * @param chunkConsumer a callback that will process each chunk of mapped
+	 * objects (the last chunk may contain fewer objects than the chunk size)
+	 * @return the total number of rows processed
+	 * @throws DataAccessException if there is any problem
+	 * @since 5.3.39
+	 * @see PreparedStatementCreatorFactory
+	 */
+	default <T> long queryInChunks(PreparedStatementCreator psc, RowMapper<T> rowMapper, int chunkSize,
+			Consumer<? super List<T>> chunkConsumer) throws DataAccessException {
+
+		Long rowCount = query(psc, new ChunkingResultSetExtractor<>(rowMapper, chunkSize, chunkConsumer));
+		return (rowCount != null ? rowCount : 0);
+	}
+
+	/**
+	 * Query given SQL to create a prepared statement from SQL and a list of
+	 * arguments to bind to the query, mapping each row to a result object
+	 * via a RowMapper and handing the mapped objects to the given consumer
+	 * in chunks of the specified size.
+	 * <p>Only a single chunk of mapped objects is held in memory at any time,
+	 * which makes this variant suitable for exporting very large results.
+	 * <p>The default implementation delegates to
+	 * {@link #query(String, ResultSetExtractor, Object...)}.
+	 * {@link JdbcTemplate} also applies the chunk size as fetch size for the
+	 * statement, unless a fetch size has been set on the template.
+	 * @param sql the SQL query to execute
+	 * @param rowMapper a callback that will map one object per row
+	 * @param chunkSize the maximum number of mapped objects per chunk
+	 * @param chunkConsumer a callback that will process each chunk of mapped
+	 * objects (the last chunk may contain fewer objects than the chunk size)
+	 * @param args arguments to bind to the query
+	 * (leaving it to the PreparedStatement to guess the corresponding SQL type);
+	 * may also contain {@link SqlParameterValue} objects which indicate not
+	 * only the argument value but also the SQL type and optionally the scale
+	 * @return the total number of rows processed
+	 * @throws DataAccessException if the query fails
+	 * @since 5.3.39
+	 */
+	default <T> long queryInChunks(String sql, RowMapper<T> rowMapper, int chunkSize,
+			Consumer<? super List<T>> chunkConsumer, @Nullable Object... args) throws DataAccessException {
+
+		Long rowCount = query(sql, new ChunkingResultSetExtractor<>(rowMapper, chunkSize, chunkConsumer), args);
+		return (rowCount != null ? rowCount : 0);
+	}
+
 	/**
 	 * Query given SQL to create a prepared statement from SQL and a list
 	 * of arguments to bind to the query, mapping a single result row to a
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -863,6 +863,51 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		return queryForStream(new SimplePreparedStatementCreator(sql), newArgPreparedStatementSetter(args), rowMapper);
 	}
 
+	/**
+	 * Query using a prepared statement, allowing for a PreparedStatementCreator
+	 * and a PreparedStatementSetter, handing the mapped objects to the given
+	 * consumer in chunks of the specified size.
+	 * <p>Unless a fetch size has been set on this template, the chunk size is
+	 * applied as fetch size for the statement, before the given
+	 * PreparedStatementSetter (which may override it) is invoked.
+	 * @param psc a callback that creates a PreparedStatement given a Connection
+	 * @param pss a callback that knows how to set values on the prepared statement.
+	 * If this is {@code null}, the SQL will be assumed to contain no bind parameters.
+	 * @param rowMapper a callback that will map one object per row
+	 * @param chunkSize the maximum number of mapped objects per chunk
+	 * @param chunkConsumer a callback that will process each chunk of mapped
+	 * objects (the last chunk may contain fewer objects than the chunk size)
+	 * @return the total number of rows processed
+	 * @throws DataAccessException if the query fails
+	 * @since 5.3.39
+	 */
+	public <T> long queryInChunks(PreparedStatementCreator psc, @Nullable PreparedStatementSetter pss,
+			RowMapper<T> rowMapper, int chunkSize, Consumer<? super List<T>> chunkConsumer)
+			throws DataAccessException {
+
+		Assert.isTrue(chunkSize > 0, "Chunk size must be greater than 0");
+		Assert.notNull(chunkConsumer, "Chunk consumer must not be null");
+		PreparedStatementSetter pssToUse =
+				(getFetchSize() == -1 ? new FetchSizePreparedStatementSetter(chunkSize, pss) : pss);
+		Long rowCount = query(psc, pssToUse, new ChunkingResultSetExtractor<>(rowMapper, chunkSize, chunkConsumer));
+		return (rowCount != null ? rowCount : 0);
+	}
+
+	@Override
+	public <T> long queryInChunks(PreparedStatementCreator psc, RowMapper<T> rowMapper, int chunkSize,
+			Consumer<? super List<T>> chunkConsumer) throws DataAccessException {
+
+		return queryInChunks(psc, null, rowMapper, chunkSize, chunkConsumer);
+	}
+
+	@Override
+	public <T> long queryInChunks(String sql, RowMapper<T> rowMapper, int chunkSize,
+			Consumer<? super List<T>> chunkConsumer, @Nullable Object... args) throws DataAccessException {
+
+		return queryInChunks(new SimplePreparedStatementCreator(sql), newArgPreparedStatementSetter(args),
+				rowMapper, chunkSize, chunkConsumer);
+	}
+
 	@Override
 	@Nullable
 	public <T> T queryForObject(String sql, Object[] args, int[] argTypes, RowMapper<T> rowMapper)
@@ -1734,6 +1779,40 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 	}
 
 
+	/**
+	 * PreparedStatementSetter for queryInChunks, applying a fetch size
+	 * before delegating to the actual setter (if any).
+	 * @since 5.3.39
+	 */
+	private static class FetchSizePreparedStatementSetter implements PreparedStatementSetter, ParameterDisposer {
+
+		private final int fetchSize;
+
+		@Nullable
+		private final PreparedStatementSetter delegate;
+
+		public FetchSizePreparedStatementSetter(int fetchSize, @Nullable PreparedStatementSetter delegate) {
+			this.fetchSize = fetchSize;
+			this.delegate = delegate;
+		}
+
+		@Override
+		public void setValues(PreparedStatement ps) throws SQLException {
+			ps.setFetchSize(this.fetchSize);
+			if (this.delegate != null) {
+				this.delegate.setValues(ps);
+			}
+		}
+
+		@Override
+		public void cleanupParameters() {
+			if (this.delegate instanceof ParameterDisposer) {
+				((ParameterDisposer) this.delegate).cleanupParameters();
+			}
+		}
+	}
+
+
 	/**
 	 * Spliterator for queryForStream adaptation of a ResultSet to a Stream.
 	 * @since 5.3
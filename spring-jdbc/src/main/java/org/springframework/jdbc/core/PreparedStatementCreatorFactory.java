@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -52,6 +52,8 @@ public class PreparedStatementCreatorFactory {
 
 	private boolean updatableResults = false;
 
+	private int resultSetHoldability = -1;
+
 	private boolean returnGeneratedKeys = false;
 
 	@Nullable
@@ -124,6 +126,19 @@ public class PreparedStatementCreatorFactory {
 		this.updatableResults = updatableResults;
 	}
 
+	/**
+	 * Set the holdability of ResultSets returned by prepared statements,
+	 * e.g. to keep a cursor open across commits while streaming large results.
+	 * <p>Default is -1, leaving the holdability up to the JDBC driver.
+	 * @param resultSetHoldability the ResultSet holdability
+	 * @since 5.3.39
+	 * @see java.sql.ResultSet#HOLD_CURSORS_OVER_COMMIT
+	 * @see java.sql.ResultSet#CLOSE_CURSORS_AT_COMMIT
+	 */
+	public void setResultSetHoldability(int resultSetHoldability) {
+		this.resultSetHoldability = resultSetHoldability;
+	}
+
 	/**
 	 * Set whether prepared statements should be capable of returning auto-generated keys.
 	 */
@@ -231,6 +246,10 @@ public class PreparedStatementCreatorFactory {
 					ps = con.prepareStatement(this.actualSql, PreparedStatement.RETURN_GENERATED_KEYS);
 				}
 			}
+			else if (resultSetHoldability != -1) {
+				ps = con.prepareStatement(this.actualSql, resultSetType,
+						updatableResults ? ResultSet.CONCUR_UPDATABLE : ResultSet.CONCUR_READ_ONLY, resultSetHoldability);
+			}
 			else if (resultSetType == ResultSet.TYPE_FORWARD_ONLY && !updatableResults) {
 				ps = con.prepareStatement(this.actualSql);
 			}
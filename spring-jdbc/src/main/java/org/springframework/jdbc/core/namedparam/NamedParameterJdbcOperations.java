@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,7 @@ package org.springframework.jdbc.core.namedparam;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import org.springframework.dao.DataAccessException;
@@ -258,6 +259,57 @@ public interface NamedParameterJdbcOperations {
 	<T> Stream<T> queryForStream(String sql, Map<String, ?> paramMap, RowMapper<T> rowMapper)
 			throws DataAccessException;
 
+	/**
+	 * Query given SQL to create a prepared statement from SQL and a list
+	 * of arguments to bind to the query, mapping each row to a Java object
+	 * via a RowMapper and handing the mapped objects to the given consumer
+	 * in chunks of the specified size.
+	 * <p>Only a single chunk of mapped objects is held in memory at any time.
+	 * <p>The default implementation substitutes the named parameters through
+	 * {@link NamedParameterUtils} and delegates to
+	 * {@link JdbcOperations#queryInChunks(String, RowMapper, int, Consumer, Object...)}
+	 * on the {@link #getJdbcOperations() classic JdbcTemplate}.
+	 * @param sql the SQL query to execute
+	 * @param paramSource container of arguments to bind to the query
+	 * @param rowMapper object that will map one object per row
+	 * @param chunkSize the maximum number of mapped objects per chunk
+	 * @param chunkConsumer a callback that will process each chunk of mapped objects
+	 * @return the total number of rows processed
+	 * @throws DataAccessException if the query fails
+	 * @since 5.3.39
+	 * @see org.springframework.jdbc.core.JdbcOperations#queryInChunks
+	 */
+	default <T> long queryInChunks(String sql, SqlParameterSource paramSource, RowMapper<T> rowMapper,
+			int chunkSize, Consumer<? super List<T>> chunkConsumer) throws DataAccessException {
+
+		ParsedSql parsedSql = NamedParameterUtils.parseSqlStatement(sql);
+		String sqlToUse = NamedParameterUtils.substituteNamedParameters(parsedSql, paramSource);
+		Object[] params = NamedParameterUtils.buildValueArray(parsedSql, paramSource, null);
+		return getJdbcOperations().queryInChunks(sqlToUse, rowMapper, chunkSize, chunkConsumer, params);
+	}
+
+	/**
+	 * Query given SQL to create a prepared statement from SQL and a list
+	 * of arguments to bind to the query, mapping each row to a Java object
+	 * via a RowMapper and handing the mapped objects to the given consumer
+	 * in chunks of the specified size.
+	 * <p>Only a single chunk of mapped objects is held in memory at any time.
+	 * @param sql the SQL query to execute
+	 * @param paramMap map of parameters to bind to the query
+	 * (leaving it to the PreparedStatement to guess the corresponding SQL type)
+	 * @param rowMapper object that will map one object per row
+	 * @param chunkSize the maximum number of mapped objects per chunk
+	 * @param chunkConsumer a callback that will process each chunk of mapped objects
+	 * @return the total number of rows processed
+	 * @throws DataAccessException if the query fails
+	 * @since 5.3.39
+	 */
+	default <T> long queryInChunks(String sql, Map<String, ?> paramMap, RowMapper<T> rowMapper,
+			int chunkSize, Consumer<? super List<T>> chunkConsumer) throws DataAccessException {
+
+		return queryInChunks(sql, new MapSqlParameterSource(paramMap), rowMapper, chunkSize, chunkConsumer);
+	}
+
 	/**
 	 * Query given SQL to create a prepared statement from SQL and a list
 	 * of arguments to bind to the query, mapping a single result row to a
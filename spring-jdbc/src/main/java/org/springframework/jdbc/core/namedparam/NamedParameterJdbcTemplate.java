@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -238,6 +238,21 @@ public class NamedParameterJdbcTemplate implements NamedParameterJdbcOperations
 		return queryForStream(sql, new MapSqlParameterSource(paramMap), rowMapper);
 	}
 
+	@Override
+	public <T> long queryInChunks(String sql, SqlParameterSource paramSource, RowMapper<T> rowMapper,
+			int chunkSize, Consumer<? super List<T>> chunkConsumer) throws DataAccessException {
+
+		return getJdbcOperations().queryInChunks(
+				getPreparedStatementCreator(sql, paramSource), rowMapper, chunkSize, chunkConsumer);
+	}
+
+	@Override
+	public <T> long queryInChunks(String sql, Map<String, ?> paramMap, RowMapper<T> rowMapper,
+			int chunkSize, Consumer<? super List<T>> chunkConsumer) throws DataAccessException {
+
+		return queryInChunks(sql, new MapSqlParameterSource(paramMap), rowMapper, chunkSize, chunkConsumer);
+	}
+
 	@Override
 	@Nullable
 	public <T> T queryForObject(String sql, SqlParameterSource paramSource, RowMapper<T> rowMapper)
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.support.lock;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.lock.TaskLock;
+import org.springframework.scheduling.lock.TaskLockProvider;
+import org.springframework.util.Assert;
+
+/**
+ * {@link TaskLockProvider} that keeps locks in a database table, shared by
+ * all application instances that access the same database.
+ *
+ * <p>Expects a table with one row per lock, created on first acquisition:
+ *
+ * <pre class="code">
+ * CREATE TABLE TASK_LOCK (
+ *     LOCK_NAME VARCHAR(255) NOT NULL PRIMARY KEY,
+ *     LOCKED_UNTIL TIMESTAMP NOT NULL,
+ *     LOCKED_AT TIMESTAMP NOT NULL,
+ *     LOCKED_BY VARCHAR(255) NOT NULL
+ * )</pre>
+ *
+ * <p>A lock is acquired by updating its row if the previous lease has expired,
+ * or by inserting the row if it does not exist yet; a concurrent insert is
+ * rejected by the primary key. Lease times are based on the clock of the
+ * application instance, so the clocks of all instances should be synchronized.
+ *
+ * <p>Locks are meant to be acquired outside of transactions: within a
+ * transaction, a rejected insert may mark the transaction as failed on
+ * some databases.
+ *
+ * @since 5.3.39
+ */
+public class JdbcTaskLockProvider implements TaskLockProvider {
+
+	/**
+	 * The default name of the lock table: {@value}.
+	 */
+	public static final String DEFAULT_TABLE_NAME = "TASK_LOCK";
+
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private String instanceName = ManagementFactory.getRuntimeMXBean().getName();
+
+	private Clock clock = Clock.systemUTC();
+
+	private String acquireSql = "";
+
+	private String insertSql = "";
+
+	private String releaseSql = "";
+
+
+	/**
+	 * Create a new {@code JdbcTaskLockProvider} for the given {@link DataSource}.
+	 */
+	public JdbcTaskLockProvider(DataSource dataSource) {
+		this(new JdbcTemplate(dataSource));
+	}
+
+	/**
+	 * Create a new {@code JdbcTaskLockProvider} for the given {@link JdbcTemplate}.
+	 */
+	public JdbcTaskLockProvider(JdbcTemplate jdbcTemplate) {
+		Assert.notNull(jdbcTemplate, "JdbcTemplate must not be null");
+		this.jdbcTemplate = jdbcTemplate;
+		setTableName(DEFAULT_TABLE_NAME);
+	}
+
+
+	/**
+	 * Set the name of the lock table, possibly including a schema prefix.
+	 * <p>The default is {@value #DEFAULT_TABLE_NAME}.
+	 */
+	public void setTableName(String tableName) {
+		Assert.hasText(tableName, "Table name must not be empty");
+		this.acquireSql = "UPDATE " + tableName + " SET LOCKED_UNTIL = ?, LOCKED_AT = ?, LOCKED_BY = ? " +
+				"WHERE LOCK_NAME = ? AND LOCKED_UNTIL <= ?";
+		this.insertSql = "INSERT INTO " + tableName + " (LOCK_NAME, LOCKED_UNTIL, LOCKED_AT, LOCKED_BY) " +
+				"VALUES (?, ?, ?, ?)";
+		this.releaseSql = "UPDATE " + tableName + " SET LOCKED_UNTIL = ? WHERE LOCK_NAME = ? AND LOCKED_BY = ?";
+	}
+
+	/**
+	 * Set the name of this application instance, recorded in the
+	 * {@code LOCKED_BY} column together with a unique lock id.
+	 * <p>The default is the name of the running JVM, typically
+	 * {@code pid@hostname}.
+	 */
+	public void setInstanceName(String instanceName) {
+		Assert.hasText(instanceName, "Instance name must not be empty");
+		this.instanceName = instanceName;
+	}
+
+	/**
+	 * Set the clock to determine lease times with.
+	 * <p>The default clock is the system clock in UTC.
+	 */
+	public void setClock(Clock clock) {
+		Assert.notNull(clock, "Clock must not be null");
+		this.clock = clock;
+	}
+
+
+	@Override
+	@Nullable
+	public TaskLock tryLock(String name, Duration leaseTime, Duration minLeaseTime) {
+		Assert.notNull(name, "Lock name must not be null");
+		long now = this.clock.millis();
+		Timestamp lockedAt = new Timestamp(now);
+		Timestamp lockedUntil = new Timestamp(now + leaseTime.toMillis());
+		String lockedBy = this.instanceName + " " + UUID.randomUUID();
+
+		int updated = this.jdbcTemplate.update(this.acquireSql, lockedUntil, lockedAt, lockedBy, name, lockedAt);
+		if (updated == 0) {
+			try {
+				this.jdbcTemplate.update(this.insertSql, name, lockedUntil, lockedAt, lockedBy);
+			}
+			catch (DataIntegrityViolationException ex) {
+				// Lock row exists and is held by someone else
+				return null;
+			}
+		}
+		return new JdbcTaskLock(name, lockedBy, now + minLeaseTime.toMillis());
+	}
+
+
+	/**
+	 * A lock represented by the current {@code LOCKED_BY} value of its row.
+	 */
+	private class JdbcTaskLock implements TaskLock {
+
+		private final String name;
+
+		private final String lockedBy;
+
+		private final long minLockedUntil;
+
+		JdbcTaskLock(String name, String lockedBy, long minLockedUntil) {
+			this.name = name;
+			this.lockedBy = lockedBy;
+			this.minLockedUntil = minLockedUntil;
+		}
+
+		@Override
+		public void unlock() {
+			long lockedUntil = Math.max(clock.millis(), this.minLockedUntil);
+			jdbcTemplate.update(releaseSql, new Timestamp(lockedUntil), this.name, this.lockedBy);
+		}
+
+		@Override
+		public String toString() {
+			return "JDBC task lock '" + this.name + "' held by " + this.lockedBy;
+		}
+	}
+
+}
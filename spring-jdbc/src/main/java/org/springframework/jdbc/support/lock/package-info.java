@@ -0,0 +1,11 @@
+/**
+ * JDBC-based implementation of the
+ * {@link org.springframework.scheduling.lock.TaskLockProvider} SPI,
+ * for guarding scheduled tasks across application instances.
+ */
+@NonNullApi
+@NonNullFields
+package org.springframework.jdbc.support.lock;
+
+import org.springframework.lang.NonNullApi;
+import org.springframework.lang.NonNullFields;
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.sql.Statement;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link BatchUpdateWriter}.
+ */
+class BatchUpdateWriterTests {
+
+	private static final String INSERT_SQL = "INSERT INTO T_CUSTOMER (ID, NAME) VALUES (?, ?)";
+
+	private static final String UPDATE_SQL = "UPDATE T_ORDER SET STATUS = ? WHERE ID = ?";
+
+	private final JdbcOperations jdbcOperations = mock(JdbcOperations.class);
+
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void flushThroughBatchSize() {
+		given(this.jdbcOperations.batchUpdate(eq(INSERT_SQL), anyList())).willReturn(new int[] {1, 1});
+		given(this.jdbcOperations.batchUpdate(eq(UPDATE_SQL), anyList())).willReturn(new int[] {1});
+
+		BatchUpdateWriter writer = new BatchUpdateWriter(this.jdbcOperations, 2);
+		writer.update(INSERT_SQL, 1, "Rod");
+		writer.update(UPDATE_SQL, "SHIPPED", 10);
+		assertThat(writer.getQueueCount()).isEqualTo(2);
+		verify(this.jdbcOperations, never()).batchUpdate(anyString(), anyList());
+
+		writer.update(INSERT_SQL, 2, "Juergen");
+		ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+		InOrder ordered = inOrder(this.jdbcOperations);
+		ordered.verify(this.jdbcOperations).batchUpdate(eq(INSERT_SQL), captor.capture());
+		ordered.verify(this.jdbcOperations).batchUpdate(eq(UPDATE_SQL), anyList());
+		assertThat(captor.getValue()).containsExactly(new Object[] {1, "Rod"}, new Object[] {2, "Juergen"});
+		assertThat(writer.getQueueCount()).isEqualTo(0);
+		assertThat(writer.getExecutionCount()).isEqualTo(3);
+		assertThat(writer.getExecutionCount(INSERT_SQL)).isEqualTo(2);
+		assertThat(writer.getRowsAffected(INSERT_SQL)).isEqualTo(2);
+		assertThat(writer.getExecutionCount(UPDATE_SQL)).isEqualTo(1);
+	}
+
+	@Test
+	void flushInOrderOfEarliestQueuedStatement() {
+		given(this.jdbcOperations.batchUpdate(anyString(), anyList())).willReturn(new int[] {1});
+
+		BatchUpdateWriter writer = new BatchUpdateWriter(this.jdbcOperations);
+		writer.update(INSERT_SQL, 1, "Rod");
+		writer.update(UPDATE_SQL, "SHIPPED", 10);
+		writer.flush();
+		writer.update(UPDATE_SQL, "SHIPPED", 11);
+		writer.update(INSERT_SQL, 2, "Juergen");
+		writer.flush();
+
+		InOrder ordered = inOrder(this.jdbcOperations);
+		ordered.verify(this.jdbcOperations).batchUpdate(eq(INSERT_SQL), anyList());
+		ordered.verify(this.jdbcOperations, times(2)).batchUpdate(eq(UPDATE_SQL), anyList());
+		ordered.verify(this.jdbcOperations).batchUpdate(eq(INSERT_SQL), anyList());
+	}
+
+	@Test
+	void flushInFirstSeenOrder() {
+		given(this.jdbcOperations.batchUpdate(eq(INSERT_SQL), anyList())).willReturn(new int[] {1});
+		given(this.jdbcOperations.batchUpdate(eq(UPDATE_SQL), anyList())).willReturn(new int[] {3, 0});
+
+		try (BatchUpdateWriter writer = new BatchUpdateWriter(this.jdbcOperations)) {
+			writer.update(INSERT_SQL, 1, "Rod");
+			writer.update(UPDATE_SQL, "SHIPPED", 10);
+			writer.update(UPDATE_SQL, "SHIPPED", 11);
+		}
+
+		InOrder ordered = inOrder(this.jdbcOperations);
+		ordered.verify(this.jdbcOperations).batchUpdate(eq(INSERT_SQL), anyList());
+		ordered.verify(this.jdbcOperations).batchUpdate(eq(UPDATE_SQL), anyList());
+	}
+
+	@Test
+	void rowCounts() {
+		given(this.jdbcOperations.batchUpdate(eq(INSERT_SQL), anyList())).willReturn(new int[] {1, 1});
+		given(this.jdbcOperations.batchUpdate(eq(UPDATE_SQL), anyList()))
+				.willReturn(new int[] {3, Statement.SUCCESS_NO_INFO});
+
+		BatchUpdateWriter writer = new BatchUpdateWriter(this.jdbcOperations);
+		writer.update(INSERT_SQL, 1, "Rod");
+		writer.update(INSERT_SQL, 2, "Juergen");
+		writer.update(UPDATE_SQL, "SHIPPED", 10);
+		writer.update(UPDATE_SQL, "SHIPPED", 11);
+		writer.flush();
+
+		assertThat(writer.getQueueCount()).isEqualTo(0);
+		assertThat(writer.getExecutionCount()).isEqualTo(4);
+		assertThat(writer.getRowsAffected()).isEqualTo(5);
+		assertThat(writer.getRowsAffected(INSERT_SQL)).isEqualTo(2);
+		assertThat(writer.getRowsAffected(UPDATE_SQL)).isEqualTo(3);
+		assertThat(writer.getUnknownRowCounts()).isEqualTo(1);
+
+		writer.reset();
+		assertThat(writer.getExecutionCount()).isEqualTo(0);
+		assertThat(writer.getRowsAffected()).isEqualTo(0);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void argumentsAreCopied() {
+		given(this.jdbcOperations.batchUpdate(eq(INSERT_SQL), anyList())).willReturn(new int[] {1});
+
+		BatchUpdateWriter writer = new BatchUpdateWriter(this.jdbcOperations);
+		Object[] args = new Object[] {1, "Rod"};
+		writer.update(INSERT_SQL, args);
+		args[1] = "Juergen";
+		writer.flush();
+
+		ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+		verify(this.jdbcOperations).batchUpdate(eq(INSERT_SQL), captor.capture());
+		assertThat(captor.getValue()).containsExactly(new Object[] {1, "Rod"});
+	}
+
+	@Test
+	void failedBatchRemainsQueued() {
+		given(this.jdbcOperations.batchUpdate(eq(INSERT_SQL), anyList()))
+				.willThrow(new DataIntegrityViolationException("duplicate key"))
+				.willReturn(new int[] {1});
+		given(this.jdbcOperations.batchUpdate(eq(UPDATE_SQL), anyList())).willReturn(new int[] {1});
+
+		BatchUpdateWriter writer = new BatchUpdateWriter(this.jdbcOperations);
+		writer.update(INSERT_SQL, 1, "Rod");
+		writer.update(UPDATE_SQL, "SHIPPED", 10);
+		assertThatExceptionOfType(DataIntegrityViolationException.class).isThrownBy(writer::flush);
+		assertThat(writer.getQueueCount()).isEqualTo(2);
+		assertThat(writer.getExecutionCount()).isEqualTo(0);
+		verify(this.jdbcOperations, never()).batchUpdate(eq(UPDATE_SQL), anyList());
+
+		writer.flush();
+		assertThat(writer.getQueueCount()).isEqualTo(0);
+		assertThat(writer.getExecutionCount()).isEqualTo(2);
+	}
+
+	@Test
+	void countsAreOnlyKeptForMostRecentStatements() {
+		given(this.jdbcOperations.batchUpdate(anyString(), anyList())).willReturn(new int[] {1});
+
+		BatchUpdateWriter writer = new BatchUpdateWriter(this.jdbcOperations, 1);
+		int statementCount = BatchUpdateWriter.STATEMENT_COUNTS_LIMIT + 1;
+		for (int i = 0; i < statementCount; i++) {
+			writer.update("UPDATE T_ORDER_" + i + " SET STATUS = ?", "SHIPPED");
+		}
+
+		assertThat(writer.getQueueCount()).isEqualTo(0);
+		assertThat(writer.getExecutionCount()).isEqualTo(statementCount);
+		assertThat(writer.getRowsAffected()).isEqualTo(statementCount);
+		assertThat(writer.getExecutionCount("UPDATE T_ORDER_0 SET STATUS = ?")).isEqualTo(0);
+		assertThat(writer.getExecutionCount("UPDATE T_ORDER_" + (statementCount - 1) + " SET STATUS = ?"))
+				.isEqualTo(1);
+	}
+
+	@Test
+	void nullArgumentsAreRejected() {
+		BatchUpdateWriter writer = new BatchUpdateWriter(this.jdbcOperations);
+		assertThatIllegalArgumentException().isThrownBy(() -> writer.update(INSERT_SQL, (Object[]) null));
+		assertThat(writer.getQueueCount()).isEqualTo(0);
+	}
+
+}
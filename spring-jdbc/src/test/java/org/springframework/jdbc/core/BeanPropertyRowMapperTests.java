@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,10 +16,13 @@
 
 package org.springframework.jdbc.core;
 
+import java.beans.PropertyEditorSupport;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
+import org.springframework.beans.BeanWrapper;
 import org.springframework.beans.TypeMismatchException;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.jdbc.core.test.ConcretePerson;
@@ -165,6 +168,40 @@ class BeanPropertyRowMapperTests extends AbstractRowMapperTests {
 		mock.verifyClosed();
 	}
 
+	@Test
+	void mapperReusedAcrossQueries() throws Exception {
+		BeanPropertyRowMapper<Person> mapper = new BeanPropertyRowMapper<>(Person.class);
+		for (int i = 0; i < 2; i++) {
+			Mock mock = new Mock();
+			Person person = mock.getJdbcTemplate().queryForObject(
+					"select name, age, birth_date, balance from people", mapper);
+			verifyPerson(person);
+			mock.verifyClosed();
+		}
+	}
+
+	@Test
+	void customEditorRegisteredInInitBeanWrapper() throws Exception {
+		BeanPropertyRowMapper<Person> mapper = new BeanPropertyRowMapper<Person>(Person.class) {
+			@Override
+			protected void initBeanWrapper(BeanWrapper bw) {
+				super.initBeanWrapper(bw);
+				bw.registerCustomEditor(String.class, "name", new PropertyEditorSupport() {
+					@Override
+					public void setAsText(String text) {
+						setValue(text.toUpperCase());
+					}
+				});
+			}
+		};
+		Mock mock = new Mock();
+		Person person = mock.getJdbcTemplate().queryForObject(
+				"select name, age, birth_date, balance from people", mapper);
+		assertThat(person.getName()).isEqualTo("BUBBA");
+		assertThat(person.getAge()).isEqualTo(22L);
+		mock.verifyClosed();
+	}
+
 	@ParameterizedTest
 	@CsvSource({
 		"age, age",
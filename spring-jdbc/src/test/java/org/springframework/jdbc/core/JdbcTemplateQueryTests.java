@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,6 +23,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -378,6 +379,51 @@ public class JdbcTemplateQueryTests {
 		verify(this.preparedStatement).close();
 	}
 
+	@Test
+	public void testQueryInChunksWithArgsAndRowMapper() throws Exception {
+		String sql = "SELECT AGE FROM CUSTMR WHERE ID > ?";
+		given(this.resultSet.next()).willReturn(true, true, true, true, true, false);
+		given(this.resultSet.getInt(1)).willReturn(1, 2, 3, 4, 5);
+		List<List<Integer>> chunks = new ArrayList<>();
+		long rowCount = this.template.queryInChunks(sql, (rs, rowNum) -> rs.getInt(1), 2, chunks::add, 3);
+		assertThat(rowCount).isEqualTo(5);
+		assertThat(chunks).hasSize(3);
+		assertThat(chunks.get(0)).containsExactly(1, 2);
+		assertThat(chunks.get(1)).containsExactly(3, 4);
+		assertThat(chunks.get(2)).containsExactly(5);
+		verify(this.preparedStatement).setFetchSize(2);
+		verify(this.preparedStatement).setObject(1, 3);
+		verify(this.resultSet).close();
+		verify(this.preparedStatement).close();
+	}
+
+	@Test
+	public void testQueryInChunksWithTemplateFetchSize() throws Exception {
+		String sql = "SELECT AGE FROM CUSTMR WHERE ID > ?";
+		given(this.resultSet.next()).willReturn(true, false);
+		given(this.resultSet.getInt(1)).willReturn(1);
+		this.template.setFetchSize(100);
+		List<List<Integer>> chunks = new ArrayList<>();
+		long rowCount = this.template.queryInChunks(sql, (rs, rowNum) -> rs.getInt(1), 10, chunks::add, 3);
+		assertThat(rowCount).isEqualTo(1);
+		assertThat(chunks).hasSize(1);
+		verify(this.preparedStatement).setFetchSize(100);
+		verify(this.resultSet).close();
+		verify(this.preparedStatement).close();
+	}
+
+	@Test
+	public void testQueryInChunksWithEmptyResult() throws Exception {
+		String sql = "SELECT AGE FROM CUSTMR WHERE ID > ?";
+		given(this.resultSet.next()).willReturn(false);
+		List<List<Integer>> chunks = new ArrayList<>();
+		long rowCount = this.template.queryInChunks(sql, (rs, rowNum) -> rs.getInt(1), 10, chunks::add, 3);
+		assertThat(rowCount).isEqualTo(0);
+		assertThat(chunks).isEmpty();
+		verify(this.resultSet).close();
+		verify(this.preparedStatement).close();
+	}
+
 	@Test
 	public void testQueryForObjectWithArgsAndInteger() throws Exception {
 		String sql = "SELECT AGE FROM CUSTMR WHERE ID = ?";
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.support.lock;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.scheduling.lock.TaskLock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link JdbcTaskLockProvider} against an embedded H2 database.
+ */
+class JdbcTaskLockProviderTests {
+
+	private EmbeddedDatabase database;
+
+	private JdbcTemplate jdbcTemplate;
+
+	private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+
+	@BeforeEach
+	void setup() {
+		this.database = new EmbeddedDatabaseBuilder()
+				.setType(EmbeddedDatabaseType.H2)
+				.generateUniqueName(true)
+				.build();
+		this.jdbcTemplate = new JdbcTemplate(this.database);
+		this.jdbcTemplate.execute("CREATE TABLE TASK_LOCK (LOCK_NAME VARCHAR(255) NOT NULL PRIMARY KEY, " +
+				"LOCKED_UNTIL TIMESTAMP NOT NULL, LOCKED_AT TIMESTAMP NOT NULL, LOCKED_BY VARCHAR(255) NOT NULL)");
+	}
+
+	@AfterEach
+	void shutdown() {
+		this.database.shutdown();
+	}
+
+
+	@Test
+	void lockIsExclusiveAcrossProviders() {
+		JdbcTaskLockProvider provider1 = createProvider("node1");
+		JdbcTaskLockProvider provider2 = createProvider("node2");
+
+		TaskLock lock = provider1.tryLock("task", Duration.ofMinutes(1), Duration.ZERO);
+		assertThat(lock).isNotNull();
+		assertThat(lockedBy("task")).startsWith("node1 ");
+		assertThat(provider2.tryLock("task", Duration.ofMinutes(1), Duration.ZERO)).isNull();
+		assertThat(provider1.tryLock("task", Duration.ofMinutes(1), Duration.ZERO)).isNull();
+
+		lock.unlock();
+		assertThat(provider2.tryLock("task", Duration.ofMinutes(1), Duration.ZERO)).isNotNull();
+		assertThat(lockedBy("task")).startsWith("node2 ");
+	}
+
+	@Test
+	void lockExpiresAfterLeaseTime() {
+		JdbcTaskLockProvider provider1 = createProvider("node1");
+		JdbcTaskLockProvider provider2 = createProvider("node2");
+
+		TaskLock lock = provider1.tryLock("task", Duration.ofMinutes(1), Duration.ZERO);
+		assertThat(lock).isNotNull();
+		this.now = this.now.plusSeconds(61);
+		provider2.setClock(Clock.fixed(this.now, ZoneOffset.UTC));
+		assertThat(provider2.tryLock("task", Duration.ofMinutes(1), Duration.ZERO)).isNotNull();
+
+		// Releasing the expired lock must not release the new one
+		lock.unlock();
+		assertThat(provider1.tryLock("task", Duration.ofMinutes(1), Duration.ZERO)).isNull();
+	}
+
+	@Test
+	void lockIsHeldForMinLeaseTimeAfterRelease() {
+		JdbcTaskLockProvider provider = createProvider("node1");
+
+		TaskLock lock = provider.tryLock("task", Duration.ofMinutes(10), Duration.ofMinutes(1));
+		assertThat(lock).isNotNull();
+		lock.unlock();
+		assertThat(provider.tryLock("task", Duration.ofMinutes(10), Duration.ZERO)).isNull();
+
+		this.now = this.now.plusSeconds(60);
+		provider.setClock(Clock.fixed(this.now, ZoneOffset.UTC));
+		assertThat(provider.tryLock("task", Duration.ofMinutes(10), Duration.ZERO)).isNotNull();
+	}
+
+	@Test
+	void customTableName() {
+		this.jdbcTemplate.execute("CREATE TABLE MY_LOCK (LOCK_NAME VARCHAR(255) NOT NULL PRIMARY KEY, " +
+				"LOCKED_UNTIL TIMESTAMP NOT NULL, LOCKED_AT TIMESTAMP NOT NULL, LOCKED_BY VARCHAR(255) NOT NULL)");
+		JdbcTaskLockProvider provider = createProvider("node1");
+		provider.setTableName("MY_LOCK");
+
+		assertThat(provider.tryLock("task", Duration.ofMinutes(1), Duration.ZERO)).isNotNull();
+		assertThat(this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM MY_LOCK", Integer.class)).isEqualTo(1);
+		assertThat(this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM TASK_LOCK", Integer.class)).isZero();
+	}
+
+
+	private JdbcTaskLockProvider createProvider(String instanceName) {
+		JdbcTaskLockProvider provider = new JdbcTaskLockProvider(this.database);
+		provider.setInstanceName(instanceName);
+		provider.setClock(Clock.fixed(this.now, ZoneOffset.UTC));
+		return provider;
+	}
+
+	private String lockedBy(String lockName) {
+		return this.jdbcTemplate.queryForObject(
+				"SELECT LOCKED_BY FROM TASK_LOCK WHERE LOCK_NAME = ?", String.class, lockName);
+	}
+
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.codec;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.springframework.core.codec.ResourceEncoder;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.core.io.buffer.PooledDataBufferFactory;
+
+/**
+ * Benchmark for transferring large files to a loopback socket, comparing the
+ * zero-copy transfer used by {@link ResourceHttpMessageWriter} on runtimes with
+ * {@link org.springframework.http.ZeroCopyHttpOutputMessage} support against
+ * the copy through data buffers used on other runtimes.
+ * <p>Run with {@code -prof gc} or {@code -prof perfnorm} to compare allocation
+ * rates and CPU cycles per transferred file.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ResourceTransferBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"1048576", "67108864"})
+		public int fileSize;
+
+		@Param({"default", "pooled"})
+		public String bufferFactoryType;
+
+		public Path file;
+
+		public Resource resource;
+
+		public DataBufferFactory bufferFactory;
+
+		public ServerSocketChannel server;
+
+		public SocketChannel client;
+
+		private Thread drain;
+
+		@Setup
+		public void setup() throws IOException {
+			this.file = Files.createTempFile("transfer", ".bin");
+			byte[] bytes = new byte[this.fileSize];
+			ThreadLocalRandom.current().nextBytes(bytes);
+			Files.write(this.file, bytes);
+			this.resource = new FileSystemResource(this.file);
+			this.bufferFactory = (this.bufferFactoryType.equals("pooled") ?
+					new PooledDataBufferFactory() : new DefaultDataBufferFactory());
+
+			this.server = ServerSocketChannel.open().bind(new InetSocketAddress("127.0.0.1", 0));
+			this.client = SocketChannel.open(this.server.getLocalAddress());
+			SocketChannel peer = this.server.accept();
+			this.drain = new Thread(() -> {
+				ByteBuffer sink = ByteBuffer.allocateDirect(256 * 1024);
+				try {
+					while (peer.read(sink) >= 0) {
+						sink.clear();
+					}
+				}
+				catch (IOException ex) {
+					// closed
+				}
+			}, "drain");
+			this.drain.setDaemon(true);
+			this.drain.start();
+		}
+
+		@TearDown
+		public void tearDown() throws Exception {
+			this.client.close();
+			this.server.close();
+			this.drain.join(1000);
+			Files.deleteIfExists(this.file);
+		}
+	}
+
+	@Benchmark
+	public long zeroCopy(BenchmarkState state) throws IOException {
+		try (FileChannel source = FileChannel.open(state.file, StandardOpenOption.READ)) {
+			long position = 0;
+			long count = source.size();
+			while (position < count) {
+				position += source.transferTo(position, count - position, state.client);
+			}
+			return position;
+		}
+	}
+
+	@Benchmark
+	public void copyThroughDataBuffers(BenchmarkState state) {
+		DataBufferUtils.write(DataBufferUtils.read(state.resource, state.bufferFactory, ResourceEncoder.DEFAULT_BUFFER_SIZE),
+				state.client)
+				.doOnNext(DataBufferUtils::release)
+				.then()
+				.block();
+	}
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.codec.json;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Flux;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Benchmarks for decoding JSON arrays to a stream of POJOs using Jackson,
+ * with and without {@linkplain AbstractJackson2Decoder#setDirectDecoding direct decoding}.
+ *
+ * @see AbstractJackson2Decoder
+ */
+@BenchmarkMode(Mode.Throughput)
+public class Jackson2JsonDecoderBenchmark {
+
+	/**
+	 * Benchmark data holding a JSON array of {@link Project} elements, split in chunks.
+	 * An {@code elementCount} parameter can be used to grow the size of the array to deserialize.
+	 */
+	@State(Scope.Benchmark)
+	public static class DecodeData {
+
+		@Param({"10", "1000"})
+		int elementCount;
+
+		@Param({"8192"})
+		int chunkSize;
+
+		@Param({"false", "true"})
+		boolean directDecoding;
+
+		Jackson2JsonDecoder jsonDecoder;
+
+		DataBufferFactory bufferFactory;
+
+		ResolvableType resolvableType;
+
+		List<byte[]> chunks;
+
+		@Setup
+		public void setup() throws Exception {
+			ObjectMapper objectMapper = new Jackson2ObjectMapperBuilder().build();
+			this.jsonDecoder = new Jackson2JsonDecoder(objectMapper);
+			this.jsonDecoder.setDirectDecoding(this.directDecoding);
+			this.bufferFactory = new DefaultDataBufferFactory();
+			this.resolvableType = ResolvableType.forClass(Project.class);
+
+			List<Project> projects = new ArrayList<>(this.elementCount);
+			for (int i = 0; i < this.elementCount; i++) {
+				projects.add(new Project("spring" + i, 2));
+			}
+			byte[] json = objectMapper.writeValueAsBytes(projects);
+			this.chunks = new ArrayList<>();
+			for (int offset = 0; offset < json.length; offset += this.chunkSize) {
+				this.chunks.add(Arrays.copyOfRange(json, offset, Math.min(offset + this.chunkSize, json.length)));
+			}
+		}
+
+		Flux<DataBuffer> input() {
+			return Flux.fromIterable(this.chunks).map(this.bufferFactory::wrap);
+		}
+	}
+
+	@Benchmark
+	public void decode(Blackhole bh, DecodeData data) {
+		data.jsonDecoder.decode(data.input(), data.resolvableType, MediaType.APPLICATION_JSON, Collections.emptyMap())
+				.doOnNext(bh::consume)
+				.then().block();
+	}
+
+}
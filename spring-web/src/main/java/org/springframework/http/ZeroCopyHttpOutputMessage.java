@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,9 +18,16 @@ package org.springframework.http;
 
 import java.io.File;
 import java.nio.file.Path;
+import java.util.List;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.util.StreamUtils;
+
 /**
  * Sub-interface of {@code ReactiveOutputMessage} that has support for "zero-copy"
  * file transfers.
@@ -55,4 +62,35 @@ public interface ZeroCopyHttpOutputMessage extends ReactiveHttpOutputMessage {
 	 */
 	Mono<Void> writeWith(Path file, long position, long count);
 
+	/**
+	 * Write a body composed of data buffers and regions of files to the
+	 * underlying HTTP layer, for example a {@code multipart/byteranges} body
+	 * with the headers of each part in between the file regions.
+	 * <p>The default implementation reads the file regions into data buffers
+	 * and writes all parts through {@link #writeWith(org.reactivestreams.Publisher)},
+	 * for runtimes that can transfer a single file only.
+	 * @param parts the parts of the body in order, each either a {@link DataBuffer}
+	 * or a {@link ResourceRegion} of a {@linkplain org.springframework.core.io.Resource#isFile()
+	 * file-based} resource
+	 * @return a publisher that indicates completion or error.
+	 * @since 5.3.39
+	 */
+	default Mono<Void> writeWithRegions(List<?> parts) {
+		Flux<DataBuffer> body = Flux.fromIterable(parts)
+				.concatMap(part -> {
+					if (part instanceof DataBuffer) {
+						return Mono.just((DataBuffer) part);
+					}
+					if (!(part instanceof ResourceRegion)) {
+						return Mono.error(new IllegalArgumentException("Unexpected body part: " + part));
+					}
+					ResourceRegion region = (ResourceRegion) part;
+					Flux<DataBuffer> in = DataBufferUtils.read(
+							region.getResource(), region.getPosition(), bufferFactory(), StreamUtils.BUFFER_SIZE);
+					return DataBufferUtils.takeUntilByteCount(in, region.getCount());
+				})
+				.doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+		return writeWith(body);
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,8 @@ package org.springframework.http.codec;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -56,6 +58,10 @@ import org.springframework.util.MimeTypeUtils;
  * <p>Also an implementation of {@code HttpMessageWriter} with support for writing one
  * or more {@link ResourceRegion}'s based on the HTTP ranges specified in the request.
  *
+ * <p>File-based resources are transferred with zero-copy if the output message
+ * is a {@link ZeroCopyHttpOutputMessage}, including {@code multipart/byteranges}
+ * responses for multiple ranges.
+ *
  * <p>For reading to a Resource, use {@link ResourceDecoder} wrapped with
  * {@link DecoderHttpMessageReader}.
  *
@@ -230,7 +236,9 @@ public class ResourceHttpMessageWriter implements HttpMessageWriter<Resource> {
 				MediaType multipartType = MediaType.parseMediaType("multipart/byteranges;boundary=" + boundary);
 				headers.setContentType(multipartType);
 				Map<String, Object> allHints = Hints.merge(hints, ResourceRegionEncoder.BOUNDARY_STRING_HINT, boundary);
-				return encodeAndWriteRegions(Flux.fromIterable(regions), resourceMediaType, response, allHints);
+				return zeroCopyRegions(resource, regions, resourceMediaType, boundary, response, allHints)
+						.orElseGet(() -> encodeAndWriteRegions(
+								Flux.fromIterable(regions), resourceMediaType, response, allHints));
 			}
 		});
 	}
@@ -246,6 +254,40 @@ public class ResourceHttpMessageWriter implements HttpMessageWriter<Resource> {
 				});
 	}
 
+	/**
+	 * Write a {@code multipart/byteranges} body with zero-copy transfers of
+	 * the regions, with the same content as {@link ResourceRegionEncoder}.
+	 */
+	private static Optional<Mono<Void>> zeroCopyRegions(Resource resource, List<ResourceRegion> regions,
+			MediaType mediaType, String boundary, ReactiveHttpOutputMessage message, Map<String, Object> hints) {
+
+		if (!(message instanceof ZeroCopyHttpOutputMessage) || !resource.isFile() || !resource.isReadable()) {
+			return Optional.empty();
+		}
+		long resourceLength = lengthOf(resource);
+		DataBufferFactory bufferFactory = message.bufferFactory();
+		List<Object> parts = new ArrayList<>(regions.size() * 2 + 1);
+		long contentLength = 0;
+		for (ResourceRegion region : regions) {
+			long start = region.getPosition();
+			long end = start + region.getCount() - 1;
+			String header = "\r\n--" + boundary + "\r\nContent-Type: " + mediaType + "\r\n" +
+					"Content-Range: bytes " + start + '-' + end + (resourceLength != -1 ? "/" + resourceLength : "") +
+					"\r\n\r\n";
+			byte[] headerBytes = header.getBytes(StandardCharsets.US_ASCII);
+			parts.add(bufferFactory.wrap(headerBytes));
+			parts.add(region);
+			contentLength += headerBytes.length + region.getCount();
+		}
+		byte[] endBoundary = ("\r\n--" + boundary + "--").getBytes(StandardCharsets.US_ASCII);
+		parts.add(bufferFactory.wrap(endBoundary));
+		message.getHeaders().setContentLength(contentLength + endBoundary.length);
+		if (logger.isDebugEnabled()) {
+			logger.debug(Hints.getLogPrefix(hints) + "Zero-copy " + regions.size() + " regions of [" + resource + "]");
+		}
+		return Optional.of(((ZeroCopyHttpOutputMessage) message).writeWithRegions(parts));
+	}
+
 	private Mono<Void> encodeAndWriteRegions(Publisher<? extends ResourceRegion> publisher,
 			@Nullable MediaType mediaType, ReactiveHttpOutputMessage message, Map<String, Object> hints) {
 
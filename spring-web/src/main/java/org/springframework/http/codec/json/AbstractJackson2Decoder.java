@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -48,7 +48,9 @@ import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentLruCache;
 import org.springframework.util.MimeType;
+import org.springframework.util.ObjectUtils;
 
 /**
  * Abstract base class for Jackson 2.9 decoding, leveraging non-blocking parsing.
@@ -65,6 +67,11 @@ public abstract class AbstractJackson2Decoder extends Jackson2CodecSupport imple
 
 	private int maxInMemorySize = 256 * 1024;
 
+	private boolean directDecoding;
+
+	private final ConcurrentLruCache<ObjectReaderKey, ObjectReader> objectReaderCache =
+			new ConcurrentLruCache<>(64, ObjectReaderKey::createObjectReader);
+
 
 	/**
 	 * Constructor with a Jackson {@link ObjectMapper} to use.
@@ -95,6 +102,37 @@ public abstract class AbstractJackson2Decoder extends Jackson2CodecSupport imple
 		return this.maxInMemorySize;
 	}
 
+	/**
+	 * Whether to deserialize each top-level JSON value, or each element of a
+	 * top-level JSON array, directly from the non-blocking parser once all of
+	 * its input has been received, instead of first buffering its tokens.
+	 * This avoids parsing each value twice, and allocating a Jackson
+	 * {@code TokenBuffer} per value.
+	 * <p>Direct decoding applies to JSON input only, unless comments or
+	 * single quotes are enabled on the parser, or trailing tokens are checked
+	 * through {@link DeserializationFeature#FAIL_ON_TRAILING_TOKENS}. Other
+	 * input is decoded through a {@code TokenBuffer} per value.
+	 * <p>The {@link ObjectReader} for each target type and JSON view is
+	 * cached for direct decoding. Changes to the configuration of the
+	 * {@code ObjectMapper} after a type has first been decoded directly are
+	 * therefore not applied to that type, whereas other decoding paths create
+	 * a new {@code ObjectReader} for each use.
+	 * <p>By default this is set to {@code false}.
+	 * @param directDecoding whether to decode values directly
+	 * @since 5.3.39
+	 */
+	public void setDirectDecoding(boolean directDecoding) {
+		this.directDecoding = directDecoding;
+	}
+
+	/**
+	 * Return whether {@link #setDirectDecoding direct decoding} is enabled.
+	 * @since 5.3.39
+	 */
+	public boolean isDirectDecoding() {
+		return this.directDecoding;
+	}
+
 
 	@Override
 	public boolean canDecode(ResolvableType elementType, @Nullable MimeType mimeType) {
@@ -135,10 +173,20 @@ public abstract class AbstractJackson2Decoder extends Jackson2CodecSupport imple
 		}
 
 		Flux<DataBuffer> processed = processInput(input, elementType, mimeType, hints);
+
+		if (this.directDecoding) {
+			ObjectReader directReader = getObjectReader(mapper, elementType, hints, true);
+			if (Jackson2ValueReader.supports(mapper.getFactory(), directReader)) {
+				return Jackson2ValueReader.readValues(processed, mapper.getFactory(), directReader,
+						this::processException, getMaxInMemorySize())
+						.doOnNext(value -> logValue(value, hints));
+			}
+		}
+
 		Flux<TokenBuffer> tokens = Jackson2Tokenizer.tokenize(processed, mapper.getFactory(), mapper,
 				true, forceUseOfBigDecimal, getMaxInMemorySize());
 
-		ObjectReader reader = getObjectReader(mapper, elementType, hints);
+		ObjectReader reader = getObjectReader(mapper, elementType, hints, false);
 
 		return tokens.handle((tokenBuffer, sink) -> {
 			try {
@@ -189,7 +237,7 @@ public abstract class AbstractJackson2Decoder extends Jackson2CodecSupport imple
 		}
 
 		try {
-			ObjectReader objectReader = getObjectReader(mapper, targetType, hints);
+			ObjectReader objectReader = getObjectReader(mapper, targetType, hints, false);
 			Object value = objectReader.readValue(dataBuffer.asInputStream());
 			logValue(value, hints);
 			return value;
@@ -202,8 +250,8 @@ public abstract class AbstractJackson2Decoder extends Jackson2CodecSupport imple
 		}
 	}
 
-	private ObjectReader getObjectReader(
-			ObjectMapper mapper, ResolvableType elementType, @Nullable Map<String, Object> hints) {
+	private ObjectReader getObjectReader(ObjectMapper mapper, ResolvableType elementType,
+			@Nullable Map<String, Object> hints, boolean cached) {
 
 		Assert.notNull(elementType, "'elementType' must not be null");
 		Class<?> contextClass = getContextClass(elementType);
@@ -212,9 +260,8 @@ public abstract class AbstractJackson2Decoder extends Jackson2CodecSupport imple
 		}
 		JavaType javaType = getJavaType(elementType.getType(), contextClass);
 		Class<?> jsonView = (hints != null ? (Class<?>) hints.get(Jackson2CodecSupport.JSON_VIEW_HINT) : null);
-		return jsonView != null ?
-				mapper.readerWithView(jsonView).forType(javaType) :
-				mapper.readerFor(javaType);
+		ObjectReaderKey key = new ObjectReaderKey(mapper, javaType, jsonView);
+		return (cached ? this.objectReaderCache.get(key) : key.createObjectReader());
 	}
 
 	@Nullable
@@ -271,4 +318,50 @@ public abstract class AbstractJackson2Decoder extends Jackson2CodecSupport imple
 		return parameter.getParameterAnnotation(annotType);
 	}
 
+
+	/**
+	 * Key for the {@link ObjectReader} of a target type and JSON view, cached
+	 * for {@link #setDirectDecoding direct decoding}.
+	 */
+	private static final class ObjectReaderKey {
+
+		private final ObjectMapper mapper;
+
+		private final JavaType javaType;
+
+		@Nullable
+		private final Class<?> jsonView;
+
+		ObjectReaderKey(ObjectMapper mapper, JavaType javaType, @Nullable Class<?> jsonView) {
+			this.mapper = mapper;
+			this.javaType = javaType;
+			this.jsonView = jsonView;
+		}
+
+		ObjectReader createObjectReader() {
+			return (this.jsonView != null ?
+					this.mapper.readerWithView(this.jsonView).forType(this.javaType) :
+					this.mapper.readerFor(this.javaType));
+		}
+
+		@Override
+		public boolean equals(@Nullable Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof ObjectReaderKey)) {
+				return false;
+			}
+			ObjectReaderKey otherKey = (ObjectReaderKey) other;
+			return (this.mapper == otherKey.mapper && this.javaType.equals(otherKey.javaType) &&
+					this.jsonView == otherKey.jsonView);
+		}
+
+		@Override
+		public int hashCode() {
+			return (System.identityHashCode(this.mapper) * 31 + this.javaType.hashCode()) * 31 +
+					ObjectUtils.nullSafeHashCode(this.jsonView);
+		}
+	}
+
 }
@@ -0,0 +1,284 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.codec.json;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
+import reactor.core.publisher.Flux;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+/**
+ * Alternative to {@link Jackson2Tokenizer} that deserializes top-level JSON
+ * values, or the elements of a top-level JSON array, directly from the
+ * non-blocking parser rather than from an intermediate {@code TokenBuffer}.
+ *
+ * <p>Input bytes are scanned for the end of values, tracking nesting and
+ * strings only, and fed to the parser up to the end of the last complete
+ * value. Each value is then read with the given {@link ObjectReader} without
+ * the parser running out of input, while the bytes of an incomplete value are
+ * kept until the rest of the value is received.
+ *
+ * @since 5.3.39
+ * @see AbstractJackson2Decoder#setDirectDecoding(boolean)
+ */
+final class Jackson2ValueReader {
+
+	private final JsonParser parser;
+
+	private final ByteArrayFeeder inputFeeder;
+
+	private final ObjectReader objectReader;
+
+	private final Function<IOException, ? extends RuntimeException> exceptionHandler;
+
+	private final int maxInMemorySize;
+
+	private byte[] input = new byte[256];
+
+	private int inputLength;
+
+	private int scanIndex;
+
+	private int depth;
+
+	private int elementDepth = -1;
+
+	private boolean inString;
+
+	private boolean escaped;
+
+
+	private Jackson2ValueReader(JsonParser parser, ObjectReader objectReader,
+			Function<IOException, ? extends RuntimeException> exceptionHandler, int maxInMemorySize) {
+
+		this.parser = parser;
+		this.inputFeeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+		this.objectReader = objectReader;
+		this.exceptionHandler = exceptionHandler;
+		this.maxInMemorySize = maxInMemorySize;
+	}
+
+
+	private Flux<Object> read(DataBuffer dataBuffer) {
+		int bufferSize = dataBuffer.readableByteCount();
+		ensureCapacity(bufferSize);
+		dataBuffer.read(this.input, this.inputLength, bufferSize);
+		DataBufferUtils.release(dataBuffer);
+		this.inputLength += bufferSize;
+
+		int completeLength = scan();
+		if (this.maxInMemorySize >= 0 && this.inputLength - completeLength > this.maxInMemorySize) {
+			return Flux.error(new DataBufferLimitException(
+					"Exceeded limit on max bytes per JSON object: " + this.maxInMemorySize));
+		}
+		if (completeLength == 0) {
+			return Flux.empty();
+		}
+		List<Object> result = new ArrayList<>();
+		try {
+			this.inputFeeder.feedInput(this.input, 0, completeLength);
+			readValues(result);
+			System.arraycopy(this.input, completeLength, this.input, 0, this.inputLength - completeLength);
+			this.inputLength -= completeLength;
+			this.scanIndex -= completeLength;
+			return Flux.fromIterable(result);
+		}
+		catch (IOException ex) {
+			return valuesThenError(result, ex);
+		}
+	}
+
+	private Flux<Object> endOfInput() {
+		return Flux.defer(() -> {
+			List<Object> result = new ArrayList<>();
+			try {
+				if (this.inputLength > 0) {
+					this.inputFeeder.feedInput(this.input, 0, this.inputLength);
+					this.inputLength = 0;
+					readValues(result);
+				}
+				this.inputFeeder.endOfInput();
+				readValues(result);
+				return Flux.fromIterable(result);
+			}
+			catch (IOException ex) {
+				return valuesThenError(result, ex);
+			}
+		});
+	}
+
+	/**
+	 * Emit the values read before a failing value, followed by the error.
+	 */
+	private Flux<Object> valuesThenError(List<Object> values, IOException ex) {
+		Flux<Object> error = Flux.error(this.exceptionHandler.apply(ex));
+		return (values.isEmpty() ? error : Flux.fromIterable(values).concatWith(error));
+	}
+
+	private void ensureCapacity(int byteCount) {
+		int required = this.inputLength + byteCount;
+		if (required > this.input.length) {
+			byte[] newInput = new byte[Math.max(required, this.input.length * 2)];
+			System.arraycopy(this.input, 0, newInput, 0, this.inputLength);
+			this.input = newInput;
+		}
+	}
+
+	/**
+	 * Scan the input received since the last scan, and return the length of
+	 * the input up to the end of the last complete value.
+	 */
+	private int scan() {
+		byte[] input = this.input;
+		int completeLength = 0;
+		for (int i = this.scanIndex; i < this.inputLength; i++) {
+			byte b = input[i];
+			if (this.inString) {
+				if (this.escaped) {
+					this.escaped = false;
+				}
+				else if (b == '\\') {
+					this.escaped = true;
+				}
+				else if (b == '"') {
+					this.inString = false;
+					if (this.depth == this.elementDepth) {
+						completeLength = i + 1;
+					}
+				}
+				continue;
+			}
+			switch (b) {
+				case '"':
+					initElementDepth(b);
+					this.inString = true;
+					break;
+				case '{':
+				case '[':
+					initElementDepth(b);
+					this.depth++;
+					break;
+				case '}':
+				case ']':
+					this.depth--;
+					if (this.depth <= this.elementDepth) {
+						completeLength = i + 1;
+					}
+					break;
+				case ',':
+					if (this.depth == this.elementDepth) {
+						completeLength = i + 1;
+					}
+					break;
+				case ' ':
+				case '\t':
+				case '\n':
+				case '\r':
+					if (this.depth == 0) {
+						completeLength = i + 1;
+					}
+					break;
+				default:
+					initElementDepth(b);
+			}
+		}
+		this.scanIndex = this.inputLength;
+		return completeLength;
+	}
+
+	private void initElementDepth(byte firstByte) {
+		if (this.elementDepth == -1) {
+			this.elementDepth = (firstByte == '[' ? 1 : 0);
+		}
+	}
+
+	private void readValues(List<Object> result) throws IOException {
+		while (!this.parser.isClosed()) {
+			JsonToken token = this.parser.nextToken();
+			if (token == JsonToken.NOT_AVAILABLE || token == null) {
+				break;
+			}
+			if (isTopLevelArrayToken(token)) {
+				continue;
+			}
+			Object value = this.objectReader.readValue(this.parser);
+			if (value != null) {
+				result.add(value);
+			}
+		}
+	}
+
+	private boolean isTopLevelArrayToken(JsonToken token) {
+		if (this.elementDepth != 1) {
+			return false;
+		}
+		return (token == JsonToken.START_ARRAY ? this.parser.getParsingContext().getParent().inRoot() :
+				token == JsonToken.END_ARRAY && this.parser.getParsingContext().inRoot());
+	}
+
+
+	/**
+	 * Whether values can be read directly with the given factory and reader,
+	 * i.e. for JSON input without comments or single-quoted strings, and
+	 * without checks for trailing tokens after a value.
+	 */
+	public static boolean supports(JsonFactory jsonFactory, ObjectReader objectReader) {
+		return (JsonFactory.FORMAT_NAME_JSON.equals(jsonFactory.getFormatName()) &&
+				!jsonFactory.isEnabled(JsonParser.Feature.ALLOW_COMMENTS) &&
+				!jsonFactory.isEnabled(JsonParser.Feature.ALLOW_YAML_COMMENTS) &&
+				!jsonFactory.isEnabled(JsonParser.Feature.ALLOW_SINGLE_QUOTES) &&
+				!objectReader.isEnabled(DeserializationFeature.FAIL_ON_TRAILING_TOKENS));
+	}
+
+	/**
+	 * Read the given {@code Flux<DataBuffer>} into a {@code Flux} of values.
+	 * @param dataBuffers the source data buffers
+	 * @param jsonFactory the factory to use
+	 * @param objectReader the reader to deserialize values with
+	 * @param exceptionHandler the function to translate parsing and
+	 * deserialization exceptions with
+	 * @param maxInMemorySize maximum memory size
+	 * @return the resulting values, except for {@code null} values
+	 */
+	public static Flux<Object> readValues(Flux<DataBuffer> dataBuffers, JsonFactory jsonFactory,
+			ObjectReader objectReader, Function<IOException, ? extends RuntimeException> exceptionHandler,
+			int maxInMemorySize) {
+
+		try {
+			JsonParser parser = jsonFactory.createNonBlockingByteArrayParser();
+			Jackson2ValueReader reader =
+					new Jackson2ValueReader(parser, objectReader, exceptionHandler, maxInMemorySize);
+			return dataBuffers.concatMap(reader::read).concatWith(reader.endOfInput());
+		}
+		catch (IOException ex) {
+			return Flux.error(ex);
+		}
+	}
+
+}
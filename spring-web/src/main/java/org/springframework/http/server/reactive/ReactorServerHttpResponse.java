@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 
 package org.springframework.http.server.reactive;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.util.List;
 
@@ -27,12 +28,14 @@ import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.netty.ChannelOperationsId;
+import reactor.netty.NettyOutbound;
 import reactor.netty.http.server.HttpServerResponse;
 
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferFactory;
 import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.core.io.support.ResourceRegion;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseCookie;
@@ -117,6 +120,34 @@ class ReactorServerHttpResponse extends AbstractServerHttpResponse implements Ze
 		return doCommit(() -> this.response.sendFile(file, position, count).then());
 	}
 
+	@Override
+	public Mono<Void> writeWithRegions(List<?> parts) {
+		return doCommit(() -> {
+			NettyOutbound outbound = this.response;
+			for (Object part : parts) {
+				if (part instanceof DataBuffer) {
+					outbound = outbound.send(Mono.just(NettyDataBufferFactory.toByteBuf((DataBuffer) part)));
+				}
+				else {
+					ResourceRegion region = (ResourceRegion) part;
+					try {
+						Path file = region.getResource().getFile().toPath();
+						outbound = outbound.sendFile(file, region.getPosition(), region.getCount());
+					}
+					catch (IOException ex) {
+						parts.forEach(next -> {
+							if (next instanceof DataBuffer) {
+								DataBufferUtils.release((DataBuffer) next);
+							}
+						});
+						return Mono.error(ex);
+					}
+				}
+			}
+			return outbound.then();
+		});
+	}
+
 	private Publisher<ByteBuf> toByteBufs(Publisher<? extends DataBuffer> dataBuffers) {
 		return dataBuffers instanceof Mono ?
 				Mono.from(dataBuffers).map(NettyDataBufferFactory::toByteBuf) :
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,20 +16,28 @@
 
 package org.springframework.http.codec;
 
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.support.ResourceRegion;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ZeroCopyHttpOutputMessage;
 import org.springframework.util.MimeTypeUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.testfixture.http.server.reactive.MockServerHttpRequest;
@@ -129,6 +137,29 @@ public class ResourceHttpMessageWriterTests {
 				.verify();
 	}
 
+	@Test
+	public void writeMultipleRegionsWithZeroCopy(@TempDir Path tempDir) throws IOException {
+		Path file = tempDir.resolve("resource.txt");
+		Files.write(file, "Spring Framework test resource content.".getBytes(StandardCharsets.UTF_8));
+		ZeroCopyResponse response = new ZeroCopyResponse();
+
+		Mono<Void> mono = this.writer.write(Mono.just(new FileSystemResource(file)), null, null, TEXT_PLAIN,
+				get("/").range(of(0, 5), of(7, 15)).build(), response, HINTS);
+		StepVerifier.create(mono).expectComplete().verify();
+
+		assertThat(response.parts).hasSize(5);
+		assertThat(response.parts.get(0)).isInstanceOf(DataBuffer.class);
+		assertThat(response.parts.get(1)).isInstanceOf(ResourceRegion.class);
+		String boundary = response.getHeaders().getContentType().toString().substring(30);
+		String expected = "\r\n--" + boundary + "\r\nContent-Type: text/plain\r\nContent-Range: bytes 0-5/39\r\n\r\n" +
+				"Spring" +
+				"\r\n--" + boundary + "\r\nContent-Type: text/plain\r\nContent-Range: bytes 7-15/39\r\n\r\n" +
+				"Framework" +
+				"\r\n--" + boundary + "--";
+		assertThat(response.getHeaders().getContentLength()).isEqualTo(expected.length());
+		StepVerifier.create(response.getBodyAsString()).expectNext(expected).expectComplete().verify();
+	}
+
 	@Test
 	public void invalidRange() throws Exception {
 
@@ -148,4 +179,21 @@ public class ResourceHttpMessageWriterTests {
 		return HttpRange.createByteRange(first, last);
 	}
 
+
+	private static class ZeroCopyResponse extends MockServerHttpResponse implements ZeroCopyHttpOutputMessage {
+
+		private List<?> parts;
+
+		@Override
+		public Mono<Void> writeWith(Path file, long position, long count) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Mono<Void> writeWithRegions(List<?> parts) {
+			this.parts = parts;
+			return ZeroCopyHttpOutputMessage.super.writeWithRegions(parts);
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -41,6 +41,7 @@ import org.springframework.core.ResolvableType;
 import org.springframework.core.codec.CodecException;
 import org.springframework.core.codec.DecodingException;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
 import org.springframework.core.testfixture.codec.AbstractDecoderTests;
 import org.springframework.http.MediaType;
 import org.springframework.http.codec.json.JacksonViewBean.MyJacksonView1;
@@ -245,6 +246,78 @@ public class Jackson2JsonDecoderTests extends AbstractDecoderTests<Jackson2JsonD
 		);
 	}
 
+	@Test
+	public void decodeDirectly() {
+		Jackson2JsonDecoder decoder = new Jackson2JsonDecoder();
+		decoder.setDirectDecoding(true);
+		Flux<DataBuffer> input = Flux.concat(
+				stringBuffer("[{\"bar\":\"b1\",\"fo"),
+				stringBuffer("o\":\"f1\"},{\"bar\":\"b2\","),
+				stringBuffer("\"foo\":\"f2\"}]"));
+
+		Flux<Object> result = decoder.decode(input, ResolvableType.forClass(Pojo.class), null, Collections.emptyMap());
+		StepVerifier.create(result)
+				.expectNext(pojo1)
+				.expectNext(pojo2)
+				.verifyComplete();
+	}
+
+	@Test
+	public void decodeDirectlyScalarsAndTopLevelValues() {
+		Jackson2JsonDecoder decoder = new Jackson2JsonDecoder();
+		decoder.setDirectDecoding(true);
+
+		Flux<Object> result = decoder.decode(Flux.concat(stringBuffer("[1"), stringBuffer(",null,\"2\""), stringBuffer(",3]")),
+				ResolvableType.forClass(Integer.class), null, Collections.emptyMap());
+		StepVerifier.create(result).expectNext(1, 2, 3).verifyComplete();
+
+		result = decoder.decode(Flux.concat(stringBuffer("{\"bar\":\"b1\",\"foo\":\"f1\"}")),
+				ResolvableType.forClass(Pojo.class), null, Collections.emptyMap());
+		StepVerifier.create(result).expectNext(pojo1).verifyComplete();
+
+		result = decoder.decode(Flux.concat(stringBuffer("12"), stringBuffer("34")),
+				ResolvableType.forClass(Integer.class), null, Collections.emptyMap());
+		StepVerifier.create(result).expectNext(1234).verifyComplete();
+	}
+
+	@Test
+	public void decodeDirectlyInvalidData() {
+		Jackson2JsonDecoder decoder = new Jackson2JsonDecoder();
+		decoder.setDirectDecoding(true);
+		Flux<DataBuffer> input = Flux.from(stringBuffer("[{\"foofoo\": \"foofoo\", \"barbar\": \"barbar\""));
+
+		Flux<Object> result = decoder.decode(input, ResolvableType.forClass(Pojo.class), null, Collections.emptyMap());
+		StepVerifier.create(result).verifyError(DecodingException.class);
+	}
+
+	@Test
+	public void decodeDirectlyInvalidElementAfterValidElements() {
+		Jackson2JsonDecoder decoder = new Jackson2JsonDecoder();
+		decoder.setDirectDecoding(true);
+		Flux<DataBuffer> input = Flux.from(stringBuffer("[1,2,\"a\",3]"));
+
+		Flux<Object> result = decoder.decode(input, ResolvableType.forClass(Integer.class), null, Collections.emptyMap());
+		StepVerifier.create(result)
+				.expectNext(1, 2)
+				.verifyError(DecodingException.class);
+	}
+
+	@Test
+	public void decodeDirectlyExceedsMaxInMemorySize() {
+		Jackson2JsonDecoder decoder = new Jackson2JsonDecoder();
+		decoder.setDirectDecoding(true);
+		decoder.setMaxInMemorySize(20);
+		Flux<DataBuffer> input = Flux.concat(
+				stringBuffer("[{\"bar\":\"b1\",\"foo\":\"f1\"},"),
+				stringBuffer("{\"bar\":\"b2\",\"foo\":\"f2\""),
+				stringBuffer("}]"));
+
+		Flux<Object> result = decoder.decode(input, ResolvableType.forClass(Pojo.class), null, Collections.emptyMap());
+		StepVerifier.create(result)
+				.expectNext(pojo1)
+				.verifyError(DataBufferLimitException.class);
+	}
+
 	@Test
 	@SuppressWarnings("unchecked")
 	public void decodeNonUtf8Encoding() {
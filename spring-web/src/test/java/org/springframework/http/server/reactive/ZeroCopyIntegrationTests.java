@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,15 +18,20 @@ package org.springframework.http.server.reactive;
 
 import java.io.File;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 import reactor.core.publisher.Mono;
 
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.support.ResourceRegion;
 import org.springframework.http.MediaType;
 import org.springframework.http.RequestEntity;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.ZeroCopyHttpOutputMessage;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.testfixture.http.server.reactive.bootstrap.AbstractHttpHandlerIntegrationTests;
 import org.springframework.web.testfixture.http.server.reactive.bootstrap.HttpServer;
@@ -70,12 +75,45 @@ class ZeroCopyIntegrationTests extends AbstractHttpHandlerIntegrationTests {
 	}
 
 
+	@ParameterizedHttpServerTest
+	void zeroCopyRegions(HttpServer httpServer) throws Exception {
+		assumeTrue(httpServer instanceof ReactorHttpServer || httpServer instanceof UndertowHttpServer,
+			"Zero-copy does not support Servlet");
+
+		startServer(httpServer);
+
+		URI url = new URI("http://localhost:" + port + "/regions");
+		RequestEntity<?> request = RequestEntity.get(url).build();
+		ResponseEntity<byte[]> response = new RestTemplate().exchange(request, byte[].class);
+
+		byte[] logo = StreamUtils.copyToByteArray(springLogoResource.getInputStream());
+		byte[] body = response.getBody();
+		assertThat(response.getHeaders().getContentLength()).isEqualTo(body.length);
+		assertThat(new String(body, 0, 5, StandardCharsets.US_ASCII)).isEqualTo("start");
+		assertThat(Arrays.copyOfRange(body, 5, 105)).isEqualTo(Arrays.copyOfRange(logo, 0, 100));
+		assertThat(new String(body, 105, 1, StandardCharsets.US_ASCII)).isEqualTo("|");
+		assertThat(Arrays.copyOfRange(body, 106, 156)).isEqualTo(Arrays.copyOfRange(logo, 200, 250));
+		assertThat(new String(body, 156, 3, StandardCharsets.US_ASCII)).isEqualTo("end");
+	}
+
+
 	private static class ZeroCopyHandler implements HttpHandler {
 
 		@Override
 		public Mono<Void> handle(ServerHttpRequest request, ServerHttpResponse response) {
 			try {
 				ZeroCopyHttpOutputMessage zeroCopyResponse = (ZeroCopyHttpOutputMessage) response;
+				if (request.getURI().getPath().equals("/regions")) {
+					DataBufferFactory bufferFactory = response.bufferFactory();
+					zeroCopyResponse.getHeaders().setContentType(MediaType.APPLICATION_OCTET_STREAM);
+					zeroCopyResponse.getHeaders().setContentLength(159);
+					return zeroCopyResponse.writeWithRegions(Arrays.asList(
+							bufferFactory.wrap("start".getBytes(StandardCharsets.US_ASCII)),
+							new ResourceRegion(springLogoResource, 0, 100),
+							bufferFactory.wrap("|".getBytes(StandardCharsets.US_ASCII)),
+							new ResourceRegion(springLogoResource, 200, 50),
+							bufferFactory.wrap("end".getBytes(StandardCharsets.US_ASCII))));
+				}
 				File logoFile = springLogoResource.getFile();
 				zeroCopyResponse.getHeaders().setContentType(MediaType.IMAGE_PNG);
 				zeroCopyResponse.getHeaders().setContentLength(logoFile.length());